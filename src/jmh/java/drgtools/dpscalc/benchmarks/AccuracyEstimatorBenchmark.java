@@ -0,0 +1,66 @@
+package drgtools.dpscalc.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import drgtools.dpscalc.modelPieces.AccuracyEstimator;
+import drgtools.dpscalc.spreadCurves.MinigunCurve;
+
+/*
+	Circular Accuracy for one magazine, at magazine sizes from a Revolver's up to well past a Minigun's. The spread and recoil get simulated bullet by bullet
+	in one pass, so the time per call should grow in a straight line with magSize: when magSize goes up 4x, the time should go up about 4x too, not 16x.
+
+	"automatic" is an SMG-like weapon with one bullet per trigger pull, and "burst" fires 3-round bursts at low RoF like the BRT7, which goes through the
+	other branch of the recoil model.
+*/
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AccuracyEstimatorBenchmark {
+	@Param({"50", "200", "800", "3200"})
+	public int magSize;
+	
+	@Param({"automatic", "burst"})
+	public String firingMode;
+	
+	private AccuracyEstimator estimator;
+	private double rateOfFire;
+	private int burstSize;
+	
+	@Setup
+	public void createEstimator() {
+		estimator = new AccuracyEstimator();
+		estimator.setSpreadCurve(new MinigunCurve());
+		
+		if (firingMode.equals("automatic")) {
+			rateOfFire = 15.0;
+			burstSize = 1;
+		}
+		else if (firingMode.equals("burst")) {
+			rateOfFire = 1.5;
+			burstSize = 3;
+		}
+		else {
+			throw new IllegalArgumentException("Firing modes are automatic or burst; not " + firingMode);
+		}
+	}
+	
+	@Benchmark
+	public double circularAccuracy() {
+		return estimator.calculateCircularAccuracy(false, rateOfFire, magSize, burstSize, 1.5, 1.5, 0.4, 6.0, 3.5, 0.0, 6.0, 2.0, 1.0, 60.0);
+	}
+}
@@ -0,0 +1,35 @@
+package drgtools.dpscalc.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import drgtools.dpscalc.dataGenerator.DatabaseConstants;
+
+/*
+	Main class of target/benchmarks.jar. It takes all of the same arguments as JMH's own launcher, except that unless told otherwise the results get saved as
+	JSON, named after the DRG patch that the model currently matches (for example "jmh-results-35.7.json"). Keeping one file per patch makes it easy to see
+	whether a model change made anything slower.
+*/
+public class BenchmarkRunner {
+	public static void main(String[] args) throws Exception {
+		CommandLineOptions commandLine = new CommandLineOptions(args);
+		if (commandLine.shouldHelp() || commandLine.shouldList() || commandLine.shouldListProfilers() || commandLine.shouldListResultFormats() || commandLine.shouldListWithParams()) {
+			// JMH's own launcher already knows how to answer these
+			org.openjdk.jmh.Main.main(args);
+			return;
+		}
+		
+		ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+		if (!commandLine.getResultFormat().hasValue()) {
+			options.resultFormat(ResultFormatType.JSON);
+		}
+		if (!commandLine.getResult().hasValue()) {
+			options.result("jmh-results-" + DatabaseConstants.patchNumber + ".json");
+		}
+		
+		new Runner(options.build()).run();
+	}
+}
@@ -0,0 +1,45 @@
+package drgtools.dpscalc.benchmarks;
+
+import drgtools.dpscalc.weapons.Weapon;
+
+/*
+	JMH @Param values have to be Strings, so the benchmarks name the Weapons by "class/SimpleName" and build them here with reflection. The names in
+	every benchmark's @Param list should match GuiController.main(), so that all 25 Weapons in the GUI get measured.
+*/
+class BenchmarkWeapons {
+	static Weapon create(String weaponName) {
+		try {
+			Class<?> weaponClass = Class.forName("drgtools.dpscalc.weapons." + weaponName.replace('/', '.'));
+			return (Weapon) weaponClass.getDeclaredConstructor().newInstance();
+		}
+		catch (ReflectiveOperationException e) {
+			throw new IllegalArgumentException("There's no Weapon called " + weaponName, e);
+		}
+	}
+	
+	/*
+		"baseline" leaves every mod and overclock unselected, "first" picks the first mod at every tier and the first overclock, and "last" picks the last of
+		each. Between them they cover the plain weapon plus two very different full builds, without having to hand-pick a build for all 25 Weapons.
+	*/
+	static void selectRepresentativeBuild(Weapon weapon, String build) {
+		if (build.equals("baseline")) {
+			return;
+		}
+	
+		boolean first = build.equals("first");
+		if (!first && !build.equals("last")) {
+			throw new IllegalArgumentException("Representative builds are baseline, first, or last; not " + build);
+		}
+	
+		for (int tier = 1; tier <= 5; tier++) {
+			int numMods = weapon.getModsAtTier(tier).length;
+			if (numMods > 0) {
+				weapon.setSelectedModAtTier(tier, first ? 0 : numMods - 1, false);
+			}
+		}
+		int numOverclocks = weapon.getOverclocks().length;
+		if (numOverclocks > 0) {
+			weapon.setSelectedOverclock(first ? 0 : numOverclocks - 1, false);
+		}
+	}
+}
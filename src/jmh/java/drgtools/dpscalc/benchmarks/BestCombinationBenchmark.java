@@ -0,0 +1,53 @@
+package drgtools.dpscalc.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import drgtools.dpscalc.dataGenerator.MetricsCalculator;
+
+/*
+	MetricsCalculator.getBestMetricCombination() searching the build space of one Weapon for one metric. Like the exports, each search takes long
+	enough that it gets timed as a single shot instead of being called in a loop. Every invocation gets a brand-new Weapon so that the metric cache from the previous
+	invocation can't make the next one look faster than it really is.
+*/
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class BestCombinationBenchmark {
+	@Param({"driller/Flamethrower", "driller/CryoCannon", "driller/SludgePump", "driller/SludgePump_Charged", "driller/Subata", "driller/EPC_RegularShot", "driller/EPC_ChargeShot",
+		"engineer/Shotgun", "engineer/SMG", "engineer/SmartRifle", "engineer/SmartRifle_LockOn", "engineer/GrenadeLauncher", "engineer/BreachCutter", "engineer/BreachCutter_Projectile",
+		"gunner/Minigun", "gunner/Autocannon", "gunner/GuidedRocketLauncher", "gunner/Revolver", "gunner/BurstPistol",
+		"scout/AssaultRifle", "scout/Classic_Hipfire", "scout/Classic_FocusShot", "scout/PlasmaCarbine", "scout/Boomstick", "scout/Zhukov"})
+	public String weapon;
+	
+	// Burst DPS, Sustained DPS, and Avg Time To Kill are the ones people ask for the most. See Weapon.numMetrics for the other indexes.
+	@Param({"0", "1", "10"})
+	public int bestMetricIndex;
+	
+	private MetricsCalculator calculator;
+	
+	@Setup(Level.Invocation)
+	public void createCalculator() {
+		calculator = new MetricsCalculator(BenchmarkWeapons.create(weapon));
+	}
+	
+	@Benchmark
+	public String getBestMetricCombination() {
+		return calculator.getBestMetricCombination(bestMetricIndex, false);
+	}
+}
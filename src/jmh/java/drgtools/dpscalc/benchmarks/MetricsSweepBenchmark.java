@@ -0,0 +1,81 @@
+package drgtools.dpscalc.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import drgtools.dpscalc.dataGenerator.MetricsCalculator;
+import drgtools.dpscalc.dataGenerator.MySQLInsertWriter;
+import drgtools.dpscalc.weapons.Weapon;
+
+/*
+	The CSV and MySQL exports from MetricsCalculator, one Weapon at a time. Each one of these takes somewhere between a fraction of a second and a few seconds,
+	so they get timed as single shots instead of being called in a loop. Every invocation gets a brand-new Weapon so that the metric cache from the previous
+	invocation can't make the next one look faster than it really is.
+*/
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class MetricsSweepBenchmark {
+	@Param({"driller/Flamethrower", "driller/CryoCannon", "driller/SludgePump", "driller/SludgePump_Charged", "driller/Subata", "driller/EPC_RegularShot", "driller/EPC_ChargeShot",
+		"engineer/Shotgun", "engineer/SMG", "engineer/SmartRifle", "engineer/SmartRifle_LockOn", "engineer/GrenadeLauncher", "engineer/BreachCutter", "engineer/BreachCutter_Projectile",
+		"gunner/Minigun", "gunner/Autocannon", "gunner/GuidedRocketLauncher", "gunner/Revolver", "gunner/BurstPistol",
+		"scout/AssaultRifle", "scout/Classic_Hipfire", "scout/Classic_FocusShot", "scout/PlasmaCarbine", "scout/Boomstick", "scout/Zhukov"})
+	public String weapon;
+	
+	private File outputFolder;
+	private MetricsCalculator calculator;
+	
+	@Setup(Level.Trial)
+	public void createOutputFolder() throws IOException {
+		outputFolder = Files.createTempDirectory("dpscalc-benchmark").toFile();
+	}
+	
+	@Setup(Level.Invocation)
+	public void createCalculator() {
+		Weapon freshWeapon = BenchmarkWeapons.create(weapon);
+		calculator = new MetricsCalculator(freshWeapon);
+		calculator.setOutputFolder(outputFolder);
+	}
+	
+	@TearDown(Level.Trial)
+	public void deleteOutputFolder() {
+		File[] outputFiles = outputFolder.listFiles();
+		if (outputFiles != null) {
+			for (File f: outputFiles) {
+				f.delete();
+			}
+		}
+		outputFolder.delete();
+	}
+	
+	@Benchmark
+	public void exportMetricsToCSV() {
+		calculator.exportMetricsToCSV();
+	}
+	
+	@Benchmark
+	public void dumpMetricsToMySQL() {
+		MySQLInsertWriter sqlFile = calculator.openMySQLFile("benchmark.sql", 1000);
+		calculator.dumpMetricsToMySQL(sqlFile);
+		sqlFile.close();
+	}
+}
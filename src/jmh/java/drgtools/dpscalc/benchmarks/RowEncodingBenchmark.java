@@ -0,0 +1,104 @@
+package drgtools.dpscalc.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import drgtools.dpscalc.dataGenerator.RowEncoder;
+
+/*
+	Compares the two ways of turning one build's 31 metrics into a line of text: the String.format() call that the exports used to make for every row, and the
+	RowEncoder that they use now. Both write exactly the same characters for the same numbers, so this only measures the formatting itself.
+*/
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RowEncodingBenchmark {
+	private static final int numRows = 256;
+	private static final int numMetrics = 31;
+	// Same columns as MetricsCalculator: Max Num Targets and Breakpoints are whole numbers
+	private static final int maxNumTargetsColumn = 17;
+	private static final int breakpointsColumn = 26;
+	
+	private static final String csvFormat = "%s, %f, %f, %f, %f, %f, %f, %f, %f, %f, %f, %f, %f, %f, %f, %f, %f, %f, %d, %f, %f, %f, %f, %f, %f, %f, %f, %d, %f, %f, %f, %f,\n";
+	
+	private String[] combinations;
+	private double[][] metrics;
+	private RowEncoder encoder;
+	
+	@Setup
+	public void generateRows() {
+		// Roughly the same sizes of numbers that the Weapons produce: DPS in the hundreds, accuracy percentages, a few whole numbers, and some negatives for N/A
+		Random rng = new Random(1234);
+		combinations = new String[numRows];
+		metrics = new double[numRows][numMetrics];
+		for (int i = 0; i < numRows; i++) {
+			combinations[i] = "" + (char) ('A' + rng.nextInt(3)) + (char) ('A' + rng.nextInt(3)) + (char) ('A' + rng.nextInt(3)) + (char) ('A' + rng.nextInt(2)) + (char) ('A' + rng.nextInt(2)) + rng.nextInt(7);
+			for (int j = 0; j < numMetrics; j++) {
+				if (j == maxNumTargetsColumn || j == breakpointsColumn) {
+					metrics[i][j] = rng.nextInt(2000);
+				}
+				else if (rng.nextInt(20) == 0) {
+					metrics[i][j] = -1.0;
+				}
+				else {
+					metrics[i][j] = rng.nextDouble() * Math.pow(10, rng.nextInt(5));
+				}
+			}
+		}
+		
+		encoder = new RowEncoder();
+	}
+	
+	@Benchmark
+	@OperationsPerInvocation(numRows)
+	public void stringFormat(Blackhole bh) {
+		Object[] arguments = new Object[numMetrics + 1];
+		for (int i = 0; i < numRows; i++) {
+			arguments[0] = combinations[i];
+			for (int j = 0; j < numMetrics; j++) {
+				if (j == maxNumTargetsColumn || j == breakpointsColumn) {
+					arguments[j + 1] = (int) metrics[i][j];
+				}
+				else {
+					arguments[j + 1] = metrics[i][j];
+				}
+			}
+			bh.consume(String.format(csvFormat, arguments));
+		}
+	}
+	
+	@Benchmark
+	@OperationsPerInvocation(numRows)
+	public void rowEncoder(Blackhole bh) {
+		for (int i = 0; i < numRows; i++) {
+			encoder.clear().append(combinations[i]);
+			for (int j = 0; j < numMetrics; j++) {
+				encoder.append(", ");
+				if (j == maxNumTargetsColumn || j == breakpointsColumn) {
+					encoder.append((int) metrics[i][j]);
+				}
+				else {
+					encoder.append(metrics[i][j]);
+				}
+			}
+			encoder.append(",\n");
+			bh.consume(encoder.length());
+		}
+	}
+}
@@ -0,0 +1,147 @@
+package drgtools.dpscalc.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import drgtools.dpscalc.weapons.Weapon;
+
+/*
+	The cost of every public metric method, for every Weapon, on three representative builds. These call the calculations directly instead of going through
+	Weapon.getMetric(), since the metric cache would turn every call after the first into a HashMap lookup.
+
+	All of these together are 25 Weapons x 3 builds x 19 methods, so narrow it down when only one model changed, e.g.:
+		java -jar target/benchmarks.jar WeaponMetricsBenchmark.breakpoints -p weapon=gunner/Minigun
+*/
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+public class WeaponMetricsBenchmark {
+	@Param({"driller/Flamethrower", "driller/CryoCannon", "driller/SludgePump", "driller/SludgePump_Charged", "driller/Subata", "driller/EPC_RegularShot", "driller/EPC_ChargeShot",
+		"engineer/Shotgun", "engineer/SMG", "engineer/SmartRifle", "engineer/SmartRifle_LockOn", "engineer/GrenadeLauncher", "engineer/BreachCutter", "engineer/BreachCutter_Projectile",
+		"gunner/Minigun", "gunner/Autocannon", "gunner/GuidedRocketLauncher", "gunner/Revolver", "gunner/BurstPistol",
+		"scout/AssaultRifle", "scout/Classic_Hipfire", "scout/Classic_FocusShot", "scout/PlasmaCarbine", "scout/Boomstick", "scout/Zhukov"})
+	public String weapon;
+	
+	@Param({"baseline", "first", "last"})
+	public String build;
+	
+	private Weapon weaponToMeasure;
+	
+	@Setup
+	public void buildWeapon() {
+		weaponToMeasure = BenchmarkWeapons.create(weapon);
+		BenchmarkWeapons.selectRepresentativeBuild(weaponToMeasure, build);
+	}
+	
+	/*** Damage ***/
+	@Benchmark
+	public double idealBurstDPS() {
+		return weaponToMeasure.calculateSingleTargetDPS(true, false, false, false);
+	}
+	
+	@Benchmark
+	public double burstDPS() {
+		return weaponToMeasure.calculateSingleTargetDPS(true, true, true, true);
+	}
+	
+	@Benchmark
+	public double idealSustainedDPS() {
+		return weaponToMeasure.calculateSingleTargetDPS(false, false, false, false);
+	}
+	
+	@Benchmark
+	public double sustainedDPS() {
+		return weaponToMeasure.calculateSingleTargetDPS(false, true, true, true);
+	}
+	
+	@Benchmark
+	public double additionalTargetDPS() {
+		return weaponToMeasure.calculateAdditionalTargetDPS();
+	}
+	
+	@Benchmark
+	public double maxMultiTargetDamage() {
+		return weaponToMeasure.calculateMaxMultiTargetDamage();
+	}
+	
+	@Benchmark
+	public double damagePerMagazine() {
+		return weaponToMeasure.damagePerMagazine();
+	}
+	
+	/*** Non-damage ***/
+	@Benchmark
+	public int maxNumTargets() {
+		return weaponToMeasure.calculateMaxNumTargets();
+	}
+	
+	@Benchmark
+	public double ammoEfficiency() {
+		return weaponToMeasure.ammoEfficiency();
+	}
+	
+	@Benchmark
+	public double damageWastedByArmor() {
+		return weaponToMeasure.damageWastedByArmor();
+	}
+	
+	@Benchmark
+	public double generalAccuracy() {
+		return weaponToMeasure.estimatedAccuracy(false);
+	}
+	
+	@Benchmark
+	public double weakpointAccuracy() {
+		return weaponToMeasure.estimatedAccuracy(true);
+	}
+	
+	@Benchmark
+	public double firingDuration() {
+		return weaponToMeasure.calculateFiringDuration();
+	}
+	
+	@Benchmark
+	public double timeToFireMagazine() {
+		return weaponToMeasure.timeToFireMagazine();
+	}
+	
+	/*** Per-enemy models ***/
+	@Benchmark
+	public double averageTimeToKill() {
+		return weaponToMeasure.averageTimeToKill();
+	}
+	
+	@Benchmark
+	public double averageOverkill() {
+		return weaponToMeasure.averageOverkill();
+	}
+	
+	@Benchmark
+	public int breakpoints() {
+		return weaponToMeasure.breakpoints();
+	}
+	
+	@Benchmark
+	public double utilityScore() {
+		return weaponToMeasure.utilityScore();
+	}
+	
+	@Benchmark
+	public double averageTimeToCauterize() {
+		return weaponToMeasure.averageTimeToCauterize();
+	}
+}
@@ -23,6 +23,7 @@ import javax.swing.JOptionPane;
 import javax.swing.JPanel;
 import javax.swing.JTextField;
 
+import drgtools.dpscalc.guiPieces.BackgroundJob;
 import drgtools.dpscalc.guiPieces.GuiConstants;
 import drgtools.dpscalc.modelPieces.Overclock;
 import drgtools.dpscalc.weapons.Weapon;
@@ -36,6 +37,10 @@ public class CompareAccuracyGraphs extends Comparator {
 	private JTextField minDistanceInput, maxDistanceInput;
 	private JCheckBox[] enableMetricsToGraph;
 	
+	// Filled in by AccuracyGraphsJob.work() on a background thread, and then read by its applyResults() once it's done
+	private double[][] generalAccuracy, weakpointAccuracy, burstAccDPS, sustainedAccDPS, burstAccWpDPS, sustainedAccWpDPS;
+	private double largestBurstAcc, largestSustainedAcc, largestBurstAccWP, largestSustainedAccWP;
+	
 	private JPanel generatedGraphs;
 	private Color line1, line2, line3, line4;
 	
@@ -192,7 +197,7 @@ public class CompareAccuracyGraphs extends Comparator {
 				return;
 			}
 			
-			int i, j;
+			int i;
 			boolean atLeastOneMetricIsSelected = false;
 			for (i = 0; i < enableMetricsToGraph.length; i++) {
 				atLeastOneMetricIsSelected = atLeastOneMetricIsSelected || enableMetricsToGraph[i].isSelected();
@@ -245,12 +250,68 @@ public class CompareAccuracyGraphs extends Comparator {
 			build4 = justifyTop.get(3);
 			buildInput4.setText(build4);
 			
+			// Third and Fourth get done by an AccuracyGraphsJob. The checkboxes get read now, since the job's thread shouldn't be touching Swing components.
+			boolean[] graphEnabled = new boolean[enableMetricsToGraph.length];
+			for (i = 0; i < enableMetricsToGraph.length; i++) {
+				graphEnabled[i] = enableMetricsToGraph[i].isSelected();
+			}
+			new AccuracyGraphsJob(justifyTop, numBuildsToCompare, graphEnabled).start();
+		}
+		else if (e == saveToPNG) {
+			int returnVal = saveLocation.showOpenDialog(null);
+			
+			if (returnVal == JFileChooser.APPROVE_OPTION) {
+				File pngOut = saveLocation.getSelectedFile();
+				
+				// Input sanitization; make sure the file type extension can only be .png
+				String userChosenName = pngOut.getName();
+				if (userChosenName.contains(".")) {
+					userChosenName = userChosenName.replaceFirst("\\..*$", ".png");
+				}
+				else {
+					userChosenName += ".png";
+				}
+
+				pngOut = new File(pngOut.getParent(), userChosenName);
+				
+				// Sourced from https://stackoverflow.com/a/44019372
+				BufferedImage screenshot = this.getScreenshot();
+				try {
+					ImageIO.write(screenshot, "png", pngOut);
+				} catch (IOException e1) {
+					e1.printStackTrace();
+				}
+			}
+		}
+	}
+	
+	/*
+		Third and Fourth get done by one of these, so that the window doesn't freeze while every build gets calculated at every distance. One point is one
+		build at one distance. work() runs on the BackgroundJob's thread, so it only touches baseModel and the fields that hold the data, and it reads which
+		graphs to draw from graphEnabled since the checkboxes are Swing components.
+	*/
+	private class AccuracyGraphsJob extends BackgroundJob {
+		private ArrayList<String> justifyTop;
+		private int numBuildsToCompare;
+		private boolean[] graphEnabled;
+		
+		private AccuracyGraphsJob(ArrayList<String> builds, int numBuilds, boolean[] enabled) {
+			super(compareBuilds, "Calculating the Accuracy graphs", "points");
+			justifyTop = builds;
+			numBuildsToCompare = numBuilds;
+			graphEnabled = enabled;
+		}
+		
+		@Override
+		protected void work() {
+			int i, j;
+			progress.addToTotal(numBuildsToCompare * (numIntervalsPerLine + 1));
+			
 			/*
 				Third, generate the matrices of data -- one matrix for each of the six metrics, with 1-4 rows for each build and as many columns as necessary for the datapoints
 			*/
 			double xInterval = (maxDistance - minDistance) / ((double) numIntervalsPerLine);
 			
-			double[][] generalAccuracy, weakpointAccuracy, burstAccDPS, sustainedAccDPS, burstAccWpDPS, sustainedAccWpDPS;
 			generalAccuracy = new double[numBuildsToCompare][numIntervalsPerLine + 1];
 			weakpointAccuracy = new double[numBuildsToCompare][numIntervalsPerLine + 1];
 			burstAccDPS = new double[numBuildsToCompare][numIntervalsPerLine + 1];
@@ -258,32 +319,42 @@ public class CompareAccuracyGraphs extends Comparator {
 			burstAccWpDPS = new double[numBuildsToCompare][numIntervalsPerLine + 1];
 			sustainedAccWpDPS = new double[numBuildsToCompare][numIntervalsPerLine + 1];
 			
-			double largestBurstAcc = 0, largestSustainedAcc = 0, largestBurstAccWP = 0, largestSustainedAccWP = 0;
+			largestBurstAcc = 0;
+			largestSustainedAcc = 0;
+			largestBurstAccWP = 0;
+			largestSustainedAccWP = 0;
 			
 			baseModel.setAccuracyDPS(true, false);
 			baseModel.setWeakpointDPS(false, false);
 			baseModel.setArmorWastingDPS(false, false);
+			double[] distances = new double[numIntervalsPerLine + 1];
+			for (j = 0; j < numIntervalsPerLine + 1; j++) {
+				distances[j] = minDistance + j * xInterval;
+			}
+			
 			for (i = 0; i < numBuildsToCompare; i++) {
 				baseModel.buildFromCombination(justifyTop.get(i), false);
 				
+				// The two Accuracy lines only need the magazine simulated once per build; AccuracyEstimator remembers it, so every other distance just re-projects it.
+				if (graphEnabled[0]) {
+					generalAccuracy[i] = baseModel.getAccuracyAtDistances(false, distances);
+				}
+				if (graphEnabled[1]) {
+					weakpointAccuracy[i] = baseModel.getAccuracyAtDistances(true, distances);
+				}
+				
 				for (j = 0; j < numIntervalsPerLine + 1; j++) {
-					baseModel.setAccuracyDistance(minDistance + j * xInterval, false);
+					progress.checkIfCancelled();
+					baseModel.setAccuracyDistance(distances[j], false);
 					
-					if (enableMetricsToGraph[0].isSelected()) {
-						generalAccuracy[i][j] = baseModel.getGeneralAccuracy();
-					}
-					if (enableMetricsToGraph[1].isSelected()) {
-						weakpointAccuracy[i][j] = baseModel.getWeakpointAccuracy();
-					}
-					
-					if (enableMetricsToGraph[2].isSelected()) {
+					if (graphEnabled[2]) {
 						burstAccDPS[i][j] = baseModel.calculateSingleTargetDPS(true);
 						
 						if (burstAccDPS[i][j] > largestBurstAcc) {
 							largestBurstAcc = burstAccDPS[i][j];
 						}
 					}
-					if (enableMetricsToGraph[3].isSelected()) {
+					if (graphEnabled[3]) {
 						sustainedAccDPS[i][j] = baseModel.calculateSingleTargetDPS(false);
 						
 						if (sustainedAccDPS[i][j] > largestSustainedAcc) {
@@ -292,14 +363,14 @@ public class CompareAccuracyGraphs extends Comparator {
 					}
 					
 					baseModel.setWeakpointDPS(true, false);
-					if (enableMetricsToGraph[4].isSelected()) {
+					if (graphEnabled[4]) {
 						burstAccWpDPS[i][j] = baseModel.calculateSingleTargetDPS(true);
 						
 						if (burstAccWpDPS[i][j] > largestBurstAccWP) {
 							largestBurstAccWP = burstAccWpDPS[i][j];
 						}
 					}
-					if (enableMetricsToGraph[5].isSelected()) {
+					if (graphEnabled[5]) {
 						sustainedAccWpDPS[i][j] = baseModel.calculateSingleTargetDPS(false);
 						
 						if (sustainedAccWpDPS[i][j] > largestSustainedAccWP) {
@@ -307,8 +378,14 @@ public class CompareAccuracyGraphs extends Comparator {
 						}
 					}
 					baseModel.setWeakpointDPS(false, false);
+					progress.buildDone();
 				}
 			}
+		}
+		
+		@Override
+		protected void applyResults() {
+			int i;
 			
 			/*
 				Fourth, use those matrices and generate as many "fancy graphs" as needed. Arrange them in a GridLayout with the appropriate labels
@@ -418,12 +495,12 @@ public class CompareAccuracyGraphs extends Comparator {
 			JPanel container;
 			MultiLineGraph mlg = null;
 			JLabel nameOfGraph = new JLabel();
-			for (i = 0; i < enableMetricsToGraph.length; i++) {
+			for (i = 0; i < graphEnabled.length; i++) {
 				container = new JPanel();
 				container.setLayout(new BorderLayout());
 				container.setOpaque(false);
 				
-				if (enableMetricsToGraph[i].isSelected()) {
+				if (graphEnabled[i]) {
 					if (i == 0) {
 						nameOfGraph = new JLabel("General Accuracy");
 						mlg = constructMultiLineGraph(100.0, 100.0/25.0, generalAccuracy);
@@ -470,31 +547,5 @@ public class CompareAccuracyGraphs extends Comparator {
 			JDialog d = a.createDialog(null, "Graphs that compare various metrics affected by Accuracy and distance");
 			d.setVisible(true);
 		}
-		else if (e == saveToPNG) {
-			int returnVal = saveLocation.showOpenDialog(null);
-			
-			if (returnVal == JFileChooser.APPROVE_OPTION) {
-				File pngOut = saveLocation.getSelectedFile();
-				
-				// Input sanitization; make sure the file type extension can only be .png
-				String userChosenName = pngOut.getName();
-				if (userChosenName.contains(".")) {
-					userChosenName = userChosenName.replaceFirst("\\..*$", ".png");
-				}
-				else {
-					userChosenName += ".png";
-				}
-
-				pngOut = new File(pngOut.getParent(), userChosenName);
-				
-				// Sourced from https://stackoverflow.com/a/44019372
-				BufferedImage screenshot = this.getScreenshot();
-				try {
-					ImageIO.write(screenshot, "png", pngOut);
-				} catch (IOException e1) {
-					e1.printStackTrace();
-				}
-			}
-		}
 	}
 }
@@ -183,28 +183,14 @@ public class CompareMetrics extends Comparator {
 			baseModel.setArmorWastingDPS(enableArmorWasting.isSelected(), false);
 			
 			// Guaranteed to have at the left-most two columns at this point in the method
-			double[][] metricsToCompare = new double[numBuildsToCompare][15];
+			double[][] metricsToCompare = new double[numBuildsToCompare][Weapon.numMetrics];
 			StatsRow[][] statsPanelsToCompare = new StatsRow[numBuildsToCompare][baseModel.getStats().length];
 			StatsRow[][] breakpointsToCompare = new StatsRow[numBuildsToCompare][baseModel.breakpointsExplanation().length];
 			for (i = 0; i < numBuildsToCompare; i++) {
 				baseModel.buildFromCombination(justifyLeft.get(i), false);
-				metricsToCompare[i] = new double[] {
-					baseModel.calculateSingleTargetDPS(true),
-					baseModel.calculateSingleTargetDPS(false),
-					baseModel.calculateAdditionalTargetDPS(),
-					baseModel.calculateMaxNumTargets(),
-					baseModel.calculateMaxMultiTargetDamage(),
-					baseModel.ammoEfficiency(),
-					baseModel.damageWastedByArmor(),
-					baseModel.getGeneralAccuracy(),
-					baseModel.getWeakpointAccuracy(),
-					baseModel.calculateFiringDuration(),
-					baseModel.averageTimeToKill(),
-					baseModel.averageOverkill(),
-					baseModel.breakpoints(),
-					baseModel.utilityScore(),
-					baseModel.averageTimeToCauterize()
-				};
+				for (j = 0; j < Weapon.numMetrics; j++) {
+					metricsToCompare[i][j] = baseModel.getMetric(j);
+				}
 				
 				statsPanelsToCompare[i] = baseModel.getStats();
 				breakpointsToCompare[i] = baseModel.breakpointsExplanation();
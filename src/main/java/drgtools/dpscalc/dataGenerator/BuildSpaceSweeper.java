@@ -0,0 +1,171 @@
+package drgtools.dpscalc.dataGenerator;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import drgtools.dpscalc.modelPieces.DifficultyContext;
+import drgtools.dpscalc.weapons.Weapon;
+
+/*
+	Walking every mod/OC combination on one thread was the slowest part of regenerating the CSVs and the MySQL dump after a patch. This class splits the
+	combination space up into (Overclock, Tier 5) slices and hands them out to a ForkJoinPool, where each slice gets its own clone of the Weapon so that no two
+	threads ever touch the same object. The slices' results get handed back in the same order that the old nested loops produced them
+	(OC changes last, Tier 1 changes first), so the output files are identical to what a single-threaded sweep would write.
+
+	The only shared state the Weapons read from is EnemyInformation and DoTInformation, which don't change while a sweep is running. Sweeping at several
+	difficulties at once just multiplies the number of slices, since every clone can be given its own immutable DifficultyContext.
+*/
+public class BuildSpaceSweeper {
+	// One pool for the whole program so that exporting all 25 weapons back-to-back re-uses the same worker threads.
+	private static final ForkJoinPool sweepPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+	
+	public static int getParallelism() {
+		return sweepPool.getParallelism();
+	}
+	
+	// How many builds sweep() evaluates at one difficulty, for whoever is in charge of a ProgressTracker's total
+	public static long countBuilds(Weapon weaponToSweep, boolean subset) {
+		long toReturn = weaponToSweep.getOverclocks(subset).length;
+		for (int tier = 1; tier <= 5; tier++) {
+			toReturn *= weaponToSweep.getModsAtTier(tier, subset).length;
+		}
+		return toReturn;
+	}
+	
+	/*
+		Evaluates rowMaker once for every combination in the (optionally subset) build space of weaponToSweep and returns the results in canonical order.
+		rowMaker gets called on a worker's clone, already set to the combination being evaluated; it must not change the clone's mods or overclock.
+		weaponToSweep itself is never modified.
+	*/
+	public static <T> ArrayList<T> sweep(Weapon weaponToSweep, boolean subset, Function<Weapon, T> rowMaker) {
+		// A null DifficultyContext means the clones keep using whatever difficulty weaponToSweep uses
+		return sweep(weaponToSweep, subset, new DifficultyContext[] {null}, rowMaker);
+	}
+	
+	/*
+		Same as above, except that the whole build space gets evaluated once at each of the difficulties. The results are grouped by difficulty, in the same order
+		as the array, and all of the difficulties get evaluated in parallel with each other.
+	*/
+	public static <T> ArrayList<T> sweep(Weapon weaponToSweep, boolean subset, DifficultyContext[] difficulties, Function<Weapon, T> rowMaker) {
+		ArrayList<T> toReturn = new ArrayList<T>();
+		sweep(weaponToSweep, subset, difficulties, rowMaker, toReturn::add);
+		return toReturn;
+	}
+	
+	public static <T> void sweep(Weapon weaponToSweep, boolean subset, Function<Weapon, T> rowMaker, Consumer<T> rowConsumer) {
+		sweep(weaponToSweep, subset, new DifficultyContext[] {null}, rowMaker, rowConsumer);
+	}
+	
+	/*
+		The streaming version: instead of collecting every result, each one gets handed to rowConsumer in canonical order as soon as all of the results before it
+		are done. rowConsumer always gets called from the thread that called this method, so it doesn't need to be thread-safe. Only a few slices are allowed to
+		be in progress at once, so the memory used stays the same no matter how big the build space is.
+	*/
+	public static <T> void sweep(Weapon weaponToSweep, boolean subset, DifficultyContext[] difficulties, Function<Weapon, T> rowMaker, Consumer<T> rowConsumer) {
+		sweep(weaponToSweep, subset, difficulties, rowMaker, rowConsumer, new ProgressTracker());
+	}
+	
+	/*
+		Every worker counts its builds on progress as it finishes them. If progress gets cancelled, the workers stop at their next build, the slices that haven't
+		started yet get thrown out, and this throws a CancellationException without handing rowConsumer anything else.
+	*/
+	public static <T> void sweep(Weapon weaponToSweep, boolean subset, DifficultyContext[] difficulties, Function<Weapon, T> rowMaker, Consumer<T> rowConsumer, ProgressTracker progress) {
+		// Read all the indexes from the original Weapon, since the clones won't know which mods/OCs the user has ignored.
+		int[][] modsPerTier = new int[5][];
+		for (int i = 0; i < 5; i++) {
+			modsPerTier[i] = weaponToSweep.getModsAtTier(i + 1, subset);
+		}
+		int[] overclocks = weaponToSweep.getOverclocks(subset);
+		
+		// Each slice is one (difficulty, OC, T5) triple, ordered the way the outer three loops would have visited them
+		int numT5 = modsPerTier[4].length;
+		int slicesPerDifficulty = overclocks.length * numT5;
+		int[][] slices = new int[difficulties.length * slicesPerDifficulty][];
+		for (int d = 0; d < difficulties.length; d++) {
+			for (int i = 0; i < overclocks.length; i++) {
+				for (int j = 0; j < numT5; j++) {
+					slices[d * slicesPerDifficulty + i * numT5 + j] = new int[] {d, overclocks[i], modsPerTier[4][j]};
+				}
+			}
+		}
+		
+		// Keep every worker busy with one slice while another slice per worker waits its turn, and hand the oldest slice's results off as soon as it finishes.
+		int maxSlicesInProgress = 2 * sweepPool.getParallelism();
+		ArrayDeque<ForkJoinTask<ArrayList<T>>> inProgress = new ArrayDeque<ForkJoinTask<ArrayList<T>>>();
+		int nextSlice = 0;
+		try {
+			while (nextSlice < slices.length || !inProgress.isEmpty()) {
+				progress.checkIfCancelled();
+				
+				while (nextSlice < slices.length && inProgress.size() < maxSlicesInProgress) {
+					int[] slice = slices[nextSlice];
+					inProgress.add(sweepPool.submit(new SliceTask<T>(weaponToSweep, difficulties[slice[0]], modsPerTier, slice[1], slice[2], rowMaker, progress)));
+					nextSlice++;
+				}
+				
+				for (T row: inProgress.poll().join()) {
+					rowConsumer.accept(row);
+				}
+			}
+		}
+		catch (CancellationException e) {
+			// Don't leave any slices queued up in the pool for the next sweep to wait behind
+			for (ForkJoinTask<ArrayList<T>> task: inProgress) {
+				task.cancel(false);
+			}
+			throw e;
+		}
+	}
+	
+	private static class SliceTask<T> extends RecursiveTask<ArrayList<T>> {
+		private static final long serialVersionUID = 1L;
+		
+		private Weapon original;
+		private DifficultyContext difficulty;
+		private int[][] modsPerTier;
+		private int oc, t5;
+		private Function<Weapon, T> rowMaker;
+		private ProgressTracker progress;
+		
+		public SliceTask(Weapon original, DifficultyContext difficulty, int[][] modsPerTier, int oc, int t5, Function<Weapon, T> rowMaker, ProgressTracker progress) {
+			this.original = original;
+			this.difficulty = difficulty;
+			this.modsPerTier = modsPerTier;
+			this.oc = oc;
+			this.t5 = t5;
+			this.rowMaker = rowMaker;
+			this.progress = progress;
+		}
+		
+		@Override
+		protected ArrayList<T> compute() {
+			// Cloning only reads from the original, so it's safe for every worker to do at the same time.
+			Weapon clone = original.cloneWithSettings();
+			if (difficulty != null) {
+				clone.setDifficulty(difficulty);
+			}
+			
+			// Tiers 1-4 get walked in Gray code order so that every build after the first only changes one of them, but each result still gets put where the
+			// nested loops would have put it.
+			GrayCodeBuildIterator builds = new GrayCodeBuildIterator(modsPerTier[0], modsPerTier[1], modsPerTier[2], modsPerTier[3], new int[] {t5}, new int[] {oc});
+			ArrayList<T> toReturn = new ArrayList<T>(Collections.nCopies(builds.size(), (T) null));
+			
+			while (builds.next()) {
+				progress.checkIfCancelled();
+				builds.applyTo(clone);
+				
+				toReturn.set(builds.getCanonicalIndex(), rowMaker.apply(clone));
+				progress.buildDone();
+			}
+			
+			return toReturn;
+		}
+	}
+}
@@ -3,6 +3,10 @@ package drgtools.dpscalc.dataGenerator;
 public class DatabaseConstants {
 	public static String databaseName = "forge";
 	public static String statsTableName = "build_metrics";
+	public static String statsByDifficultyTableName = "build_metrics_by_difficulty";
+	
+	// How many rows go into each INSERT statement in the .sql dumps. 1000 rows is about 500 KB, well under MySQL's default max_allowed_packet.
+	public static int rowsPerInsert = 1000;
 	public static String modsTableName = "mods";
 	public static String OCsTableName = "overclocks";
 	
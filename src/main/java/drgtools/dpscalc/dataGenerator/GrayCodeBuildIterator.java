@@ -0,0 +1,115 @@
+package drgtools.dpscalc.dataGenerator;
+
+import drgtools.dpscalc.modelPieces.BuildID;
+import drgtools.dpscalc.weapons.Weapon;
+
+/*
+	Walks every combination of the given options for Tiers 1-5 and the Overclock without allocating anything per build. Instead of the nested loops' order,
+	where rolling Tier 1 over from its last option to its first also changes Tier 2 (and sometimes 3, 4, 5 and the OC with it), this goes back and forth
+	through each tier like a reflected Gray code: after the first build, exactly one tier changes by one option on every step. Since every mod or overclock
+	change makes the Weapon re-calculate its AoE Efficiency and Armor Wasting, that's the fewest setter calls any order could get away with.
+
+	The builds still get numbered the way the nested loops would have visited them (Tier 1 changing first, OC changing last), so anything that needs to
+	write its results out in that order can put each one at getCanonicalIndex().
+*/
+public class GrayCodeBuildIterator {
+	// Index 0-4 are Mod Tiers 1-5 and index 5 is the Overclock
+	public static final int overclockDimension = 5;
+	private static final int numDimensions = 6;
+	
+	private int[][] options;
+	private int[] position;
+	private int[] direction;
+	private int[] canonicalStride;
+	
+	private int buildID;
+	private int canonicalIndex;
+	private int changedDimension;
+	private boolean started;
+	
+	// Each array is the options to try at that tier, the same way that Weapon.getModsAtTier() and Weapon.getOverclocks() return them.
+	public GrayCodeBuildIterator(int[] tier1, int[] tier2, int[] tier3, int[] tier4, int[] tier5, int[] overclocks) {
+		options = new int[][] {tier1, tier2, tier3, tier4, tier5, overclocks};
+		position = new int[numDimensions];
+		direction = new int[numDimensions];
+		canonicalStride = new int[numDimensions];
+		
+		int stride = 1;
+		for (int i = 0; i < numDimensions; i++) {
+			direction[i] = 1;
+			canonicalStride[i] = stride;
+			stride *= options[i].length;
+		}
+		
+		buildID = BuildID.pack(tier1[0], tier2[0], tier3[0], tier4[0], tier5[0], overclocks[0]);
+		canonicalIndex = 0;
+		changedDimension = -1;
+		started = false;
+	}
+	
+	public int size() {
+		int toReturn = 1;
+		for (int[] tierOptions: options) {
+			toReturn *= tierOptions.length;
+		}
+		return toReturn;
+	}
+	
+	// Moves on to the next build and returns true, or returns false once every build has been visited. The first call stays on the first build.
+	public boolean next() {
+		if (!started) {
+			started = true;
+			return true;
+		}
+		
+		// Find the fastest-changing tier that hasn't reached the end it's headed towards; every faster tier before it has, so they turn around.
+		for (int i = 0; i < numDimensions; i++) {
+			int newPosition = position[i] + direction[i];
+			if (newPosition >= 0 && newPosition < options[i].length) {
+				position[i] = newPosition;
+				canonicalIndex += direction[i] * canonicalStride[i];
+				changedDimension = i;
+				
+				if (i == overclockDimension) {
+					buildID = BuildID.withOverclock(buildID, options[i][newPosition]);
+				}
+				else {
+					buildID = BuildID.withModAtTier(buildID, i + 1, options[i][newPosition]);
+				}
+				return true;
+			}
+			direction[i] = -direction[i];
+		}
+		
+		return false;
+	}
+	
+	public int getBuildID() {
+		return buildID;
+	}
+	// Where the current build falls in the nested loops' order
+	public int getCanonicalIndex() {
+		return canonicalIndex;
+	}
+	// -1 for the first build, 0-4 for Mod Tiers 1-5, or overclockDimension
+	public int getChangedDimension() {
+		return changedDimension;
+	}
+	
+	/*
+		Puts weapon on the current build with as few setter calls as possible: all of them for the first build, and only the one tier that changed after that.
+		weapon has to still be on the previous build, which is true as long as nothing else changes its mods or overclock in between. Any metrics that were
+		calculated for the previous build and can't be affected by the tier that changed get carried over to this one instead of being calculated again.
+	*/
+	public void applyTo(Weapon weapon) {
+		if (changedDimension < 0) {
+			weapon.buildFromID(buildID, false);
+		}
+		else if (changedDimension == overclockDimension) {
+			weapon.stepOverclock(BuildID.getOverclock(buildID));
+		}
+		else {
+			weapon.stepModAtTier(changedDimension + 1, BuildID.getModAtTier(buildID, changedDimension + 1));
+		}
+	}
+}
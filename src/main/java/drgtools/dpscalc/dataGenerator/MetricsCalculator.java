@@ -5,19 +5,27 @@ import java.io.FileWriter;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 
+import drgtools.dpscalc.modelPieces.BuildID;
+import drgtools.dpscalc.modelPieces.DifficultyContext;
+import drgtools.dpscalc.modelPieces.DifficultyIndependentMetrics;
+import drgtools.dpscalc.modelPieces.EnemyInformation;
 import drgtools.dpscalc.weapons.Weapon;
 
 public class MetricsCalculator {
 	
 	private Weapon weaponToTest;
 	private File outputFolder;
+	// Nobody watches this one unless the GUI hands over its own with setProgressTracker(), but counting builds is cheap enough to always do
+	private ProgressTracker progress;
 	
 	public MetricsCalculator(Weapon testingWeapon) {
 		weaponToTest = testingWeapon;
 		String defaultHomeFolder = System.getProperty("user.home");
 		outputFolder = new File(defaultHomeFolder);
+		progress = new ProgressTracker();
 	}
 	
 	public void setOutputFolder(File newDestinationFolder) {
@@ -58,10 +66,27 @@ public class MetricsCalculator {
 		}
 	}
 	
+	// These stream their lines straight to disk instead of collecting them all first, which matters for the big MySQL dumps.
+	public MetricsFileWriter openFile(String filename, boolean append) {
+		return new MetricsFileWriter(new File(outputFolder, filename), append);
+	}
+	public MySQLInsertWriter openMySQLFile(String filename, int rowsPerInsert) {
+		// Set append=False so that it clears out the old file
+		return new MySQLInsertWriter(new File(outputFolder, filename), false, rowsPerInsert);
+	}
+	
 	public void changeWeapon(Weapon newWeaponToCalculate) {
 		weaponToTest = newWeaponToCalculate;
 	}
 	
+	/*
+		Every build that the exports and searches below evaluate gets counted on this, and they all stop with a CancellationException at the next build after it
+		gets cancelled. Whoever passes it in is in charge of its total; BuildSpaceSweeper.countBuilds() and countBestMetricCombinationBuilds() help with that.
+	*/
+	public void setProgressTracker(ProgressTracker tracker) {
+		progress = tracker;
+	}
+	
 	public void exportMetricsToCSV() {
 		/*
 			Questions I want to answer:
@@ -71,18 +96,8 @@ public class MetricsCalculator {
 				4. What is the best combination of mods and overclocks?
 		*/
 		
-		// Start by resetting all mods and overclocks to be unselected
-		String currentCombination = weaponToTest.getCombination();
-		weaponToTest.setSelectedModAtTier(1, -1, false);
-		weaponToTest.setSelectedModAtTier(2, -1, false);
-		weaponToTest.setSelectedModAtTier(3, -1, false);
-		weaponToTest.setSelectedModAtTier(4, -1, false);
-		weaponToTest.setSelectedModAtTier(5, -1, false);
-		weaponToTest.setSelectedOverclock(-1, false);
-		
 		// Clear out old data and write the header line.
 		String filename = weaponToTest.getDwarfClass() + "_" + weaponToTest.getSimpleName() + ".csv";
-		ArrayList<String> csvLinesToWrite = new ArrayList<String>();
 		
 		String[] headers = new String[] {"Mods/OC", 
 				"Ideal Burst DPS", "Burst DPS (+WP)", "Burst DPS (+Acc)", "Burst DPS (+AW)", "Burst DPS (+WP, +Acc)", "Burst DPS (+WP, +AW)", "Burst DPS (+Acc, +AW)", "Burst DPS (+WP, +Acc, +AW)", 
@@ -92,163 +107,291 @@ public class MetricsCalculator {
 				"Damage per Magazine/Explosion", "Time to Fire Magazine"};
 		String headerLine = String.join(", ", headers) + ",\n";
 		// Set append=False so that it clears existing lines
-		writeFile(headerLine, filename, false);
+		MetricsFileWriter csvFile = openFile(filename, false);
+		csvFile.write(headerLine);
 		
-		// One String for the combination, and then 16 DPS and 13 other metrics
-		String format = "%s, %f, %f, %f, %f, %f, %f, %f, %f, %f, %f, %f, %f, %f, %f, %f, %f, %f, %d, %f, %f, %f, %f, %f, %f, %f, %f, %d, %f, %f, %f, %f,\n";
+		// The workers only calculate the numbers; this thread turns them into text, re-using the same buffer for every line.
+		RowEncoder csvLine = new RowEncoder();
 		
-		int[] tier1 = weaponToTest.getModsAtTier(1, false);
-		int[] tier2 = weaponToTest.getModsAtTier(2, false);
-		int[] tier3 = weaponToTest.getModsAtTier(3, false);
-		int[] tier4 = weaponToTest.getModsAtTier(4, false);
-		int[] tier5 = weaponToTest.getModsAtTier(5, false);
-		int[] overclocks = weaponToTest.getOverclocks(false);
+		// Every combination gets evaluated on a clone, in parallel, and gets written in the same order that the nested loops used to produce it.
+		try {
+			BuildSpaceSweeper.sweep(weaponToTest, false, new DifficultyContext[] {null}, weapon -> new ExportedRow(weapon), row -> {
+				// The combination, and then 16 DPS and 15 other metrics
+				csvLine.clear().append(BuildID.toCombination(row.buildID)).append(", ");
+				appendExportedMetrics(csvLine, row.metrics);
+				csvLine.append(",\n");
+				csvFile.write(csvLine);
+			}, progress);
+		}
+		finally {
+			// If the export got cancelled, this still closes the file with every row that was finished before then.
+			csvFile.close();
+		}
+	}
+	
+	private String getBulkInsertHeader(String tableName, boolean includeDifficulty) {
+		String difficultyColumns = "";
+		if (includeDifficulty) {
+			difficultyColumns = "`hazard_level`, `player_count`, ";
+		}
 		
-		// The overclocks are the outermost loop because they should change last, and tier 1 is the innermost loop since it should change first.
-		for (int oc: overclocks) {
-			weaponToTest.setSelectedOverclock(oc, false);
+		// The writer puts the VALUES rows after this, one per line
+		return String.format("INSERT INTO `%s` (`id`, `character_id`, `gun_id`, `weapon_short_name`, `build_combination`, %s"
+				+ "`ideal_burst_dps`, `burst_dps_wp`, `burst_dps_acc`, `burst_dps_aw`, `burst_dps_wp_acc`, `burst_dps_wp_aw`, `burst_dps_acc_aw`, `burst_dps_wp_acc_aw`, "
+				+ "`ideal_sustained_dps`, `sustained_dps_wp`, `sustained_dps_acc`, `sustained_dps_aw`, `sustained_dps_wp_acc`, `sustained_dps_wp_aw`, `sustained_dps_acc_aw`, `sustained_dps_wp_acc_aw`, "
+				+ "`ideal_additional_target_dps`, `max_num_targets_per_shot`, `max_multi_target_damage`, `ammo_efficiency`, `damage_wasted_by_armor`, "
+				+ "`general_accuracy`, `weakpoint_accuracy`, `firing_duration`, `average_time_to_kill`, "
+				+ "`average_overkill`, `breakpoints`, `utility`, `average_time_to_ignite_or_freeze`, "
+				+ "`damage_per_magazine`, `time_to_fire_magazine`, `patch_id`)\nVALUES\n", tableName, difficultyColumns);
+	}
+	
+	/*** Exported rows ***/
+	// The 16 primary target DPS calculations and 15 other metrics that every CSV line and MySQL row has, in the same order as the columns.
+	private static final int numExportedMetrics = 31;
+	// Max Num Targets and Breakpoints are whole numbers, so they get written without any decimal places
+	private static final int maxNumTargetsColumn = 17;
+	private static final int breakpointsColumn = 26;
+	
+	// Everything a worker needs to hand back for one build, so that the text can be written later on the thread that owns the file
+	private static class ExportedRow {
+		private int buildID;
+		private int hazardLevel;
+		private int playerCount;
+		private double[] metrics;
+		
+		private ExportedRow(Weapon weapon) {
+			buildID = weapon.getBuildID();
+			hazardLevel = weapon.getDifficulty().getHazardLevel();
+			playerCount = weapon.getDifficulty().getPlayerCount();
+			metrics = getExportedMetrics(weapon);
+		}
+	}
+	
+	/*
+		The 15 metrics after the DPS columns all go through the metric cache. That way dumpMetricsAtEveryDifficultyToMySQL() can supply Max Num Targets, Accuracy,
+		and Firing Duration ahead of time, and BuildSpaceSweeper's Gray code order can carry over every metric that the tier it just changed doesn't affect.
+	*/
+	private static double[] getExportedMetrics(Weapon weapon) {
+		return new double[] {
+			// 8 Burst DPS
+			weapon.calculateSingleTargetDPS(true, false, false, false), weapon.calculateSingleTargetDPS(true, true, false, false), 
+			weapon.calculateSingleTargetDPS(true, false, true, false), weapon.calculateSingleTargetDPS(true, false, false, true), 
+			weapon.calculateSingleTargetDPS(true, true, true, false), weapon.calculateSingleTargetDPS(true, true, false, true), 
+			weapon.calculateSingleTargetDPS(true, false, true, true), weapon.calculateSingleTargetDPS(true, true, true, true), 
+			// 8 Sustained DPS
+			weapon.calculateSingleTargetDPS(false, false, false, false), weapon.calculateSingleTargetDPS(false, true, false, false), 
+			weapon.calculateSingleTargetDPS(false, false, true, false), weapon.calculateSingleTargetDPS(false, false, false, true), 
+			weapon.calculateSingleTargetDPS(false, true, true, false), weapon.calculateSingleTargetDPS(false, true, false, true), 
+			weapon.calculateSingleTargetDPS(false, false, true, true), weapon.calculateSingleTargetDPS(false, true, true, true), 
+			// 15 Other metrics
+			weapon.getMetric(2), weapon.getMetric(3), weapon.getMetric(4), weapon.getMetric(5), weapon.getMetric(6),
+			weapon.getMetric(7), weapon.getMetric(8), weapon.getMetric(9), weapon.getMetric(10), 
+			weapon.getMetric(11), weapon.getMetric(12), weapon.getMetric(13), weapon.getMetric(14), 
+			weapon.damagePerMagazine(), weapon.timeToFireMagazine()
+		};
+	}
+	
+	// Writes all 31 metrics separated by commas, the same way "%f, %f, ..., %d, ..." used to
+	private static void appendExportedMetrics(RowEncoder row, double[] metrics) {
+		for (int i = 0; i < numExportedMetrics; i++) {
+			if (i > 0) {
+				row.append(", ");
+			}
 			
-			for (int t5: tier5) {
-				weaponToTest.setSelectedModAtTier(5, t5, false);
-				
-				for (int t4: tier4) {
-					weaponToTest.setSelectedModAtTier(4, t4, false);
-					
-					for (int t3: tier3) {
-						weaponToTest.setSelectedModAtTier(3, t3, false);
-						
-						for (int t2: tier2) {
-							weaponToTest.setSelectedModAtTier(2, t2, false);
-							
-							for (int t1: tier1) {
-								weaponToTest.setSelectedModAtTier(1, t1, false);
-								
-								csvLinesToWrite.add(String.format(format, weaponToTest.getCombination(),
-									weaponToTest.calculateSingleTargetDPS(true, false, false, false), weaponToTest.calculateSingleTargetDPS(true, true, false, false), 
-									weaponToTest.calculateSingleTargetDPS(true, false, true, false), weaponToTest.calculateSingleTargetDPS(true, false, false, true), 
-									weaponToTest.calculateSingleTargetDPS(true, true, true, false), weaponToTest.calculateSingleTargetDPS(true, true, false, true), 
-									weaponToTest.calculateSingleTargetDPS(true, false, true, true), weaponToTest.calculateSingleTargetDPS(true, true, true, true), 
-									weaponToTest.calculateSingleTargetDPS(false, false, false, false), weaponToTest.calculateSingleTargetDPS(false, true, false, false), 
-									weaponToTest.calculateSingleTargetDPS(false, false, true, false), weaponToTest.calculateSingleTargetDPS(false, false, false, true), 
-									weaponToTest.calculateSingleTargetDPS(false, true, true, false), weaponToTest.calculateSingleTargetDPS(false, true, false, true), 
-									weaponToTest.calculateSingleTargetDPS(false, false, true, true), weaponToTest.calculateSingleTargetDPS(false, true, true, true), 
-									weaponToTest.calculateAdditionalTargetDPS(), weaponToTest.calculateMaxNumTargets(), weaponToTest.calculateMaxMultiTargetDamage(), 
-									weaponToTest.ammoEfficiency(), weaponToTest.damageWastedByArmor(), weaponToTest.getGeneralAccuracy(), weaponToTest.getWeakpointAccuracy(),
-									weaponToTest.calculateFiringDuration(), weaponToTest.averageTimeToKill(), weaponToTest.averageOverkill(), weaponToTest.breakpoints(), 
-									weaponToTest.utilityScore(), weaponToTest.averageTimeToCauterize(), weaponToTest.damagePerMagazine(), weaponToTest.timeToFireMagazine()
-								));
-								
-							}
-						}
-					}
-				}
+			if (i == maxNumTargetsColumn || i == breakpointsColumn) {
+				row.append((int) metrics[i]);
 			}
+			else {
+				row.append(metrics[i]);
+			}
+		}
+	}
+	
+	// Everything in a MySQL row except for the metrics is the same for every build of a Weapon, other than the combination and difficulty
+	private static void encodeMySQLRow(RowEncoder row, int dwarfClassID, int weaponID, String simpleName, ExportedRow values, boolean includeDifficulty) {
+		row.clear().append("(NULL, ").append(dwarfClassID).append(", ").append(weaponID).append(", '").append(simpleName).append("', '").append(BuildID.toCombination(values.buildID)).append("', ");
+		if (includeDifficulty) {
+			row.append(values.hazardLevel).append(", ").append(values.playerCount).append(", ");
 		}
+		appendExportedMetrics(row, values.metrics);
+		row.append(", ").append(DatabaseConstants.patchNumberID).append(')');
+	}
+	
+	// Each row gets written to sqlFile as soon as it and all the rows before it are done, so only a few slices' worth of rows are ever in memory.
+	public void dumpMetricsToMySQL(MySQLInsertWriter sqlFile) {
+		int dwarfClassID = weaponToTest.getDwarfClassID();
+		int weaponID = weaponToTest.getWeaponID();
+		String simpleName = weaponToTest.getSimpleName();
+		
+		sqlFile.beginInserts(getBulkInsertHeader(DatabaseConstants.statsTableName, false));
 		
-		// Set append=True so that it appends the lines after the header line
-		writeFile(csvLinesToWrite, filename, true);
+		// Every combination gets evaluated on a clone, in parallel, and gets written in the same order that the nested loops used to produce it.
+		RowEncoder sqlRow = new RowEncoder();
+		BuildSpaceSweeper.sweep(weaponToTest, false, new DifficultyContext[] {null}, weapon -> new ExportedRow(weapon), row -> {
+			encodeMySQLRow(sqlRow, dwarfClassID, weaponID, simpleName, row, false);
+			sqlFile.writeRow(sqlRow);
+		}, progress);
 		
-		// Finally, set the Weapon back to the mods/oc combination that it started at before the test.
-		weaponToTest.buildFromCombination(currentCombination);
+		sqlFile.endInserts();
 	}
 	
-	public ArrayList<String> dumpMetricsToMySQL() {
-		ArrayList<String> toReturn = new ArrayList<String>();
-		
-		// Grab the current combination for the weapon to restore after this is done
-		String currentCombination = weaponToTest.getCombination();
+	/*
+		Same as dumpMetricsToMySQL(), except that every build gets evaluated at all 20 combinations of Hazard Level and Player Count instead of only the one
+		selected in the GUI, and all 20 get swept in parallel. That's 20x as many rows, so the clones share a table of the metrics that never depend on difficulty
+		(only Max Num Targets, see DifficultyIndependentMetrics for why): whichever difficulty calculates it first for a build records it, and the rest copy it
+		into their metric caches when they get to that build.
+	*/
+	public void dumpMetricsAtEveryDifficultyToMySQL(MySQLInsertWriter sqlFile) {
 		int dwarfClassID = weaponToTest.getDwarfClassID();
 		int weaponID = weaponToTest.getWeaponID();
 		String simpleName = weaponToTest.getSimpleName();
 		
-		int[] tier1 = weaponToTest.getModsAtTier(1, false);
-		int[] tier2 = weaponToTest.getModsAtTier(2, false);
-		int[] tier3 = weaponToTest.getModsAtTier(3, false);
-		int[] tier4 = weaponToTest.getModsAtTier(4, false);
-		int[] tier5 = weaponToTest.getModsAtTier(5, false);
-		int[] overclocks = weaponToTest.getOverclocks(false);
+		// The Weapon from the GUI never gets modified; everything happens on clones that share its settings.
+		Weapon prototype = weaponToTest.cloneWithSettings();
+		prototype.setDifficultyIndependentMetrics(new DifficultyIndependentMetrics());
 		
-		String bulkInsertHeader = String.format("INSERT INTO `%s` (`id`, `character_id`, `gun_id`, `weapon_short_name`, `build_combination`, "
-				+ "`ideal_burst_dps`, `burst_dps_wp`, `burst_dps_acc`, `burst_dps_aw`, `burst_dps_wp_acc`, `burst_dps_wp_aw`, `burst_dps_acc_aw`, `burst_dps_wp_acc_aw`, "
-				+ "`ideal_sustained_dps`, `sustained_dps_wp`, `sustained_dps_acc`, `sustained_dps_aw`, `sustained_dps_wp_acc`, `sustained_dps_wp_aw`, `sustained_dps_acc_aw`, `sustained_dps_wp_acc_aw`, "
-				+ "`ideal_additional_target_dps`, `max_num_targets_per_shot`, `max_multi_target_damage`, `ammo_efficiency`, `damage_wasted_by_armor`, "
-				+ "`general_accuracy`, `weakpoint_accuracy`, `firing_duration`, `average_time_to_kill`, "
-				+ "`average_overkill`, `breakpoints`, `utility`, `average_time_to_ignite_or_freeze`, "
-				+ "`damage_per_magazine`, `time_to_fire_magazine`, `patch_id`)\nVALUES\n", DatabaseConstants.statsTableName);
-		toReturn.add(bulkInsertHeader);
+		sqlFile.beginInserts(getBulkInsertHeader(DatabaseConstants.statsByDifficultyTableName, true));
+		RowEncoder sqlRow = new RowEncoder();
+		BuildSpaceSweeper.sweep(prototype, false, EnemyInformation.getAllDifficulties(), weapon -> new ExportedRow(weapon), row -> {
+			encodeMySQLRow(sqlRow, dwarfClassID, weaponID, simpleName, row, true);
+			sqlFile.writeRow(sqlRow);
+		}, progress);
 		
-		String format = "(NULL, %d, %d, '%s', '%s', "  										// Identifying this row
-				+ "%f, %f, %f, %f, %f, %f, %f, %f, %f, %f, %f, %f, %f, %f, %f, %f, "  		// 16 primary target DPS calculations
-				+ "%f, %d, %f, %f, %f, %f, %f, %f, %f, %f, %d, %f, %f, %f, %f, %d),\n";  	// 15 other metrics and patch ID
+		sqlFile.endInserts();
+	}
+	
+	/*
+		Writes the table definition followed by every build of every Weapon in weaponsToExport into one .sql file in the output folder. This gets used by both the
+		GUI's Export menu and the command-line driver. When everyDifficulty is true, every build gets a row for each of the 20 combinations of Hazard Level and
+		Player Count, instead of only the ones currently selected.
+	*/
+	public void exportMetricsToMySQL(Weapon[] weaponsToExport, boolean everyDifficulty) {
+		String tableName;
+		if (everyDifficulty) {
+			tableName = DatabaseConstants.statsByDifficultyTableName;
+		}
+		else {
+			tableName = DatabaseConstants.statsTableName;
+		}
 		
-		// The overclocks are the outermost loop because they should change last, and tier 1 is the innermost loop since it should change first.
-		for (int oc: overclocks) {
-			weaponToTest.setSelectedOverclock(oc, false);
-			
-			for (int t5: tier5) {
-				weaponToTest.setSelectedModAtTier(5, t5, false);
-				
-				for (int t4: tier4) {
-					weaponToTest.setSelectedModAtTier(4, t4, false);
-					
-					for (int t3: tier3) {
-						weaponToTest.setSelectedModAtTier(3, t3, false);
-						
-						for (int t2: tier2) {
-							weaponToTest.setSelectedModAtTier(2, t2, false);
-							
-							for (int t1: tier1) {
-								weaponToTest.setSelectedModAtTier(1, t1, false);
-								
-								toReturn.add(String.format(format, 
-									// Identifying this row
-									dwarfClassID, weaponID, simpleName, weaponToTest.getCombination(),
-									// 8 Burst DPS
-									weaponToTest.calculateSingleTargetDPS(true, false, false, false), weaponToTest.calculateSingleTargetDPS(true, true, false, false), 
-									weaponToTest.calculateSingleTargetDPS(true, false, true, false), weaponToTest.calculateSingleTargetDPS(true, false, false, true), 
-									weaponToTest.calculateSingleTargetDPS(true, true, true, false), weaponToTest.calculateSingleTargetDPS(true, true, false, true), 
-									weaponToTest.calculateSingleTargetDPS(true, false, true, true), weaponToTest.calculateSingleTargetDPS(true, true, true, true), 
-									// 8 Sustained DPS
-									weaponToTest.calculateSingleTargetDPS(false, false, false, false), weaponToTest.calculateSingleTargetDPS(false, true, false, false), 
-									weaponToTest.calculateSingleTargetDPS(false, false, true, false), weaponToTest.calculateSingleTargetDPS(false, false, false, true), 
-									weaponToTest.calculateSingleTargetDPS(false, true, true, false), weaponToTest.calculateSingleTargetDPS(false, true, false, true), 
-									weaponToTest.calculateSingleTargetDPS(false, false, true, true), weaponToTest.calculateSingleTargetDPS(false, true, true, true), 
-									// 15 Other metrics and patch ID
-									weaponToTest.calculateAdditionalTargetDPS(), weaponToTest.calculateMaxNumTargets(), weaponToTest.calculateMaxMultiTargetDamage(), weaponToTest.ammoEfficiency(), weaponToTest.damageWastedByArmor(),
-									weaponToTest.getGeneralAccuracy(), weaponToTest.getWeakpointAccuracy(), weaponToTest.calculateFiringDuration(), weaponToTest.averageTimeToKill(), 
-									weaponToTest.averageOverkill(), weaponToTest.breakpoints(), weaponToTest.utilityScore(), weaponToTest.averageTimeToCauterize(), 
-									weaponToTest.damagePerMagazine(), weaponToTest.timeToFireMagazine(), DatabaseConstants.patchNumberID
-								));
-							}
-						}
-					}
-				}
-			}
+		// The rows get streamed into the file as they're calculated, so open it first and write the table definition before any of them.
+		MySQLInsertWriter sqlFile = openMySQLFile(tableName + ".sql", DatabaseConstants.rowsPerInsert);
+		sqlFile.write(String.format("DROP TABLE IF EXISTS `%s`;\n\n", tableName));
+		sqlFile.write(String.format("CREATE TABLE `%s` (\n", tableName));
+		sqlFile.write("    `id` BIGINT UNSIGNED NOT NULL AUTO_INCREMENT,\n");
+		sqlFile.write("    `character_id` BIGINT UNSIGNED NOT NULL,\n");
+		sqlFile.write("    `gun_id` BIGINT UNSIGNED NOT NULL,\n");
+		sqlFile.write("    `weapon_short_name` VARCHAR(50) NOT NULL,\n");
+		sqlFile.write("    `build_combination` VARCHAR(6) NOT NULL,\n");
+		
+		if (everyDifficulty) {
+			sqlFile.write("    `hazard_level` TINYINT UNSIGNED NOT NULL,\n");
+			sqlFile.write("    `player_count` TINYINT UNSIGNED NOT NULL,\n");
 		}
 		
-		// Reach into the ArrayList, get the last VALUES row, and change its tailing comma to a semicolon to satisfy MySQL syntax.
-		int lastRowIndex = toReturn.size() - 1;
-		StringBuilder punctuationChanger = new StringBuilder(toReturn.get(lastRowIndex));
-		punctuationChanger.setCharAt(punctuationChanger.length() - 2, ';');
-		toReturn.set(lastRowIndex, punctuationChanger.toString() + "\n");
+		// Burst DPS
+		sqlFile.write("    `ideal_burst_dps` DOUBLE NOT NULL,\n");
+		sqlFile.write("    `burst_dps_wp` DOUBLE NOT NULL,\n");
+		sqlFile.write("    `burst_dps_acc` DOUBLE NOT NULL,\n");
+		sqlFile.write("    `burst_dps_aw` DOUBLE NOT NULL,\n");
+		sqlFile.write("    `burst_dps_wp_acc` DOUBLE NOT NULL,\n");
+		sqlFile.write("    `burst_dps_wp_aw` DOUBLE NOT NULL,\n");
+		sqlFile.write("    `burst_dps_acc_aw` DOUBLE NOT NULL,\n");
+		sqlFile.write("    `burst_dps_wp_acc_aw` DOUBLE NOT NULL,\n");
+		
+		// Sustained DPS
+		sqlFile.write("    `ideal_sustained_dps` DOUBLE NOT NULL,\n");
+		sqlFile.write("    `sustained_dps_wp` DOUBLE NOT NULL,\n");
+		sqlFile.write("    `sustained_dps_acc` DOUBLE NOT NULL,\n");
+		sqlFile.write("    `sustained_dps_aw` DOUBLE NOT NULL,\n");
+		sqlFile.write("    `sustained_dps_wp_acc` DOUBLE NOT NULL,\n");
+		sqlFile.write("    `sustained_dps_wp_aw` DOUBLE NOT NULL,\n");
+		sqlFile.write("    `sustained_dps_acc_aw` DOUBLE NOT NULL,\n");
+		sqlFile.write("    `sustained_dps_wp_acc_aw` DOUBLE NOT NULL,\n");
+		
+		// GUI row 2
+		sqlFile.write("    `ideal_additional_target_dps` DOUBLE NOT NULL,\n");
+		sqlFile.write("    `max_num_targets_per_shot` INT NOT NULL,\n");
+		sqlFile.write("    `max_multi_target_damage` DOUBLE NOT NULL,\n");
+		sqlFile.write("    `ammo_efficiency` DOUBLE NOT NULL,\n");
+		sqlFile.write("    `damage_wasted_by_armor` DOUBLE NOT NULL,\n");
+		
+		// GUI row 3
+		sqlFile.write("    `general_accuracy` DOUBLE NOT NULL,\n");
+		sqlFile.write("    `weakpoint_accuracy` DOUBLE NOT NULL,\n");
+		sqlFile.write("    `firing_duration` DOUBLE NOT NULL,\n");
+		sqlFile.write("    `average_time_to_kill` DOUBLE NOT NULL,\n");
 		
-		// Return the weapon to the combination it had before
-		weaponToTest.buildFromCombination(currentCombination);
+		// GUI row 4
+		sqlFile.write("    `average_overkill` DOUBLE NOT NULL,\n");
+		sqlFile.write("    `breakpoints` INT NOT NULL,\n");
+		sqlFile.write("    `utility` DOUBLE NOT NULL,\n");
+		sqlFile.write("    `average_time_to_ignite_or_freeze` DOUBLE NOT NULL,\n");
 		
+		// Metrics not on GUI 
+		sqlFile.write("    `damage_per_magazine` DOUBLE NOT NULL,\n");
+		sqlFile.write("    `time_to_fire_magazine` DOUBLE NOT NULL,\n");
+		
+		sqlFile.write("    `patch_id` BIGINT UNSIGNED NOT NULL,\n\n");
+		sqlFile.write("    PRIMARY KEY (`id`),\n\n");
+		sqlFile.write("    FOREIGN KEY (`character_id`)\n");
+		sqlFile.write("        REFERENCES characters(`id`),\n\n");
+		sqlFile.write("    FOREIGN KEY (`gun_id`)\n");
+		sqlFile.write("        REFERENCES guns(`id`),\n\n");
+		sqlFile.write("    FOREIGN KEY (`patch_id`)\n");
+		sqlFile.write("        REFERENCES patches(`id`)\n");
+		sqlFile.write(");\n\n");
+		
+		try {
+			for (Weapon weaponToExport: weaponsToExport) {
+				changeWeapon(weaponToExport);
+				if (everyDifficulty) {
+					dumpMetricsAtEveryDifficultyToMySQL(sqlFile);
+				}
+				else {
+					dumpMetricsToMySQL(sqlFile);
+				}
+			}
+		}
+		finally {
+			sqlFile.close();
+		}
+	}
+	
+	// Damage Wasted by Armor, Fastest TTK, Lowest Overkill, Breakpoints, and Cauterize should all be lowest-possible values
+	private static final HashSet<Integer> indexesThatShouldUseLessThan = new HashSet<Integer>(Arrays.asList(6, 10, 11, 12, 14));
+	
+	public static boolean isLowerBetter(int metricIndex) {
+		return indexesThatShouldUseLessThan.contains(metricIndex);
+	}
+	
+	// How many builds getBestMetricCombination() will try for this metric, after it skips the tiers that can't change it
+	public long countBestMetricCombinationBuilds(int metricIndex, boolean subset) {
+		if (metricIndex < 0 || metricIndex > 14) {
+			return 0;
+		}
+		
+		long toReturn = onlyFirstOptionUnlessMetricDependsOnIt(weaponToTest.getOverclocks(subset), weaponToTest.metricDependsOnOverclock(metricIndex)).length;
+		for (int tier = 1; tier <= 5; tier++) {
+			toReturn *= onlyFirstOptionUnlessMetricDependsOnIt(weaponToTest.getModsAtTier(tier, subset), weaponToTest.metricDependsOnModTier(metricIndex, tier)).length;
+		}
 		return toReturn;
 	}
 	
+	/*
+		The search happens on a copy of the Weapon with all the same settings, so the Weapon that got passed in never changes. That way the GUI's Weapons can
+		keep getting painted while this runs in the background, and GuiController applies the result to them once it's done. The tiers to search still get read
+		from the original, since the copy doesn't know which mods and overclocks the user has set to be ignored.
+	*/
 	public String getBestMetricCombination(int metricIndex, boolean subset) {
 		// Currently there are 15 metrics on display in the GUI (with the first 2 technically representing 8 different varieties of DPS each)
 		if (metricIndex < 0 || metricIndex > 14) {
 			return "------";
 		}
 		
-		// Damage Wasted by Armor, Fastest TTK, Lowest Overkill, Breakpoints, and Cauterize should all be lowest-possible values
-		Integer[] indexesThatShouldUseLessThan = new Integer[] {6, 10, 11, 12, 14};
-		boolean comparatorShouldBeLessThan = new HashSet<Integer>(Arrays.asList(indexesThatShouldUseLessThan)).contains(metricIndex);
+		boolean comparatorShouldBeLessThan = isLowerBetter(metricIndex);
 		
-		String bestCombination = "------";
+		int bestBuildID = BuildID.fromCombination("------");
 		double bestValue, currentValue;
 		// To the best of my knowledge, none of these values goes above 200k, so setting the starting "best" value at 1 million should automatically make the first combination tried the new best
 		if (comparatorShouldBeLessThan) {
@@ -265,127 +408,79 @@ public class MetricsCalculator {
 		int[] tier5 = weaponToTest.getModsAtTier(5, subset);
 		int[] overclocks = weaponToTest.getOverclocks(subset);
 		
-		// Set these boolean values once instead of evaluating tier 1 about 3000 times
-		boolean onlyOneTier1 = tier1.length == 1;
-		boolean onlyOneTier2 = tier2.length == 1;
-		boolean onlyOneTier3 = tier3.length == 1;
-		boolean onlyOneTier4 = tier4.length == 1;
-		boolean onlyOneTier5 = tier5.length == 1;
-		boolean onlyOneOC = overclocks.length == 1;
+		Weapon searchWeapon = weaponToTest.clone();
+		searchWeapon.applySettings(weaponToTest.getSettings());
 		
 		/*
 			This is important: because the current Weapon ALREADY has the wanted partial combination pre-selected when the menu for "Best Metric" gets called,
-			DO NOT, I repeat, DO NOT set the mod or overclock again, because that just un-sets it.
+			DO NOT, I repeat, DO NOT set the mod or overclock again, because that just un-sets it. Tiers with only one option are exactly those pre-selected ones.
+			
+			Every tier with more than one option starts with -1 ("no mod"), and selecting -1 can't un-set anything, so those all get put on their first option 
+			before the search starts. That also un-sets any custom RoF, so every build in the search gets evaluated at its normal RoF.
 		*/
+		int tier;
+		int[][] modsPerTier = new int[][] {tier1, tier2, tier3, tier4, tier5};
+		for (tier = 1; tier <= 5; tier++) {
+			if (modsPerTier[tier - 1].length > 1) {
+				searchWeapon.setSelectedModAtTier(tier, modsPerTier[tier - 1][0], false);
+			}
+		}
+		if (overclocks.length > 1) {
+			searchWeapon.setSelectedOverclock(overclocks[0], false);
+		}
+		
+		/*
+			Any tier that can't change this metric only needs its first option tried: the builds are tried in the same order as before, and only a strictly better 
+			value replaces the best one, so the exhaustive search would have kept the build that has that tier's first option anyway. For most metrics this cuts 
+			out 2 or 3 tiers, and every setter call that gets skipped also skips the AoE Efficiency and Armor Wasting that get recalculated for each new build.
+		*/
+		tier1 = onlyFirstOptionUnlessMetricDependsOnIt(tier1, searchWeapon.metricDependsOnModTier(metricIndex, 1));
+		tier2 = onlyFirstOptionUnlessMetricDependsOnIt(tier2, searchWeapon.metricDependsOnModTier(metricIndex, 2));
+		tier3 = onlyFirstOptionUnlessMetricDependsOnIt(tier3, searchWeapon.metricDependsOnModTier(metricIndex, 3));
+		tier4 = onlyFirstOptionUnlessMetricDependsOnIt(tier4, searchWeapon.metricDependsOnModTier(metricIndex, 4));
+		tier5 = onlyFirstOptionUnlessMetricDependsOnIt(tier5, searchWeapon.metricDependsOnModTier(metricIndex, 5));
+		overclocks = onlyFirstOptionUnlessMetricDependsOnIt(overclocks, searchWeapon.metricDependsOnOverclock(metricIndex));
 		
 		// The overclocks are the outermost loop because they should change last, and tier 1 is the innermost loop since it should change first.
+		search:
 		for (int oc: overclocks) {
-			if (!onlyOneOC) {
-				weaponToTest.setSelectedOverclock(oc, false);
-			}
+			selectOverclock(searchWeapon, oc);
 			
 			for (int t5: tier5) {
-				if (!onlyOneTier5) {
-					weaponToTest.setSelectedModAtTier(5, t5, false);
-				}
+				selectModAtTier(searchWeapon, 5, t5);
 				
 				for (int t4: tier4) {
-					if (!onlyOneTier4) {
-						weaponToTest.setSelectedModAtTier(4, t4, false);
-					}
+					selectModAtTier(searchWeapon, 4, t4);
 					
 					for (int t3: tier3) {
-						if (!onlyOneTier3) {
-							weaponToTest.setSelectedModAtTier(3, t3, false);
-						}
+						selectModAtTier(searchWeapon, 3, t3);
 						
 						for (int t2: tier2) {
-							if (!onlyOneTier2) {
-								weaponToTest.setSelectedModAtTier(2, t2, false);
-							}
+							selectModAtTier(searchWeapon, 2, t2);
 							
 							for (int t1: tier1) {
-								if (!onlyOneTier1) {
-									weaponToTest.setSelectedModAtTier(1, t1, false);
-								}
+								progress.checkIfCancelled();
+								selectModAtTier(searchWeapon, 1, t1);
 								
-								switch (metricIndex) {
-									case 0: {
-										currentValue = weaponToTest.calculateSingleTargetDPS(true);
-										break;
-									}
-									case 1: {
-										currentValue = weaponToTest.calculateSingleTargetDPS(false);
-										break;
-									}
-									case 2: {
-										currentValue = weaponToTest.calculateAdditionalTargetDPS();
-										break;
-									}
-									case 3: {
-										currentValue = weaponToTest.calculateMaxNumTargets();
-										break;
-									}
-									case 4: {
-										currentValue = weaponToTest.calculateMaxMultiTargetDamage();
-										break;
-									}
-									case 5: {
-										currentValue = weaponToTest.ammoEfficiency();
-										break;
-									}
-									case 6: {
-										currentValue = weaponToTest.damageWastedByArmor();
-										break;
-									}
-									case 7: {
-										currentValue = weaponToTest.getGeneralAccuracy();
-										break;
-									}
-									case 8: {
-										currentValue = weaponToTest.getWeakpointAccuracy();
-										break;
-									}
-									case 9: {
-										currentValue = weaponToTest.calculateFiringDuration();
-										break;
-									}
-									case 10: {
-										currentValue = weaponToTest.averageTimeToKill();
-										break;
-									}
-									case 11: {
-										currentValue = weaponToTest.averageOverkill();
-										break;
-									}
-									case 12: {
-										currentValue = weaponToTest.breakpoints();
-										break;
-									}
-									case 13: {
-										currentValue = weaponToTest.utilityScore();
-										break;
-									}
-									case 14: {
-										currentValue = weaponToTest.averageTimeToCauterize();
-										break;
-									}
-									default: {
-										currentValue = 0;
-										break;
-									}
-								}
+								// Goes through the Weapon's metric cache, so builds that have already been evaluated don't get recalculated
+								currentValue = searchWeapon.getMetric(metricIndex);
+								progress.buildDone();
 								
 								if (comparatorShouldBeLessThan) {
 									// Adding the >= 0 check just for Cauterize, but it should be safe for all the other metrics too...
 									if (currentValue >= 0 && currentValue < bestValue) {
-										bestCombination = weaponToTest.getCombination();
+										bestBuildID = searchWeapon.getBuildID();
 										bestValue = currentValue;
+										
+										// Nothing can be both >= 0 and < 0, so no build after this one could replace it.
+										if (bestValue == 0) {
+											break search;
+										}
 									}
 								}
 								else {
 									if (currentValue > bestValue) {
-										bestCombination = weaponToTest.getCombination();
+										bestBuildID = searchWeapon.getBuildID();
 										bestValue = currentValue;
 									}
 								}
@@ -396,6 +491,157 @@ public class MetricsCalculator {
 			}
 		}
 		
-		return bestCombination;
+		return BuildID.toCombination(bestBuildID);
+	}
+	
+	/*** Pareto fronts ***/
+	// Same order as the metric indexes in Weapon.getMetric()
+	private static final String[] metricNames = new String[] {"Burst DPS", "Sustained DPS", "Additional Target DPS", "Max Num Targets", "Max Multi-Target Dmg", 
+			"Ammo Efficiency", "Avg Damage Wasted by Armor", "General Accuracy", "Weakpoint Accuracy", "Firing Duration", "Avg TTK", "Avg Overkill", "Breakpoints", 
+			"Utility", "Avg Time to Ignite/Freeze"};
+	
+	/*
+		Instead of the single best build for one metric, this returns every build that isn't beaten by another build in ALL of the chosen metrics at once. For
+		example, with Sustained DPS and Ammo Efficiency it'll return the highest DPS build, the most ammo efficient build, and every trade-off between the two
+		where gaining more of one means losing some of the other. The builds get evaluated in parallel by BuildSpaceSweeper, and get returned in the same order 
+		that getBestMetricCombination() tries them.
+		
+		Just like getBestMetricCombination(), a negative value in one of the "lower is better" metrics means N/A, so it counts as the worst possible value. If
+		several builds have exactly the same values as each other, only the first one gets returned since the others wouldn't tell you anything new.
+	*/
+	public ArrayList<ParetoOptimalBuild> getParetoOptimalCombinations(int[] metricIndexes, boolean subset) {
+		ArrayList<ParetoOptimalBuild> toReturn = new ArrayList<ParetoOptimalBuild>();
+		for (int metricIndex: metricIndexes) {
+			if (metricIndex < 0 || metricIndex >= Weapon.numMetrics) {
+				System.out.println("Metric #" + metricIndex + " is not a valid metric index");
+				return toReturn;
+			}
+		}
+		
+		ArrayList<ParetoOptimalBuild> allBuilds = new ArrayList<ParetoOptimalBuild>();
+		BuildSpaceSweeper.sweep(weaponToTest, subset, new DifficultyContext[] {null}, weapon -> {
+			double[] values = new double[metricIndexes.length];
+			for (int i = 0; i < metricIndexes.length; i++) {
+				values[i] = weapon.getMetric(metricIndexes[i]);
+			}
+			return new ParetoOptimalBuild(weapon.getBuildID(), values);
+		}, allBuilds::add, progress);
+		
+		// Flip the "lower is better" metrics around so that every score below is "higher is better"
+		int numBuilds = allBuilds.size();
+		double[][] scores = new double[numBuilds][metricIndexes.length];
+		Integer[] order = new Integer[numBuilds];
+		int i, j;
+		for (i = 0; i < numBuilds; i++) {
+			for (j = 0; j < metricIndexes.length; j++) {
+				double value = allBuilds.get(i).getMetric(j);
+				if (isLowerBetter(metricIndexes[j])) {
+					scores[i][j] = (value >= 0) ? -value : Double.NEGATIVE_INFINITY;
+				}
+				else {
+					scores[i][j] = value;
+				}
+			}
+			order[i] = i;
+		}
+		
+		/*
+			Sorting from the best score in the first metric down to the worst (with the later metrics breaking ties) means that any build which beats another one 
+			has to come before it in this order. So each build only needs to get checked against the builds that have already made it onto the front, instead of 
+			against every other build: if some earlier build that didn't make it beats this one, then whatever beat THAT build beats this one too. Arrays.sort()
+			is stable, so builds with identical scores stay in the original order and the first one of them is the one that gets kept.
+		*/
+		Arrays.sort(order, (a, b) -> {
+			for (int k = 0; k < metricIndexes.length; k++) {
+				int comparison = Double.compare(scores[b][k], scores[a][k]);
+				if (comparison != 0) {
+					return comparison;
+				}
+			}
+			return 0;
+		});
+		
+		ArrayList<Integer> front = new ArrayList<Integer>();
+		for (int candidate: order) {
+			boolean beaten = false;
+			for (int onFront: front) {
+				if (isAtLeastAsGoodInEveryScore(scores[onFront], scores[candidate])) {
+					beaten = true;
+					break;
+				}
+			}
+			
+			if (!beaten) {
+				front.add(candidate);
+			}
+		}
+		
+		Collections.sort(front);
+		for (int index: front) {
+			toReturn.add(allBuilds.get(index));
+		}
+		return toReturn;
+	}
+	
+	private static boolean isAtLeastAsGoodInEveryScore(double[] a, double[] b) {
+		for (int k = 0; k < a.length; k++) {
+			if (a[k] < b[k]) {
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	// Writes one file with every Weapon's Pareto front for the same metrics, one build per line.
+	public void exportParetoFrontsToCSV(Weapon[] weaponsToExport, int[] metricIndexes) {
+		String filename = "Pareto_Front";
+		String headerLine = "Weapon, Mods/OC";
+		for (int metricIndex: metricIndexes) {
+			filename += "_" + metricIndex;
+			headerLine += ", " + metricNames[metricIndex];
+		}
+		MetricsFileWriter csvFile = openFile(filename + ".csv", false);
+		csvFile.write(headerLine + ",\n");
+		
+		RowEncoder csvLine = new RowEncoder();
+		for (Weapon weaponToExport: weaponsToExport) {
+			changeWeapon(weaponToExport);
+			for (ParetoOptimalBuild build: getParetoOptimalCombinations(metricIndexes, false)) {
+				csvLine.clear().append(weaponToExport.getDwarfClass()).append("_").append(weaponToExport.getSimpleName()).append(", ").append(build.getCombination());
+				for (int i = 0; i < metricIndexes.length; i++) {
+					csvLine.append(", ");
+					// Same as the exports, Max Num Targets and Breakpoints are whole numbers
+					if (metricIndexes[i] == 3 || metricIndexes[i] == 12) {
+						csvLine.append((int) build.getMetric(i));
+					}
+					else {
+						csvLine.append(build.getMetric(i));
+					}
+				}
+				csvLine.append(",\n");
+				csvFile.write(csvLine);
+			}
+		}
+		
+		csvFile.close();
+	}
+	
+	private static int[] onlyFirstOptionUnlessMetricDependsOnIt(int[] options, boolean metricDependsOnTier) {
+		if (metricDependsOnTier || options.length < 2) {
+			return options;
+		}
+		return new int[] {options[0]};
+	}
+	
+	// Only calls the setters when the selection is actually changing, since setting the same mod or overclock twice un-sets it.
+	private static void selectModAtTier(Weapon weapon, int tier, int index) {
+		if (weapon.getSelectedModAtTier(tier) != index) {
+			weapon.setSelectedModAtTier(tier, index, false);
+		}
+	}
+	private static void selectOverclock(Weapon weapon, int index) {
+		if (weapon.getSelectedOverclock() != index) {
+			weapon.setSelectedOverclock(index, false);
+		}
 	}
 }
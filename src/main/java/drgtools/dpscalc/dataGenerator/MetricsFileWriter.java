@@ -0,0 +1,95 @@
+package drgtools.dpscalc.dataGenerator;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+
+/*
+	The exports used to build every line of a file in an ArrayList<String> before opening it, which for the MySQL dump meant holding hundreds of MB of
+	formatted rows in memory. This writes the lines out through a buffered FileChannel as soon as they're produced instead.
+
+	Like PrintWriter, none of these methods throw: the first IOException gets printed and every write after that is skipped, so that one bad file doesn't
+	get a stack trace printed for every single row.
+*/
+public class MetricsFileWriter implements Closeable {
+	// 64 KB is enough to cover a few hundred rows per write to disk
+	private static final int bufferSize = 1 << 16;
+	
+	private Writer out;
+	private boolean failed;
+	
+	public MetricsFileWriter(File destination, boolean append) {
+		failed = false;
+		try {
+			FileChannel channel;
+			if (append) {
+				channel = FileChannel.open(destination.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+			}
+			else {
+				channel = FileChannel.open(destination.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+			}
+			out = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8.newEncoder(), bufferSize), bufferSize);
+		}
+		catch (IOException e) {
+			e.printStackTrace();
+			failed = true;
+		}
+	}
+	
+	public void write(CharSequence text) {
+		if (failed) {
+			return;
+		}
+		
+		try {
+			out.append(text);
+		}
+		catch (IOException e) {
+			e.printStackTrace();
+			failed = true;
+		}
+	}
+	
+	// Copies the row straight out of the encoder's buffer, without making a String out of it first
+	public void write(RowEncoder row) {
+		if (failed) {
+			return;
+		}
+		
+		try {
+			row.writeTo(out);
+		}
+		catch (IOException e) {
+			e.printStackTrace();
+			failed = true;
+		}
+	}
+	
+	public boolean hasFailed() {
+		return failed;
+	}
+	
+	@Override
+	public void close() {
+		if (out == null) {
+			return;
+		}
+		
+		try {
+			out.close();
+		}
+		catch (IOException e) {
+			if (!failed) {
+				e.printStackTrace();
+				failed = true;
+			}
+		}
+		out = null;
+	}
+}
@@ -0,0 +1,95 @@
+package drgtools.dpscalc.dataGenerator;
+
+import java.io.File;
+
+/*
+	Streams rows into a .sql file as multi-row INSERT statements. Every time a statement reaches rowsPerInsert rows, it gets closed with a semicolon and the
+	next row starts a new one with the same header. That way no single statement grows past MySQL's max_allowed_packet, and nothing has to reach back into
+	the last row to change its comma into a semicolon.
+*/
+public class MySQLInsertWriter extends MetricsFileWriter {
+	private int rowsPerInsert;
+	
+	// The "INSERT INTO ... VALUES" line that starts each statement, or null when there's no table being written to.
+	private String insertHeader;
+	private int rowsInCurrentInsert;
+	
+	public MySQLInsertWriter(File destination, boolean append, int rowsPerStatement) {
+		super(destination, append);
+		
+		if (rowsPerStatement > 0) {
+			rowsPerInsert = rowsPerStatement;
+		}
+		else {
+			System.out.println("Each INSERT statement needs at least 1 row; using 1 instead of " + rowsPerStatement);
+			rowsPerInsert = 1;
+		}
+		insertHeader = null;
+		rowsInCurrentInsert = 0;
+	}
+	
+	public int getRowsPerInsert() {
+		return rowsPerInsert;
+	}
+	
+	// Every row written after this gets inserted with this header, until endInserts() gets called.
+	public void beginInserts(String header) {
+		endInserts();
+		insertHeader = header;
+	}
+	
+	// valuesTuple should be a single "(...)" group with no trailing comma or newline.
+	public void writeRow(CharSequence valuesTuple) {
+		if (startRow()) {
+			write(valuesTuple);
+			finishRow();
+		}
+	}
+	public void writeRow(RowEncoder valuesTuple) {
+		if (startRow()) {
+			write(valuesTuple);
+			finishRow();
+		}
+	}
+	
+	// Returns false if there's no INSERT statement to put the row in
+	private boolean startRow() {
+		if (insertHeader == null) {
+			System.out.println("Can't write a row before beginInserts() is called");
+			return false;
+		}
+		
+		if (rowsInCurrentInsert == 0) {
+			write(insertHeader);
+		}
+		else {
+			write(",\n");
+		}
+		return true;
+	}
+	private void finishRow() {
+		rowsInCurrentInsert++;
+		if (rowsInCurrentInsert >= rowsPerInsert) {
+			finishStatement();
+		}
+	}
+	
+	// Closes out the current INSERT statement, if it has any rows in it.
+	public void endInserts() {
+		if (rowsInCurrentInsert > 0) {
+			finishStatement();
+		}
+		insertHeader = null;
+	}
+	
+	private void finishStatement() {
+		write(";\n\n");
+		rowsInCurrentInsert = 0;
+	}
+	
+	@Override
+	public void close() {
+		endInserts();
+		super.close();
+	}
+}
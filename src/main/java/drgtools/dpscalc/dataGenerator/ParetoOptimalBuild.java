@@ -0,0 +1,31 @@
+package drgtools.dpscalc.dataGenerator;
+
+import drgtools.dpscalc.modelPieces.BuildID;
+
+/*
+	One build on the Pareto front returned by MetricsCalculator.getParetoOptimalCombinations(): no other build in the search is at least as good as this one in
+	every one of the chosen metrics and better in at least one of them. The metrics are stored in the same order as the metric indexes that were searched.
+*/
+public class ParetoOptimalBuild {
+	private int buildID;
+	private double[] metrics;
+	
+	public ParetoOptimalBuild(int buildID, double[] metrics) {
+		this.buildID = buildID;
+		this.metrics = metrics;
+	}
+	
+	public int getBuildID() {
+		return buildID;
+	}
+	public String getCombination() {
+		return BuildID.toCombination(buildID);
+	}
+	
+	public int getNumMetrics() {
+		return metrics.length;
+	}
+	public double getMetric(int i) {
+		return metrics[i];
+	}
+}
@@ -0,0 +1,59 @@
+package drgtools.dpscalc.dataGenerator;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+	Shared between a long calculation (an export, or a Best Combination search) and whatever is watching it. The calculation counts every build it finishes
+	and checks in between builds whether it should stop; the watcher sets the total, reads how far along it is, and can ask it to stop.
+
+	BuildSpaceSweeper's workers all count builds at the same time, so the count is a LongAdder instead of a single shared counter that they'd all fight over.
+	The calculations never set the total themselves, since a job that runs several of them in a row (like exporting every Weapon) knows the overall total
+	up front and that's the one worth showing.
+*/
+public class ProgressTracker {
+	private final LongAdder buildsDone = new LongAdder();
+	private final AtomicLong buildsTotal = new AtomicLong();
+	private volatile boolean cancelled = false;
+	private final long startTime = System.nanoTime();
+	
+	public void addToTotal(long numBuilds) {
+		buildsTotal.addAndGet(numBuilds);
+	}
+	public long getTotal() {
+		return buildsTotal.get();
+	}
+	
+	public void buildDone() {
+		buildsDone.increment();
+	}
+	public long getDone() {
+		return buildsDone.sum();
+	}
+	
+	public double getSecondsElapsed() {
+		return (System.nanoTime() - startTime) / 1e9;
+	}
+	public double getBuildsPerSecond() {
+		double seconds = getSecondsElapsed();
+		if (seconds <= 0) {
+			return 0;
+		}
+		return getDone() / seconds;
+	}
+	
+	public void cancel() {
+		cancelled = true;
+	}
+	public boolean isCancelled() {
+		return cancelled;
+	}
+	
+	// Calculations call this in between builds, so a cancel takes effect within one build instead of at the end of the whole thing.
+	public void checkIfCancelled() {
+		if (cancelled) {
+			throw new CancellationException();
+		}
+	}
+}
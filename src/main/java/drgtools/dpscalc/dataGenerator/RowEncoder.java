@@ -0,0 +1,163 @@
+package drgtools.dpscalc.dataGenerator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Locale;
+
+/*
+	Every exported row used to go through String.format() with 30-something %f placeholders, which boxes every double and re-parses the format String for every
+	single row. This builds a row up in a char[] that gets re-used for the next row instead, and writes numbers into it directly.
+
+	Doubles are written the same way %f writes them: 6 decimal places, rounded half-up, with a leading - for negative numbers (including -0.0). The only
+	difference is that the decimal point is always a '.', no matter what Locale the computer uses, which is what CSV and MySQL both expect anyway.
+	The rare value that can't be handled exactly with a long (NaN, Infinity, anything over 4 billion, or a value sitting right on a rounding boundary)
+	falls back to String.format().
+*/
+public class RowEncoder implements CharSequence {
+	private static final int decimalPlaces = 6;
+	private static final long decimalScale = 1000000L;
+	// Past 2^52 a double can't hold every whole number anymore, so the fractional part stops being reliable
+	private static final double largestScaledValue = 4503599627370496.0;
+	
+	private char[] buffer;
+	private int length;
+	
+	public RowEncoder() {
+		// Big enough for a MySQL row without ever having to grow
+		this(1024);
+	}
+	public RowEncoder(int initialCapacity) {
+		buffer = new char[Math.max(initialCapacity, 16)];
+		length = 0;
+	}
+	
+	// Returns this so that rows can be built up in one statement, like StringBuilder
+	public RowEncoder clear() {
+		length = 0;
+		return this;
+	}
+	
+	private void ensureCapacity(int extraChars) {
+		if (length + extraChars > buffer.length) {
+			char[] biggerBuffer = new char[Math.max(buffer.length * 2, length + extraChars)];
+			System.arraycopy(buffer, 0, biggerBuffer, 0, length);
+			buffer = biggerBuffer;
+		}
+	}
+	
+	public RowEncoder append(char c) {
+		ensureCapacity(1);
+		buffer[length++] = c;
+		return this;
+	}
+	
+	public RowEncoder append(String s) {
+		int numChars = s.length();
+		ensureCapacity(numChars);
+		s.getChars(0, numChars, buffer, length);
+		length += numChars;
+		return this;
+	}
+	
+	// Same as %d
+	public RowEncoder append(int value) {
+		return append((long) value);
+	}
+	public RowEncoder append(long value) {
+		if (value == Long.MIN_VALUE) {
+			// Can't be negated, but it's never going to show up in a metric anyway.
+			return append(Long.toString(value));
+		}
+		
+		if (value < 0) {
+			append('-');
+			value = -value;
+		}
+		appendDigits(value, 1);
+		return this;
+	}
+	
+	// Writes the digits of a non-negative number, padded with leading zeroes out to minDigits
+	private void appendDigits(long value, int minDigits) {
+		int numDigits = 1;
+		long powerOfTen = 10;
+		while (numDigits < 19 && powerOfTen <= value) {
+			numDigits++;
+			powerOfTen *= 10;
+		}
+		numDigits = Math.max(numDigits, minDigits);
+		
+		ensureCapacity(numDigits);
+		for (int i = length + numDigits - 1; i >= length; i--) {
+			buffer[i] = (char) ('0' + (value % 10));
+			value /= 10;
+		}
+		length += numDigits;
+	}
+	
+	// Same as %f
+	public RowEncoder append(double value) {
+		if (Double.isNaN(value) || Double.isInfinite(value)) {
+			return appendWithFormatter(value);
+		}
+		
+		double magnitude = Math.abs(value);
+		double scaled = magnitude * decimalScale;
+		if (scaled >= largestScaledValue) {
+			return appendWithFormatter(value);
+		}
+		
+		long rounded = (long) scaled;
+		double remainder = scaled - rounded;
+		/*
+			%f rounds the shortest decimal String that represents the double (the one Double.toString() prints), not the double's exact binary value. Those two
+			can only round differently when the remainder is within a few ulps of one-half, so those values get handed off to the Formatter to be safe.
+		*/
+		if (Math.abs(remainder - 0.5) <= 8 * Math.ulp(scaled)) {
+			return appendWithFormatter(value);
+		}
+		if (remainder > 0.5) {
+			rounded++;
+		}
+		
+		if (Double.doubleToRawLongBits(value) < 0) {
+			append('-');
+		}
+		appendDigits(rounded / decimalScale, 1);
+		append('.');
+		appendDigits(rounded % decimalScale, decimalPlaces);
+		return this;
+	}
+	
+	private RowEncoder appendWithFormatter(double value) {
+		return append(String.format(Locale.ROOT, "%f", value));
+	}
+	
+	public void writeTo(Writer out) throws IOException {
+		out.write(buffer, 0, length);
+	}
+	
+	/*** CharSequence methods ***/
+	@Override
+	public int length() {
+		return length;
+	}
+	
+	@Override
+	public char charAt(int index) {
+		if (index < 0 || index >= length) {
+			throw new IndexOutOfBoundsException("Index " + index + " is outside of a row with length " + length);
+		}
+		return buffer[index];
+	}
+	
+	@Override
+	public CharSequence subSequence(int start, int end) {
+		return toString().substring(start, end);
+	}
+	
+	@Override
+	public String toString() {
+		return new String(buffer, 0, length);
+	}
+}
@@ -0,0 +1,253 @@
+package drgtools.dpscalc.drivers;
+
+import java.io.File;
+import java.util.ArrayList;
+
+import drgtools.dpscalc.dataGenerator.MetricsCalculator;
+import drgtools.dpscalc.modelPieces.AccuracyEstimator;
+import drgtools.dpscalc.modelPieces.EnemyInformation;
+import drgtools.dpscalc.utilities.MathUtils;
+import drgtools.dpscalc.weapons.Weapon;
+import drgtools.dpscalc.weapons.driller.CryoCannon;
+import drgtools.dpscalc.weapons.driller.EPC_ChargeShot;
+import drgtools.dpscalc.weapons.driller.EPC_RegularShot;
+import drgtools.dpscalc.weapons.driller.Flamethrower;
+import drgtools.dpscalc.weapons.driller.SludgePump;
+import drgtools.dpscalc.weapons.driller.SludgePump_Charged;
+import drgtools.dpscalc.weapons.driller.Subata;
+import drgtools.dpscalc.weapons.engineer.BreachCutter;
+import drgtools.dpscalc.weapons.engineer.BreachCutter_Projectile;
+import drgtools.dpscalc.weapons.engineer.GrenadeLauncher;
+import drgtools.dpscalc.weapons.engineer.SMG;
+import drgtools.dpscalc.weapons.engineer.Shotgun;
+import drgtools.dpscalc.weapons.engineer.SmartRifle;
+import drgtools.dpscalc.weapons.engineer.SmartRifle_LockOn;
+import drgtools.dpscalc.weapons.gunner.Autocannon;
+import drgtools.dpscalc.weapons.gunner.BurstPistol;
+import drgtools.dpscalc.weapons.gunner.GuidedRocketLauncher;
+import drgtools.dpscalc.weapons.gunner.Minigun;
+import drgtools.dpscalc.weapons.gunner.Revolver;
+import drgtools.dpscalc.weapons.scout.AssaultRifle;
+import drgtools.dpscalc.weapons.scout.Boomstick;
+import drgtools.dpscalc.weapons.scout.Classic_FocusShot;
+import drgtools.dpscalc.weapons.scout.Classic_Hipfire;
+import drgtools.dpscalc.weapons.scout.PlasmaCarbine;
+import drgtools.dpscalc.weapons.scout.Zhukov;
+
+/*
+	The same exports as the Export menu in the GUI, but without the GUI: no View, no JFileChooser, and no icons get loaded, so this can run on a server with
+	java.awt.headless=true and be scripted. For example, to regenerate the MySQL file for every difficulty into /srv/dpscalc:
+
+		java -cp DRG_DPS_Calculator.jar drgtools.dpscalc.drivers.CommandLineController --format mysql-every-difficulty --output /srv/dpscalc
+*/
+public class CommandLineController {
+	
+	private static final String usage = String.join("\n",
+		"Usage: java -cp <jar> drgtools.dpscalc.drivers.CommandLineController [options]",
+		"  --weapons <names>    Comma-separated Weapons and/or dwarf classes to export, e.g. Minigun,Boomstick or Driller. Default: all",
+		"  --hazard <1-5>       Hazard Level to calculate the metrics at. Default: " + EnemyInformation.getHazardLevel(),
+		"  --players <1-4>      Player Count to calculate the metrics at. Default: " + EnemyInformation.getPlayerCount(),
+		"  --format <format>    csv (one file per Weapon), mysql, or mysql-every-difficulty (ignores --hazard and --players). Default: csv",
+		"  --pareto <metrics>   Instead of the full exports, write one csv with every Weapon's Pareto front for these comma-separated metric indexes,",
+		"                       e.g. 1,5 for Sustained DPS and Ammo Efficiency. The indexes are the same 0-14 as the Best Combinations menu",
+		"  --rectangular-precision <10-1000>",
+		"                       Grid size for the Rectangular Accuracy of Boomstick, Zhukov, Autocannon, etc. Higher is smoother but slower. Default: " + AccuracyEstimator.getRectangularAccuracyPrecision(),
+		"  --rectangular-tolerance <percentage points>",
+		"                       Keep doubling that grid (up to 1000) until Rectangular Accuracy changes by less than this much, e.g. 0.01. Default: off",
+		"  --normal-table <max error>",
+		"                       Use lookup tables for the Normal Distribution in the accuracy models, off by at most this much, e.g. 1e-9. Default: exact",
+		"  --output <folder>    Folder to write the files into. Default: the current folder",
+		"  --help               Print this message"
+	);
+	
+	public static void main(String[] args) {
+		// Set this before any AWT class gets loaded, just in case something along the way does try to use it.
+		System.setProperty("java.awt.headless", "true");
+		
+		String weaponNames = "all";
+		String format = "csv";
+		int[] paretoMetrics = null;
+		File outputFolder = new File(System.getProperty("user.dir"));
+		int hazardLevel = EnemyInformation.getHazardLevel();
+		int playerCount = EnemyInformation.getPlayerCount();
+		
+		int i;
+		for (i = 0; i < args.length; i++) {
+			String option = args[i];
+			if (option.equals("--help") || option.equals("-h")) {
+				System.out.println(usage);
+				return;
+			}
+			
+			// Every other option takes exactly one value
+			if (i + 1 >= args.length) {
+				exitWithError("Missing a value after " + option);
+			}
+			String value = args[++i];
+			
+			switch (option) {
+				case "--weapons": {
+					weaponNames = value;
+					break;
+				}
+				case "--hazard": {
+					hazardLevel = parseIntegerInRange(option, value, 1, 5);
+					break;
+				}
+				case "--players": {
+					playerCount = parseIntegerInRange(option, value, 1, 4);
+					break;
+				}
+				case "--format": {
+					format = value.toLowerCase();
+					if (!format.equals("csv") && !format.equals("mysql") && !format.equals("mysql-every-difficulty")) {
+						exitWithError("Unknown format: " + value);
+					}
+					break;
+				}
+				case "--pareto": {
+					String[] indexes = value.split(",");
+					paretoMetrics = new int[indexes.length];
+					for (int j = 0; j < indexes.length; j++) {
+						paretoMetrics[j] = parseIntegerInRange(option, indexes[j].trim(), 0, 14);
+					}
+					break;
+				}
+				case "--rectangular-precision": {
+					AccuracyEstimator.setRectangularAccuracyPrecision(parseIntegerInRange(option, value, 10, 1000));
+					break;
+				}
+				case "--rectangular-tolerance": {
+					double tolerance = 0.0;
+					try {
+						tolerance = Double.parseDouble(value);
+					}
+					catch (NumberFormatException e) {
+						exitWithError(option + " has to be a number, not " + value);
+					}
+					if (tolerance <= 0.0 || tolerance > 10.0) {
+						exitWithError(option + " has to be more than 0 and at most 10, not " + value);
+					}
+					AccuracyEstimator.setRectangularAccuracyTolerance(tolerance);
+					break;
+				}
+				case "--normal-table": {
+					double maxError = 0.0;
+					try {
+						maxError = Double.parseDouble(value);
+					}
+					catch (NumberFormatException e) {
+						exitWithError(option + " has to be a number, not " + value);
+					}
+					if (maxError < 1e-12 || maxError > 1e-2) {
+						exitWithError(option + " has to be between 1e-12 and 1e-2, not " + value);
+					}
+					MathUtils.useNormalDistributionLookupTable(maxError);
+					break;
+				}
+				case "--output": {
+					outputFolder = new File(value);
+					if (!outputFolder.isDirectory() && !outputFolder.mkdirs()) {
+						exitWithError("Could not create the output folder " + value);
+					}
+					break;
+				}
+				default: {
+					exitWithError("Unknown option: " + option);
+				}
+			}
+		}
+		
+		EnemyInformation.setHazardLevel(hazardLevel);
+		EnemyInformation.setPlayerCount(playerCount);
+		
+		Weapon[] weaponsToExport = selectWeapons(weaponNames);
+		MetricsCalculator calculator = new MetricsCalculator(weaponsToExport[0]);
+		calculator.setOutputFolder(outputFolder);
+		
+		long startTime = System.nanoTime();
+		if (paretoMetrics != null) {
+			System.out.println("Finding the Pareto fronts of " + weaponsToExport.length + " Weapons");
+			calculator.exportParetoFrontsToCSV(weaponsToExport, paretoMetrics);
+		}
+		else if (format.equals("csv")) {
+			for (Weapon weaponToExport: weaponsToExport) {
+				System.out.println("Exporting " + weaponToExport.getDwarfClass() + "_" + weaponToExport.getSimpleName() + ".csv");
+				calculator.changeWeapon(weaponToExport);
+				calculator.exportMetricsToCSV();
+			}
+		}
+		else {
+			System.out.println("Exporting " + weaponsToExport.length + " Weapons to MySQL");
+			calculator.exportMetricsToMySQL(weaponsToExport, format.equals("mysql-every-difficulty"));
+		}
+		System.out.println(String.format("Done in %.1f seconds, files are in %s", (System.nanoTime() - startTime) / 1e9, outputFolder.getAbsolutePath()));
+	}
+	
+	// Same Weapons in the same order as GuiController.main(), so that the MySQL file comes out identical to the one exported from the GUI.
+	private static Weapon[] createAllWeapons() {
+		return new Weapon[] {
+			new Flamethrower(), new CryoCannon(), new SludgePump(), new SludgePump_Charged(), new Subata(), new EPC_RegularShot(), new EPC_ChargeShot(),
+			new Shotgun(), new SMG(), new SmartRifle(), new SmartRifle_LockOn(), new GrenadeLauncher(), new BreachCutter(), new BreachCutter_Projectile(),
+			new Minigun(), new Autocannon(), new GuidedRocketLauncher(), new Revolver(), new BurstPistol(),
+			new AssaultRifle(), new Classic_Hipfire(), new Classic_FocusShot(), new PlasmaCarbine(), new Boomstick(), new Zhukov()
+		};
+	}
+	
+	/*
+		Each name can be a dwarf class ("Driller"), the name used in the exported files ("SludgePump_RegularShot"), or the name of the Java class ("SludgePump").
+		Matching is case-insensitive, and the Weapons keep the same relative order as the GUI no matter what order they're listed in.
+	*/
+	private static Weapon[] selectWeapons(String weaponNames) {
+		Weapon[] allWeapons = createAllWeapons();
+		if (weaponNames.equalsIgnoreCase("all")) {
+			return allWeapons;
+		}
+		
+		String[] names = weaponNames.split(",");
+		boolean[] nameMatched = new boolean[names.length];
+		ArrayList<Weapon> toReturn = new ArrayList<Weapon>();
+		int i;
+		for (Weapon w: allWeapons) {
+			boolean selected = false;
+			for (i = 0; i < names.length; i++) {
+				String name = names[i].trim();
+				if (name.equalsIgnoreCase(w.getDwarfClass()) || name.equalsIgnoreCase(w.getSimpleName()) || name.equalsIgnoreCase(w.getClass().getSimpleName())) {
+					nameMatched[i] = true;
+					selected = true;
+				}
+			}
+			if (selected) {
+				toReturn.add(w);
+			}
+		}
+		
+		for (i = 0; i < names.length; i++) {
+			if (!nameMatched[i]) {
+				exitWithError("There's no Weapon or dwarf class called " + names[i].trim());
+			}
+		}
+		
+		return toReturn.toArray(new Weapon[0]);
+	}
+	
+	private static int parseIntegerInRange(String option, String value, int min, int max) {
+		int toReturn = 0;
+		try {
+			toReturn = Integer.parseInt(value);
+		}
+		catch (NumberFormatException e) {
+			exitWithError(option + " has to be a whole number, not " + value);
+		}
+		if (toReturn < min || toReturn > max) {
+			exitWithError(option + " has to be between " + min + " and " + max + ", not " + toReturn);
+		}
+		return toReturn;
+	}
+	
+	private static void exitWithError(String message) {
+		System.out.println(message);
+		System.out.println(usage);
+		System.exit(1);
+	}
+}
@@ -12,6 +12,7 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.Arrays;
 
 import javax.imageio.ImageIO;
 import javax.swing.JDialog;
@@ -21,8 +22,9 @@ import javax.swing.JTextField;
 
 import drgtools.dpscalc.buildComparators.CompareAccuracyGraphs;
 import drgtools.dpscalc.buildComparators.CompareMetrics;
-import drgtools.dpscalc.dataGenerator.DatabaseConstants;
+import drgtools.dpscalc.dataGenerator.BuildSpaceSweeper;
 import drgtools.dpscalc.dataGenerator.MetricsCalculator;
+import drgtools.dpscalc.guiPieces.BackgroundJob;
 import drgtools.dpscalc.guiPieces.HoverText;
 import drgtools.dpscalc.guiPieces.View;
 import drgtools.dpscalc.modelPieces.EnemyInformation;
@@ -121,92 +123,135 @@ public class GuiController implements ActionListener {
 		}
 	}
 	
-	private void createMetricsMysqlFile() {
-		ArrayList<String> mysqlCommands = new ArrayList<String>();
-		mysqlCommands.add(String.format("DROP TABLE IF EXISTS `%s`;\n\n", DatabaseConstants.statsTableName));
-		mysqlCommands.add(String.format("CREATE TABLE `%s` (\n", DatabaseConstants.statsTableName));
-		mysqlCommands.add("    `id` BIGINT UNSIGNED NOT NULL AUTO_INCREMENT,\n");
-		mysqlCommands.add("    `character_id` BIGINT UNSIGNED NOT NULL,\n");
-		mysqlCommands.add("    `gun_id` BIGINT UNSIGNED NOT NULL,\n");
-		mysqlCommands.add("    `weapon_short_name` VARCHAR(50) NOT NULL,\n");
-		mysqlCommands.add("    `build_combination` VARCHAR(6) NOT NULL,\n");
-		
-		// Burst DPS
-		mysqlCommands.add("    `ideal_burst_dps` DOUBLE NOT NULL,\n");
-		mysqlCommands.add("    `burst_dps_wp` DOUBLE NOT NULL,\n");
-		mysqlCommands.add("    `burst_dps_acc` DOUBLE NOT NULL,\n");
-		mysqlCommands.add("    `burst_dps_aw` DOUBLE NOT NULL,\n");
-		mysqlCommands.add("    `burst_dps_wp_acc` DOUBLE NOT NULL,\n");
-		mysqlCommands.add("    `burst_dps_wp_aw` DOUBLE NOT NULL,\n");
-		mysqlCommands.add("    `burst_dps_acc_aw` DOUBLE NOT NULL,\n");
-		mysqlCommands.add("    `burst_dps_wp_acc_aw` DOUBLE NOT NULL,\n");
-		
-		// Sustained DPS
-		mysqlCommands.add("    `ideal_sustained_dps` DOUBLE NOT NULL,\n");
-		mysqlCommands.add("    `sustained_dps_wp` DOUBLE NOT NULL,\n");
-		mysqlCommands.add("    `sustained_dps_acc` DOUBLE NOT NULL,\n");
-		mysqlCommands.add("    `sustained_dps_aw` DOUBLE NOT NULL,\n");
-		mysqlCommands.add("    `sustained_dps_wp_acc` DOUBLE NOT NULL,\n");
-		mysqlCommands.add("    `sustained_dps_wp_aw` DOUBLE NOT NULL,\n");
-		mysqlCommands.add("    `sustained_dps_acc_aw` DOUBLE NOT NULL,\n");
-		mysqlCommands.add("    `sustained_dps_wp_acc_aw` DOUBLE NOT NULL,\n");
-		
-		// GUI row 2
-		mysqlCommands.add("    `ideal_additional_target_dps` DOUBLE NOT NULL,\n");
-		mysqlCommands.add("    `max_num_targets_per_shot` INT NOT NULL,\n");
-		mysqlCommands.add("    `max_multi_target_damage` DOUBLE NOT NULL,\n");
-		mysqlCommands.add("    `ammo_efficiency` DOUBLE NOT NULL,\n");
-		mysqlCommands.add("    `damage_wasted_by_armor` DOUBLE NOT NULL,\n");
-		
-		// GUI row 3
-		mysqlCommands.add("    `general_accuracy` DOUBLE NOT NULL,\n");
-		mysqlCommands.add("    `weakpoint_accuracy` DOUBLE NOT NULL,\n");
-		mysqlCommands.add("    `firing_duration` DOUBLE NOT NULL,\n");
-		mysqlCommands.add("    `average_time_to_kill` DOUBLE NOT NULL,\n");
-		
-		// GUI row 4
-		mysqlCommands.add("    `average_overkill` DOUBLE NOT NULL,\n");
-		mysqlCommands.add("    `breakpoints` INT NOT NULL,\n");
-		mysqlCommands.add("    `utility` DOUBLE NOT NULL,\n");
-		mysqlCommands.add("    `average_time_to_ignite_or_freeze` DOUBLE NOT NULL,\n");
-		
-		// Metrics not on GUI 
-		mysqlCommands.add("    `damage_per_magazine` DOUBLE NOT NULL,\n");
-		mysqlCommands.add("    `time_to_fire_magazine` DOUBLE NOT NULL,\n");
-		
-		mysqlCommands.add("    `patch_id` BIGINT UNSIGNED NOT NULL,\n\n");
-		mysqlCommands.add("    PRIMARY KEY (`id`),\n\n");
-		mysqlCommands.add("    FOREIGN KEY (`character_id`)\n");
-		mysqlCommands.add("        REFERENCES characters(`id`),\n\n");
-		mysqlCommands.add("    FOREIGN KEY (`gun_id`)\n");
-		mysqlCommands.add("        REFERENCES guns(`id`),\n\n");
-		mysqlCommands.add("    FOREIGN KEY (`patch_id`)\n");
-		mysqlCommands.add("        REFERENCES patches(`id`)\n");
-		mysqlCommands.add(");\n\n");
-		
-		int i;
-		for (i = 0; i < drillerWeapons.length; i++) {
-			calculator.changeWeapon(drillerWeapons[i]);
-			mysqlCommands.addAll(calculator.dumpMetricsToMySQL());
-		}
-		for (i = 0; i < engineerWeapons.length; i++) {
-			calculator.changeWeapon(engineerWeapons[i]);
-			mysqlCommands.addAll(calculator.dumpMetricsToMySQL());
+	// Every Weapon in the GUI, in the same order as the tabs
+	private Weapon[] getAllWeapons() {
+		Weapon[][] allWeapons = new Weapon[][] {drillerWeapons, engineerWeapons, gunnerWeapons, scoutWeapons};
+		ArrayList<Weapon> toReturn = new ArrayList<Weapon>();
+		for (Weapon[] classWeapons: allWeapons) {
+			toReturn.addAll(Arrays.asList(classWeapons));
+		}
+		return toReturn.toArray(new Weapon[0]);
+	}
+	
+	// Each job gets its own MetricsCalculator, counting on the job's ProgressTracker, so that the one shared with the menus never gets touched from the background.
+	private MetricsCalculator createJobCalculator(Weapon startingWeapon, BackgroundJob job) {
+		MetricsCalculator toReturn = new MetricsCalculator(startingWeapon);
+		toReturn.setOutputFolder(calculator.getOutputFolder());
+		toReturn.setProgressTracker(job.getProgressTracker());
+		return toReturn;
+	}
+	
+	// The Thinking cursor still spins on the main window the whole time that the progress dialog is up, just like it did when these ran on the EDT.
+	private abstract class GuiJob extends BackgroundJob {
+		protected GuiJob(String name) {
+			super(gui, name);
 		}
-		for (i = 0; i < gunnerWeapons.length; i++) {
-			calculator.changeWeapon(gunnerWeapons[i]);
-			mysqlCommands.addAll(calculator.dumpMetricsToMySQL());
+		
+		@Override
+		public boolean start() {
+			if (super.start()) {
+				gui.activateThinkingCursor();
+				return true;
+			}
+			return false;
 		}
-		for (i = 0; i < scoutWeapons.length; i++) {
-			calculator.changeWeapon(scoutWeapons[i]);
-			mysqlCommands.addAll(calculator.dumpMetricsToMySQL());
+		
+		@Override
+		protected void finished() {
+			gui.deactivateThinkingCursor();
 		}
+	}
+	
+	/*
+		Each Weapon gets searched on a copy with the checkbox values applied, and then the GUI's Weapons all get changed together at the end. If it gets cancelled
+		partway through, none of them change.
+	*/
+	private void findBestMetricCombinations(Weapon[] weaponsToSearch, int metricIndex, boolean subset, boolean[] dpsCheckboxValues, String jobName) {
+		String[] bestCombinations = new String[weaponsToSearch.length];
 		
-		// Open the MySQL file once, then dump the accumulated ArrayList of lines all at once to minimize I/O time
-		// Set append=False so that it clears out the old file
-		calculator.writeFile(mysqlCommands, DatabaseConstants.statsTableName + ".sql", false);
+		new GuiJob(jobName) {
+			@Override
+			protected void work() {
+				/*
+					getBestMetricCombination() never changes the Weapon it searches, so the GUI's Weapons can be searched as-is unless the checkbox values have to be
+					applied first. Those copies don't know which mods and overclocks have been set to be ignored, but the checkboxes only come with full searches.
+				*/
+				MetricsCalculator searcher = createJobCalculator(weaponsToSearch[0], this);
+				Weapon[] searchedWeapons = new Weapon[weaponsToSearch.length];
+				int j;
+				for (j = 0; j < weaponsToSearch.length; j++) {
+					if (dpsCheckboxValues == null) {
+						searchedWeapons[j] = weaponsToSearch[j];
+					}
+					else {
+						searchedWeapons[j] = weaponsToSearch[j].clone();
+						searchedWeapons[j].applySettings(weaponsToSearch[j].getSettings());
+						searchedWeapons[j].setWeakpointDPS(dpsCheckboxValues[0], false);
+						searchedWeapons[j].setAccuracyDPS(dpsCheckboxValues[1], false);
+						searchedWeapons[j].setArmorWastingDPS(dpsCheckboxValues[2], false);
+					}
+					
+					searcher.changeWeapon(searchedWeapons[j]);
+					progress.addToTotal(searcher.countBestMetricCombinationBuilds(metricIndex, subset));
+				}
+				
+				for (j = 0; j < weaponsToSearch.length; j++) {
+					searcher.changeWeapon(searchedWeapons[j]);
+					bestCombinations[j] = searcher.getBestMetricCombination(metricIndex, subset);
+				}
+			}
+			
+			@Override
+			protected void applyResults() {
+				for (int j = 0; j < weaponsToSearch.length; j++) {
+					if (dpsCheckboxValues != null) {
+						weaponsToSearch[j].setWeakpointDPS(dpsCheckboxValues[0], false);
+						weaponsToSearch[j].setAccuracyDPS(dpsCheckboxValues[1], false);
+						weaponsToSearch[j].setArmorWastingDPS(dpsCheckboxValues[2], false);
+					}
+					weaponsToSearch[j].buildFromCombination(bestCombinations[j]);
+				}
+			}
+		}.start();
 	}
-
+	
+	private void exportMetricsToCSV(Weapon[] weaponsToExport, String jobName) {
+		new GuiJob(jobName) {
+			@Override
+			protected void work() {
+				for (Weapon weaponToExport: weaponsToExport) {
+					progress.addToTotal(BuildSpaceSweeper.countBuilds(weaponToExport, false));
+				}
+				
+				MetricsCalculator exporter = createJobCalculator(weaponsToExport[0], this);
+				for (Weapon weaponToExport: weaponsToExport) {
+					exporter.changeWeapon(weaponToExport);
+					exporter.exportMetricsToCSV();
+				}
+			}
+		}.start();
+	}
+	
+	// When everyDifficulty is true, every build gets a row for each of the 20 combinations of Hazard Level and Player Count, instead of only the ones currently selected.
+	private void createMetricsMysqlFile(boolean everyDifficulty, String jobName) {
+		Weapon[] weaponsToExport = getAllWeapons();
+		
+		new GuiJob(jobName) {
+			@Override
+			protected void work() {
+				int rowsPerBuild = 1;
+				if (everyDifficulty) {
+					rowsPerBuild = EnemyInformation.getAllDifficulties().length;
+				}
+				for (Weapon weaponToExport: weaponsToExport) {
+					progress.addToTotal(rowsPerBuild * BuildSpaceSweeper.countBuilds(weaponToExport, false));
+				}
+				
+				createJobCalculator(weaponsToExport[0], this).exportMetricsToMySQL(weaponsToExport, everyDifficulty);
+			}
+		}.start();
+	}
+	
 	@Override
 	public void actionPerformed(ActionEvent arg0) {
 		Object e = arg0.getSource();
@@ -248,76 +293,29 @@ public class GuiController implements ActionListener {
 		int i;
 		for (i = 0; i < 15; i++) {
 			if (e == gui.getOverallBestCombination(i)) {
-				
-				gui.activateThinkingCursor();
-				
 				/*
 					Because BCA metrics can be applied to all models, I chose to add 3 checkboxes into the menu that lets users select which of the 8 varieties of DPS they want
 					Technically these checkboxes are redundant if only calculating the BCA metric for the currently selected weapon (due to the toggle buttons in the GUI pane)
 					but they become necessary when finding the best DPS metric for all 20 models.
 				*/
 				boolean[] bcaDPSCheckboxValues = gui.getDPSCheckboxValues();
+				String jobName = "Best Combinations (All): " + gui.getOverallBestCombination(i).getText();
 				
 				if (gui.calculateBestMetricAllModelsEnabled()) {
 					// When this checkbox is selected, then all models in the GUI should run this metric in sequence.
-					int j;
-					for (j = 0; j < drillerWeapons.length; j++) {
-						drillerWeapons[j].setWeakpointDPS(bcaDPSCheckboxValues[0], false);
-						drillerWeapons[j].setAccuracyDPS(bcaDPSCheckboxValues[1], false);
-						drillerWeapons[j].setArmorWastingDPS(bcaDPSCheckboxValues[2], false);
-						
-						calculator.changeWeapon(drillerWeapons[j]);
-						drillerWeapons[j].buildFromCombination(calculator.getBestMetricCombination(i, false));
-					}
-					for (j = 0; j < engineerWeapons.length; j++) {
-						engineerWeapons[j].setWeakpointDPS(bcaDPSCheckboxValues[0], false);
-						engineerWeapons[j].setAccuracyDPS(bcaDPSCheckboxValues[1], false);
-						engineerWeapons[j].setArmorWastingDPS(bcaDPSCheckboxValues[2], false);
-						
-						calculator.changeWeapon(engineerWeapons[j]);
-						engineerWeapons[j].buildFromCombination(calculator.getBestMetricCombination(i, false));
-					}
-					for (j = 0; j < gunnerWeapons.length; j++) {
-						gunnerWeapons[j].setWeakpointDPS(bcaDPSCheckboxValues[0], false);
-						gunnerWeapons[j].setAccuracyDPS(bcaDPSCheckboxValues[1], false);
-						gunnerWeapons[j].setArmorWastingDPS(bcaDPSCheckboxValues[2], false);
-						
-						calculator.changeWeapon(gunnerWeapons[j]);
-						gunnerWeapons[j].buildFromCombination(calculator.getBestMetricCombination(i, false));
-					}
-					for (j = 0; j < scoutWeapons.length; j++) {
-						scoutWeapons[j].setWeakpointDPS(bcaDPSCheckboxValues[0], false);
-						scoutWeapons[j].setAccuracyDPS(bcaDPSCheckboxValues[1], false);
-						scoutWeapons[j].setArmorWastingDPS(bcaDPSCheckboxValues[2], false);
-						
-						calculator.changeWeapon(scoutWeapons[j]);
-						scoutWeapons[j].buildFromCombination(calculator.getBestMetricCombination(i, false));
-					}
-					
-					// Remember to change back to the weapon showing on the tab when they clicked this action
-					calculator.changeWeapon(currentlySelectedWeapon);
+					findBestMetricCombinations(getAllWeapons(), i, false, bcaDPSCheckboxValues, jobName);
 				}
 				else {
-					currentlySelectedWeapon.setWeakpointDPS(bcaDPSCheckboxValues[0], false);
-					currentlySelectedWeapon.setAccuracyDPS(bcaDPSCheckboxValues[1], false);
-					currentlySelectedWeapon.setArmorWastingDPS(bcaDPSCheckboxValues[2], false);
-					
-					currentlySelectedWeapon.buildFromCombination(calculator.getBestMetricCombination(i, false));
+					findBestMetricCombinations(new Weapon[] {currentlySelectedWeapon}, i, false, bcaDPSCheckboxValues, jobName);
 				}
 				
-				gui.deactivateThinkingCursor();
-				
 				// Empty return so that this method doesn't have to finish this for loop or evaluate the if/else block below afterwards
 				return;
 			}
 			else if (e == gui.getSubsetBestCombination(i)) {
-				gui.activateThinkingCursor();
-				
 				// Because Best Combinations (Subset) only runs for the weapon shown on GUI at the moment, I have chosen not to add the 3 checkboxes for DPS metrics in the menu itself.
 				// If a user wants to know the subset combination for those metrics, they can toggle the buttons on the GUI and re-run BCS.
-				currentlySelectedWeapon.buildFromCombination(calculator.getBestMetricCombination(i, true));
-				
-				gui.deactivateThinkingCursor();
+				findBestMetricCombinations(new Weapon[] {currentlySelectedWeapon}, i, true, null, "Best Combinations (Subset): " + gui.getSubsetBestCombination(i).getText());
 				
 				// Empty return so that this method doesn't have to finish this for loop or evaluate the if/else block below afterwards
 				return;
@@ -363,36 +361,19 @@ public class GuiController implements ActionListener {
 		
 		else if (e == gui.getExportCurrent()) {
 			chooseFolder();
-			gui.activateThinkingCursor();
-			calculator.exportMetricsToCSV();
-			gui.deactivateThinkingCursor();
+			exportMetricsToCSV(new Weapon[] {currentlySelectedWeapon}, "Export " + currentlySelectedWeapon.getFullName());
 		}
 		else if (e == gui.getExportAll()) {
 			chooseFolder();
-			gui.activateThinkingCursor();
-			for (i = 0; i < drillerWeapons.length; i++) {
-				calculator.changeWeapon(drillerWeapons[i]);
-				calculator.exportMetricsToCSV();
-			}
-			for (i = 0; i < engineerWeapons.length; i++) {
-				calculator.changeWeapon(engineerWeapons[i]);
-				calculator.exportMetricsToCSV();
-			}
-			for (i = 0; i < gunnerWeapons.length; i++) {
-				calculator.changeWeapon(gunnerWeapons[i]);
-				calculator.exportMetricsToCSV();
-			}
-			for (i = 0; i < scoutWeapons.length; i++) {
-				calculator.changeWeapon(scoutWeapons[i]);
-				calculator.exportMetricsToCSV();
-			}
-			gui.deactivateThinkingCursor();
+			exportMetricsToCSV(getAllWeapons(), "Export All");
 		}
 		else if (e == gui.getExportMetricsMySQL()) {
 			chooseFolder();
-			gui.activateThinkingCursor();
-			createMetricsMysqlFile();
-			gui.deactivateThinkingCursor();
+			createMetricsMysqlFile(false, "Export MySQL");
+		}
+		else if (e == gui.getExportMetricsMySQLEveryDifficulty()) {
+			chooseFolder();
+			createMetricsMysqlFile(true, "Export MySQL (Every Difficulty)");
 		}
 		
 		else if (e == gui.getCompareBuildMetrics()) {
@@ -0,0 +1,115 @@
+package drgtools.dpscalc.guiPieces;
+
+import java.awt.event.HierarchyEvent;
+import java.util.ArrayList;
+
+import javax.swing.JComponent;
+import javax.swing.Timer;
+
+/*
+	Every LineGraph and AccuracyAnimation used to start its own Thread that looped forever, calling repaint() and then sleeping. Opening the Accuracy visualizer
+	started 5 more of them every time, and none of them ever stopped, so they kept repainting panels that had long since been closed. The Thinking cursor had
+	its own Thread too.
+
+	Now there's just this one javax.swing.Timer, which ticks on the Event Dispatch Thread and gives every registered Animation its next frame once enough
+	ticks have gone by. Panels get registered with animateWhileShowing(), so they only get animated while they're actually on screen: closing the window
+	they're in (or hiding it, or removing them from it) unregisters them, and showing them again picks up right where they left off. Whenever nothing is
+	registered, the Timer stops completely. Everything in here has to be called from the Event Dispatch Thread.
+*/
+public class AnimationClock {
+	// Every Animation's frame rate has to be a multiple of this. 10ms is the 100 FPS that the Accuracy graphs use.
+	private static final int msPerTick = 10;
+	
+	public interface Animation {
+		public int getMsBetweenFrames();
+		// Always gets called on the Event Dispatch Thread
+		public void nextFrame();
+	}
+	
+	private static class ScheduledAnimation {
+		private Animation animation;
+		private int msUntilNextFrame;
+		private boolean stopped;
+		
+		private ScheduledAnimation(Animation a) {
+			animation = a;
+			// Show the first frame on the very next tick
+			msUntilNextFrame = 0;
+			stopped = false;
+		}
+	}
+	
+	private static ArrayList<ScheduledAnimation> running = new ArrayList<ScheduledAnimation>();
+	private static Timer clock = new Timer(msPerTick, e -> tick());
+	
+	// Does nothing if animation is already running
+	public static void start(Animation animation) {
+		if (indexOf(animation) > -1) {
+			return;
+		}
+		
+		running.add(new ScheduledAnimation(animation));
+		if (!clock.isRunning()) {
+			clock.start();
+		}
+	}
+	
+	// Does nothing if animation isn't running. It won't get any more frames after this, even if it gets stopped in the middle of a tick.
+	public static void stop(Animation animation) {
+		int index = indexOf(animation);
+		if (index < 0) {
+			return;
+		}
+		
+		running.remove(index).stopped = true;
+		if (running.isEmpty()) {
+			clock.stop();
+		}
+	}
+	
+	// Animates panel whenever it's showing on screen, and pauses it whenever it isn't.
+	public static <T extends JComponent & Animation> void animateWhileShowing(T panel) {
+		panel.addHierarchyListener(e -> {
+			if ((e.getChangeFlags() & HierarchyEvent.SHOWING_CHANGED) != 0) {
+				if (panel.isShowing()) {
+					start(panel);
+				}
+				else {
+					stop(panel);
+				}
+			}
+		});
+		
+		if (panel.isShowing()) {
+			start(panel);
+		}
+	}
+	
+	public static int getNumRunning() {
+		return running.size();
+	}
+	
+	private static int indexOf(Animation animation) {
+		for (int i = 0; i < running.size(); i++) {
+			if (running.get(i).animation == animation) {
+				return i;
+			}
+		}
+		return -1;
+	}
+	
+	private static void tick() {
+		// Copied so that an Animation can start or stop other Animations (or itself) during its frame
+		for (ScheduledAnimation scheduled: running.toArray(new ScheduledAnimation[running.size()])) {
+			if (scheduled.stopped) {
+				continue;
+			}
+			
+			scheduled.msUntilNextFrame -= msPerTick;
+			if (scheduled.msUntilNextFrame <= 0) {
+				scheduled.msUntilNextFrame += scheduled.animation.getMsBetweenFrames();
+				scheduled.animation.nextFrame();
+			}
+		}
+	}
+}
@@ -0,0 +1,191 @@
+package drgtools.dpscalc.guiPieces;
+
+import java.awt.BorderLayout;
+import java.awt.Component;
+import java.awt.Dialog;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+
+import javax.swing.JButton;
+import javax.swing.JDialog;
+import javax.swing.JLabel;
+import javax.swing.JOptionPane;
+import javax.swing.JPanel;
+import javax.swing.JProgressBar;
+import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
+import javax.swing.Timer;
+import javax.swing.WindowConstants;
+import javax.swing.border.EmptyBorder;
+
+import drgtools.dpscalc.dataGenerator.ProgressTracker;
+
+/*
+	Best Combinations, the Exports, and the Accuracy Graphs used to run right inside of actionPerformed(), which froze the whole window until they were done.
+	Each of them is now one of these instead: work() runs on a SwingWorker thread while a modal dialog shows how many builds are done out of the total, how
+	many builds per second it's getting through, and a Cancel button. Because the dialog is modal, nothing else in the window can be clicked while it's up,
+	so work() can safely read from the GUI's Weapons; it still must not change them. Anything that does need to change gets done in applyResults(), which
+	runs on the Event Dispatch Thread after work() finishes, all at once, and never if the job got cancelled or failed.
+*/
+public abstract class BackgroundJob extends SwingWorker<Void, Void> {
+	// The dialog is modal so this shouldn't ever happen, but just in case, only one of these gets to run at a time.
+	private static BackgroundJob jobInProgress = null;
+	
+	private static final int msBetweenProgressUpdates = 200;
+	
+	protected final ProgressTracker progress;
+	private String jobName;
+	// What progress is counting, for the readout. Almost always "builds".
+	private String unitName;
+	private Component parent;
+	
+	private JDialog progressDialog;
+	private JProgressBar progressBar;
+	private JLabel readout;
+	private Timer progressUpdater;
+	
+	protected BackgroundJob(Component parentComponent, String name) {
+		this(parentComponent, name, "builds");
+	}
+	protected BackgroundJob(Component parentComponent, String name, String unit) {
+		parent = parentComponent;
+		jobName = name;
+		unitName = unit;
+		progress = new ProgressTracker();
+	}
+	
+	public ProgressTracker getProgressTracker() {
+		return progress;
+	}
+	
+	// Has to be called from the Event Dispatch Thread. Returns false, without starting anything, if another job is still running.
+	public boolean start() {
+		if (jobInProgress != null) {
+			System.out.println("\"" + jobInProgress.jobName + "\" is still running, so \"" + jobName + "\" didn't get started.");
+			return false;
+		}
+		jobInProgress = this;
+		
+		constructProgressDialog();
+		progressUpdater = new Timer(msBetweenProgressUpdates, e -> updateProgressDialog());
+		progressUpdater.start();
+		
+		// Showing a modal dialog blocks until it closes, so queue it up instead of letting start() wait for the whole job. It's queued before the job starts so
+		// that it always gets shown before done() tries to close it.
+		SwingUtilities.invokeLater(() -> {
+			if (jobInProgress == this) {
+				progressDialog.setVisible(true);
+			}
+		});
+		execute();
+		return true;
+	}
+	
+	// Runs on the background thread. Count each build on progress, and add to its total before starting so that the progress bar knows where it ends.
+	protected abstract void work();
+	
+	// Runs on the Event Dispatch Thread, only if work() finished without getting cancelled or throwing.
+	protected void applyResults() {
+	}
+	
+	// Runs on the Event Dispatch Thread after the job is over, whether it finished, got cancelled, or failed.
+	protected void finished() {
+	}
+	
+	@Override
+	protected final Void doInBackground() {
+		work();
+		return null;
+	}
+	
+	@Override
+	protected final void done() {
+		progressUpdater.stop();
+		progressDialog.dispose();
+		jobInProgress = null;
+		
+		boolean succeeded = false;
+		try {
+			get();
+			succeeded = true;
+		}
+		catch (ExecutionException e) {
+			// Getting cancelled is what the user asked for, so that's not worth a message. Anything else is, since otherwise the job would just silently vanish.
+			if (!(e.getCause() instanceof CancellationException)) {
+				e.getCause().printStackTrace();
+				JOptionPane.showMessageDialog(parent, String.format("\"%s\" stopped after %,d of %,d %s because of an error:\n%s", jobName, progress.getDone(), progress.getTotal(), unitName, e.getCause()), jobName + " failed", JOptionPane.ERROR_MESSAGE);
+			}
+		}
+		catch (InterruptedException | CancellationException e) {
+			e.printStackTrace();
+		}
+		
+		if (succeeded) {
+			applyResults();
+		}
+		finished();
+	}
+	
+	private void constructProgressDialog() {
+		if (parent == null) {
+			progressDialog = new JDialog((Dialog) null, jobName, true);
+		}
+		else {
+			progressDialog = new JDialog(SwingUtilities.getWindowAncestor(parent), jobName, Dialog.ModalityType.APPLICATION_MODAL);
+		}
+		// Closing the dialog is the same as pressing Cancel; done() is what actually gets rid of it, once work() has stopped.
+		progressDialog.setDefaultCloseOperation(WindowConstants.DO_NOTHING_ON_CLOSE);
+		progressDialog.addWindowListener(new WindowAdapter() {
+			@Override
+			public void windowClosing(WindowEvent e) {
+				requestCancel();
+			}
+		});
+		
+		JPanel contents = new JPanel();
+		contents.setLayout(new BorderLayout(0, GuiConstants.paddingPixels));
+		contents.setBorder(new EmptyBorder(2*GuiConstants.paddingPixels, 2*GuiConstants.paddingPixels, 2*GuiConstants.paddingPixels, 2*GuiConstants.paddingPixels));
+		
+		progressBar = new JProgressBar();
+		progressBar.setStringPainted(true);
+		// Stays indeterminate until the job has set its total
+		progressBar.setIndeterminate(true);
+		contents.add(progressBar, BorderLayout.NORTH);
+		
+		readout = new JLabel("Starting...");
+		contents.add(readout, BorderLayout.CENTER);
+		
+		JButton cancelButton = new JButton("Cancel");
+		cancelButton.addActionListener(e -> requestCancel());
+		JPanel buttonRow = new JPanel();
+		buttonRow.add(cancelButton);
+		contents.add(buttonRow, BorderLayout.SOUTH);
+		
+		progressDialog.setContentPane(contents);
+		progressDialog.setSize(450, 150);
+		progressDialog.setLocationRelativeTo(parent);
+	}
+	
+	private void requestCancel() {
+		// Not SwingWorker.cancel(true): interrupting a thread that's in the middle of writing to a FileChannel closes the file out from under it.
+		progress.cancel();
+		readout.setText("Cancelling...");
+	}
+	
+	private void updateProgressDialog() {
+		long total = progress.getTotal();
+		long done = progress.getDone();
+		if (total > 0) {
+			// JProgressBar only takes ints, so show it as tenths of a percent
+			progressBar.setIndeterminate(false);
+			progressBar.setMaximum(1000);
+			progressBar.setValue((int) Math.min(1000, 1000 * done / total));
+		}
+		
+		if (!progress.isCancelled()) {
+			readout.setText(String.format("%,d / %,d %s (%,.0f %s/sec)", done, total, unitName, progress.getBuildsPerSecond(), unitName));
+		}
+	}
+}
@@ -0,0 +1,88 @@
+package drgtools.dpscalc.guiPieces;
+
+import java.awt.Graphics2D;
+import java.awt.GraphicsEnvironment;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+
+import drgtools.dpscalc.utilities.LRUCache;
+import net.coobird.thumbnailator.Thumbnails;
+
+/*
+	ModButton, OverclockButton, StatusEffectButton, and StatsRowIconPanel all used to run their icon through Thumbnails every single time they got repainted,
+	which is a full resample of the image per button per frame. With ~30 buttons and a few dozen stat rows per tab, just moving the mouse over the window
+	was enough to make it stutter. Every icon only ever gets drawn at a handful of sizes, so each size gets resampled once and saved here, and painting is
+	just a copy from then on.
+
+	ButtonIcons loads every (icon, colour) pair into its own BufferedImage exactly once, so the image itself already tells which icon and which colour
+	variant it is, and it gets used as part of the key along with the size. The scaled copies get converted to the screen's own pixel format when there
+	is a screen, so that drawing them doesn't have to convert them every time either. This is only ever used from the Event Dispatch Thread.
+*/
+public class ScaledIconCache {
+	// Way more than the number of icons times the number of sizes they get drawn at, so in practice nothing ever gets evicted.
+	private static LRUCache<IconKey, BufferedImage> scaledIcons = new LRUCache<IconKey, BufferedImage>(512);
+	
+	private static class IconKey {
+		private BufferedImage icon;
+		private int width, height;
+		
+		private IconKey(BufferedImage i, int w, int h) {
+			icon = i;
+			width = w;
+			height = h;
+		}
+		
+		@Override
+		public boolean equals(Object other) {
+			if (!(other instanceof IconKey)) {
+				return false;
+			}
+			IconKey k = (IconKey) other;
+			return icon == k.icon && width == k.width && height == k.height;
+		}
+		
+		@Override
+		public int hashCode() {
+			return (System.identityHashCode(icon) * 31 + width) * 31 + height;
+		}
+	}
+	
+	// Returns the same thing Thumbnails.of(icon).size(width, height).asBufferedImage() would have, or icon itself if it couldn't be resized.
+	public static BufferedImage getScaledIcon(BufferedImage icon, int width, int height) {
+		IconKey key = new IconKey(icon, width, height);
+		BufferedImage toReturn = scaledIcons.lookup(key);
+		if (toReturn == null) {
+			try {
+				toReturn = makeCompatible(Thumbnails.of(icon).size(width, height).asBufferedImage());
+			}
+			catch (IOException e) {
+				toReturn = icon;
+			}
+			scaledIcons.put(key, toReturn);
+		}
+		return toReturn;
+	}
+	
+	private static BufferedImage makeCompatible(BufferedImage image) {
+		if (GraphicsEnvironment.isHeadless()) {
+			return image;
+		}
+		
+		BufferedImage toReturn = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration().createCompatibleImage(image.getWidth(), image.getHeight(), Transparency.TRANSLUCENT);
+		Graphics2D g2 = toReturn.createGraphics();
+		g2.drawImage(image, 0, 0, null);
+		g2.dispose();
+		return toReturn;
+	}
+	
+	public static long getHits() {
+		return scaledIcons.getHits();
+	}
+	public static long getMisses() {
+		return scaledIcons.getMisses();
+	}
+	public static int size() {
+		return scaledIcons.size();
+	}
+}
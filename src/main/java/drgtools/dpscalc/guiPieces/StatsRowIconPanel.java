@@ -4,13 +4,10 @@ import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.RenderingHints;
 import java.awt.image.BufferedImage;
-import java.io.IOException;
 
 import javax.swing.JLabel;
 import javax.swing.JPanel;
 
-import net.coobird.thumbnailator.Thumbnails;
-
 public class StatsRowIconPanel extends JPanel {
 	private static final long serialVersionUID = 1L;
 	
@@ -36,11 +33,7 @@ public class StatsRowIconPanel extends JPanel {
 		
 		int iconVerticalOffset = (int) Math.round((this.getHeight() - sideLength) / 2.0);
 		
-		BufferedImage resizedIcon = myPic;
-		try {
-			resizedIcon = Thumbnails.of(resizedIcon).size(sideLength, sideLength).asBufferedImage();
-		}
-		catch (IOException e) {}
+		BufferedImage resizedIcon = ScaledIconCache.getScaledIcon(myPic, sideLength, sideLength);
 		
 		g2.drawImage(resizedIcon, 0, iconVerticalOffset, sideLength, sideLength, null);
 		
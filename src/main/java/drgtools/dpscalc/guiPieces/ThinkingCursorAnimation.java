@@ -3,39 +3,40 @@ package drgtools.dpscalc.guiPieces;
 import javax.swing.JFrame;
 
 // Adapted from http://www.java2s.com/Tutorial/Java/0240__Swing/ChangeCursorinathreadforanimation.htm
-public class ThinkingCursorAnimation implements Runnable {
+// This used to be its own Thread that slept between frames, but now AnimationClock's Timer drives it on the Event Dispatch Thread.
+public class ThinkingCursorAnimation implements AnimationClock.Animation {
 	
 	private JFrame guiToChangeCursor;
-	private boolean animate;
+	private int counter;
 	private int msDelayBetweenFrames;
 	
 	public ThinkingCursorAnimation(JFrame gui) {
 		guiToChangeCursor = gui;
-		animate = false;
+		counter = 0;
 		msDelayBetweenFrames = 100;
 	}
 	
-	public void toggleAnimation() {
-		animate = !animate;
+	public void start() {
+		counter = 0;
+		AnimationClock.start(this);
 	}
-
-	@Override
-	public void run() {
-		int counter = 0;
-		while (animate) {
-			guiToChangeCursor.setCursor(CustomCursors.thinkingCursor[counter]);
-			counter = (counter + 1) % CustomCursors.thinkingCursor.length;
-			
-			try {
-				Thread.sleep(msDelayBetweenFrames);
-			} 
-			catch (Exception e) {
-			
-			}
-		}
+	
+	public void stop() {
+		AnimationClock.stop(this);
 		
-		// After the while loop is done, set it back to the normal Cursor
+		// Once it's done, set it back to the normal Cursor
 		guiToChangeCursor.setCursor(CustomCursors.defaultCursor);
 	}
+	
+	@Override
+	public int getMsBetweenFrames() {
+		return msDelayBetweenFrames;
+	}
+
+	@Override
+	public void nextFrame() {
+		guiToChangeCursor.setCursor(CustomCursors.thinkingCursor[counter]);
+		counter = (counter + 1) % CustomCursors.thinkingCursor.length;
+	}
 
 }
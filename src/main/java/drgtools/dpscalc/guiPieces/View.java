@@ -38,7 +38,7 @@ public class View extends JFrame implements Observer {
 	private ButtonGroup dsHazGroup, dsPCGroup;
 	private JRadioButton dsHaz1, dsHaz2, dsHaz3, dsHaz4, dsHaz5, dsPC1, dsPC2, dsPC3, dsPC4;
 	private JMenu exportMenu;
-	private JMenuItem exportCurrent, exportAll, exportMetricsToMySQL;
+	private JMenuItem exportCurrent, exportAll, exportMetricsToMySQL, exportMetricsToMySQLEveryDifficulty;
 	private JMenu compareMenu;
 	private JMenuItem buildMetricsComparison, buildAccuracyGraphsComparison;
 	private JMenuItem[] loadCombinationToColumns;
@@ -142,12 +142,11 @@ public class View extends JFrame implements Observer {
 	}
 	
 	public void activateThinkingCursor() {
-		TCA.toggleAnimation();
-		new Thread(TCA).start();
+		TCA.start();
 	}
 	
 	public void deactivateThinkingCursor() {
-		TCA.toggleAnimation();
+		TCA.stop();
 	}
 
 	private void constructMenu() {
@@ -277,6 +276,8 @@ public class View extends JFrame implements Observer {
 		exportMenu.add(exportAll);
 		exportMetricsToMySQL = new JMenuItem("Export all weapons' metrics to MySQL");
 		exportMenu.add(exportMetricsToMySQL);
+		exportMetricsToMySQLEveryDifficulty = new JMenuItem("Export all weapons' metrics at every Hazard Level and Player Count to MySQL");
+		exportMenu.add(exportMetricsToMySQLEveryDifficulty);
 		menuBar.add(exportMenu);
 		
 		// Compare two or more builds to each other menu
@@ -375,6 +376,9 @@ public class View extends JFrame implements Observer {
 	public JMenuItem getExportMetricsMySQL() {
 		return exportMetricsToMySQL;
 	}
+	public JMenuItem getExportMetricsMySQLEveryDifficulty() {
+		return exportMetricsToMySQLEveryDifficulty;
+	}
 	
 	public JMenuItem getCompareBuildMetrics() {
 		return buildMetricsComparison;
@@ -447,6 +451,7 @@ public class View extends JFrame implements Observer {
 		exportCurrent.addActionListener(parent);
 		exportAll.addActionListener(parent);
 		exportMetricsToMySQL.addActionListener(parent);
+		exportMetricsToMySQLEveryDifficulty.addActionListener(parent);
 		
 		buildMetricsComparison.addActionListener(parent);
 		buildAccuracyGraphsComparison.addActionListener(parent);
@@ -461,19 +466,19 @@ public class View extends JFrame implements Observer {
 	}
 	
 	public void updateDifficultyScaling() {
-		// TODO: this is a really sucky solution to update the Hazard Level/Player Count. I'd like to refactor this if possible.
+		// Every tab recalculates its metrics at the new Hazard Level/Player Count in the background, instead of getting rebuilt from scratch.
 		int i;
 		for (i = 0; i < drillerWeapons.length; i++) {
-			drillerTabs.setComponentAt(i, new WeaponTab(drillerWeapons[i]));
+			((WeaponTab) drillerTabs.getComponentAt(i)).refreshMetrics();
 		}
 		for (i = 0; i < engineerWeapons.length; i++) {
-			engineerTabs.setComponentAt(i, new WeaponTab(engineerWeapons[i]));
+			((WeaponTab) engineerTabs.getComponentAt(i)).refreshMetrics();
 		}
 		for (i = 0; i < gunnerWeapons.length; i++) {
-			gunnerTabs.setComponentAt(i, new WeaponTab(gunnerWeapons[i]));
+			((WeaponTab) gunnerTabs.getComponentAt(i)).refreshMetrics();
 		}
 		for (i = 0; i < scoutWeapons.length; i++) {
-			scoutTabs.setComponentAt(i, new WeaponTab(scoutWeapons[i]));
+			((WeaponTab) scoutTabs.getComponentAt(i)).refreshMetrics();
 		}
 	}
 	
@@ -483,6 +488,7 @@ public class View extends JFrame implements Observer {
 		// Realistically, it should be improved to do object ID matching to items in each of the arrays.
 		
 		// In theory, these if and for statements should work together to only update the one WeaponTab that got updated by a button click, instead of rebuilding every tab on every button click.
+		// That tab keeps all of its components and only recalculates the numbers that it displays.
 		String className, weaponName;
 		if (o instanceof Weapon) {
 			className = ((Weapon) o).getDwarfClass();
@@ -495,7 +501,7 @@ public class View extends JFrame implements Observer {
 		if (className == "Driller") {
 			for (int i = 0; i < drillerWeapons.length; i++) {
 				if (drillerWeapons[i].getFullName() == weaponName) {
-					drillerTabs.setComponentAt(i, new WeaponTab(drillerWeapons[i]));
+					((WeaponTab) drillerTabs.getComponentAt(i)).refreshMetrics();
 					break;
 				}
 			}
@@ -503,7 +509,7 @@ public class View extends JFrame implements Observer {
 		else if (className == "Engineer") {
 			for (int i = 0; i < engineerWeapons.length; i++) {
 				if (engineerWeapons[i].getFullName() == weaponName) {
-					engineerTabs.setComponentAt(i, new WeaponTab(engineerWeapons[i]));
+					((WeaponTab) engineerTabs.getComponentAt(i)).refreshMetrics();
 					break;
 				}
 			}
@@ -511,7 +517,7 @@ public class View extends JFrame implements Observer {
 		else if (className == "Gunner") {
 			for (int i = 0; i < gunnerWeapons.length; i++) {
 				if (gunnerWeapons[i].getFullName() == weaponName) {
-					gunnerTabs.setComponentAt(i, new WeaponTab(gunnerWeapons[i]));
+					((WeaponTab) gunnerTabs.getComponentAt(i)).refreshMetrics();
 					break;
 				}
 			}
@@ -519,7 +525,7 @@ public class View extends JFrame implements Observer {
 		else if (className == "Scout") {
 			for (int i = 0; i < scoutWeapons.length; i++) {
 				if (scoutWeapons[i].getFullName() == weaponName) {
-					scoutTabs.setComponentAt(i, new WeaponTab(scoutWeapons[i]));
+					((WeaponTab) scoutTabs.getComponentAt(i)).refreshMetrics();
 					break;
 				}
 			}
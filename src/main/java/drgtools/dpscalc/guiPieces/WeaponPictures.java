@@ -1,31 +1,51 @@
 package drgtools.dpscalc.guiPieces;
 
 import java.awt.image.BufferedImage;
+import java.util.HashMap;
 
 import drgtools.dpscalc.utilities.ResourceLoader;
 
+/*
+	Every Weapon points at one of these pictures in its constructor, but only WeaponTab ever displays them. Decoding all of them up front took a few seconds,
+	which the headless exports would pay for without ever using a picture, so the Weapons only hold onto the filepath and the image gets loaded the first time it's asked for.
+*/
 public class WeaponPictures {
+	private static HashMap<String, BufferedImage> loadedPictures = new HashMap<String, BufferedImage>();
+	
 	// Driller
-	public static BufferedImage flamethrower = ResourceLoader.loadImage("images/weapons/GearGraphic_FlameThrower.png");
-	public static BufferedImage cryoCannon = ResourceLoader.loadImage("images/weapons/GearGraphic_Cryospray.png");
-	public static BufferedImage subata = ResourceLoader.loadImage("images/weapons/GearGraphic_Pistol.png");
-	public static BufferedImage EPC = ResourceLoader.loadImage("images/weapons/GearGraphic_ChargeBlaster.png");
+	public static final String flamethrower = "images/weapons/GearGraphic_FlameThrower.png";
+	public static final String cryoCannon = "images/weapons/GearGraphic_Cryospray.png";
+	public static final String subata = "images/weapons/GearGraphic_Pistol.png";
+	public static final String EPC = "images/weapons/GearGraphic_ChargeBlaster.png";
 	
 	// Engineer
-	public static BufferedImage shotgun = ResourceLoader.loadImage("images/weapons/GearGraphic_CombatShotgun.png");
-	public static BufferedImage SMG = ResourceLoader.loadImage("images/weapons/GearGraphic_SMG.png");
-	public static BufferedImage grenadeLauncher = ResourceLoader.loadImage("images/weapons/GearGraphic_GrenadeLauncher.png");
-	public static BufferedImage breachCutter = ResourceLoader.loadImage("images/weapons/GearGraphic_LineCutter.png");
+	public static final String shotgun = "images/weapons/GearGraphic_CombatShotgun.png";
+	public static final String SMG = "images/weapons/GearGraphic_SMG.png";
+	public static final String grenadeLauncher = "images/weapons/GearGraphic_GrenadeLauncher.png";
+	public static final String breachCutter = "images/weapons/GearGraphic_LineCutter.png";
 	
 	// Gunner
-	public static BufferedImage minigun = ResourceLoader.loadImage("images/weapons/GearGraphic_GatlingGun.png");
-	public static BufferedImage autocannon = ResourceLoader.loadImage("images/weapons/GearGraphic_AutoCannon.png");
-	public static BufferedImage revolver = ResourceLoader.loadImage("images/weapons/GearGraphic_Revolver.png");
-	public static BufferedImage burstPistol = ResourceLoader.loadImage("images/weapons/GearGraphic_BurstPistol.png");
+	public static final String minigun = "images/weapons/GearGraphic_GatlingGun.png";
+	public static final String autocannon = "images/weapons/GearGraphic_AutoCannon.png";
+	public static final String revolver = "images/weapons/GearGraphic_Revolver.png";
+	public static final String burstPistol = "images/weapons/GearGraphic_BurstPistol.png";
 	
 	// Scout
-	public static BufferedImage assaultRifle = ResourceLoader.loadImage("images/weapons/GearGraphic_AssaultRifle.png");
-	public static BufferedImage classic = ResourceLoader.loadImage("images/weapons/GearGraphic_BoltActionRifle.png");
-	public static BufferedImage boomstick = ResourceLoader.loadImage("images/weapons/GearGraphic_SawedOffShotgun.png");
-	public static BufferedImage zhukovs = ResourceLoader.loadImage("images/weapons/GearGraphic_DuelMachinePistols_DMP_MK_II.png");
+	public static final String assaultRifle = "images/weapons/GearGraphic_AssaultRifle.png";
+	public static final String classic = "images/weapons/GearGraphic_BoltActionRifle.png";
+	public static final String boomstick = "images/weapons/GearGraphic_SawedOffShotgun.png";
+	public static final String zhukovs = "images/weapons/GearGraphic_DuelMachinePistols_DMP_MK_II.png";
+	
+	public static synchronized BufferedImage getPicture(String relativeFilepath) {
+		if (relativeFilepath == null) {
+			return null;
+		}
+		
+		BufferedImage toReturn = loadedPictures.get(relativeFilepath);
+		if (toReturn == null) {
+			toReturn = ResourceLoader.loadImage(relativeFilepath);
+			loadedPictures.put(relativeFilepath, toReturn);
+		}
+		return toReturn;
+	}
 }
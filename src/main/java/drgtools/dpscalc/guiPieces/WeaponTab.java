@@ -6,17 +6,21 @@ import java.awt.Dimension;
 import java.awt.GridBagConstraints;
 import java.awt.GridBagLayout;
 import java.awt.GridLayout;
+import java.util.concurrent.ExecutionException;
 
 import javax.swing.BoxLayout;
+import javax.swing.JComponent;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
 import javax.swing.SwingConstants;
+import javax.swing.SwingWorker;
 import javax.swing.border.EmptyBorder;
 
 import drgtools.dpscalc.guiPieces.accuracyEstimator.AccuracyEstimatorSettingsButton;
 import drgtools.dpscalc.guiPieces.accuracyEstimator.AccuracyVisualizerButton;
 import drgtools.dpscalc.guiPieces.customButtons.AoEVisualizerButton;
 import drgtools.dpscalc.guiPieces.customButtons.ButtonIcons;
+import drgtools.dpscalc.guiPieces.customButtons.ButtonIcons.modIcons;
 import drgtools.dpscalc.guiPieces.customButtons.CustomRofButton;
 import drgtools.dpscalc.guiPieces.customButtons.DPSToggleButton;
 import drgtools.dpscalc.guiPieces.customButtons.GranularMetricButton;
@@ -30,11 +34,49 @@ import drgtools.dpscalc.modelPieces.StatsRow;
 import drgtools.dpscalc.utilities.MathUtils;
 import drgtools.dpscalc.weapons.Weapon;
 
+/*
+	Every component in this tab gets built once, in the constructor. When the Weapon changes, View calls refreshMetrics() and only the text and colors of
+	the labels get updated; the Mod, Overclock, and Status Effect buttons read their state from the Weapon every time they paint, so they just need a repaint.
+
+	The numbers themselves get calculated by a SwingWorker on a private copy of the Weapon, so clicking through Mods never waits on the math. If the Weapon
+	changes again while that's still running, the requests get merged into one more calculation after the current one finishes, instead of piling up.
+*/
 public class WeaponTab extends JPanel {
 	private static final long serialVersionUID = 1L;
 	
+	private static final String leftPadSpaces = "  ";
+	
 	private Weapon myWeapon;
 	
+	// Cloned on the Event Dispatch Thread the first time the metrics get calculated, and then only ever used by one MetricsWorker at a time
+	private Weapon calculationCopy = null;
+	private MetricsWorker metricsInProgress = null;
+	private boolean metricsOutOfDate = false;
+	
+	private JPanel weaponStatsPanel;
+	private modIcons[] statIcons;
+	private JPanel[] statRows;
+	private JLabel[] statNames, statValues;
+	
+	private DPSToggleButton[] dpsToggles;
+	private JLabel generalAccuracyHeader, weakpointAccuracyHeader;
+	private JLabel burstDPSValue, sustainedDPSValue, additionalTargetDPSValue, maxMultiDmgValue, ammoEfficiencyValue;
+	private JLabel weakpointAccuracyValue, firingDurationValue, timeToKillValue, avgTimeToIgniteOrFreezeValue;
+	private GranularMetricButton overkillButton, utilityButton;
+	
+	// These metrics show either a button or a plain label depending on their value, so both get built up front and swapped in and out of their slot as needed.
+	private JPanel maxNumTargetsSlot, damageWastedByArmorSlot, accuracyVisualizerSlot, generalAccuracySlot, breakpointsSlot;
+	private AoEVisualizerButton maxNumTargetsButton;
+	private JLabel maxNumTargetsValue;
+	private GranularMetricButton damageWastedByArmorButton;
+	private JLabel damageWastedByArmorValue;
+	private AccuracyVisualizerButton accuracyVisualizerButton;
+	private JLabel accuracyNotVisualizedValue;
+	private AccuracyEstimatorSettingsButton generalAccuracyButton;
+	private JLabel generalAccuracyManuallyAimedValue;
+	private GranularMetricButton breakpointsButton;
+	private JLabel breakpointsNotNeededValue;
+	
 	public WeaponTab(Weapon inputWeapon) {
 		// Start by initializing the parent JPanel
 		super();
@@ -55,9 +97,9 @@ public class WeaponTab extends JPanel {
 		gbc.gridheight = 24;
 		gbc.weightx = 1.0/7.0;
 		gbc.weighty = 24.0/31.0;
-		JPanel weaponStats = constructWeaponStatsPanel();
-		gbl.setConstraints(weaponStats, gbc);
-		this.add(weaponStats);
+		weaponStatsPanel = constructWeaponStatsPanel();
+		gbl.setConstraints(weaponStatsPanel, gbc);
+		this.add(weaponStatsPanel);
 		
 		gbc.gridx = 1;
 		gbc.gridy = 0;
@@ -109,6 +151,9 @@ public class WeaponTab extends JPanel {
 		JPanel weaponCalculations = constructCalculationsPanel();
 		gbl.setConstraints(weaponCalculations, gbc);
 		this.add(weaponCalculations);
+		
+		// The metric labels start out blank and get filled in as soon as the first calculation finishes.
+		refreshMetrics();
 	}
 	
 	// TODO: at some point down the line I'd like to add the picture for each weapon somewhere, but for now I'm leaving this snippet unused.
@@ -139,8 +184,6 @@ public class WeaponTab extends JPanel {
 	}
 	
 	private JPanel constructStatusEffectsPanel() {
-		boolean[] currentStatusEffects = myWeapon.getCurrentStatusEffects();
-		
 		JPanel toReturn = new JPanel();
 		toReturn.setBackground(GuiConstants.drgBackgroundBrown);
 		toReturn.setBorder(GuiConstants.blackLine);
@@ -153,13 +196,13 @@ public class WeaponTab extends JPanel {
 		
 		StatusEffectButton burning = new StatusEffectButton(myWeapon, 0, "Burning", "Enemies that are Burning take an average of " + MathUtils.round(DoTInformation.Burn_DPS, GuiConstants.numDecimalPlaces) + " Fire Damage per second, "
 				+ "and heat up nearby enemies at an average of " + MathUtils.round(5.0 / ((0.9 + 1.1)/2.0), GuiConstants.numDecimalPlaces) + " Heat per second.", 
-				ButtonIcons.statusEffectIcons.fire, currentStatusEffects[0]);
+				ButtonIcons.statusEffectIcons.fire);
 		StatusEffectButton frozen = new StatusEffectButton(myWeapon, 1, "Frozen", "Enemies that are Frozen cannot move, take 3x Direct Damage, normal Area Damage, but no Weakpoint Bonuses can be applied.", 
-				ButtonIcons.statusEffectIcons.frozen, currentStatusEffects[1]);
+				ButtonIcons.statusEffectIcons.frozen);
 		StatusEffectButton electrocuted = new StatusEffectButton(myWeapon, 2, "Electrocuted", "Enemies that are Electrocuted take an average of " + MathUtils.round(DoTInformation.Electro_DPS, GuiConstants.numDecimalPlaces) + " Electric Damage per second and are slowed by 80%", 
-				ButtonIcons.statusEffectIcons.electricity, currentStatusEffects[2]);
+				ButtonIcons.statusEffectIcons.electricity);
 		StatusEffectButton IFG = new StatusEffectButton(myWeapon, 3, "IFG Grenade", "Scout's IFG Grenade slows all enemy movement by 75% and increases the damage dealt to enemies by 30%.", 
-				ButtonIcons.statusEffectIcons.electricity, currentStatusEffects[3]);
+				ButtonIcons.statusEffectIcons.electricity);
 		
 		toReturn.add(burning);
 		toReturn.add(frozen);
@@ -170,50 +213,78 @@ public class WeaponTab extends JPanel {
 	}
 	
 	private JPanel constructWeaponStatsPanel() {
-		StatsRow[] weaponStats = myWeapon.getStats();
-		
 		JPanel toReturn = new JPanel();
 		toReturn.setBackground(GuiConstants.drgBackgroundBrown);
 		toReturn.setBorder(GuiConstants.blackLine);
 		toReturn.setLayout(new BoxLayout(toReturn, BoxLayout.Y_AXIS));
 		toReturn.setPreferredSize(new Dimension(200, 280));
 		
+		addWeaponStatsRows(toReturn, myWeapon.getStats());
+		
+		return toReturn;
+	}
+	
+	// Every row gets built, even the ones that aren't displayed for this build, so that switching Mods only has to show or hide them.
+	private void addWeaponStatsRows(JPanel statsPanel, StatsRow[] weaponStats) {
+		statIcons = new modIcons[weaponStats.length];
+		statRows = new JPanel[weaponStats.length];
+		statNames = new JLabel[weaponStats.length];
+		statValues = new JLabel[weaponStats.length];
+		
 		JPanel row, statLabelIcon;
-		JLabel statLabel, statValue;
-		String statLabelText;
 		for (int i = 0; i < weaponStats.length; i++) {
-			if (weaponStats[i].shouldBeDisplayed()) {
-				row = new JPanel();
-				row.setOpaque(false);
-				row.setLayout(new BorderLayout());
-				
-				statLabelIcon = new StatsRowIconPanel(ButtonIcons.getModIcon(weaponStats[i].getIcon(), false));
-				row.add(statLabelIcon, BorderLayout.LINE_START);
-				
-				statLabelText = weaponStats[i].getName();
-				statLabelText = HoverText.breakLongToolTipString(statLabelText, 28);
-				statLabel = new JLabel(statLabelText);
-				statLabel.setFont(GuiConstants.customFont);
-				statLabel.setForeground(Color.white);
-				row.add(statLabel, BorderLayout.CENTER);
-				
-				statValue = new JLabel(weaponStats[i].getValue());
-				statValue.setFont(GuiConstants.customFontBold);
-				if (weaponStats[i].shouldValueBeHighlighted()) {
-					statValue.setForeground(GuiConstants.drgHighlightedYellow);
-				}
-				else {
-					statValue.setForeground(GuiConstants.drgRegularOrange);
-				}
-				row.add(statValue, BorderLayout.LINE_END);
-				
-				row.setBorder(new EmptyBorder(0, GuiConstants.paddingPixels, 0, 2*GuiConstants.paddingPixels));
-				
-				toReturn.add(row);
-			}
+			row = new JPanel();
+			row.setOpaque(false);
+			row.setLayout(new BorderLayout());
+			
+			statIcons[i] = weaponStats[i].getIcon();
+			statLabelIcon = new StatsRowIconPanel(ButtonIcons.getModIcon(statIcons[i], false));
+			row.add(statLabelIcon, BorderLayout.LINE_START);
+			
+			statNames[i] = new JLabel();
+			statNames[i].setFont(GuiConstants.customFont);
+			statNames[i].setForeground(Color.white);
+			row.add(statNames[i], BorderLayout.CENTER);
+			
+			statValues[i] = new JLabel();
+			statValues[i].setFont(GuiConstants.customFontBold);
+			row.add(statValues[i], BorderLayout.LINE_END);
+			
+			row.setBorder(new EmptyBorder(0, GuiConstants.paddingPixels, 0, 2*GuiConstants.paddingPixels));
+			
+			statRows[i] = row;
+			statsPanel.add(row);
 		}
 		
-		return toReturn;
+		updateWeaponStatsRows(weaponStats);
+	}
+	
+	private void updateWeaponStatsRows(StatsRow[] weaponStats) {
+		// Every Weapon returns the same rows in the same order no matter the build, but if that ever stops being true then just start the rows over.
+		boolean sameRows = weaponStats.length == statRows.length;
+		for (int i = 0; sameRows && i < weaponStats.length; i++) {
+			sameRows = weaponStats[i].getIcon() == statIcons[i];
+		}
+		if (!sameRows) {
+			weaponStatsPanel.removeAll();
+			addWeaponStatsRows(weaponStatsPanel, weaponStats);
+			weaponStatsPanel.revalidate();
+			weaponStatsPanel.repaint();
+			return;
+		}
+		
+		// JLabel only re-lays out and repaints itself when the text or color actually changes, so setting the ones that are the same is free.
+		for (int i = 0; i < weaponStats.length; i++) {
+			statRows[i].setVisible(weaponStats[i].shouldBeDisplayed());
+			statNames[i].setText(HoverText.breakLongToolTipString(weaponStats[i].getName(), 28));
+			statValues[i].setText(weaponStats[i].getValue());
+			if (weaponStats[i].shouldValueBeHighlighted()) {
+				statValues[i].setForeground(GuiConstants.drgHighlightedYellow);
+			}
+			else {
+				statValues[i].setForeground(GuiConstants.drgRegularOrange);
+			}
+		}
 	}
 	
 	private JPanel constructModsPanel() {
@@ -262,6 +333,35 @@ public class WeaponTab extends JPanel {
 		return toReturn;
 	}
 	
+	private JLabel createValueLabel() {
+		JLabel toReturn = new JLabel();
+		toReturn.setFont(GuiConstants.customFontBold);
+		return toReturn;
+	}
+	
+	private JLabel createHeaderLabel(String text) {
+		JLabel toReturn = new JLabel(text);
+		toReturn.setFont(GuiConstants.customFont);
+		toReturn.setForeground(GuiConstants.drgRegularOrange);
+		return toReturn;
+	}
+	
+	private JPanel createSlot() {
+		JPanel toReturn = new JPanel();
+		toReturn.setOpaque(false);
+		toReturn.setLayout(new BorderLayout());
+		return toReturn;
+	}
+	
+	private void showInSlot(JPanel slot, JComponent toShow) {
+		if (slot.getComponentCount() == 0 || slot.getComponent(0) != toShow) {
+			slot.removeAll();
+			slot.add(toShow, BorderLayout.CENTER);
+			slot.revalidate();
+			slot.repaint();
+		}
+	}
+	
 	private JPanel constructCalculationsPanel() {
 		JPanel toReturn = new JPanel();
 		toReturn.setBackground(GuiConstants.drgBackgroundBrown);
@@ -270,405 +370,370 @@ public class WeaponTab extends JPanel {
 		
 		// 70px height per row of stats
 		
-		String[] headers = new String[] {
-			// Row 1
-			"Burst DPS",
-			"Sustained DPS",
-			"Toggle Weakpoints in DPS",
-			"Toggle Accuracy in DPS",
-			"Toggle Armor in DPS",
-			// Row 2
-			"Additional Target DPS",
-			"Max Num Targets",
-			"Max Multi-Target Dmg",
-			"Ammo Efficiency",
-			"Avg Damage Lost vs Armored Enemies",
-			// Row 3
-			"Accuracy Visualizer",
-			"General Accuracy",
-			"Weakpoint Accuracy",
-			"Firing Duration (sec)",
-			"Avg TTK (sec)",
-			// Row 4
-			"Avg Overkill",
-			"Breakpoints",
-			"Utility",
-			"Avg Time to Ignite or Freeze",
-			""  // This last one, bottom-right, will eventually be "Haz5+ Ready"
-		};
-		
-		int i;
-		JLabel header, value;
-		String roundedNumber;
-		String leftPadSpaces = "  ";
-		double originalBurstDPS = myWeapon.getBaselineBurstDPS();
-		double originalSustainedDPS = myWeapon.getBaselineSustainedDPS();
-		double[] originalStats = myWeapon.getBaselineStats();
-		
 		/******************************************
 			Row 1
 		******************************************/
-		for (i = 0; i < headers.length/4; i++) {
-			header = new JLabel(headers[i]);
-			header.setFont(GuiConstants.customFont);
-			header.setForeground(GuiConstants.drgRegularOrange);
-			toReturn.add(header);
-		}
+		toReturn.add(createHeaderLabel("Burst DPS"));
+		toReturn.add(createHeaderLabel("Sustained DPS"));
+		toReturn.add(createHeaderLabel("Toggle Weakpoints in DPS"));
+		toReturn.add(createHeaderLabel("Toggle Accuracy in DPS"));
+		toReturn.add(createHeaderLabel("Toggle Armor in DPS"));
 		
-		double burstDPS = myWeapon.calculateSingleTargetDPS(true);
-		roundedNumber = leftPadSpaces + MathUtils.round(burstDPS, GuiConstants.numDecimalPlaces);
-		value = new JLabel(roundedNumber);
-		value.setFont(GuiConstants.customFontBold);
-		if (burstDPS < originalBurstDPS) {
-			value.setForeground(GuiConstants.drgNegativeChangeRed);
-		}
-		else if (burstDPS > originalBurstDPS) {
-			value.setForeground(GuiConstants.drgOverclockCleanGreen);
-		}
-		else {
-			// Implicitly means that they're equal
-			value.setForeground(GuiConstants.drgHighlightedYellow);
-		}
-		toReturn.add(value);
-		
-		double sustainedDPS = myWeapon.calculateSingleTargetDPS(false);
-		roundedNumber = leftPadSpaces + MathUtils.round(sustainedDPS, GuiConstants.numDecimalPlaces);
-		value = new JLabel(roundedNumber);
-		value.setFont(GuiConstants.customFontBold);
-		if (sustainedDPS < originalSustainedDPS) {
-			value.setForeground(GuiConstants.drgNegativeChangeRed);
-		}
-		else if (sustainedDPS > originalSustainedDPS) {
-			value.setForeground(GuiConstants.drgOverclockCleanGreen);
-		}
-		else {
-			// Implicitly means that they're equal
-			value.setForeground(GuiConstants.drgHighlightedYellow);
-		}
-		toReturn.add(value);
+		burstDPSValue = createValueLabel();
+		toReturn.add(burstDPSValue);
+		sustainedDPSValue = createValueLabel();
+		toReturn.add(sustainedDPSValue);
 		
 		// These three buttons toggle Weakpoints, General Accuracy, and Armor Wasting metrics for DPS calculations.
-		toReturn.add( new DPSToggleButton(myWeapon, 0, leftPadSpaces));
-		toReturn.add( new DPSToggleButton(myWeapon, 1, leftPadSpaces));
-		toReturn.add( new DPSToggleButton(myWeapon, 2, leftPadSpaces));
+		dpsToggles = new DPSToggleButton[3];
+		for (int i = 0; i < dpsToggles.length; i++) {
+			dpsToggles[i] = new DPSToggleButton(myWeapon, i, leftPadSpaces);
+			toReturn.add(dpsToggles[i]);
+		}
 		
 		/******************************************
 			Row 2
 		******************************************/
-		for (i = headers.length/4; i < 2*headers.length/4; i++) {
-			header = new JLabel(headers[i]);
-			header.setFont(GuiConstants.customFont);
-			header.setForeground(GuiConstants.drgRegularOrange);
-			toReturn.add(header);
-		}
+		toReturn.add(createHeaderLabel("Additional Target DPS"));
+		toReturn.add(createHeaderLabel("Max Num Targets"));
+		toReturn.add(createHeaderLabel("Max Multi-Target Dmg"));
+		toReturn.add(createHeaderLabel("Ammo Efficiency"));
+		toReturn.add(createHeaderLabel("Avg Damage Lost vs Armored Enemies"));
+		
+		additionalTargetDPSValue = createValueLabel();
+		toReturn.add(additionalTargetDPSValue);
+		
+		maxNumTargetsSlot = createSlot();
+		maxNumTargetsButton = new AoEVisualizerButton(this, "", myWeapon);
+		maxNumTargetsValue = createValueLabel();
+		toReturn.add(maxNumTargetsSlot);
+		
+		maxMultiDmgValue = createValueLabel();
+		toReturn.add(maxMultiDmgValue);
+		ammoEfficiencyValue = createValueLabel();
+		toReturn.add(ammoEfficiencyValue);
+		
+		damageWastedByArmorSlot = createSlot();
+		damageWastedByArmorButton = new GranularMetricButton(this, "", "% Damage Wasted by Armor per Creature", new StatsRow[0]);
+		damageWastedByArmorValue = createValueLabel();
+		damageWastedByArmorValue.setForeground(GuiConstants.drgHighlightedYellow);
+		toReturn.add(damageWastedByArmorSlot);
 		
-		double additionalTargetDPS = myWeapon.calculateAdditionalTargetDPS();
-		roundedNumber = leftPadSpaces + MathUtils.round(additionalTargetDPS, GuiConstants.numDecimalPlaces);
-		value = new JLabel(roundedNumber);
-		value.setFont(GuiConstants.customFontBold);
-		if (additionalTargetDPS < originalStats[0]) {
-			value.setForeground(GuiConstants.drgNegativeChangeRed);
+		/******************************************
+			Row 3
+		******************************************/
+		toReturn.add(createHeaderLabel("Accuracy Visualizer"));
+		// These two get the current AccEstimator distance added to them once it's known
+		generalAccuracyHeader = createHeaderLabel("General Accuracy");
+		toReturn.add(generalAccuracyHeader);
+		weakpointAccuracyHeader = createHeaderLabel("Weakpoint Accuracy");
+		toReturn.add(weakpointAccuracyHeader);
+		toReturn.add(createHeaderLabel("Firing Duration (sec)"));
+		toReturn.add(createHeaderLabel("Avg TTK (sec)"));
+		
+		accuracyVisualizerSlot = createSlot();
+		accuracyVisualizerButton = new AccuracyVisualizerButton(this, leftPadSpaces + "See how it works", myWeapon);
+		accuracyNotVisualizedValue = createValueLabel();
+		accuracyNotVisualizedValue.setText(leftPadSpaces + "Not visualized");
+		accuracyNotVisualizedValue.setForeground(GuiConstants.drgHighlightedYellow);
+		toReturn.add(accuracyVisualizerSlot);
+		
+		generalAccuracySlot = createSlot();
+		generalAccuracyButton = new AccuracyEstimatorSettingsButton(this, "", myWeapon);
+		generalAccuracyManuallyAimedValue = createValueLabel();
+		generalAccuracyManuallyAimedValue.setText(leftPadSpaces + "Manually Aimed");
+		generalAccuracyManuallyAimedValue.setForeground(GuiConstants.drgHighlightedYellow);
+		toReturn.add(generalAccuracySlot);
+		
+		weakpointAccuracyValue = createValueLabel();
+		toReturn.add(weakpointAccuracyValue);
+		firingDurationValue = createValueLabel();
+		toReturn.add(firingDurationValue);
+		timeToKillValue = createValueLabel();
+		toReturn.add(timeToKillValue);
+		
+		/******************************************
+			Row 4
+		******************************************/
+		toReturn.add(createHeaderLabel("Avg Overkill"));
+		toReturn.add(createHeaderLabel("Breakpoints"));
+		toReturn.add(createHeaderLabel("Utility"));
+		toReturn.add(createHeaderLabel("Avg Time to Ignite or Freeze"));
+		// This last one, bottom-right, will eventually be "Haz5+ Ready"
+		toReturn.add(createHeaderLabel(""));
+		
+		overkillButton = new GranularMetricButton(this, "", "Overkill % per Creature", new StatsRow[0]);
+		toReturn.add(overkillButton);
+		
+		breakpointsSlot = createSlot();
+		breakpointsButton = new GranularMetricButton(this, "", "Breakpoints", new StatsRow[0]);
+		// Flamethrower and Cryo Cannon don't have the Breakpoint metric calculated
+		breakpointsNotNeededValue = createValueLabel();
+		breakpointsNotNeededValue.setText(leftPadSpaces + "Not needed");
+		breakpointsNotNeededValue.setForeground(GuiConstants.drgHighlightedYellow);
+		toReturn.add(breakpointsSlot);
+		
+		utilityButton = new GranularMetricButton(this, "", "Utility Score Breakdown", new StatsRow[0]);
+		toReturn.add(utilityButton);
+		
+		avgTimeToIgniteOrFreezeValue = createValueLabel();
+		toReturn.add(avgTimeToIgniteOrFreezeValue);
+		
+		// Placeholder blank JLabel until "Haz5 Viable" metric gets placed here
+		toReturn.add(new JLabel());
+		
+		return toReturn;
+	}
+	
+	// Red if the metric got worse than the baseline build, green if it got better, and yellow if it's the same.
+	private static Color compareToBaseline(double value, double baseline, boolean higherIsBetter, Color worseColor) {
+		if (value > baseline) {
+			return higherIsBetter ? GuiConstants.drgOverclockCleanGreen : worseColor;
 		}
-		else if (additionalTargetDPS > originalStats[0]) {
-			value.setForeground(GuiConstants.drgOverclockCleanGreen);
+		else if (value < baseline) {
+			return higherIsBetter ? worseColor : GuiConstants.drgOverclockCleanGreen;
 		}
 		else {
 			// Implicitly means that they're equal
-			value.setForeground(GuiConstants.drgHighlightedYellow);
+			return GuiConstants.drgHighlightedYellow;
 		}
-		toReturn.add(value);
+	}
+	private static Color compareToBaseline(double value, double baseline, boolean higherIsBetter) {
+		return compareToBaseline(value, baseline, higherIsBetter, GuiConstants.drgNegativeChangeRed);
+	}
+	
+	/*
+		Called by View whenever the Weapon notifies its Observers, and whenever the Hazard Level or Player Count change. The buttons that read straight from the
+		Weapon get repainted right away, and everything that needs to be calculated gets handed off to a MetricsWorker.
+	*/
+	public void refreshMetrics() {
+		for (DPSToggleButton toggle: dpsToggles) {
+			toggle.refresh();
+		}
+		repaint();
 		
-		int maxNumTargets = myWeapon.calculateMaxNumTargets();
-		int originalNumTargets = (int) originalStats[1];
-		if (myWeapon.currentlyDealsSplashDamage()) {
-			AoEVisualizerButton valButton = new AoEVisualizerButton(this, leftPadSpaces + maxNumTargets, myWeapon);
-			if (maxNumTargets < originalNumTargets) {
-				valButton.setForeground(GuiConstants.drgNegativeChangeRed);
-			}
-			else if (maxNumTargets > originalNumTargets) {
-				valButton.setForeground(GuiConstants.drgOverclockCleanGreen);
-			}
-			else {
-				// Implicitly means that they're equal
-				valButton.setForeground(GuiConstants.drgHighlightedYellow);
-			}
-			toReturn.add(valButton);
+		if (metricsInProgress != null) {
+			// Whatever is running now started before this change, so one more calculation has to happen once it's done. Any other changes before then share it.
+			metricsOutOfDate = true;
 		}
 		else {
-			value = new JLabel(leftPadSpaces + maxNumTargets);
-			value.setFont(GuiConstants.customFontBold);
-			if (maxNumTargets < originalNumTargets) {
-				value.setForeground(GuiConstants.drgNegativeChangeRed);
+			startMetricsCalculation();
+		}
+	}
+	
+	private void startMetricsCalculation() {
+		metricsOutOfDate = false;
+		// Everything the calculation reads from myWeapon gets copied now, on the Event Dispatch Thread, so that the Worker never touches myWeapon itself.
+		if (calculationCopy == null) {
+			calculationCopy = myWeapon.clone();
+		}
+		metricsInProgress = new MetricsWorker(myWeapon.getSettings(), myWeapon.getBaselineBurstDPS(), myWeapon.getBaselineSustainedDPS(), myWeapon.getBaselineStats());
+		metricsInProgress.execute();
+	}
+	
+	// Everything the calculations panel and the stats panel display for one build
+	private static class CalculatedMetrics {
+		private double[] metrics = new double[Weapon.numMetrics];
+		private double baselineBurstDPS, baselineSustainedDPS;
+		private double[] baselineStats;
+		private double accuracyDistance;
+		private boolean dealsSplashDamage;
+		private StatsRow[] weaponStats;
+		private StatsRow[] armorWastingExplanation, overkillExplanation, breakpointsExplanation, utilityExplanation;
+	}
+	
+	private class MetricsWorker extends SwingWorker<CalculatedMetrics, Void> {
+		private Weapon.Settings settings;
+		private CalculatedMetrics toReturn;
+		
+		private MetricsWorker(Weapon.Settings weaponSettings, double baselineBurstDPS, double baselineSustainedDPS, double[] baselineStats) {
+			settings = weaponSettings;
+			toReturn = new CalculatedMetrics();
+			toReturn.baselineBurstDPS = baselineBurstDPS;
+			toReturn.baselineSustainedDPS = baselineSustainedDPS;
+			toReturn.baselineStats = baselineStats;
+		}
+		
+		@Override
+		protected CalculatedMetrics doInBackground() {
+			// Only one of these runs at a time, and the Event Dispatch Thread doesn't touch calculationCopy after creating it, so it's all this Worker's
+			calculationCopy.applySettings(settings);
+			
+			// Same order as the panel gets read in, because each Explanation reads the arrays left behind by the metric right before it
+			for (int i = 0; i < Weapon.numMetrics; i++) {
+				toReturn.metrics[i] = calculationCopy.getMetric(i);
+				if (i == 6 && toReturn.metrics[i] > 0) {
+					toReturn.armorWastingExplanation = calculationCopy.armorWastingExplanation();
+				}
+				else if (i == 11) {
+					toReturn.overkillExplanation = calculationCopy.overkillExplanation();
+				}
+				else if (i == 12 && toReturn.metrics[i] > 0) {
+					toReturn.breakpointsExplanation = calculationCopy.breakpointsExplanation();
+				}
+				else if (i == 13) {
+					toReturn.utilityExplanation = calculationCopy.utilityExplanation();
+				}
 			}
-			else if (maxNumTargets > originalNumTargets) {
-				value.setForeground(GuiConstants.drgOverclockCleanGreen);
+			
+			toReturn.accuracyDistance = calculationCopy.getAccuracyDistance();
+			toReturn.dealsSplashDamage = calculationCopy.currentlyDealsSplashDamage();
+			toReturn.weaponStats = calculationCopy.getStats();
+			return toReturn;
+		}
+		
+		@Override
+		protected void done() {
+			metricsInProgress = null;
+			try {
+				displayMetrics(get());
 			}
-			else {
-				// Implicitly means that they're equal
-				value.setForeground(GuiConstants.drgHighlightedYellow);
+			catch (InterruptedException | ExecutionException e) {
+				e.printStackTrace();
+			}
+			
+			if (metricsOutOfDate) {
+				startMetricsCalculation();
 			}
-			toReturn.add(value);
 		}
+	}
+	
+	private void displayMetrics(CalculatedMetrics calculated) {
+		double[] metrics = calculated.metrics;
+		double[] originalStats = calculated.baselineStats;
 		
-		double maxMultiDmg = myWeapon.calculateMaxMultiTargetDamage();
-		roundedNumber = leftPadSpaces + MathUtils.round(maxMultiDmg, GuiConstants.numDecimalPlaces);
-		value = new JLabel(roundedNumber);
-		value.setFont(GuiConstants.customFontBold);
-		if (maxMultiDmg < originalStats[2]) {
-			value.setForeground(GuiConstants.drgNegativeChangeRed);
-		}
-		else if (maxMultiDmg > originalStats[2]) {
-			value.setForeground(GuiConstants.drgOverclockCleanGreen);
-		}
-		else {
-			// Implicitly means that they're equal
-			value.setForeground(GuiConstants.drgHighlightedYellow);
-		}
-		toReturn.add(value);
+		updateWeaponStatsRows(calculated.weaponStats);
 		
-		double ammoEfficiency = myWeapon.ammoEfficiency();
-		roundedNumber = leftPadSpaces + MathUtils.round(ammoEfficiency, GuiConstants.numDecimalPlaces);
-		value = new JLabel(roundedNumber);
-		value.setFont(GuiConstants.customFontBold);
-		if (ammoEfficiency < originalStats[3]) {
-			value.setForeground(GuiConstants.drgNegativeChangeRed);
-		}
-		else if (ammoEfficiency > originalStats[3]) {
-			value.setForeground(GuiConstants.drgOverclockCleanGreen);
+		/******************************************
+			Row 1
+		******************************************/
+		burstDPSValue.setText(leftPadSpaces + MathUtils.round(metrics[0], GuiConstants.numDecimalPlaces));
+		burstDPSValue.setForeground(compareToBaseline(metrics[0], calculated.baselineBurstDPS, true));
+		
+		sustainedDPSValue.setText(leftPadSpaces + MathUtils.round(metrics[1], GuiConstants.numDecimalPlaces));
+		sustainedDPSValue.setForeground(compareToBaseline(metrics[1], calculated.baselineSustainedDPS, true));
+		
+		/******************************************
+			Row 2
+		******************************************/
+		additionalTargetDPSValue.setText(leftPadSpaces + MathUtils.round(metrics[2], GuiConstants.numDecimalPlaces));
+		additionalTargetDPSValue.setForeground(compareToBaseline(metrics[2], originalStats[0], true));
+		
+		int maxNumTargets = (int) metrics[3];
+		int originalNumTargets = (int) originalStats[1];
+		if (calculated.dealsSplashDamage) {
+			maxNumTargetsButton.setText(leftPadSpaces + maxNumTargets);
+			maxNumTargetsButton.setForeground(compareToBaseline(maxNumTargets, originalNumTargets, true));
+			showInSlot(maxNumTargetsSlot, maxNumTargetsButton);
 		}
 		else {
-			// Implicitly means that they're equal
-			value.setForeground(GuiConstants.drgHighlightedYellow);
+			maxNumTargetsValue.setText(leftPadSpaces + maxNumTargets);
+			maxNumTargetsValue.setForeground(compareToBaseline(maxNumTargets, originalNumTargets, true));
+			showInSlot(maxNumTargetsSlot, maxNumTargetsValue);
 		}
-		toReturn.add(value);
 		
-		double damageWastedByArmor = myWeapon.damageWastedByArmor();
-		roundedNumber = leftPadSpaces + MathUtils.round(damageWastedByArmor, GuiConstants.numDecimalPlaces) + "%";
+		maxMultiDmgValue.setText(leftPadSpaces + MathUtils.round(metrics[4], GuiConstants.numDecimalPlaces));
+		maxMultiDmgValue.setForeground(compareToBaseline(metrics[4], originalStats[2], true));
+		
+		ammoEfficiencyValue.setText(leftPadSpaces + MathUtils.round(metrics[5], GuiConstants.numDecimalPlaces));
+		ammoEfficiencyValue.setForeground(compareToBaseline(metrics[5], originalStats[3], true));
+		
+		double damageWastedByArmor = metrics[6];
+		String roundedNumber = leftPadSpaces + MathUtils.round(damageWastedByArmor, GuiConstants.numDecimalPlaces) + "%";
 		if (damageWastedByArmor > 0) {
-			GranularMetricButton AWButton = new GranularMetricButton(this, roundedNumber, "% Damage Wasted by Armor per Creature", myWeapon.armorWastingExplanation());
-			if (damageWastedByArmor > originalStats[4]) {
-				AWButton.setForeground(GuiConstants.drgNegativeChangeRed);
-			}
-			else if (damageWastedByArmor < originalStats[4]) {
-				AWButton.setForeground(GuiConstants.drgOverclockCleanGreen);
-			}
-			else {
-				// Implicitly means that they're equal
-				AWButton.setForeground(GuiConstants.drgHighlightedYellow);
-			}
-			toReturn.add(AWButton);
+			damageWastedByArmorButton.setText(roundedNumber);
+			damageWastedByArmorButton.setGranularStats(calculated.armorWastingExplanation);
+			damageWastedByArmorButton.setForeground(compareToBaseline(damageWastedByArmor, originalStats[4], false));
+			showInSlot(damageWastedByArmorSlot, damageWastedByArmorButton);
 		}
 		else {
-			value = new JLabel(roundedNumber);
-			value.setFont(GuiConstants.customFontBold);
-			value.setForeground(GuiConstants.drgHighlightedYellow);
-			toReturn.add(value);
+			damageWastedByArmorValue.setText(roundedNumber);
+			showInSlot(damageWastedByArmorSlot, damageWastedByArmorValue);
 		}
 		
 		/******************************************
 			Row 3
 		******************************************/
-		double generalAccuracy = myWeapon.getGeneralAccuracy();
-		for (i = 2*headers.length/4; i < 3*headers.length/4; i++) {
-			// Special case: add the current AccEstimator distance on the Gen/WP Acc labels
-			if (generalAccuracy >= 0.0 && (i == 2*headers.length/4 + 1 || i == 2*headers.length/4 + 2)) {
-				header = new JLabel(headers[i] + " (at " + ((int) Math.round(myWeapon.getAccuracyDistance())) + "m)");
-			}
-			else {
-				header = new JLabel(headers[i]);
-			}
-			header.setFont(GuiConstants.customFont);
-			header.setForeground(GuiConstants.drgRegularOrange);
-			toReturn.add(header);
+		double generalAccuracy = metrics[7];
+		if (generalAccuracy >= 0.0) {
+			// Add the current AccEstimator distance on the Gen/WP Acc labels
+			String distance = " (at " + ((int) Math.round(calculated.accuracyDistance)) + "m)";
+			generalAccuracyHeader.setText("General Accuracy" + distance);
+			weakpointAccuracyHeader.setText("Weakpoint Accuracy" + distance);
+		}
+		else {
+			generalAccuracyHeader.setText("General Accuracy");
+			weakpointAccuracyHeader.setText("Weakpoint Accuracy");
 		}
 		
 		if (myWeapon.accuracyCanBeVisualized()) {
-			AccuracyVisualizerButton visualizer = new AccuracyVisualizerButton(this, leftPadSpaces + "See how it works", myWeapon);
-			toReturn.add(visualizer);
+			showInSlot(accuracyVisualizerSlot, accuracyVisualizerButton);
 		}
 		else {
-			value = new JLabel(leftPadSpaces + "Not visualized");
-			value.setFont(GuiConstants.customFontBold);
-			value.setForeground(GuiConstants.drgHighlightedYellow);
-			toReturn.add(value);
+			showInSlot(accuracyVisualizerSlot, accuracyNotVisualizedValue);
 		}
 		
 		if (generalAccuracy < 0) {
-			value = new JLabel(leftPadSpaces + "Manually Aimed");
-			value.setFont(GuiConstants.customFontBold);
-			value.setForeground(GuiConstants.drgHighlightedYellow);
-			toReturn.add(value);
+			showInSlot(generalAccuracySlot, generalAccuracyManuallyAimedValue);
 		}
 		else {
-			roundedNumber = leftPadSpaces + MathUtils.round(generalAccuracy, GuiConstants.numDecimalPlaces) + "%";
-			AccuracyEstimatorSettingsButton accSlideButton = new AccuracyEstimatorSettingsButton(this, roundedNumber, myWeapon);
-			if (generalAccuracy < originalStats[5]) {
-				accSlideButton.setForeground(GuiConstants.drgNegativeChangeRed);
-			}
-			else if (generalAccuracy > originalStats[5]) {
-				accSlideButton.setForeground(GuiConstants.drgOverclockCleanGreen);
-			}
-			else {
-				// Implicitly means that they're equal
-				accSlideButton.setForeground(GuiConstants.drgHighlightedYellow);
-			}
-			toReturn.add(accSlideButton);
+			generalAccuracyButton.setText(leftPadSpaces + MathUtils.round(generalAccuracy, GuiConstants.numDecimalPlaces) + "%");
+			generalAccuracyButton.setForeground(compareToBaseline(generalAccuracy, originalStats[5], true));
+			showInSlot(generalAccuracySlot, generalAccuracyButton);
 		}
 		
-		double weakpointAccuracy = myWeapon.getWeakpointAccuracy();
+		double weakpointAccuracy = metrics[8];
 		if (weakpointAccuracy < 0) {
-			value = new JLabel(leftPadSpaces + "Manually Aimed");
-			value.setFont(GuiConstants.customFontBold);
-			value.setForeground(GuiConstants.drgHighlightedYellow);
+			weakpointAccuracyValue.setText(leftPadSpaces + "Manually Aimed");
+			weakpointAccuracyValue.setForeground(GuiConstants.drgHighlightedYellow);
 		}
 		else {
-			roundedNumber = leftPadSpaces + MathUtils.round(weakpointAccuracy, GuiConstants.numDecimalPlaces) + "%";
-			value = new JLabel(roundedNumber);
-			value.setFont(GuiConstants.customFontBold);
-			if (weakpointAccuracy < originalStats[6]) {
-				value.setForeground(GuiConstants.drgNegativeChangeRed);
-			}
-			else if (weakpointAccuracy > originalStats[6]) {
-				value.setForeground(GuiConstants.drgOverclockCleanGreen);
-			}
-			else {
-				// Implicitly means that they're equal
-				value.setForeground(GuiConstants.drgHighlightedYellow);
-			}
+			weakpointAccuracyValue.setText(leftPadSpaces + MathUtils.round(weakpointAccuracy, GuiConstants.numDecimalPlaces) + "%");
+			weakpointAccuracyValue.setForeground(compareToBaseline(weakpointAccuracy, originalStats[6], true));
 		}
-		toReturn.add(value);
 		
-		double firingDuration = myWeapon.calculateFiringDuration();
-		roundedNumber = leftPadSpaces + MathUtils.round(firingDuration, GuiConstants.numDecimalPlaces);
-		value = new JLabel(roundedNumber);
-		value.setFont(GuiConstants.customFontBold);
-		if (firingDuration < originalStats[7]) {
-			value.setForeground(GuiConstants.drgNegativeChangeRed);
-		}
-		else if (firingDuration > originalStats[7]) {
-			value.setForeground(GuiConstants.drgOverclockCleanGreen);
-		}
-		else {
-			// Implicitly means that they're equal
-			value.setForeground(GuiConstants.drgHighlightedYellow);
-		}
-		toReturn.add(value);
+		firingDurationValue.setText(leftPadSpaces + MathUtils.round(metrics[9], GuiConstants.numDecimalPlaces));
+		firingDurationValue.setForeground(compareToBaseline(metrics[9], originalStats[7], true));
 		
-		double timeToKill = myWeapon.averageTimeToKill();
-		roundedNumber = leftPadSpaces + MathUtils.round(timeToKill, GuiConstants.numDecimalPlaces);
-		value = new JLabel(roundedNumber);
-		value.setFont(GuiConstants.customFontBold);
-		if (timeToKill > originalStats[8]) {
-			value.setForeground(GuiConstants.drgNegativeChangeRed);
-		}
-		else if (timeToKill < originalStats[8]) {
-			value.setForeground(GuiConstants.drgOverclockCleanGreen);
-		}
-		else {
-			// Implicitly means that they're equal
-			value.setForeground(GuiConstants.drgHighlightedYellow);
-		}
-		toReturn.add(value);
+		timeToKillValue.setText(leftPadSpaces + MathUtils.round(metrics[10], GuiConstants.numDecimalPlaces));
+		timeToKillValue.setForeground(compareToBaseline(metrics[10], originalStats[8], false));
 		
 		/******************************************
 			Row 4
 		******************************************/
-		for (i = 3*headers.length/4; i < headers.length; i++) {
-			header = new JLabel(headers[i]);
-			header.setFont(GuiConstants.customFont);
-			header.setForeground(GuiConstants.drgRegularOrange);
-			toReturn.add(header);
-		}
-		
-		double overkill = myWeapon.averageOverkill();
-		roundedNumber = leftPadSpaces + MathUtils.round(overkill, GuiConstants.numDecimalPlaces) + "%";
-		GranularMetricButton overkillButton = new GranularMetricButton(this, roundedNumber, "Overkill % per Creature", myWeapon.overkillExplanation());
-		if (overkill > originalStats[9]) {
-			overkillButton.setForeground(GuiConstants.drgNegativeChangeRed);
-		}
-		else if (overkill < originalStats[9]) {
-			overkillButton.setForeground(GuiConstants.drgOverclockCleanGreen);
-		}
-		else {
-			// Implicitly means that they're equal
-			overkillButton.setForeground(GuiConstants.drgHighlightedYellow);
-		}
-		toReturn.add(overkillButton);
+		overkillButton.setText(leftPadSpaces + MathUtils.round(metrics[11], GuiConstants.numDecimalPlaces) + "%");
+		overkillButton.setGranularStats(calculated.overkillExplanation);
+		overkillButton.setForeground(compareToBaseline(metrics[11], originalStats[9], false));
 		
-		int breakpoints = myWeapon.breakpoints();
-		roundedNumber = leftPadSpaces + breakpoints;
+		int breakpoints = (int) metrics[12];
 		if (breakpoints > 0) {
-			GranularMetricButton breakButton = new GranularMetricButton(this, roundedNumber, "Breakpoints", myWeapon.breakpointsExplanation());
-			if (breakpoints > originalStats[10]) {
-				breakButton.setForeground(GuiConstants.drgOverclockUnstableRed);
-			}
-			else if (breakpoints < originalStats[10]) {
-				breakButton.setForeground(GuiConstants.drgOverclockCleanGreen);
-			}
-			else {
-				// Implicitly means that they're equal
-				breakButton.setForeground(GuiConstants.drgHighlightedYellow);
-			}
-			toReturn.add(breakButton);
+			breakpointsButton.setText(leftPadSpaces + breakpoints);
+			breakpointsButton.setGranularStats(calculated.breakpointsExplanation);
+			breakpointsButton.setForeground(compareToBaseline(breakpoints, originalStats[10], false, GuiConstants.drgOverclockUnstableRed));
+			showInSlot(breakpointsSlot, breakpointsButton);
 		}
 		else {
-			// Flamethrower and Cryo Cannon don't have the Breakpoint metric calculated
-			value = new JLabel(leftPadSpaces + "Not needed");
-			value.setFont(GuiConstants.customFontBold);
-			value.setForeground(GuiConstants.drgHighlightedYellow);
-			toReturn.add(value);
+			showInSlot(breakpointsSlot, breakpointsNotNeededValue);
 		}
 		
-		double utility = myWeapon.utilityScore();
-		roundedNumber = leftPadSpaces + MathUtils.round(utility, GuiConstants.numDecimalPlaces);
-		GranularMetricButton utilButton = new GranularMetricButton(this, roundedNumber, "Utility Score Breakdown", myWeapon.utilityExplanation());
-		if (utility < originalStats[11]) {
-			utilButton.setForeground(GuiConstants.drgOverclockUnstableRed);
-		}
-		else if (utility > originalStats[11]) {
-			utilButton.setForeground(GuiConstants.drgOverclockCleanGreen);
-		}
-		else {
-			// Implicitly means that they're equal
-			utilButton.setForeground(GuiConstants.drgHighlightedYellow);
-		}
-		toReturn.add(utilButton);
+		utilityButton.setText(leftPadSpaces + MathUtils.round(metrics[13], GuiConstants.numDecimalPlaces));
+		utilityButton.setGranularStats(calculated.utilityExplanation);
+		utilityButton.setForeground(compareToBaseline(metrics[13], originalStats[11], true, GuiConstants.drgOverclockUnstableRed));
 		
-		double avgTimeToIgniteOrFreeze = myWeapon.averageTimeToCauterize();
+		double avgTimeToIgniteOrFreeze = metrics[14];
 		if (avgTimeToIgniteOrFreeze < 0.0) {
-			value = new JLabel(leftPadSpaces + "N/A");
-			value.setFont(GuiConstants.customFontBold);
-			value.setForeground(GuiConstants.drgHighlightedYellow);
-			toReturn.add(value);
+			avgTimeToIgniteOrFreezeValue.setText(leftPadSpaces + "N/A");
+			avgTimeToIgniteOrFreezeValue.setForeground(GuiConstants.drgHighlightedYellow);
 		}
 		else {
-			roundedNumber = leftPadSpaces + MathUtils.round(avgTimeToIgniteOrFreeze, GuiConstants.numDecimalPlaces);
-			value = new JLabel(roundedNumber);
-			value.setFont(GuiConstants.customFontBold);
-			
+			avgTimeToIgniteOrFreezeValue.setText(leftPadSpaces + MathUtils.round(avgTimeToIgniteOrFreeze, GuiConstants.numDecimalPlaces));
 			if (originalStats[12] < 0.0) {
 				// If changing from negative to non-negative, that means the weapon changed from unable to deal Temperature Damage to able. Highlight it green, regardless of the number.
-				value.setForeground(GuiConstants.drgOverclockCleanGreen);
+				avgTimeToIgniteOrFreezeValue.setForeground(GuiConstants.drgOverclockCleanGreen);
 			}
 			else {
-				if (avgTimeToIgniteOrFreeze > originalStats[12]) {
-					value.setForeground(GuiConstants.drgNegativeChangeRed);
-				}
-				else if (avgTimeToIgniteOrFreeze < originalStats[12]) {
-					value.setForeground(GuiConstants.drgOverclockCleanGreen);
-				}
-				else {
-					// Implicitly means that they're equal
-					value.setForeground(GuiConstants.drgHighlightedYellow);
-				}
+				avgTimeToIgniteOrFreezeValue.setForeground(compareToBaseline(avgTimeToIgniteOrFreeze, originalStats[12], false));
 			}
-			toReturn.add(value);
 		}
-		
-		// Placeholder blank JLabel until "Haz5 Viable" metric gets placed here
-		value = new JLabel();
-		toReturn.add(value);
-		
-		return toReturn;
 	}
 }
@@ -9,13 +9,14 @@ import java.util.ArrayList;
 
 import javax.swing.JPanel;
 
+import drgtools.dpscalc.guiPieces.AnimationClock;
 import drgtools.dpscalc.utilities.Point2D;
 
-public class AccuracyAnimation extends JPanel implements Runnable {
+public class AccuracyAnimation extends JPanel implements AnimationClock.Animation {
 	private static final long serialVersionUID = 1L;
 
 	private double framesPerSecond;
-	private long refreshInterval;
+	private int refreshInterval;
 	
 	private double currentTime;
 	private int dataIndex;
@@ -32,7 +33,7 @@ public class AccuracyAnimation extends JPanel implements Runnable {
 	public AccuracyAnimation(boolean generalAccuracy, double loopDuration, ArrayList<Point2D> spreadMetersData, double maxSpreadMeters, ArrayList<Point2D> recoilMetersData, double maxRecoilMeters) {
 		// This FPS should match the sampleRate in AccuracyEstimator
 		framesPerSecond = 100;
-		refreshInterval = (long) Math.round(1000.0 / framesPerSecond);
+		refreshInterval = (int) Math.round(1000.0 / framesPerSecond);
 		
 		currentTime = 0.0;
 		dataIndex = 0;
@@ -51,26 +52,22 @@ public class AccuracyAnimation extends JPanel implements Runnable {
 	}
 	
 	@Override
-	public void run() {
-		while (true) {
-			repaint();
-			
-			// Now that the last frame has been displayed, update variables accordingly to make it animate.
-			currentTime += 1.0 / framesPerSecond;
-			if (currentTime >= duration) {
-				currentTime = 0;
-				dataIndex = 0;
-			}
-			else {
-				dataIndex++;
-			}
-			
-			try {
-				Thread.sleep(refreshInterval);
-			} 
-			catch (Exception e) {
-			
-			}
+	public int getMsBetweenFrames() {
+		return refreshInterval;
+	}
+	
+	@Override
+	public void nextFrame() {
+		repaint();
+		
+		// Now that the last frame has been displayed, update variables accordingly to make it animate.
+		currentTime += 1.0 / framesPerSecond;
+		if (currentTime >= duration) {
+			currentTime = 0;
+			dataIndex = 0;
+		}
+		else {
+			dataIndex++;
 		}
 	}
 	
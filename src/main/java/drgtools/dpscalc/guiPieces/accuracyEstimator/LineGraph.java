@@ -14,12 +14,13 @@ import java.util.List;
 
 import javax.swing.JPanel;
 
+import drgtools.dpscalc.guiPieces.AnimationClock;
 import drgtools.dpscalc.guiPieces.GuiConstants;
 import drgtools.dpscalc.utilities.MathUtils;
 import drgtools.dpscalc.utilities.Point2D;
 
 // Adapted from this StackOverflow answer: https://stackoverflow.com/a/18413639
-public class LineGraph extends JPanel implements Runnable {
+public class LineGraph extends JPanel implements AnimationClock.Animation {
 	private static final long serialVersionUID = 1L;
 	
 	private int padding = 25;
@@ -34,7 +35,7 @@ public class LineGraph extends JPanel implements Runnable {
 	private double maxX, maxY;
 	
 	private double currentTime, framesPerSecond;
-	private long refreshInterval;
+	private int refreshInterval;
 	private boolean animate;
 	
 	public LineGraph(ArrayList<Point2D> v, double mX, double mY) {
@@ -45,7 +46,7 @@ public class LineGraph extends JPanel implements Runnable {
 		currentTime = 0.0;
 		// This FPS should match the sampleRate in AccuracyEstimator
 		framesPerSecond = 100;
-		refreshInterval = (long) Math.round(1000.0 / framesPerSecond);
+		refreshInterval = (int) Math.round(1000.0 / framesPerSecond);
 		animate = true;
 		
 		this.setPreferredSize(new Dimension(350, 210));
@@ -55,23 +56,30 @@ public class LineGraph extends JPanel implements Runnable {
 		animate = newValue;
 	}
 	
+	// Only graphs that animate need this; AnimationClock will pause it whenever this graph isn't on screen.
+	public void startAnimation() {
+		if (animate) {
+			AnimationClock.animateWhileShowing(this);
+		}
+	}
+	
 	@Override
-	public void run() {
-		while (animate) {
-			repaint();
-			
-			// Now that the last frame has been displayed, update variables accordingly to make it animate.
-			currentTime += 1.0 / framesPerSecond;
-			if (currentTime >= maxX) {
-				currentTime = 0;
-			}
-			
-			try {
-				Thread.sleep(refreshInterval);
-			} 
-			catch (Exception e) {
-			
-			}
+	public int getMsBetweenFrames() {
+		return refreshInterval;
+	}
+	
+	@Override
+	public void nextFrame() {
+		if (!animate) {
+			return;
+		}
+		
+		repaint();
+		
+		// Now that the last frame has been displayed, update variables accordingly to make it animate.
+		currentTime += 1.0 / framesPerSecond;
+		if (currentTime >= maxX) {
+			currentTime = 0;
 		}
 	}
 	
@@ -14,12 +14,25 @@ public class DPSToggleButton extends JButton implements ActionListener {
 	
 	private Weapon myWeapon;
 	private int myIndex;
+	private String myLeftPadding;
 	private boolean currentlyEnabled;
 
 	public DPSToggleButton(Weapon weaponWithStats, int toggleIndex, String leftPadding) {
 		myWeapon = weaponWithStats;
 		myIndex = toggleIndex;
+		myLeftPadding = leftPadding;
 		
+		this.setBackground(GuiConstants.drgBackgroundBrown);
+		this.setBorder(GuiConstants.orangeLine);
+		this.setFont(GuiConstants.customFontBold);
+		this.setHorizontalAlignment(SwingConstants.LEFT);
+		this.addActionListener(this);
+		
+		refresh();
+	}
+	
+	// WeaponTab calls this whenever the Weapon changes, instead of building a new button
+	public void refresh() {
 		if (myIndex == 0) {
 			// Toggle Weakpoints
 			currentlyEnabled = myWeapon.getWeakpointDPSEnabled();
@@ -36,21 +49,14 @@ public class DPSToggleButton extends JButton implements ActionListener {
 			currentlyEnabled = false;
 		}
 		
-		this.setBackground(GuiConstants.drgBackgroundBrown);
-		this.setBorder(GuiConstants.orangeLine);
-		
 		if (currentlyEnabled) {
 			this.setForeground(GuiConstants.drgOverclockCleanGreen);
-			this.setText(leftPadding + "Enabled");
+			this.setText(myLeftPadding + "Enabled");
 		}
 		else {
 			this.setForeground(GuiConstants.drgHighlightedYellow);
-			this.setText(leftPadding + "Disabled");
+			this.setText(myLeftPadding + "Disabled");
 		}
-		
-		this.setFont(GuiConstants.customFontBold);
-		this.setHorizontalAlignment(SwingConstants.LEFT);
-		this.addActionListener(this);
 	}
 	
 	@Override
@@ -42,6 +42,11 @@ public class GranularMetricButton extends JButton implements ActionListener {
 		this.addActionListener(this);
 	}
 	
+	// WeaponTab keeps this button around between builds, so the numbers in the pop-up get swapped out whenever the metric changes.
+	public void setGranularStats(StatsRow[] granularStats) {
+		toDisplay = granularStats;
+	}
+	
 	private JPanel getGranularStatsPanel() {
 		JPanel toReturn = new JPanel();
 		toReturn.setBackground(GuiConstants.drgBackgroundBrown);
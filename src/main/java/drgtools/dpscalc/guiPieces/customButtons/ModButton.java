@@ -10,7 +10,6 @@ import java.awt.Polygon;
 import java.awt.RenderingHints;
 import java.awt.event.MouseEvent;
 import java.awt.image.BufferedImage;
-import java.io.IOException;
 import java.util.regex.Pattern;
 
 import javax.swing.JButton;
@@ -22,8 +21,8 @@ import javax.swing.event.MouseInputListener;
 import drgtools.dpscalc.guiPieces.CustomCursors;
 import drgtools.dpscalc.guiPieces.GuiConstants;
 import drgtools.dpscalc.guiPieces.HoverText;
+import drgtools.dpscalc.guiPieces.ScaledIconCache;
 import drgtools.dpscalc.modelPieces.Mod;
-import net.coobird.thumbnailator.Thumbnails;
 import drgtools.dpscalc.weapons.Weapon;
 
 public class ModButton extends JButton implements MouseInputListener {
@@ -38,7 +37,7 @@ public class ModButton extends JButton implements MouseInputListener {
 	public ModButton(Weapon inputWeapon, Mod thisMod) {
 		myWeapon = inputWeapon;
 		myMod = thisMod;
-		icon = ButtonIcons.getModIcon(myMod.getIcon(), myMod.isSelected());
+		icon = ButtonIcons.getModIcon(myMod.getIcon(), myWeapon.isModSelected(myMod.getTier(), myMod.getIndex()));
 		
 		border = createBackgroundHexagon();
 		
@@ -71,6 +70,9 @@ public class ModButton extends JButton implements MouseInputListener {
 	
 	public void paintComponent(Graphics g) {
 		border = createBackgroundHexagon();
+		// The Mod gets selected and de-selected while this button stays on screen, so the icon has to be picked every time instead of once in the constructor.
+		boolean modSelected = myWeapon.isModSelected(myMod.getTier(), myMod.getIndex());
+		icon = ButtonIcons.getModIcon(myMod.getIcon(), modSelected);
 		
 		Graphics2D g2 = (Graphics2D) g.create();
 		g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_GASP);
@@ -89,7 +91,7 @@ public class ModButton extends JButton implements MouseInputListener {
 		g2.drawPolygon(border);
 		
 		// If this Mod isn't enabled, fill the background with black.
-		if (myMod.isSelected()) {
+		if (modSelected) {
 			g2.setPaint(GuiConstants.drgHighlightedYellow);
 		}
 		else {
@@ -104,7 +106,7 @@ public class ModButton extends JButton implements MouseInputListener {
 		int iconVerticalOffset = (int) Math.round((this.getHeight() - iconHeight) / 2.0);
 		
 		// Write with black text if enabled, or yellow text if not enabled
-		if (myMod.isSelected()) {
+		if (modSelected) {
 			g2.setPaint(Color.black);
 		}
 		else {
@@ -119,7 +121,7 @@ public class ModButton extends JButton implements MouseInputListener {
 			// Adapted from https://stackoverflow.com/a/7778362
 			mimic = new JLabel("<html><body>" + myText + "</body></html>");
 			mimic.setFont(GuiConstants.customFont);
-			if (myMod.isSelected()) {
+			if (modSelected) {
 				mimic.setBackground(GuiConstants.drgHighlightedYellow);
 				mimic.setForeground(Color.black);
 			}
@@ -143,11 +145,7 @@ public class ModButton extends JButton implements MouseInputListener {
 		int textHorizontalOffset = (this.getWidth() - textWidth + (int) iconWidth) / 2;
 		int iconHorizontalOffset = textHorizontalOffset - GuiConstants.paddingPixels - (int) iconWidth;
 		
-		BufferedImage resizedIcon = icon;
-		try {
-			resizedIcon = Thumbnails.of(resizedIcon).size((int) (iconWidth), (int) (iconHeight)).asBufferedImage();
-		}
-		catch (IOException e) {}
+		BufferedImage resizedIcon = ScaledIconCache.getScaledIcon(icon, (int) (iconWidth), (int) (iconHeight));
 		
 		g2.drawImage(resizedIcon, iconHorizontalOffset, iconVerticalOffset, (int) (iconWidth), (int) (iconHeight), null);
 		if (mimic != null) {
@@ -161,7 +159,7 @@ public class ModButton extends JButton implements MouseInputListener {
 		}
 		
 		// Paint this with a translucent red when it's not eligible for Best Combinations (Subset)
-		if (myMod.isIgnored()) {
+		if (myWeapon.isModIgnored(myMod.getTier(), myMod.getIndex())) {
 			Color translucentRed = new Color(156.0f/255.0f, 20.0f/255.0f, 20.0f/255.0f, 0.5f);
 			g2.setPaint(translucentRed);
 			g2.fill(border);
@@ -9,7 +9,6 @@ import java.awt.RenderingHints;
 import java.awt.event.MouseEvent;
 import java.awt.geom.RoundRectangle2D;
 import java.awt.image.BufferedImage;
-import java.io.IOException;
 
 import javax.swing.JButton;
 import javax.swing.JToolTip;
@@ -19,8 +18,8 @@ import javax.swing.event.MouseInputListener;
 import drgtools.dpscalc.guiPieces.CustomCursors;
 import drgtools.dpscalc.guiPieces.GuiConstants;
 import drgtools.dpscalc.guiPieces.HoverText;
+import drgtools.dpscalc.guiPieces.ScaledIconCache;
 import drgtools.dpscalc.modelPieces.Overclock;
-import net.coobird.thumbnailator.Thumbnails;
 import drgtools.dpscalc.weapons.Weapon;
 
 public class OverclockButton extends JButton implements MouseInputListener {
@@ -73,7 +72,7 @@ public class OverclockButton extends JButton implements MouseInputListener {
 		g2.draw(border);
 		
 		// If this overclock is currently selected, draw its interior as yellow.
-		if (myOC.isSelected()) {
+		if (myWeapon.isOverclockSelected(myOC.getIndex())) {
 			g2.setPaint(GuiConstants.drgHighlightedYellow);
 		}
 		else {
@@ -113,11 +112,7 @@ public class OverclockButton extends JButton implements MouseInputListener {
 		int thirdWidth = (int) Math.round(width / 3.0);
 		int frameHorizontalOffset = thirdWidth - (int) frameWidth;
 		
-		BufferedImage resizedFrame = frame;
-		try {
-			resizedFrame = Thumbnails.of(resizedFrame).size((int) (frameWidth), (int) (frameHeight)).asBufferedImage();
-		}
-		catch (IOException e) {}
+		BufferedImage resizedFrame = ScaledIconCache.getScaledIcon(frame, (int) (frameWidth), (int) (frameHeight));
 		
 		g2.drawImage(resizedFrame, frameHorizontalOffset, frameVerticalOffset, (int) (frameWidth), (int) (frameHeight), null);
 		
@@ -143,16 +138,12 @@ public class OverclockButton extends JButton implements MouseInputListener {
 			iconHorizontalOffset -= 1;
 		}
 		
-		BufferedImage resizedIcon = icon;
-		try {
-			resizedIcon = Thumbnails.of(resizedIcon).size((int) (iconWidth), (int) (iconHeight)).asBufferedImage();
-		}
-		catch (IOException e) {}
+		BufferedImage resizedIcon = ScaledIconCache.getScaledIcon(icon, (int) (iconWidth), (int) (iconHeight));
 		
 		g2.drawImage(resizedIcon, iconHorizontalOffset, iconVerticalOffset, (int) (iconWidth), (int) (iconHeight), null);
 		
 		// Set the font color
-		if (myOC.isSelected()) {
+		if (myWeapon.isOverclockSelected(myOC.getIndex())) {
 			g2.setPaint(Color.black);
 		}
 		else {
@@ -161,7 +152,7 @@ public class OverclockButton extends JButton implements MouseInputListener {
 		g2.drawString(this.getText(), thirdWidth + 3*bufferPixels, (int) Math.round((this.getHeight() + GuiConstants.fontHeight) / 2.0));
 		
 		// Paint this with a translucent red when it's not eligible for Best Combinations (Subset)
-		if (myOC.isIgnored()) {
+		if (myWeapon.isOverclockIgnored(myOC.getIndex())) {
 			Color translucentRed = new Color(156.0f/255.0f, 20.0f/255.0f, 20.0f/255.0f, 0.5f);
 			g2.setPaint(translucentRed);
 			g2.fill(border);
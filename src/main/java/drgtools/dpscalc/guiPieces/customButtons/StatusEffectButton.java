@@ -12,7 +12,6 @@ import java.awt.event.ActionListener;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseMotionListener;
 import java.awt.image.BufferedImage;
-import java.io.IOException;
 
 import javax.swing.JButton;
 import javax.swing.JToolTip;
@@ -20,8 +19,8 @@ import javax.swing.JToolTip;
 import drgtools.dpscalc.guiPieces.CustomCursors;
 import drgtools.dpscalc.guiPieces.GuiConstants;
 import drgtools.dpscalc.guiPieces.HoverText;
+import drgtools.dpscalc.guiPieces.ScaledIconCache;
 import drgtools.dpscalc.guiPieces.customButtons.ButtonIcons.statusEffectIcons;
-import net.coobird.thumbnailator.Thumbnails;
 import drgtools.dpscalc.weapons.Weapon;
 
 public class StatusEffectButton extends JButton implements ActionListener, MouseMotionListener {
@@ -30,15 +29,13 @@ public class StatusEffectButton extends JButton implements ActionListener, Mouse
 	private Weapon myWeapon;
 	private BufferedImage icon;
 	private int myIndex;
-	private boolean enabled;
 	
 	private Polygon border;
 	
-	public StatusEffectButton(Weapon inputWeapon, int effectIndex, String effectName, String effectText, statusEffectIcons iconSelector, boolean effectEnabled) {
+	public StatusEffectButton(Weapon inputWeapon, int effectIndex, String effectName, String effectText, statusEffectIcons iconSelector) {
 		myWeapon = inputWeapon;
 		myIndex = effectIndex;
 		icon = ButtonIcons.getStatusEffectIcon(iconSelector);
-		enabled = effectEnabled;
 		
 		border = createBackgroundHexagon();
 		
@@ -101,6 +98,8 @@ public class StatusEffectButton extends JButton implements ActionListener, Mouse
 			It's ok for now, but it should be done sooner rather than later.
 		 */
 		border = createBackgroundHexagon();
+		// Read this every time it gets painted, since WeaponTab keeps this same button around when the Weapon's status effects change
+		boolean enabled = myWeapon.getCurrentStatusEffects()[myIndex];
 		
 		Graphics2D g2 = (Graphics2D) g.create();
 		g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_GASP);
@@ -139,11 +138,7 @@ public class StatusEffectButton extends JButton implements ActionListener, Mouse
 		g2.setPaint(Color.black);
 		g2.fillPolygon(p);
 		
-		BufferedImage resizedIcon = icon;
-		try {
-			resizedIcon = Thumbnails.of(resizedIcon).size((int) (iconWidth), (int) (iconHeight)).asBufferedImage();
-		}
-		catch (IOException e) {}
+		BufferedImage resizedIcon = ScaledIconCache.getScaledIcon(icon, (int) (iconWidth), (int) (iconHeight));
 				
 		g2.drawImage(resizedIcon, iconHorizontalOffset, iconVerticalOffset, (int) (iconWidth), (int) (iconHeight), null);
 		
@@ -167,7 +162,7 @@ public class StatusEffectButton extends JButton implements ActionListener, Mouse
 	public void actionPerformed(ActionEvent e) {
 		// Because this button is only listening to itself, I'm skipping the standard "figure out what button got clicked" stuff.
 		// When this changes, the underlying Weapon will trigger a refresh of the overall GUI due to the Observable/Observer dynamic
-		myWeapon.setStatusEffect(myIndex, !enabled);
+		myWeapon.setStatusEffect(myIndex, !myWeapon.getCurrentStatusEffects()[myIndex]);
 	}
 	
 	@Override
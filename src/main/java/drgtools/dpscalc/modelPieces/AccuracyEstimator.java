@@ -3,12 +3,14 @@ package drgtools.dpscalc.modelPieces;
 import java.awt.Dimension;
 import java.awt.GridLayout;
 import java.util.ArrayList;
+import java.util.Arrays;
 
 import javax.swing.BoxLayout;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
 
 import drgtools.dpscalc.enemies.glyphid.Grunt;
+import drgtools.dpscalc.guiPieces.AnimationClock;
 import drgtools.dpscalc.guiPieces.GuiConstants;
 import drgtools.dpscalc.guiPieces.accuracyEstimator.AccuracyAnimation;
 import drgtools.dpscalc.guiPieces.accuracyEstimator.LineGraph;
@@ -30,6 +32,8 @@ public class AccuracyEstimator {
 	private boolean canBeVisualized;
 	
 	private SpreadCurve spreadTransformingCurve;
+	// Null means "use the difficulty selected in the GUI"
+	private DifficultyContext difficulty;
 	
 	private double[] bulletFiredTimestamps;
 	
@@ -39,6 +43,17 @@ public class AccuracyEstimator {
 	private double recoilPitch, recoilYaw, mass, springStiffness;
 	private double naturalFrequency, initialVelocity, recoilGoal, recoilPerShotEndTime;
 	
+	// The last magazine that Circular Accuracy simulated, so that it only has to be simulated again when something other than the distance changes
+	private double[] lastSimulatedInputs;
+	private SpreadCurve lastSimulatedSpreadCurve;
+	private double[] simulatedSpreadAtEachBullet, simulatedRecoilAtEachBullet;
+	
+	// How many steps Rectangular Accuracy's grid takes across the crosshair, both horizontally and vertically. Shared by every weapon, like the Hazard Level.
+	private static int rectangularAccuracyPrecision = 50;
+	private static final int maxRectangularAccuracyPrecision = 1000;
+	// When this is more than 0, the grid keeps doubling from rectangularAccuracyPrecision until the result moves by less than this many percentage points.
+	private static double rectangularAccuracyTolerance = 0.0;
+	
 	// Used by Projectile Accuracy
 	private double expectedPerfectAccuracyTravelTime;
 	private double gravityAcceleration;
@@ -61,6 +76,7 @@ public class AccuracyEstimator {
 		modelRecoil = true;
 		
 		spreadTransformingCurve = null;
+		difficulty = null;
 		
 		// This variable determines the minimum value for Recoil(t) to fall to before that recoil is discarded by successive shots
 		recoilGoal = 0.1;
@@ -69,6 +85,41 @@ public class AccuracyEstimator {
 	}
 	
 	// Setters and Getters
+	/*
+		50 steps is what the GUI has always used. Going higher makes the circular edge of the target less jagged, which mostly matters for exports at long
+		distances where the target only covers a handful of cells. Both of these are part of every Weapon's metric cache key, so changing them never
+		leaves behind metrics that were calculated on the old grid. They're read by every thread of a sweep, though, so don't change them during one.
+	*/
+	public static void setRectangularAccuracyPrecision(int newPrecision) {
+		// Input sanitization
+		if (newPrecision >= 10 && newPrecision <= maxRectangularAccuracyPrecision) {
+			rectangularAccuracyPrecision = newPrecision;
+		}
+		else {
+			System.out.println("Rectangular Accuracy precision has to be between 10 and " + maxRectangularAccuracyPrecision + "; keeping " + rectangularAccuracyPrecision);
+		}
+	}
+	public static int getRectangularAccuracyPrecision() {
+		return rectangularAccuracyPrecision;
+	}
+	/*
+		Adaptive precision: instead of always using rectangularAccuracyPrecision steps, start there and keep doubling the grid until the accuracy changes by 
+		no more than this many percentage points (or the grid would go past 1000 steps). Most weapons settle at the first doubling, and only the ones where 
+		the target covers a handful of cells pay for the bigger grids. 0 turns it back off.
+	*/
+	public static void setRectangularAccuracyTolerance(double newTolerance) {
+		// Input sanitization
+		if (newTolerance >= 0.0 && newTolerance <= 10.0) {
+			rectangularAccuracyTolerance = newTolerance;
+		}
+		else {
+			System.out.println("Rectangular Accuracy tolerance has to be between 0 and 10 percentage points; keeping " + rectangularAccuracyTolerance);
+		}
+	}
+	public static double getRectangularAccuracyTolerance() {
+		return rectangularAccuracyTolerance;
+	}
+	
 	public void setDistance(double newDistance) {
 		targetDistanceMeters = newDistance;
 	}
@@ -97,13 +148,20 @@ public class AccuracyEstimator {
 		return visualizeGeneralAccuracy;
 	}
 	
+	public void setDifficulty(DifficultyContext dc) {
+		difficulty = dc;
+	}
+	
 	public void setSpreadCurve(SpreadCurve sc) {
 		spreadTransformingCurve = sc;
 	}
 	
 	private double convertDegreesToMeters(double degrees) {
+		return convertDegreesToMeters(degrees, targetDistanceMeters);
+	}
+	private double convertDegreesToMeters(double degrees, double distanceMeters) {
 		// Because both recoil and spread use degrees as their output, I have to first convert from degrees to radians for the Math package
-		return targetDistanceMeters * Math.tan(degrees * Math.PI / 180.0);
+		return distanceMeters * Math.tan(degrees * Math.PI / 180.0);
 	}
 	
 	private void calculateBulletFiredTimestamps() {
@@ -249,11 +307,152 @@ public class AccuracyEstimator {
 		}
 	}
 	
+	/*
+		These two give exactly the same numbers as calling getTotalSpreadAtTime() and getTotalRecoilAtTime(t, true) at every bullet's timestamp, but without
+		re-simulating the magazine from the very first bullet for each bullet. That was O(magSize^2) per Accuracy estimate, which adds up fast for Minigun and
+		the other weapons with huge magazines. Every addition and subtraction still happens in the same order as in those two methods, so the results are 
+		identical down to the last bit instead of just being close.
+	*/
+	private double[] calculateTotalSpreadAtEachBullet() {
+		double spreadPerShotAddTime = 0.01;
+		double minimumSpread;
+		if (dwarfIsMoving) {
+			minimumSpread = spreadPenaltyWhileMoving;
+		}
+		else {
+			minimumSpread = 0.0;
+		}
+		
+		double[] toReturn = new double[magSize];
+		
+		// This is the Current Spread after the first numBulletsCommitted bullets have each added their Spread per Shot and then recovered until the next bullet.
+		double committedSpread = minimumSpread;
+		int numBulletsCommitted = 0;
+		double t, currentSpread;
+		int i, k;
+		for (k = 0; k < magSize; k++) {
+			t = bulletFiredTimestamps[k];
+			
+			// Once a bullet was fired more than 0.01 sec before this one, it's also more than 0.01 sec before every bullet after this one, so it can be committed for good.
+			while (numBulletsCommitted < k && t > bulletFiredTimestamps[numBulletsCommitted] + spreadPerShotAddTime) {
+				committedSpread = Math.min(committedSpread + spreadPerShot, maxBloom);
+				committedSpread = Math.max(committedSpread - (bulletFiredTimestamps[numBulletsCommitted + 1] - bulletFiredTimestamps[numBulletsCommitted]) * spreadRecoverySpeed, minimumSpread);
+				numBulletsCommitted++;
+			}
+			
+			// Any bullets fired less than 0.01 sec ago haven't added their Spread per Shot yet, but the spread still recovers in between them.
+			currentSpread = committedSpread;
+			for (i = numBulletsCommitted; i < k; i++) {
+				currentSpread = Math.max(currentSpread - (bulletFiredTimestamps[i+1] - bulletFiredTimestamps[i]) * spreadRecoverySpeed, minimumSpread);
+			}
+			
+			// Finally, this bullet itself. t is its own timestamp, so this recovers for 0 seconds, but it still has to get clamped the same way.
+			currentSpread = Math.max(currentSpread - (t - bulletFiredTimestamps[k]) * spreadRecoverySpeed, minimumSpread);
+			
+			if (spreadTransformingCurve != null) {
+				toReturn[k] = avgBaseSpread + spreadTransformingCurve.convertSpreadValue(currentSpread);
+			}
+			else {
+				toReturn[k] = avgBaseSpread + currentSpread;
+			}
+		}
+		
+		return toReturn;
+	}
+	
+	private double[] calculatePlayerReducedRecoilAtEachBullet() {
+		double[] toReturn = new double[magSize];
+		
+		// If the user disables "model recoil" then it's 0 for every bullet
+		if (!modelRecoil) {
+			return toReturn;
+		}
+		
+		double t, bulletFiredTimestamp, total, playerReductionMultiplier;
+		int i, k;
+		if (rateOfFire > 2) {
+			/*
+				Each bullet's recoil only lasts for recoilPerShotEndTime, so the only bullets that still add recoil at time t are the ones between the oldest 
+				bullet whose recoil hasn't ended yet and the bullet being fired at t. Because both t and the timestamps only go up, that oldest bullet only ever 
+				moves forwards through the magazine.
+			*/
+			int oldestBulletStillRecoiling = 0;
+			for (k = 0; k < magSize; k++) {
+				t = bulletFiredTimestamps[k];
+				
+				// After 0.5 seconds the player has pulled all the recoil back down, so this bullet and every one after it have 0 recoil.
+				if (t > delayBeforePlayerReaction + 1.0/playerRecoilRecoveryPerSecond) {
+					break;
+				}
+				
+				// Written as !(a <= b) instead of a > b so that a NaN end time skips every bullet, the same way getTotalRecoilAtTime() does.
+				while (oldestBulletStillRecoiling <= k && !(t <= bulletFiredTimestamps[oldestBulletStillRecoiling] + recoilPerShotEndTime)) {
+					oldestBulletStillRecoiling++;
+				}
+				
+				total = 0.0;
+				for (i = oldestBulletStillRecoiling; i <= k; i++) {
+					total += getRecoilPerShotOverTime(t - bulletFiredTimestamps[i]);
+				}
+				
+				playerReductionMultiplier = 1.0;
+				if (t > delayBeforePlayerReaction) {
+					playerReductionMultiplier = Math.max(1.0 - (t - delayBeforePlayerReaction) * playerRecoilRecoveryPerSecond, 0);
+				}
+				
+				toReturn[k] = total * playerReductionMultiplier;
+			}
+		}
+		else {
+			// Every burst is its own pocket of recoil. Bullet k belongs to burst k / burstSize, except that any leftover bullets past the last full burst count as part of the last burst.
+			int numBursts = magSize / burstSize;
+			int burstStartIndex;
+			for (k = 0; k < magSize; k++) {
+				t = bulletFiredTimestamps[k];
+				
+				if (k / burstSize + 1 < numBursts) {
+					burstStartIndex = (k / burstSize) * burstSize;
+				}
+				else {
+					burstStartIndex = magSize - burstSize;
+				}
+				
+				total = 0.0;
+				for (i = 0; i < burstSize; i++) {
+					bulletFiredTimestamp = bulletFiredTimestamps[burstStartIndex + i];
+					if (bulletFiredTimestamp <= t && t <= bulletFiredTimestamp + recoilPerShotEndTime) {
+						total += getRecoilPerShotOverTime(t - bulletFiredTimestamp);
+					}
+				}
+				
+				playerReductionMultiplier = 1.0;
+				if ((t - bulletFiredTimestamps[burstStartIndex]) > delayBeforePlayerReaction) {
+					playerReductionMultiplier = Math.max(1.0 - ((t - bulletFiredTimestamps[burstStartIndex]) - delayBeforePlayerReaction) * playerRecoilRecoveryPerSecond, 0);
+				}
+				
+				toReturn[k] = total * playerReductionMultiplier;
+			}
+		}
+		
+		return toReturn;
+	}
+	
+	/*
+		Only the very last step, converting degrees to meters, depends on the distance. So the last magazine that got simulated (timestamps, Spread and Recoil
+		at every bullet, and the Lambert W end time) gets remembered, and calling this again with the same weapon stats and only a different distance skips
+		straight to the projection. That's what makes Weapon.getAccuracyAtDistances() cheap enough for CompareAccuracyGraphs to draw a whole curve: it sets
+		each distance in turn, and only the first one pays for the simulation.
+	*/
 	public double calculateCircularAccuracy(
 			boolean weakpointTarget, double RoF, int mSize, int bSize, 
 			double hBaseSpread, double vBaseSpread, double SpS, double SRS, double MB, double movePenalty,
 			double rPitch, double rYaw, double m, double sStiffness
 		) {
+		double[] simulationInputs = new double[] {
+			RoF, mSize, bSize, hBaseSpread, vBaseSpread, SpS, SRS, MB, movePenalty, rPitch, rYaw, m, sStiffness, modelRecoil ? 1 : 0, dwarfIsMoving ? 1 : 0
+		};
+		boolean magazineAlreadySimulated = Arrays.equals(simulationInputs, lastSimulatedInputs) && spreadTransformingCurve == lastSimulatedSpreadCurve;
+		
 		/*
 			Step 1: Calculate when bullets will be fired for this magazine, and store the timestamps internally
 		*/
@@ -261,7 +460,6 @@ public class AccuracyEstimator {
 		rateOfFire = RoF;
 		magSize = mSize;
 		burstSize = bSize;
-		calculateBulletFiredTimestamps();
 		
 		/*
 			Step 2: Calculate what the Current Spread value will be across the whole magazine and store that internally
@@ -284,11 +482,20 @@ public class AccuracyEstimator {
 		springStiffness = sStiffness;
 		naturalFrequency = Math.sqrt(springStiffness / mass);
 		initialVelocity = Math.hypot(recoilPitch, recoilYaw);
-		if (initialVelocity > 0) {
-			recoilPerShotEndTime = -1.0 * MathUtils.lambertInverseWNumericalApproximation(-naturalFrequency * recoilGoal / initialVelocity) / naturalFrequency;
-		}
-		else {
-			recoilPerShotEndTime = 0.0;
+		
+		if (!magazineAlreadySimulated) {
+			calculateBulletFiredTimestamps();
+			if (initialVelocity > 0) {
+				recoilPerShotEndTime = -1.0 * MathUtils.lambertInverseWNumericalApproximation(-naturalFrequency * recoilGoal / initialVelocity) / naturalFrequency;
+			}
+			else {
+				recoilPerShotEndTime = 0.0;
+			}
+			
+			simulatedSpreadAtEachBullet = calculateTotalSpreadAtEachBullet();
+			simulatedRecoilAtEachBullet = calculatePlayerReducedRecoilAtEachBullet();
+			lastSimulatedInputs = simulationInputs;
+			lastSimulatedSpreadCurve = spreadTransformingCurve;
 		}
 		
 		/*
@@ -296,6 +503,10 @@ public class AccuracyEstimator {
 		*/
 		canBeVisualized = true;
 		
+		return projectCircularAccuracy(weakpointTarget, targetDistanceMeters);
+	}
+	
+	private double projectCircularAccuracy(boolean weakpointTarget, double distanceMeters) {
 		double targetRadius = 0.0;
 		if (weakpointTarget) {
 			targetRadius = 0.2;
@@ -305,12 +516,11 @@ public class AccuracyEstimator {
 		}
 		
 		double sumOfAllProbabilities = 0.0;
-		double bulletFiredTimestamp, crosshairRadius, crosshairRecoil, P; 
+		double crosshairRadius, crosshairRecoil, P; 
 		for (int i = 0; i < magSize; i++) {
-			bulletFiredTimestamp = bulletFiredTimestamps[i];
 			// Spread Units are like the FoV setting; it needs to be divided by 2 before it can be used in trigonometry correctly
-			crosshairRadius = convertDegreesToMeters(getTotalSpreadAtTime(bulletFiredTimestamp) / 2.0);
-			crosshairRecoil = convertDegreesToMeters(getTotalRecoilAtTime(bulletFiredTimestamp, true));
+			crosshairRadius = convertDegreesToMeters(simulatedSpreadAtEachBullet[i] / 2.0, distanceMeters);
+			crosshairRecoil = convertDegreesToMeters(simulatedRecoilAtEachBullet[i], distanceMeters);
 			
 			if (targetRadius >= crosshairRadius) {
 				if (crosshairRecoil <= targetRadius - crosshairRadius) {
@@ -351,6 +561,8 @@ public class AccuracyEstimator {
 	// TODO: someday I might like to model Recoil into this, too...
 	public double calculateRectangularAccuracy(boolean weakpoint, double hBaseSpread, double vBaseSpread, double rPitch, double rYaw, double m, double sStiffness) {
 		circularAccuracy = false;
+		// This overwrites the same fields that the last Circular Accuracy simulation left behind, so that one has to be simulated again next time.
+		lastSimulatedInputs = null;
 		
 		// Set up these variables for the Visualizer
 		horizontalBaseSpread = hBaseSpread;
@@ -388,30 +600,105 @@ public class AccuracyEstimator {
 			After Lunari pointed out that the old model didn't work in extreme values (like 1m distance away from targets), I basically scrapped the old model
 			and decided to brute-force it with a double for-loop. It's not pretty, it's not elegant, but by golly it's gonna be RIGHT. People are trusting me to 
 			model this stuff correctly, and this has been bugged for months with only Lunari questioning it. Makes me wonder what else I have wrong in here...
+			
+			It's still the same grid as that double for-loop, but every cell's probability is just (row probability) * (column probability), so the two 1-D
+			weight vectors only have to be calculated once each. On top of that, the target is a circle, so the cells inside of it in any one row are a single 
+			unbroken run of rows, which can be added up all at once with a running total of the row weights. Going across the grid, the ends of that run only
+			ever slide a row or two from one column to the next, so walking them along costs about the same as the width of the grid instead of its area. That's 
+			what makes a 400x400 grid about as cheap as the old 50x50 one.
 		*/
+		int precision = rectangularAccuracyPrecision;
+		double accuracy = integrateRectangularGrid(crosshairWidthMeters, crosshairHeightMeters, targetRadius, precision);
+		while (rectangularAccuracyTolerance > 0 && 2 * precision <= maxRectangularAccuracyPrecision) {
+			precision *= 2;
+			double finerAccuracy = integrateRectangularGrid(crosshairWidthMeters, crosshairHeightMeters, targetRadius, precision);
+			boolean converged = Math.abs(finerAccuracy - accuracy) <= rectangularAccuracyTolerance;
+			accuracy = finerAccuracy;
+			if (converged) {
+				break;
+			}
+		}
+		
+		return accuracy;
+	}
+	
+	// The percentage of the crosshair's probability that falls inside of the target, added up over a grid that's precision cells wide and tall
+	private double integrateRectangularGrid(double crosshairWidthMeters, double crosshairHeightMeters, double targetRadius, double precision) {
 		double w = crosshairWidthMeters * 2.0, h = crosshairHeightMeters * 2.0;
-		double horizontalProbability, verticalProbability, totalProbability;
-		double sumOfProbabilitiesInsideTarget = 0.0, sumOfAllProbabilities = 0.0;
-		double precision = 50.0;
 		
-		double i, j;
-		for (i = 0.0; i < w; i += w / precision) {
-			horizontalProbability = MathUtils.probabilityInNormalDistribution(0, w, i);
+		double[] columnOffsets = rectangularGridPoints(w, precision);
+		double[] rowOffsets = rectangularGridPoints(h, precision);
+		
+		// runningTotalOfRowWeights[j] is the sum of the vertical probabilities of every row before row j
+		double[] runningTotalOfRowWeights = new double[rowOffsets.length + 1];
+		int i, j;
+		for (j = 0; j < rowOffsets.length; j++) {
+			runningTotalOfRowWeights[j + 1] = runningTotalOfRowWeights[j] + MathUtils.probabilityInNormalDistribution(0, h, rowOffsets[j]);
+		}
+		double sumOfAllRowWeights = runningTotalOfRowWeights[rowOffsets.length];
+		
+		// The first row at or below the center of the crosshair. Distance from the center shrinks going up to it, and grows going down from it.
+		int centerRow = 0;
+		while (centerRow < rowOffsets.length && rowOffsets[centerRow] < crosshairHeightMeters) {
+			centerRow++;
+		}
+		
+		double horizontalProbability, horizontalOffset;
+		double sumOfProbabilitiesInsideTarget = 0.0, sumOfAllProbabilities = 0.0;
+		/*
+			Rows above centerRow get closer to the center going down, and rows from centerRow on get farther away, so the rows inside the circle are always 
+			[firstRowInsideTarget, lastRowInsideTarget]. If none of them are, those two end up crossed over and nothing gets added.
+		*/
+		int firstRowInsideTarget = centerRow, lastRowInsideTarget = centerRow - 1;
+		for (i = 0; i < columnOffsets.length; i++) {
+			horizontalProbability = MathUtils.probabilityInNormalDistribution(0, w, columnOffsets[i]);
+			horizontalOffset = crosshairWidthMeters - columnOffsets[i];
 			
-			for (j = 0.0; j < h; j += h / precision) {
-				verticalProbability = MathUtils.probabilityInNormalDistribution(0, h, j);
-				totalProbability = horizontalProbability * verticalProbability;
-				
-				sumOfAllProbabilities += totalProbability;
-				if (Math.hypot(crosshairWidthMeters - i, crosshairHeightMeters - j) <= targetRadius) {
-					sumOfProbabilitiesInsideTarget += totalProbability;
-				}
+			sumOfAllProbabilities += horizontalProbability * sumOfAllRowWeights;
+			
+			while (firstRowInsideTarget > 0 && isInsideCircle(horizontalOffset, crosshairHeightMeters - rowOffsets[firstRowInsideTarget - 1], targetRadius)) {
+				firstRowInsideTarget--;
+			}
+			while (firstRowInsideTarget < centerRow && !isInsideCircle(horizontalOffset, crosshairHeightMeters - rowOffsets[firstRowInsideTarget], targetRadius)) {
+				firstRowInsideTarget++;
+			}
+			
+			while (lastRowInsideTarget < rowOffsets.length - 1 && isInsideCircle(horizontalOffset, crosshairHeightMeters - rowOffsets[lastRowInsideTarget + 1], targetRadius)) {
+				lastRowInsideTarget++;
+			}
+			while (lastRowInsideTarget >= centerRow && !isInsideCircle(horizontalOffset, crosshairHeightMeters - rowOffsets[lastRowInsideTarget], targetRadius)) {
+				lastRowInsideTarget--;
+			}
+			
+			if (firstRowInsideTarget <= lastRowInsideTarget) {
+				sumOfProbabilitiesInsideTarget += horizontalProbability * (runningTotalOfRowWeights[lastRowInsideTarget + 1] - runningTotalOfRowWeights[firstRowInsideTarget]);
 			}
 		}
 		
 		return (sumOfProbabilitiesInsideTarget / sumOfAllProbabilities) * 100.0;
 	}
 
+	// The same steps that the old for-loops took across the crosshair, including however floating-point error rounds off the last one
+	private double[] rectangularGridPoints(double length, double precision) {
+		double step = length / precision;
+		double p;
+		int numPoints = 0;
+		for (p = 0.0; p < length; p += step) {
+			numPoints++;
+		}
+		
+		double[] toReturn = new double[numPoints];
+		int i = 0;
+		for (p = 0.0; p < length; p += step) {
+			toReturn[i++] = p;
+		}
+		return toReturn;
+	}
+	
+	private boolean isInsideCircle(double horizontalOffset, double verticalOffset, double radius) {
+		return Math.hypot(horizontalOffset, verticalOffset) <= radius;
+	}
+
 	private double calculateProjectileTravelTime(double projectileVelocity, double gravityMultiplier, double launchAngleRadians) {
 		double verticalVelocity = Math.sin(launchAngleRadians) * projectileVelocity;
 		return 2 * verticalVelocity / (gravityAcceleration * gravityMultiplier);
@@ -475,7 +762,7 @@ public class AccuracyEstimator {
 		// If the travel time is greater than the expected time to have every projectile hit dead-on, estimate how much distance the target would move horizontally (account for Hazard speed scaling multiplier)
 		double targetMovementOffset = 0;  // meters
 		if (actualTravelTime > expectedPerfectAccuracyTravelTime) {
-			double gruntMovespeed = new Grunt().getMaxMovespeedWhenFeared() * EnemyInformation.getMovespeedDifficultyScaling();
+			double gruntMovespeed = new Grunt().getMaxMovespeedWhenFeared() * EnemyInformation.getMovespeedDifficultyScaling(difficulty != null ? difficulty : EnemyInformation.getCurrentDifficulty());
 			// This is the angle from which the Grunt is walking towards you. 0 = straight in line with your crosshair, 90 = directly to your right or left
 			double angleOfIncidence = 15.0; // degrees
 			double horizontalTargetMovementSpeed = gruntMovespeed * Math.sin(angleOfIncidence * Math.PI / 180.0);
@@ -628,7 +915,7 @@ public class AccuracyEstimator {
 			lineGraphsPanel.setLayout(new BoxLayout(lineGraphsPanel, BoxLayout.PAGE_AXIS));
 			
 			LineGraph spreadGraph = new LineGraph(rawSpreadData, loopDuration, Math.max(maxSpread, 8.0));
-			new Thread(spreadGraph).start();
+			spreadGraph.startAnimation();
 			JPanel spreadGraphAndLabel = new JPanel();
 			spreadGraphAndLabel.setLayout(new BoxLayout(spreadGraphAndLabel, BoxLayout.PAGE_AXIS));
 			spreadGraphAndLabel.add(new JLabel("Crosshair diameter (degrees) vs Time (seconds)"));
@@ -637,7 +924,7 @@ public class AccuracyEstimator {
 			lineGraphsPanel.add(spreadGraphAndLabel);
 			
 			LineGraph rawRecoilGraph = new LineGraph(rawRecoilData, loopDuration, Math.max(maxRawRecoil, 17.0));
-			new Thread(rawRecoilGraph).start();
+			rawRecoilGraph.startAnimation();
 			JPanel rawRecoilGraphAndLabel = new JPanel();
 			rawRecoilGraphAndLabel.setLayout(new BoxLayout(rawRecoilGraphAndLabel, BoxLayout.PAGE_AXIS));
 			rawRecoilGraphAndLabel.add(new JLabel("Recoil offset (degrees) vs Time (seconds)"));
@@ -646,7 +933,7 @@ public class AccuracyEstimator {
 			lineGraphsPanel.add(rawRecoilGraphAndLabel);
 			
 			LineGraph playerReducedRecoilGraph = new LineGraph(reducedRecoilData, loopDuration, Math.max(maxRawRecoil, 17.0));
-			new Thread(playerReducedRecoilGraph).start();
+			playerReducedRecoilGraph.startAnimation();
 			JPanel reducedRecoilAndGraph = new JPanel();
 			reducedRecoilAndGraph.setLayout(new BoxLayout(reducedRecoilAndGraph, BoxLayout.PAGE_AXIS));
 			reducedRecoilAndGraph.add(new JLabel("Player-reduced recoil offset (degrees) vs Time (seconds)"));
@@ -658,13 +945,13 @@ public class AccuracyEstimator {
 					convertedSpreadData, convertDegreesToMeters(maxSpread), 
 					convertedRawRecoilData, convertDegreesToMeters(maxRawRecoil));
 			rawRecoilGif.setBorder(GuiConstants.blackLine);
-			new Thread(rawRecoilGif).start();
+			AnimationClock.animateWhileShowing(rawRecoilGif);
 			
 			AccuracyAnimation reducedRecoilGif = new AccuracyAnimation(visualizeGeneralAccuracy, loopDuration, 
 					convertedSpreadData, convertDegreesToMeters(maxSpread), 
 					convertedReducedRecoilData, convertDegreesToMeters(maxReducedRecoil));
 			reducedRecoilGif.setBorder(GuiConstants.blackLine);
-			new Thread(reducedRecoilGif).start();
+			AnimationClock.animateWhileShowing(reducedRecoilGif);
 			
 			toReturn.add(granularDataPanel);
 			toReturn.add(lineGraphsPanel);
@@ -0,0 +1,117 @@
+package drgtools.dpscalc.modelPieces;
+
+/*
+	A whole build packed into one int, so that the sweeps and caches don't have to build (and hash, and compare) a 6-character String for every combination.
+	Each Mod Tier gets 2 bits and the Overclock gets 3, and every one of them stores its index + 1 so that "nothing selected" is 0:
+
+		bits 0-1: Tier 1, bits 2-3: Tier 2, bits 4-5: Tier 3, bits 6-7: Tier 4, bits 8-9: Tier 5, bits 10-12: Overclock
+
+	That means "------" is 0, every possible build fits between 0 and 8191, and IDs can be used as array indexes. Every one of those 8192 IDs is a well-formed
+	combination String, so they all get built once up front and converting back and forth never allocates anything. Whether the Weapon actually has a 'C' Mod
+	at that tier or a 7th Overclock is still up to Weapon.isBuildIDValid() to check.
+*/
+public class BuildID {
+	public static final int numBuildIDs = 1 << 13;
+	
+	private static final int bitsPerTier = 2;
+	private static final int tierMask = 0x3;
+	private static final int overclockShift = 10;
+	private static final int overclockMask = 0x7;
+	
+	private static final String[] combinations = new String[numBuildIDs];
+	static {
+		char[] symbols = new char[6];
+		for (int id = 0; id < numBuildIDs; id++) {
+			for (int tier = 1; tier <= 5; tier++) {
+				symbols[tier - 1] = getModLetter(getModAtTier(id, tier));
+			}
+			symbols[5] = getOverclockNumber(getOverclock(id));
+			combinations[id] = new String(symbols);
+		}
+	}
+	
+	public static int pack(int tier1, int tier2, int tier3, int tier4, int tier5, int overclock) {
+		return (tier1 + 1) | (tier2 + 1) << 2 | (tier3 + 1) << 4 | (tier4 + 1) << 6 | (tier5 + 1) << 8 | (overclock + 1) << overclockShift;
+	}
+	
+	// Returns -1 if that tier has no Mod selected, just like Weapon.getSelectedModAtTier()
+	public static int getModAtTier(int buildID, int tierNumber) {
+		return ((buildID >> (bitsPerTier * (tierNumber - 1))) & tierMask) - 1;
+	}
+	public static int getOverclock(int buildID) {
+		return ((buildID >> overclockShift) & overclockMask) - 1;
+	}
+	
+	public static int withModAtTier(int buildID, int tierNumber, int modIndex) {
+		int shift = bitsPerTier * (tierNumber - 1);
+		return (buildID & ~(tierMask << shift)) | ((modIndex + 1) << shift);
+	}
+	public static int withOverclock(int buildID, int overclockIndex) {
+		return (buildID & ~(overclockMask << overclockShift)) | ((overclockIndex + 1) << overclockShift);
+	}
+	
+	// Keeps only the tiers listed in dependencies, which uses "1" through "5" for the mod tiers and "O" for the overclock just like Weapon.metricDependencies
+	public static int getDependencyMask(String dependencies) {
+		int toReturn = 0;
+		for (int i = 0; i < dependencies.length(); i++) {
+			char tier = dependencies.charAt(i);
+			if (tier == 'O') {
+				toReturn |= overclockMask << overclockShift;
+			}
+			else if (tier >= '1' && tier <= '5') {
+				toReturn |= tierMask << (bitsPerTier * (tier - '1'));
+			}
+		}
+		return toReturn;
+	}
+	
+	public static String toCombination(int buildID) {
+		return combinations[buildID];
+	}
+	
+	// Returns -1 if the String isn't 6 characters of A-C or hyphens followed by 1-7 or a hyphen. Weapon.isCombinationValid() explains what's wrong with it.
+	public static int fromCombination(String combination) {
+		if (combination == null || combination.length() != 6) {
+			return -1;
+		}
+		
+		int toReturn = 0;
+		for (int i = 0; i < 5; i++) {
+			char symbol = combination.charAt(i);
+			if (symbol == '-') {
+				continue;
+			}
+			else if (symbol >= 'A' && symbol <= 'C') {
+				toReturn |= (symbol - 'A' + 1) << (bitsPerTier * i);
+			}
+			else {
+				return -1;
+			}
+		}
+		
+		char symbol = combination.charAt(5);
+		if (symbol >= '1' && symbol <= '7') {
+			toReturn |= (symbol - '0') << overclockShift;
+		}
+		else if (symbol != '-') {
+			return -1;
+		}
+		
+		return toReturn;
+	}
+	
+	// Same letters as Mod.getLetterRepresentation()
+	private static char getModLetter(int modIndex) {
+		if (modIndex < 0) {
+			return '-';
+		}
+		return (char) ('A' + modIndex);
+	}
+	// Same numbers as Overclock.getShortcutRepresentation()
+	private static char getOverclockNumber(int overclockIndex) {
+		if (overclockIndex < 0) {
+			return '-';
+		}
+		return (char) ('1' + overclockIndex);
+	}
+}
@@ -0,0 +1,109 @@
+package drgtools.dpscalc.modelPieces;
+
+/*
+	Everything about the enemies that changes with Hazard Level and Player Count, bundled together so that it can be handed to a Weapon instead of
+	every method reading the static values in EnemyInformation. Because these never change after they're built, any number of threads can share one
+	while evaluating different difficulties at the same time.
+
+	Don't construct these directly; use EnemyInformation.getDifficultyContext(hazard, players) so that all 20 combinations only get built once.
+*/
+public class DifficultyContext {
+	private final int hazardLevel;
+	private final int playerCount;
+
+	private final double normalEnemyResistance;
+	private final double largeEnemyResistance;
+	private final double movespeedDifficultyScaling;
+
+	private final double averageHealthPoolExact;
+	private final double averageHealthPoolRounded;
+	private final double averageDifficultyScalingResistance;
+
+	/*
+		These ones don't actually change with the difficulty, but the Weapons ask for them constantly while calculating their metrics, so they get worked out 
+		once here along with everything else instead of looping over all 22 enemies every single time.
+	*/
+	private final double probabilityBulletWillHitWeakpoint;
+	private final double averageWeakpointDamageIncrease;
+	private final double averageBurnDuration;
+	private final double averageFreezeDuration;
+	private final double averageLightArmorStrength;
+	private final double averageCourage;
+	private final double averageFearMovespeed;
+	
+	DifficultyContext(int hazard, int players, double normalResistance, double largeResistance, double movespeedScaling) {
+		hazardLevel = hazard;
+		playerCount = players;
+		normalEnemyResistance = normalResistance;
+		largeEnemyResistance = largeResistance;
+		movespeedDifficultyScaling = movespeedScaling;
+
+		averageHealthPoolExact = EnemyInformation.calculateAverageHealthPool(normalResistance, largeResistance, true);
+		averageHealthPoolRounded = EnemyInformation.calculateAverageHealthPool(normalResistance, largeResistance, false);
+		averageDifficultyScalingResistance = EnemyInformation.calculateAverageDifficultyScalingResistance(normalResistance, largeResistance);
+		
+		probabilityBulletWillHitWeakpoint = EnemyInformation.calculateProbabilityBulletWillHitWeakpoint();
+		averageWeakpointDamageIncrease = EnemyInformation.calculateAverageWeakpointDamageIncrease();
+		averageBurnDuration = EnemyInformation.calculateAverageBurnDuration();
+		averageFreezeDuration = EnemyInformation.calculateAverageFreezeDuration();
+		averageLightArmorStrength = EnemyInformation.calculateAverageLightArmorStrength();
+		averageCourage = EnemyInformation.calculateAverageCourage();
+		averageFearMovespeed = EnemyInformation.calculateAverageFearMovespeed();
+	}
+
+	public int getHazardLevel() {
+		return hazardLevel;
+	}
+	public int getPlayerCount() {
+		return playerCount;
+	}
+
+	public double getNormalEnemyResistance() {
+		return normalEnemyResistance;
+	}
+	public double getLargeEnemyResistance() {
+		return largeEnemyResistance;
+	}
+	public double getMovespeedDifficultyScaling() {
+		return movespeedDifficultyScaling;
+	}
+
+	public double getAverageHealthPool(boolean exactSpawnRates) {
+		if (exactSpawnRates) {
+			return averageHealthPoolExact;
+		}
+		else {
+			return averageHealthPoolRounded;
+		}
+	}
+	public double getAverageDifficultyScalingResistance() {
+		return averageDifficultyScalingResistance;
+	}
+
+	public double getProbabilityBulletWillHitWeakpoint() {
+		return probabilityBulletWillHitWeakpoint;
+	}
+	public double getAverageWeakpointDamageIncrease() {
+		return averageWeakpointDamageIncrease;
+	}
+	public double getAverageBurnDuration() {
+		return averageBurnDuration;
+	}
+	public double getAverageFreezeDuration() {
+		return averageFreezeDuration;
+	}
+	public double getAverageLightArmorStrength() {
+		return averageLightArmorStrength;
+	}
+	public double getAverageCourage() {
+		return averageCourage;
+	}
+	public double getAverageFearMovespeed() {
+		return averageFearMovespeed;
+	}
+	
+	@Override
+	public String toString() {
+		return "Haz" + hazardLevel + ", " + playerCount + " player(s)";
+	}
+}
@@ -0,0 +1,58 @@
+package drgtools.dpscalc.modelPieces;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/*
+	When the same build gets evaluated at all 20 combinations of Hazard Level and Player Count, most of the metrics have to be re-calculated because enemy health
+	and armor scale with difficulty. Max Num Targets doesn't, though: it only ever depends on the build's AoE radius, penetrations, ricochets and the like, so any
+	Weapon that gets handed this table records it the first time it calculates it for a build, and every other Weapon sharing the table copies it into its metric
+	cache instead of calculating it again at another difficulty.
+
+	Firing Duration and the two Accuracies can't go in here, even though they usually don't look at the enemies. A few builds do: Minigun's Cold As The Grave
+	changes the Firing Period based on how much health the enemies have, and things like AssaultRifle's Battle Cool change Accuracy the same way. Whichever
+	difficulty got to a build first would have had its values copied to all the others.
+
+	The values only make sense for Weapons that have the same settings as each other, which is true for clones made with Weapon.cloneWithSettings(). The table
+	gets shared by all the threads of a sweep, so every value is stored atomically. Builds are looked up by their BuildID, which doubles as the index into an
+	array with room for every possible build.
+*/
+public class DifficultyIndependentMetrics {
+	// Only Max Num Targets (see Weapon.getMetric() for the indexes) gets shared
+	private static final int sharedMetricIndex = 3;
+
+	// null means not calculated yet
+	private AtomicReferenceArray<Double> valuesByBuildID;
+
+	public DifficultyIndependentMetrics() {
+		valuesByBuildID = new AtomicReferenceArray<Double>(BuildID.numBuildIDs);
+	}
+
+	// Uses the same metric indexes as Weapon.getMetric(). Does nothing for the metrics that can change with difficulty.
+	public void recordMetric(int buildID, int metricIndex, double value) {
+		if (metricIndex == sharedMetricIndex) {
+			// Every difficulty calculates the same value, so it doesn't matter which thread's gets kept
+			valuesByBuildID.compareAndSet(buildID, null, value);
+		}
+	}
+
+	/*
+		Copies whatever this table knows about the build into a Weapon's array of the 15 metrics (see Weapon.numMetrics for the indexes). Only metrics that are
+		still NaN in the Weapon's array get filled in.
+	*/
+	public void fillMetrics(int buildID, double[] metrics) {
+		Double value = valuesByBuildID.get(buildID);
+		if (value != null && Double.isNaN(metrics[sharedMetricIndex])) {
+			metrics[sharedMetricIndex] = value;
+		}
+	}
+
+	public int size() {
+		int toReturn = 0;
+		for (int i = 0; i < valuesByBuildID.length(); i++) {
+			if (valuesByBuildID.get(i) != null) {
+				toReturn++;
+			}
+		}
+		return toReturn;
+	}
+}
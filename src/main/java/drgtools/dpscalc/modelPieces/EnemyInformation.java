@@ -1,8 +1,6 @@
 package drgtools.dpscalc.modelPieces;
 
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.List;
+import java.util.Arrays;
 
 import drgtools.dpscalc.enemies.Enemy;
 import drgtools.dpscalc.enemies.glyphid.*;
@@ -24,6 +22,12 @@ public class EnemyInformation {
 			playerCount = newPlayerCount;
 		}
 	}
+	public static int getHazardLevel() {
+		return hazardLevel;
+	}
+	public static int getPlayerCount() {
+		return playerCount;
+	}
 	
 	// Normal enemies have their health scaled up or down depending on Hazard Level, with the notable exception that the health does not currently increase between Haz4 and haz5
 	private static double[] normalEnemyResistances = {
@@ -52,7 +56,10 @@ public class EnemyInformation {
 		1.15   // Haz5
 	};
 	public static double getMovespeedDifficultyScaling() {
-		return movespeedDifficultyScaling[hazardLevel - 1];
+		return getMovespeedDifficultyScaling(getCurrentDifficulty());
+	}
+	public static double getMovespeedDifficultyScaling(DifficultyContext difficulty) {
+		return difficulty.getMovespeedDifficultyScaling();
 	}
 	
 	/* 
@@ -93,7 +100,47 @@ public class EnemyInformation {
 		new CaveLeech()
 	};
 	
+	// Breakpoints and Armor Wasting read the enemies' stats out of this instead of enemiesModeled, since they get called for every build.
+	private static final EnemyTable enemyTable = new EnemyTable(enemiesModeled);
+	
+	// The spawn rates never change while the program is running, so this only needs to be checked once instead of at the start of every average below.
+	private static final boolean spawnRatesTotalIsOne = calculateSpawnRatesTotalIsOne();
+	
+	// All 20 combinations of Hazard Level and Player Count get built once, up front, so that every Weapon and thread can share them.
+	private static DifficultyContext[][] difficultyContexts = new DifficultyContext[5][4];
+	static {
+		for (int haz = 1; haz <= 5; haz++) {
+			for (int players = 1; players <= 4; players++) {
+				difficultyContexts[haz - 1][players - 1] = new DifficultyContext(haz, players, normalEnemyResistances[haz - 1], largeEnemyResistances[haz - 1][players - 1], movespeedDifficultyScaling[haz - 1]);
+			}
+		}
+	}
+	public static DifficultyContext getDifficultyContext(int hazard, int players) {
+		if (hazard > 0 && hazard < 6 && players > 0 && players < 5) {
+			return difficultyContexts[hazard - 1][players - 1];
+		}
+		else {
+			System.out.println("Hazard " + hazard + " with " + players + " player(s) is not a valid difficulty");
+			return null;
+		}
+	}
+	// Ordered by Hazard Level first, then Player Count
+	public static DifficultyContext[] getAllDifficulties() {
+		DifficultyContext[] toReturn = new DifficultyContext[20];
+		for (int i = 0; i < 5; i++) {
+			System.arraycopy(difficultyContexts[i], 0, toReturn, i * 4, 4);
+		}
+		return toReturn;
+	}
+	// This is the difficulty chosen in the GUI's menus, which every Weapon uses unless it has been given its own DifficultyContext
+	public static DifficultyContext getCurrentDifficulty() {
+		return difficultyContexts[hazardLevel - 1][playerCount - 1];
+	}
+	
 	private static boolean verifySpawnRatesTotalIsOne() {
+		return spawnRatesTotalIsOne;
+	}
+	private static boolean calculateSpawnRatesTotalIsOne() {
 		double sum = 0.0;
 		for (int i = 0; i < enemiesModeled.length; i++) {
 			sum += enemiesModeled[i].getSpawnProbability(true);
@@ -105,6 +152,10 @@ public class EnemyInformation {
 	}
 	
 	public static double probabilityBulletWillHitWeakpoint() {
+		return getCurrentDifficulty().getProbabilityBulletWillHitWeakpoint();
+	}
+	// Only used by DifficultyContext, which stores the result
+	static double calculateProbabilityBulletWillHitWeakpoint() {
 		if (!verifySpawnRatesTotalIsOne()) {
 			return -1.0;
 		}
@@ -118,6 +169,10 @@ public class EnemyInformation {
 	}
 	
 	public static double averageWeakpointDamageIncrease() {
+		return getCurrentDifficulty().getAverageWeakpointDamageIncrease();
+	}
+	// Only used by DifficultyContext, which stores the result
+	static double calculateAverageWeakpointDamageIncrease() {
 		if (!verifySpawnRatesTotalIsOne()) {
 			return -1.0;
 		}
@@ -134,13 +189,20 @@ public class EnemyInformation {
 		return averageHealthPool(true);
 	}
 	public static double averageHealthPool(boolean exact) {
+		return averageHealthPool(getCurrentDifficulty(), exact);
+	}
+	public static double averageHealthPool(DifficultyContext difficulty) {
+		return averageHealthPool(difficulty, true);
+	}
+	public static double averageHealthPool(DifficultyContext difficulty, boolean exact) {
+		return difficulty.getAverageHealthPool(exact);
+	}
+	// Only used by DifficultyContext, which stores the result
+	static double calculateAverageHealthPool(double normalResistance, double largeResistance, boolean exact) {
 		if (!verifySpawnRatesTotalIsOne()) {
 			return -1.0;
 		}
 		
-		double normalResistance = normalEnemyResistances[hazardLevel - 1];
-		double largeResistance = largeEnemyResistances[hazardLevel - 1][playerCount - 1];
-		
 		double toReturn = 0.0;
 		Enemy alias;
 		for (int i = 0; i < enemiesModeled.length; i++) {
@@ -189,6 +251,10 @@ public class EnemyInformation {
 		return totalIgniteTime / totalProbability;
 	}
 	public static double averageBurnDuration() {
+		return getCurrentDifficulty().getAverageBurnDuration();
+	}
+	// Only used by DifficultyContext, which stores the result
+	static double calculateAverageBurnDuration() {
 		if (!verifySpawnRatesTotalIsOne()) {
 			return -1.0;
 		}
@@ -260,6 +326,10 @@ public class EnemyInformation {
 		return toReturn;
 	}
 	public static double averageFreezeDuration() {
+		return getCurrentDifficulty().getAverageFreezeDuration();
+	}
+	// Only used by DifficultyContext, which stores the result
+	static double calculateAverageFreezeDuration() {
 		if (!verifySpawnRatesTotalIsOne()) {
 			return -1.0;
 		}
@@ -289,6 +359,10 @@ public class EnemyInformation {
 	}
 	
 	public static double averageLightArmorStrength() {
+		return getCurrentDifficulty().getAverageLightArmorStrength();
+	}
+	// Only used by DifficultyContext, which stores the result
+	static double calculateAverageLightArmorStrength() {
 		double totalLightArmorStrength = 0.0;
 		double totalSpawnPercentage = 0.0;
 		Enemy alias;
@@ -326,6 +400,10 @@ public class EnemyInformation {
 	}
 	
 	public static double averageCourage() {
+		return getCurrentDifficulty().getAverageCourage();
+	}
+	// Only used by DifficultyContext, which stores the result
+	static double calculateAverageCourage() {
 		if (!verifySpawnRatesTotalIsOne()) {
 			return -1.0;
 		}
@@ -345,15 +423,17 @@ public class EnemyInformation {
 		Slowing an enemy that is being Feared will increase the duration of the Fear status effect, and it will naturally be shorter at higher hazard levels.
 	*/
 	public static double averageFearDuration() {
-		return averageFearDuration(0.0, 0.0);
+		return averageFearDuration(getCurrentDifficulty(), 0.0, 0.0);
 	}
 	public static double averageFearDuration(double enemySlowMultiplier, double slowDuration) {
-		double averageFearMovespeed = 0.0;
-		for (int i = 0; i < enemiesModeled.length; i++) {
-			averageFearMovespeed += enemiesModeled[i].getSpawnProbability(true) * enemiesModeled[i].getMaxMovespeedWhenFeared();
-		}
-		
-		double difficultyScalingMovespeedModifier = movespeedDifficultyScaling[hazardLevel - 1];
+		return averageFearDuration(getCurrentDifficulty(), enemySlowMultiplier, slowDuration);
+	}
+	public static double averageFearDuration(DifficultyContext difficulty) {
+		return averageFearDuration(difficulty, 0.0, 0.0);
+	}
+	public static double averageFearDuration(DifficultyContext difficulty, double enemySlowMultiplier, double slowDuration) {
+		double averageFearMovespeed = difficulty.getAverageFearMovespeed();
+		double difficultyScalingMovespeedModifier = difficulty.getMovespeedDifficultyScaling();
 		
 		// This value gathered from internal property TSK_FleeFrom_C.distance
 		double fearDistanceGoal = 10.0;
@@ -371,14 +451,28 @@ public class EnemyInformation {
 		}
 	}
 	
+	// Only used by DifficultyContext, which stores the result
+	static double calculateAverageFearMovespeed() {
+		double toReturn = 0.0;
+		for (int i = 0; i < enemiesModeled.length; i++) {
+			toReturn += enemiesModeled[i].getSpawnProbability(true) * enemiesModeled[i].getMaxMovespeedWhenFeared();
+		}
+		
+		return toReturn;
+	}
+	
 	public static double averageDifficultyScalingResistance() {
+		return averageDifficultyScalingResistance(getCurrentDifficulty());
+	}
+	public static double averageDifficultyScalingResistance(DifficultyContext difficulty) {
+		return difficulty.getAverageDifficultyScalingResistance();
+	}
+	// Only used by DifficultyContext, which stores the result
+	static double calculateAverageDifficultyScalingResistance(double normalResistance, double largeResistance) {
 		if (!verifySpawnRatesTotalIsOne()) {
 			return -1.0;
 		}
 		
-		double normalResistance = normalEnemyResistances[hazardLevel - 1];
-		double largeResistance = largeEnemyResistances[hazardLevel - 1][playerCount - 1];
-		
 		double toReturn = 0.0;
 		Enemy alias;
 		for (int i = 0; i < enemiesModeled.length; i++) {
@@ -422,10 +516,18 @@ public class EnemyInformation {
 	public static int[] calculateBreakpoints(double[] directDamageByType, double[] areaDamageByType, double[] DoT_DPS, double[] DoT_durations, double[] DoT_probabilities, 
 											 double weakpointModifier, double armorBreaking, double RoF, double heatPerShot, double macteraModifier, 
 											 boolean frozen, boolean IFG, boolean flyingNightmare, boolean embeddedDetonators) {
-		ArrayList<Integer> toReturn = new ArrayList<Integer>();
+		return calculateBreakpoints(getCurrentDifficulty(), directDamageByType, areaDamageByType, DoT_DPS, DoT_durations, DoT_probabilities, weakpointModifier, armorBreaking, RoF, heatPerShot, 
+									macteraModifier, frozen, IFG, flyingNightmare, embeddedDetonators);
+	}
+	public static int[] calculateBreakpoints(DifficultyContext difficulty, double[] directDamageByType, double[] areaDamageByType, double[] DoT_DPS, double[] DoT_durations, double[] DoT_probabilities, 
+											 double weakpointModifier, double armorBreaking, double RoF, double heatPerShot, double macteraModifier, 
+											 boolean frozen, boolean IFG, boolean flyingNightmare, boolean embeddedDetonators) {
+		// Each enemy can add up to 3 breakpoints (body, Light Armor, and weakpoint)
+		int[] breakpoints = new int[3 * enemyTable.numEnemies];
+		int numBreakpoints = 0;
 		
-		double normalResistance = normalEnemyResistances[hazardLevel - 1];
-		double largeResistance = largeEnemyResistances[hazardLevel - 1][playerCount - 1];
+		double normalResistance = difficulty.getNormalEnemyResistance();
+		double largeResistance = difficulty.getLargeEnemyResistance();
 		
 		// Frozen
 		double lightArmorReduction = UtilityInformation.LightArmor_DamageReduction;
@@ -457,34 +559,35 @@ public class EnemyInformation {
 		double rawDirectDamage, modifiedDirectDamage, rawAreaDamage, modifiedAreaDamage;
 		double numShotsToProcBurn, numShotsToProcElectrocute, numShotsToProcNeurotoxin, numShotsToProcPersistentPlasma, numShotsToProcRadiation;
 		double burnDPS, burnDuration, electrocuteDPS, plasmaDPS;
-		double[] creatureResistances;
+		double explosiveMultiplier, fireMultiplier, frostMultiplier, electricMultiplier;
+		double igniteTemp, douseTemp, coolingRate;
 		int breakpointCounter;
 		double fourSecondsDoTDamage;
 		double lightArmorStrength, heavyArmorHP, numShotsToBreakArmor;
-		Enemy alias;
-		for (int i = 0; i < enemiesModeled.length; i++) {
-			alias = enemiesModeled[i];
-			
+		
+		// These don't depend on the enemy, so there's no reason to add them up again for every single one.
+		rawDirectDamage = MathUtils.sum(directDamageByType);
+		rawAreaDamage = MathUtils.sum(areaDamageByType);
+		
+		for (int i = 0; i < enemyTable.numEnemies; i++) {
 			// If this enemy shouldn't be modeled in breakpoints, skip it.
-			if (!alias.shouldHaveBreakpointsCalculated()) {
+			if (!enemyTable.shouldHaveBreakpointsCalculated[i]) {
 				continue;
 			}
 			
-			if (alias.usesNormalScaling()) {
-				creatureHP = alias.getBaseHealth() * normalResistance;
+			if (enemyTable.usesNormalScaling[i]) {
+				creatureHP = enemyTable.baseHealth[i] * normalResistance;
 			}
 			else {
-				creatureHP = alias.getBaseHealth() * largeResistance;
+				creatureHP = enemyTable.baseHealth[i] * largeResistance;
 			}
 			
-			creatureResistances = new double[] {
-				1.0 - alias.getExplosiveResistance(),
-				1.0 - alias.getFireResistance(),
-				1.0 - alias.getFrostResistance(),
-				1.0 - alias.getElectricResistance()
-			};
+			explosiveMultiplier = enemyTable.explosiveMultiplier[i];
+			fireMultiplier = enemyTable.fireMultiplier[i];
+			frostMultiplier = enemyTable.frostMultiplier[i];
+			electricMultiplier = enemyTable.electricMultiplier[i];
 			
-			creatureWeakpointModifier = alias.getWeakpointMultiplier();
+			creatureWeakpointModifier = enemyTable.weakpointMultiplier[i];
 			if (weakpointModifier < 0) {
 				creatureWeakpointModifier = 1.0;
 			}
@@ -492,22 +595,24 @@ public class EnemyInformation {
 				creatureWeakpointModifier *= (1.0 + weakpointModifier);
 			}
 			
-			rawDirectDamage = MathUtils.sum(directDamageByType);
-			modifiedDirectDamage = directDamageByType[0] + directDamageByType[1] * creatureResistances[0] + directDamageByType[2] * creatureResistances[1] + directDamageByType[3] * creatureResistances[2] + directDamageByType[4] * creatureResistances[3];
+			modifiedDirectDamage = directDamageByType[0] + directDamageByType[1] * explosiveMultiplier + directDamageByType[2] * fireMultiplier + directDamageByType[3] * frostMultiplier + directDamageByType[4] * electricMultiplier;
 			
-			rawAreaDamage = MathUtils.sum(areaDamageByType);
-			modifiedAreaDamage = areaDamageByType[0] + areaDamageByType[1] * creatureResistances[0] + areaDamageByType[2] * creatureResistances[1] + areaDamageByType[3] * creatureResistances[2] + areaDamageByType[4] * creatureResistances[3];
+			modifiedAreaDamage = areaDamageByType[0] + areaDamageByType[1] * explosiveMultiplier + areaDamageByType[2] * fireMultiplier + areaDamageByType[3] * frostMultiplier + areaDamageByType[4] * electricMultiplier;
 			
 			// Driller/Subata/Mod/5/B "Mactera Neurotoxin Coating" makes the Subata's damage do x1.2 more to Mactera-type enemies
-			if (alias.isMacteraType()) {
+			if (enemyTable.isMacteraType[i]) {
 				modifiedDirectDamage *= (1.0 + macteraModifier);
 				modifiedAreaDamage *= (1.0 + macteraModifier);
 			}
 			
 			// Neurotoxin does Poison damage -- which no enemy resists -- and Radiation is not resisted by any creatures modeled by the program (but it is technically resisted by enemies in REZ biome)
-			burnDPS = DoTInformation.Burn_DPS * creatureResistances[1];
-			electrocuteDPS = DoT_DPS[0] * creatureResistances[3];
-			plasmaDPS = DoT_DPS[2] * creatureResistances[1];
+			burnDPS = DoTInformation.Burn_DPS * fireMultiplier;
+			electrocuteDPS = DoT_DPS[0] * electricMultiplier;
+			plasmaDPS = DoT_DPS[2] * fireMultiplier;
+			
+			igniteTemp = enemyTable.igniteTemp[i];
+			douseTemp = enemyTable.douseTemp[i];
+			coolingRate = enemyTable.coolingRate[i];
 			
 			numShotsToProcBurn = 0;
 			burnDuration = 0;
@@ -516,22 +621,22 @@ public class EnemyInformation {
 			numShotsToProcPersistentPlasma = 0;
 			numShotsToProcRadiation = 0;
 			if (!frozen && heatPerShot > 0.0) {
-				if (heatPerShot >= alias.getIgniteTemp()) {
+				if (heatPerShot >= igniteTemp) {
 					numShotsToProcBurn = 1;
-					burnDuration = (heatPerShot - alias.getDouseTemp()) / alias.getCoolingRate();
+					burnDuration = (heatPerShot - douseTemp) / coolingRate;
 				}
 				else {
 					// First, check if the weapon can fully ignite the enemy in less than one second (the default interval for CoolingRate, only Bulk Detonators use 0.25)
-					if (heatPerShot * Math.floor(0.99 * RoF) >= alias.getIgniteTemp()) {
-						numShotsToProcBurn = Math.ceil(alias.getIgniteTemp() / heatPerShot);
+					if (heatPerShot * Math.floor(0.99 * RoF) >= igniteTemp) {
+						numShotsToProcBurn = Math.ceil(igniteTemp / heatPerShot);
 					}
 					// If not, then this has to account for the Cooling Rate increasing the number of shots required.
 					else {
 						// This is technically an approximation and not precisely how it works in-game, but it's close enough for what I need.
-						numShotsToProcBurn = Math.floor((alias.getIgniteTemp() * RoF) / (heatPerShot * RoF - alias.getCoolingRate()));
+						numShotsToProcBurn = Math.floor((igniteTemp * RoF) / (heatPerShot * RoF - coolingRate));
 					}
 					
-					burnDuration = (alias.getIgniteTemp() - alias.getDouseTemp()) / alias.getCoolingRate();
+					burnDuration = (igniteTemp - douseTemp) / coolingRate;
 				}
 			}
 			if (DoT_probabilities[0] > 0.0) {
@@ -548,7 +653,7 @@ public class EnemyInformation {
 			}
 			
 			// Normal Damage
-			if (alias.hasExposedBodySomewhere()) {
+			if (enemyTable.hasExposedBodySomewhere[i]) {
 				breakpointCounter = 0;
 				aliasHP = creatureHP;
 				
@@ -604,15 +709,15 @@ public class EnemyInformation {
 					aliasHP = MathUtils.round(aliasHP, 4);
 				}
 				
-				toReturn.add(breakpointCounter);
+				breakpoints[numBreakpoints++] = breakpointCounter;
 			}
 			
 			// Light Armor
-			if (alias.hasLightArmor()) {
+			if (enemyTable.hasLightArmor[i]) {
 				breakpointCounter = 0;
 				aliasHP = creatureHP;
 				
-				lightArmorStrength = alias.getArmorStrength();
+				lightArmorStrength = enemyTable.armorStrength[i];
 				
 				if (embeddedDetonators) {
 					numShotsToBreakArmor = Math.ceil(MathUtils.meanRolls(lightArmorBreakProbabilityLookup(rawDirectDamage, armorBreaking, lightArmorStrength)));
@@ -681,16 +786,16 @@ public class EnemyInformation {
 					aliasHP = MathUtils.round(aliasHP, 4);
 				}
 				
-				toReturn.add(breakpointCounter);
+				breakpoints[numBreakpoints++] = breakpointCounter;
 			}
 			
 			// Weakpoint
-			if (alias.hasWeakpoint()) {
+			if (enemyTable.hasWeakpoint[i]) {
 				breakpointCounter = 0;
 				aliasHP = creatureHP;
 				
-				if (alias.weakpointIsCoveredByHeavyArmor()) {
-					heavyArmorHP = alias.getArmorBaseHealth() * normalResistance;
+				if (enemyTable.weakpointIsCoveredByHeavyArmor[i]) {
+					heavyArmorHP = enemyTable.armorBaseHealth[i] * normalResistance;
 					
 					if (embeddedDetonators) {
 						numShotsToBreakArmor = Math.ceil(heavyArmorHP / (rawDirectDamage * armorBreaking));
@@ -772,21 +877,11 @@ public class EnemyInformation {
 					aliasHP = MathUtils.round(aliasHP, 4);
 				}
 				
-				toReturn.add(breakpointCounter);
+				breakpoints[numBreakpoints++] = breakpointCounter;
 			}
 		}
 				
-		return convertIntegers(toReturn);
-	}
-	
-	// Sourced from https://stackoverflow.com/a/718558
-	private static int[] convertIntegers(List<Integer> integers) {
-	    int[] ret = new int[integers.size()];
-	    Iterator<Integer> iterator = integers.iterator();
-	    for (int i = 0; i < ret.length; i++) {
-	        ret[i] = iterator.next().intValue();
-	    }
-	    return ret;
+		return Arrays.copyOf(breakpoints, numBreakpoints);
 	}
 	
 	/*
@@ -818,40 +913,43 @@ public class EnemyInformation {
 		I'm choosing to let Overkill damage be counted as damage dealt. Too complicated to keep track of while simultaneously doing Armor stuff.
 	*/
 	public static double[][] percentageDamageWastedByArmor(double directDamage, int numPellets, double areaDamage, double armorBreaking, double weakpointModifier, double generalAccuracy, double weakpointAccuracy) {
-		return percentageDamageWastedByArmor(directDamage, numPellets, areaDamage, armorBreaking, weakpointModifier, generalAccuracy, weakpointAccuracy, false);
+		return percentageDamageWastedByArmor(getCurrentDifficulty(), directDamage, numPellets, areaDamage, armorBreaking, weakpointModifier, generalAccuracy, weakpointAccuracy, false);
 	}
 	public static double[][] percentageDamageWastedByArmor(double directDamage, int numPellets, double areaDamage, double armorBreaking, double weakpointModifier, double generalAccuracy, double weakpointAccuracy, boolean embeddedDetonators) {
-		// I have not thought of an elegant way to look ahead and count how many enemies have Light or Heavy Armor. For now I'm going to "cheat" because I know in advance that the answer is 10.
-		double[][] toReturn = new double[2][10];
+		return percentageDamageWastedByArmor(getCurrentDifficulty(), directDamage, numPellets, areaDamage, armorBreaking, weakpointModifier, generalAccuracy, weakpointAccuracy, embeddedDetonators);
+	}
+	public static double[][] percentageDamageWastedByArmor(DifficultyContext difficulty, double directDamage, int numPellets, double areaDamage, double armorBreaking, double weakpointModifier, double generalAccuracy, double weakpointAccuracy) {
+		return percentageDamageWastedByArmor(difficulty, directDamage, numPellets, areaDamage, armorBreaking, weakpointModifier, generalAccuracy, weakpointAccuracy, false);
+	}
+	public static double[][] percentageDamageWastedByArmor(DifficultyContext difficulty, double directDamage, int numPellets, double areaDamage, double armorBreaking, double weakpointModifier, double generalAccuracy, double weakpointAccuracy, boolean embeddedDetonators) {
+		// EnemyTable counts how many enemies have breakable Light or Heavy Armor when it gets built (it's 10), so this no longer has to be hardcoded.
+		double[][] toReturn = new double[2][enemyTable.numEnemiesWithBreakableArmor];
 		
-		double normalResistance = normalEnemyResistances[hazardLevel - 1];
-		double largeResistance = largeEnemyResistances[hazardLevel - 1][playerCount - 1];
+		double normalResistance = difficulty.getNormalEnemyResistance();
+		double largeResistance = difficulty.getLargeEnemyResistance();
 		
 		int creatureIndex = 0, i, j;
 		double baseHealth, heavyArmorPlateHealth;
 		double damageDealtPerPellet, proportionOfDamageThatHitsArmor, proportionOfDamageThatHitsWeakpoint;
 		int avgNumHitsToBreakArmorStrengthPlate, numHitsOnArmorStrengthPlate;
 		double totalDamageSpent, actualDamageDealt, damageWasted;
-		Enemy alias;
-		for (i = 0; i < enemiesModeled.length; i++) {
-			alias = enemiesModeled[i];
-			
+		for (i = 0; i < enemyTable.numEnemies; i++) {
 			// Skip any enemy that either has no Armor or Unbreakable Armor
-			if (!alias.hasBreakableArmor()) {
+			if (!enemyTable.hasBreakableArmor[i]) {
 				continue;
 			}
 			
-			baseHealth = alias.getBaseHealth();
+			baseHealth = enemyTable.baseHealth[i];
 			
-			if (alias.hasHeavyArmorHealth()) {
+			if (enemyTable.hasHeavyArmorHealth[i]) {
 				// All Heavy Armor plates with healthbars have their health scale with normal resistance.
-				heavyArmorPlateHealth = alias.getArmorBaseHealth() * normalResistance;
+				heavyArmorPlateHealth = enemyTable.armorBaseHealth[i] * normalResistance;
 			}
 			else {
 				heavyArmorPlateHealth = 0;
 			}
 			
-			if (alias.getName().equals("Glyphid Praetorian")) {
+			if (enemyTable.armorModel[i] == EnemyTable.ARMOR_MODEL_PRAETORIAN) {
 				baseHealth *= largeResistance;
 				
 				proportionOfDamageThatHitsArmor = (100.0 - generalAccuracy) / 100.0;
@@ -911,7 +1009,7 @@ public class EnemyInformation {
 					}
 				}
 			}
-			else if (alias.getName().equals("Q'ronar Shellback")) {
+			else if (enemyTable.armorModel[i] == EnemyTable.ARMOR_MODEL_SHELLBACK) {
 				baseHealth *= largeResistance;
 				
 				totalDamageSpent = 0;
@@ -968,7 +1066,7 @@ public class EnemyInformation {
 					}
 				}
 			}
-			else if (alias.getName().equals("Mactera Brundle")) {
+			else if (enemyTable.armorModel[i] == EnemyTable.ARMOR_MODEL_BRUNDLE) {
 				baseHealth *= normalResistance;
 				
 				double theoreticalDamagePerPellet;
@@ -976,7 +1074,7 @@ public class EnemyInformation {
 					theoreticalDamagePerPellet = directDamage;
 				}
 				else {
-					theoreticalDamagePerPellet = directDamage * (1.0 + weakpointModifier) * alias.getWeakpointMultiplier();
+					theoreticalDamagePerPellet = directDamage * (1.0 + weakpointModifier) * enemyTable.weakpointMultiplier[i];
 				}
 				
 				totalDamageSpent = 0;
@@ -1034,7 +1132,7 @@ public class EnemyInformation {
 				}
 			}
 			else {
-				if (alias.usesNormalScaling()) {
+				if (enemyTable.usesNormalScaling[i]) {
 					baseHealth *= normalResistance;
 				}
 				else {
@@ -1044,13 +1142,13 @@ public class EnemyInformation {
 				proportionOfDamageThatHitsArmor = (100.0 - weakpointAccuracy) / 100.0;
 				proportionOfDamageThatHitsWeakpoint = weakpointAccuracy / 100.0;
 				
-				if (alias.hasLightArmor() || alias.hasHeavyArmorStrength()) {
+				if (enemyTable.hasLightArmor[i] || enemyTable.hasHeavyArmorStrength[i]) {
 					if (embeddedDetonators || (areaDamage > 0 && numPellets > 1)) {
 						// Boomstick special case -- I'm choosing to model it as if the Blastwave doesn't break Light Armor Plates for simplicity later in the method
-						avgNumHitsToBreakArmorStrengthPlate = (int) Math.ceil(MathUtils.meanRolls(lightArmorBreakProbabilityLookup(directDamage, armorBreaking, alias.getArmorStrength())));
+						avgNumHitsToBreakArmorStrengthPlate = (int) Math.ceil(MathUtils.meanRolls(lightArmorBreakProbabilityLookup(directDamage, armorBreaking, enemyTable.armorStrength[i])));
 					}
 					else {
-						avgNumHitsToBreakArmorStrengthPlate = (int) Math.ceil(MathUtils.meanRolls(lightArmorBreakProbabilityLookup(directDamage + areaDamage, armorBreaking, alias.getArmorStrength())));
+						avgNumHitsToBreakArmorStrengthPlate = (int) Math.ceil(MathUtils.meanRolls(lightArmorBreakProbabilityLookup(directDamage + areaDamage, armorBreaking, enemyTable.armorStrength[i])));
 					}
 				}
 				else {
@@ -1068,27 +1166,27 @@ public class EnemyInformation {
 							damageDealtPerPellet = directDamage * proportionOfDamageThatHitsWeakpoint;
 						}
 						else {
-							totalDamageSpent += directDamage * proportionOfDamageThatHitsWeakpoint * (1.0 + weakpointModifier) * alias.getWeakpointMultiplier() + directDamage * proportionOfDamageThatHitsArmor;
-							damageDealtPerPellet = directDamage * proportionOfDamageThatHitsWeakpoint * (1.0 + weakpointModifier) * alias.getWeakpointMultiplier();
+							totalDamageSpent += directDamage * proportionOfDamageThatHitsWeakpoint * (1.0 + weakpointModifier) * enemyTable.weakpointMultiplier[i] + directDamage * proportionOfDamageThatHitsArmor;
+							damageDealtPerPellet = directDamage * proportionOfDamageThatHitsWeakpoint * (1.0 + weakpointModifier) * enemyTable.weakpointMultiplier[i];
 						}
 						
 						// 1. Light Armor plates (always Armor Strength, mixes with Heavy Armor plates on Guards)
-						if (alias.hasLightArmor()) {
+						if (enemyTable.hasLightArmor[i]) {
 							numHitsOnArmorStrengthPlate++;
 							if (numHitsOnArmorStrengthPlate > avgNumHitsToBreakArmorStrengthPlate || (armorBreaking > 1.0 && numHitsOnArmorStrengthPlate == avgNumHitsToBreakArmorStrengthPlate)) {
-								damageDealtPerPellet += directDamage * proportionOfDamageThatHitsArmor * alias.getNumArmorStrengthPlates() / (alias.getNumArmorStrengthPlates() + alias.getNumArmorHealthPlates());
+								damageDealtPerPellet += directDamage * proportionOfDamageThatHitsArmor * enemyTable.numArmorStrengthPlates[i] / (enemyTable.numArmorStrengthPlates[i] + enemyTable.numArmorHealthPlates[i]);
 							}
 							else {
-								damageDealtPerPellet += directDamage * proportionOfDamageThatHitsArmor * UtilityInformation.LightArmor_DamageReduction * alias.getNumArmorStrengthPlates() / (alias.getNumArmorStrengthPlates() + alias.getNumArmorHealthPlates());
+								damageDealtPerPellet += directDamage * proportionOfDamageThatHitsArmor * UtilityInformation.LightArmor_DamageReduction * enemyTable.numArmorStrengthPlates[i] / (enemyTable.numArmorStrengthPlates[i] + enemyTable.numArmorHealthPlates[i]);
 							}
 						}
 						
 						// 2. Heavy Armor Plates with health (mixes with Light Armor plates on Guards)
-						if (alias.hasHeavyArmorHealth()) { 
+						if (enemyTable.hasHeavyArmorHealth[i]) { 
 							if (heavyArmorPlateHealth > 0) {
 								if (armorBreaking > 1.0) {
 									if (directDamage * armorBreaking > heavyArmorPlateHealth) {
-										damageDealtPerPellet += directDamage * proportionOfDamageThatHitsArmor * alias.getNumArmorHealthPlates() / (alias.getNumArmorStrengthPlates() + alias.getNumArmorHealthPlates());
+										damageDealtPerPellet += directDamage * proportionOfDamageThatHitsArmor * enemyTable.numArmorHealthPlates[i] / (enemyTable.numArmorStrengthPlates[i] + enemyTable.numArmorHealthPlates[i]);
 										heavyArmorPlateHealth = 0;
 									}
 									else {
@@ -1107,12 +1205,12 @@ public class EnemyInformation {
 								}
 							}
 							else {
-								damageDealtPerPellet += proportionOfDamageThatHitsArmor * directDamage * alias.getNumArmorHealthPlates() / (alias.getNumArmorStrengthPlates() + alias.getNumArmorHealthPlates());
+								damageDealtPerPellet += proportionOfDamageThatHitsArmor * directDamage * enemyTable.numArmorHealthPlates[i] / (enemyTable.numArmorStrengthPlates[i] + enemyTable.numArmorHealthPlates[i]);
 							}
 						}
 						
 						// 3. Heavy Armor plates with Armor Strength (mutually exclusive with Light Armor plates)
-						if (alias.hasHeavyArmorStrength()) {
+						if (enemyTable.hasHeavyArmorStrength[i]) {
 							numHitsOnArmorStrengthPlate++;
 							if (numHitsOnArmorStrengthPlate > avgNumHitsToBreakArmorStrengthPlate || (armorBreaking > 1.0 && numHitsOnArmorStrengthPlate == avgNumHitsToBreakArmorStrengthPlate)) {
 								damageDealtPerPellet += directDamage * proportionOfDamageThatHitsArmor;
@@ -1127,14 +1225,14 @@ public class EnemyInformation {
 					totalDamageSpent += areaDamage;
 					if (embeddedDetonators) {
 						// Case 1: Guards' front leg plates have HP and block Embedded Detonators' damage until they're broken
-						if (alias.hasHeavyArmorHealth()) {
+						if (enemyTable.hasHeavyArmorHealth[i]) {
 							if (heavyArmorPlateHealth == 0) {
 								actualDamageDealt += areaDamage;
 								baseHealth -= areaDamage;
 							}
 						}
 						// Case 2: Wardens and Menaces have Heavy Armor that uses Armor Strength
-						else if (alias.hasHeavyArmorStrength()) {
+						else if (enemyTable.hasHeavyArmorStrength[i]) {
 							// Detonators aren't placed until after the Heavy Armor plate is broken
 							if (numHitsOnArmorStrengthPlate > avgNumHitsToBreakArmorStrengthPlate) {
 								actualDamageDealt += areaDamage;
@@ -1142,7 +1240,7 @@ public class EnemyInformation {
 							}
 						}
 						// Case 3: Light Armor plates don't stop the embedded detonators from dealing damage
-						else if (alias.hasLightArmor()) {
+						else if (enemyTable.hasLightArmor[i]) {
 							actualDamageDealt += areaDamage;
 							baseHealth -= areaDamage;
 						}
@@ -1160,7 +1258,7 @@ public class EnemyInformation {
 			
 			
 			damageWasted = 1.0 - actualDamageDealt / totalDamageSpent;
-			toReturn[0][creatureIndex] = alias.getSpawnProbability(true);
+			toReturn[0][creatureIndex] = enemyTable.exactSpawnProbability[i];
 			// Mathematica's Chop[] function rounds any number lower than 10^-10 to the integer zero. Imitation, flattery, etc...
 			if (damageWasted < Math.pow(10.0, -10.0)) {
 				toReturn[1][creatureIndex] = 0.0;
@@ -1178,13 +1276,16 @@ public class EnemyInformation {
 		This method intentionally ignores elemental resistances/weaknesses and weakpoint damage bonuses because I don't want to repeat the Breakpoints insanity.
 	*/
 	public static double[][] overkillPerCreature(double totalDamagePerShot){
+		return overkillPerCreature(getCurrentDifficulty(), totalDamagePerShot);
+	}
+	public static double[][] overkillPerCreature(DifficultyContext difficulty, double totalDamagePerShot){
 		int numEnemies = enemiesModeled.length;
 		double[][] toReturn = new double[2][numEnemies];
 		toReturn[0] = new double[numEnemies];
 		toReturn[1] = new double[numEnemies];
 		
-		double normalResistance = normalEnemyResistances[hazardLevel - 1];
-		double largeResistance = largeEnemyResistances[hazardLevel - 1][playerCount - 1];
+		double normalResistance = difficulty.getNormalEnemyResistance();
+		double largeResistance = difficulty.getLargeEnemyResistance();
 		
 		double creatureHP;
 		for (int i = 0; i < enemiesModeled.length; i++) {
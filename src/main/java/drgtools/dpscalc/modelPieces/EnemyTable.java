@@ -0,0 +1,137 @@
+package drgtools.dpscalc.modelPieces;
+
+import drgtools.dpscalc.enemies.Enemy;
+import drgtools.dpscalc.enemies.glyphid.Praetorian;
+import drgtools.dpscalc.enemies.mactera.Brundle;
+import drgtools.dpscalc.enemies.other.QronarShellback;
+
+/*
+	The same information as EnemyInformation.enemiesModeled, but laid out one column per stat instead of one object per enemy. Breakpoints and Armor Wasting
+	both walk every enemy for every build, so reading straight out of primitive arrays (instead of through 22 different objects' getters, and without building
+	a new resistances array or comparing names for each enemy) keeps those loops tight. Every value here is exactly what the matching Enemy getter returns.
+
+	Nothing about the enemies changes while the program runs, so EnemyInformation builds one of these when it loads and never touches it again.
+*/
+class EnemyTable {
+	// Which of the special cases in EnemyInformation.percentageDamageWastedByArmor() each enemy uses
+	static final int ARMOR_MODEL_GENERIC = 0;
+	static final int ARMOR_MODEL_PRAETORIAN = 1;
+	static final int ARMOR_MODEL_SHELLBACK = 2;
+	static final int ARMOR_MODEL_BRUNDLE = 3;
+	
+	final int numEnemies;
+	
+	final double[] exactSpawnProbability;
+	final double[] baseHealth;
+	final boolean[] usesNormalScaling;
+	
+	// These are (1.0 - resistance), which is what the damage actually gets multiplied by
+	final double[] explosiveMultiplier;
+	final double[] fireMultiplier;
+	final double[] frostMultiplier;
+	final double[] electricMultiplier;
+	
+	final boolean[] shouldHaveBreakpointsCalculated;
+	final boolean[] isMacteraType;
+	final boolean[] hasExposedBodySomewhere;
+	final boolean[] hasWeakpoint;
+	final double[] weakpointMultiplier;
+	
+	final double[] igniteTemp;
+	final double[] douseTemp;
+	final double[] coolingRate;
+	
+	final boolean[] hasBreakableArmor;
+	final boolean[] hasLightArmor;
+	final boolean[] hasHeavyArmorStrength;
+	final boolean[] hasHeavyArmorHealth;
+	final boolean[] weakpointIsCoveredByHeavyArmor;
+	final double[] armorStrength;
+	final double[] armorBaseHealth;
+	final double[] numArmorStrengthPlates;
+	final double[] numArmorHealthPlates;
+	final int[] armorModel;
+	final int numEnemiesWithBreakableArmor;
+	
+	EnemyTable(Enemy[] enemies) {
+		numEnemies = enemies.length;
+		
+		exactSpawnProbability = new double[numEnemies];
+		baseHealth = new double[numEnemies];
+		usesNormalScaling = new boolean[numEnemies];
+		explosiveMultiplier = new double[numEnemies];
+		fireMultiplier = new double[numEnemies];
+		frostMultiplier = new double[numEnemies];
+		electricMultiplier = new double[numEnemies];
+		shouldHaveBreakpointsCalculated = new boolean[numEnemies];
+		isMacteraType = new boolean[numEnemies];
+		hasExposedBodySomewhere = new boolean[numEnemies];
+		hasWeakpoint = new boolean[numEnemies];
+		weakpointMultiplier = new double[numEnemies];
+		igniteTemp = new double[numEnemies];
+		douseTemp = new double[numEnemies];
+		coolingRate = new double[numEnemies];
+		hasBreakableArmor = new boolean[numEnemies];
+		hasLightArmor = new boolean[numEnemies];
+		hasHeavyArmorStrength = new boolean[numEnemies];
+		hasHeavyArmorHealth = new boolean[numEnemies];
+		weakpointIsCoveredByHeavyArmor = new boolean[numEnemies];
+		armorStrength = new double[numEnemies];
+		armorBaseHealth = new double[numEnemies];
+		numArmorStrengthPlates = new double[numEnemies];
+		numArmorHealthPlates = new double[numEnemies];
+		armorModel = new int[numEnemies];
+		
+		int breakableArmorCount = 0;
+		Enemy alias;
+		for (int i = 0; i < numEnemies; i++) {
+			alias = enemies[i];
+			
+			exactSpawnProbability[i] = alias.getSpawnProbability(true);
+			baseHealth[i] = alias.getBaseHealth();
+			usesNormalScaling[i] = alias.usesNormalScaling();
+			
+			explosiveMultiplier[i] = 1.0 - alias.getExplosiveResistance();
+			fireMultiplier[i] = 1.0 - alias.getFireResistance();
+			frostMultiplier[i] = 1.0 - alias.getFrostResistance();
+			electricMultiplier[i] = 1.0 - alias.getElectricResistance();
+			
+			shouldHaveBreakpointsCalculated[i] = alias.shouldHaveBreakpointsCalculated();
+			isMacteraType[i] = alias.isMacteraType();
+			hasExposedBodySomewhere[i] = alias.hasExposedBodySomewhere();
+			hasWeakpoint[i] = alias.hasWeakpoint();
+			weakpointMultiplier[i] = alias.getWeakpointMultiplier();
+			
+			igniteTemp[i] = alias.getIgniteTemp();
+			douseTemp[i] = alias.getDouseTemp();
+			coolingRate[i] = alias.getCoolingRate();
+			
+			hasBreakableArmor[i] = alias.hasBreakableArmor();
+			if (hasBreakableArmor[i]) {
+				breakableArmorCount++;
+			}
+			hasLightArmor[i] = alias.hasLightArmor();
+			hasHeavyArmorStrength[i] = alias.hasHeavyArmorStrength();
+			hasHeavyArmorHealth[i] = alias.hasHeavyArmorHealth();
+			weakpointIsCoveredByHeavyArmor[i] = alias.weakpointIsCoveredByHeavyArmor();
+			armorStrength[i] = alias.getArmorStrength();
+			armorBaseHealth[i] = alias.getArmorBaseHealth();
+			numArmorStrengthPlates[i] = alias.getNumArmorStrengthPlates();
+			numArmorHealthPlates[i] = alias.getNumArmorHealthPlates();
+			
+			if (alias instanceof Praetorian) {
+				armorModel[i] = ARMOR_MODEL_PRAETORIAN;
+			}
+			else if (alias instanceof QronarShellback) {
+				armorModel[i] = ARMOR_MODEL_SHELLBACK;
+			}
+			else if (alias instanceof Brundle) {
+				armorModel[i] = ARMOR_MODEL_BRUNDLE;
+			}
+			else {
+				armorModel[i] = ARMOR_MODEL_GENERIC;
+			}
+		}
+		numEnemiesWithBreakableArmor = breakableArmorCount;
+	}
+}
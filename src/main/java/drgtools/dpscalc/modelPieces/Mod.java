@@ -4,14 +4,13 @@ import drgtools.dpscalc.guiPieces.customButtons.ButtonIcons.modIcons;
 
 public class Mod {
 
-	private String name;
-	private String text;
-	private modIcons icon;
-	private int tier;
-	private int index;
-	private boolean selected;
-	private boolean implemented;
-	private boolean ignored;
+	// Every instance of a Weapon class shares the same ones of these, so nothing in here can change after it's built. The Weapon keeps track of which are selected or ignored.
+	private final String name;
+	private final String text;
+	private final modIcons icon;
+	private final int tier;
+	private final int index;
+	private final boolean implemented;
 	
 	public Mod(String modName, String modText, modIcons upgradeType, int tierNumber, int arrayIndex) {
 		this(modName, modText, upgradeType, tierNumber, arrayIndex, true);
@@ -23,9 +22,7 @@ public class Mod {
 		icon = upgradeType;
 		tier = tierNumber;
 		index = arrayIndex;
-		selected = false;
 		implemented = modImplemented;
-		ignored = false;
 	}
 	
 	public String getName() {
@@ -54,36 +51,10 @@ public class Mod {
 		return index;
 	}
 	
-	public void toggleSelected() {
-		if (selected) {
-			selected = false;
-		}
-		else {
-			selected = true;
-			ignored = false;
-		}
-	}
-	public boolean isSelected() {
-		return selected;
-	}
-	
 	public boolean isImplemented() {
 		return implemented;
 	}
 	
-	public void toggleIgnored() {
-		if (ignored) {
-			ignored = false;
-		}
-		else {
-			ignored = true;
-			selected = false;
-		}
-	}
-	public boolean isIgnored() {
-		return ignored;
-	}
-	
 	public char getLetterRepresentation() {
 		switch (index) {
 			case 0: {
@@ -6,14 +6,13 @@ public class Overclock {
 
 	public enum classification{clean, balanced, unstable};
 	
-	private classification overclockType;
-	private String name;
-	private String text;
-	private overclockIcons icon;
-	private int index;
-	private boolean selected;
-	private boolean implemented;
-	private boolean ignored;
+	// Every instance of a Weapon class shares the same ones of these, so nothing in here can change after it's built. The Weapon keeps track of which are selected or ignored.
+	private final classification overclockType;
+	private final String name;
+	private final String text;
+	private final overclockIcons icon;
+	private final int index;
+	private final boolean implemented;
 	
 	public Overclock(classification type, String ocName, String ocText, overclockIcons upgradeType, int arrayIndex) {
 		this(type, ocName, ocText, upgradeType, arrayIndex, true);
@@ -25,9 +24,7 @@ public class Overclock {
 		text = ocText;
 		icon = upgradeType;
 		index = arrayIndex;
-		selected = false;
 		implemented = ocImplemented;
-		ignored = false;
 	}
 	
 	public classification getType() {
@@ -56,36 +53,10 @@ public class Overclock {
 		return index;
 	}
 	
-	public void toggleSelected() {
-		if (selected) {
-			selected = false;
-		}
-		else {
-			selected = true;
-			ignored = false;
-		}
-	}
-	public boolean isSelected() {
-		return selected;
-	}
-	
 	public boolean isImplemented() {
 		return implemented;
 	}
 	
-	public void toggleIgnored() {
-		if (ignored) {
-			ignored = false;
-		}
-		else {
-			ignored = true;
-			selected = false;
-		}
-	}
-	public boolean isIgnored() {
-		return ignored;
-	}
-	
 	public String getShortcutRepresentation() {
 		return "" + (index + 1);
 	}
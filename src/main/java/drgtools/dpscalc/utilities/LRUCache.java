@@ -0,0 +1,43 @@
+package drgtools.dpscalc.utilities;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class LRUCache<K, V> extends LinkedHashMap<K, V> {
+	private static final long serialVersionUID = 1L;
+	
+	private int maxEntries;
+	private long hits, misses;
+	
+	public LRUCache(int maximumNumberOfEntries) {
+		// Setting accessOrder=true makes get() move the entry to the end, so the eldest entry is always the least-recently used one.
+		super(16, 0.75f, true);
+		maxEntries = maximumNumberOfEntries;
+		hits = 0;
+		misses = 0;
+	}
+	
+	// Same as get(), but it also keeps count of how often the cache was useful
+	public V lookup(K key) {
+		V toReturn = get(key);
+		if (toReturn == null) {
+			misses++;
+		}
+		else {
+			hits++;
+		}
+		return toReturn;
+	}
+	
+	public long getHits() {
+		return hits;
+	}
+	public long getMisses() {
+		return misses;
+	}
+	
+	@Override
+	protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+		return size() > maxEntries;
+	}
+}
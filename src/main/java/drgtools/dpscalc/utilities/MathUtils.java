@@ -2,12 +2,35 @@ package drgtools.dpscalc.utilities;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.util.ArrayList;
 
 public class MathUtils {
+	private static final double[] powersOfTen = {1.0, 10.0, 100.0, 1000.0, 10000.0, 100000.0, 1000000.0, 10000000.0, 100000000.0};
+	
 	public static double round(double value, int places) {
 		if (places < 0) throw new IllegalArgumentException();
-		 
+		
+		/*
+			Breakpoints call this once per shot per enemy, so going through BigDecimal every time adds up. As long as the digit being rounded off isn't
+			right next to a 5 (where the rounding error from the multiplication could matter), rounding the scaled-up double directly lands on the exact
+			same integer that BigDecimal would have, and dividing that integer back down gives the exact same double too. Ties, huge numbers, NaN, and
+			Infinity all still go the long way.
+		*/
+		if (places < powersOfTen.length) {
+			double scale = powersOfTen[places];
+			double scaled = Math.abs(value) * scale;
+			if (scaled < 1e9) {
+				double whole = Math.floor(scaled);
+				double fraction = scaled - whole;
+				if (Math.abs(fraction - 0.5) > 1e-5) {
+					if (fraction > 0.5) {
+						whole += 1.0;
+					}
+					// Adding 0.0 turns -0.0 into 0.0, the same as BigDecimal does
+					return Math.copySign(whole / scale, value) + 0.0;
+				}
+			}
+		}
+		
 	    BigDecimal bd = new BigDecimal(Double.toString(value));
 	    bd = bd.setScale(places, RoundingMode.HALF_UP);
 	    return bd.doubleValue();
@@ -74,6 +97,37 @@ public class MathUtils {
 		return sum;
 	}
 	
+	/*
+		Null means "calculate them exactly", which is what the GUI always does. Batch exports can switch to the lookup tables instead, trading a tiny bit of 
+		precision (never more than the error bound it gets built with) for skipping the Math.exp() and Math.pow() calls in the two functions below.
+	*/
+	private static NormalDistributionTable normalDistributionTable = null;
+	
+	public static void useNormalDistributionLookupTable(double maxAbsoluteError) {
+		// Input sanitization: much smaller than this and the tables would need millions of entries
+		if (maxAbsoluteError >= 1e-12 && maxAbsoluteError <= 1e-2) {
+			normalDistributionTable = new NormalDistributionTable(maxAbsoluteError);
+		}
+		else {
+			System.out.println("The Normal Distribution lookup table's error bound has to be between 1e-12 and 1e-2, not " + maxAbsoluteError);
+		}
+	}
+	public static void useExactNormalDistribution() {
+		normalDistributionTable = null;
+	}
+	public static boolean isUsingNormalDistributionLookupTable() {
+		return normalDistributionTable != null;
+	}
+	// The worst difference between the lookup table and the exact functions that the table found when it checked itself; -1 when not using the table
+	public static double getNormalDistributionLookupTableError() {
+		if (normalDistributionTable != null) {
+			return normalDistributionTable.getMeasuredError();
+		}
+		else {
+			return -1;
+		}
+	}
+	
 	public static double probabilityInNormalDistribution(double minValue, double maxValue, double inputValue) {
 		// Input Sanitization
 		if (minValue >= maxValue) {
@@ -87,10 +141,19 @@ public class MathUtils {
 		double x = 6.0 * (inputValue - minValue) / (maxValue - minValue) - 2.0;
 		
 		// Step 2: input X into the equation e^(-1/2(x-1)^2)/sqrt(2Pi)
+		if (normalDistributionTable != null) {
+			return normalDistributionTable.bellCurve(x);
+		}
+		else {
+			return exactBellCurve(x);
+		}
+	}
+	static double exactBellCurve(double x) {
 		return Math.exp(-0.5 * Math.pow(x - 1.0, 2)) / Math.sqrt(2.0 * Math.PI);
 	}
 	
-	private static double erf(double x) {
+	// Package-private so that NormalDistributionTableTest can check the lookup table against it
+	static double erf(double x) {
 		// erf can't be expressed precisely, so I'm using a quick-and-dirty numerical approximation.
 		// Sourced from https://en.wikipedia.org/wiki/Error_function#Numerical_approximations
 		boolean xWasNegative = false;
@@ -109,13 +172,13 @@ public class MathUtils {
 			}
 		}
 		
-		double a = 0.278393 * x;
-		double b = 0.230389 * Math.pow(x, 2);
-		double c = 0.000972 * Math.pow(x, 3);
-		double d = 0.078108 * Math.pow(x, 4);
-		
-		double sum = 1.0 + a + b + c + d;
-		double toReturn = 1.0 - (1.0 / Math.pow(sum, 4));
+		double toReturn;
+		if (normalDistributionTable != null) {
+			toReturn = normalDistributionTable.positiveErf(x);
+		}
+		else {
+			toReturn = exactPositiveErf(x);
+		}
 		
 		if (xWasNegative) {
 			return -1.0 * toReturn;
@@ -124,6 +187,16 @@ public class MathUtils {
 			return toReturn;
 		}
 	}
+	// x has to be in [0, 2]
+	static double exactPositiveErf(double x) {
+		double a = 0.278393 * x;
+		double b = 0.230389 * Math.pow(x, 2);
+		double c = 0.000972 * Math.pow(x, 3);
+		double d = 0.078108 * Math.pow(x, 4);
+		
+		double sum = 1.0 + a + b + c + d;
+		return 1.0 - (1.0 / Math.pow(sum, 4));
+	}
 	
 	public static double areaUnderNormalDistribution(double low, double high) {
 		if (low > high) {
@@ -140,109 +213,54 @@ public class MathUtils {
 		return highCDF - lowCDF;
 	}
 	
-	private static ArrayList<Integer> factorialArrayList(int x) {
-		if (x < 0) {
-			return null;
-		}
-		
-		ArrayList<Integer> toReturn = new ArrayList<Integer>();
-		if (x == 0 || x == 1) {
-			toReturn.add(1);
-		}
-		else {
-			for (int i = x; i > 1; i--) {
-				toReturn.add(i);
-			}
-		}
-		return toReturn;
-	}
-	
-	// Only need primes <= 33 for choose(N, x)
-	private static int[] primeNumbersLessThanThirtyThree = {2, 3, 5, 7, 11, 13, 17, 19, 23, 29, 31};
-	// Adapted from https://www.vogella.com/tutorials/JavaAlgorithmsPrimeFactorization/article.html
-	private static int[] convertNumberToPrimeFactors(int n) {
-		int[] toReturn = new int[primeNumbersLessThanThirtyThree.length];
-		
-		int currentPrime;
-        for (int i = 0; i < primeNumbersLessThanThirtyThree.length; i++) {
-        	currentPrime = primeNumbersLessThanThirtyThree[i];
-        	while (n > 1 && n % currentPrime == 0) {
-                toReturn[i]++;
-                n /= currentPrime;
-            }
-        }
-        
-        return toReturn;
-	}
-	
-	private static int convertPrimeFactorsToNumber(int[] factors) {
-		double toReturn = 1.0;
-		for (int i = 0; i < primeNumbersLessThanThirtyThree.length; i++) {
-			if (factors[i] != 0) {
-				toReturn *= Math.pow(primeNumbersLessThanThirtyThree[i], factors[i]);
-			}
-		}
-		return (int) round(toReturn, 2);
-	}
-	
-	private static int[] primeFactorMultiply(ArrayList<Integer> numbers) {
-		int toReturn[] = new int[primeNumbersLessThanThirtyThree.length];
-		int[] primeFactors;
-		int j;
-		for (int i = 0; i < numbers.size(); i++) {
-			primeFactors = convertNumberToPrimeFactors(numbers.get(i));
-			for(j = 0; j < primeFactors.length; j++) {
-				toReturn[j] += primeFactors[j];
-			}
-		}
-		return toReturn;
-	}
-	
-	private static int primeFactorDivide(int[] numerator, int[] denominator) {
-		int toReturn[] = new int[primeNumbersLessThanThirtyThree.length];
-		
-		for (int i = 0; i < toReturn.length; i++) {
-			toReturn[i] = numerator[i] - denominator[i];
-		}
-		
-		return convertPrimeFactorsToNumber(toReturn);
-	}
-	
 	public static int choose(int N, int x) {
 		// N! / (x! * (N - x)!)
 		if (N < 0 || x < 0 || x > N) {
 			return -1;
 		}
 		
-		// From testing, I found that int overflows at N == 34 && 16 <= x <= 18
+		// From testing, I found that int overflows at N == 34 && 16 <= x <= 18. Use logChoose() for anything bigger than that.
 		if (N > 33) {
 			return -1;
 		}
 		
-		// First, identify which half of the denominator will cancel out more of the numerator
-		int largerDenominator, smallerDenominator, i;
-		if (x > N - x) {
-			largerDenominator = x;
-			smallerDenominator = N - x;
-		}
-		else {
-			largerDenominator = N - x;
-			smallerDenominator = x;
+		/*
+			Multiplying by (N - i) and then dividing by (i + 1) one step at a time means every partial result is (N choose i+1), which is always a whole 
+			number, so the division is exact. With N <= 33, none of those steps come anywhere close to overflowing a long.
+		*/
+		int smallerDenominator = Math.min(x, N - x);
+		long toReturn = 1;
+		for (int i = 0; i < smallerDenominator; i++) {
+			toReturn = toReturn * (N - i) / (i + 1);
+		}
+		return (int) toReturn;
+	}
+	
+	// ln(N choose x), for when N is too big for choose() to fit in an int
+	public static double logChoose(int N, int x) {
+		if (N < 0 || x < 0 || x > N) {
+			return Double.NaN;
 		}
-		
-		// Second, cancel that factorial out of both the numerator and denominator
-		ArrayList<Integer> numerator = new ArrayList<Integer>();
-		for (i = N; i > largerDenominator; i--) {
-			numerator.add(i);
+		if (N <= 33) {
+			return Math.log(choose(N, x));
 		}
-		ArrayList<Integer> denominator = factorialArrayList(smallerDenominator);
-		
-		// Third, evaluate the numerator and denominator into its prime factors
-		int[] numeratorProduct = primeFactorMultiply(numerator);
-		int[] denominatorProduct = primeFactorMultiply(denominator);
-		
-		// Finally, divide the two and convert it back to an int
-		return primeFactorDivide(numeratorProduct, denominatorProduct);
+		return logGamma(N + 1) - logGamma(x + 1) - logGamma(N - x + 1);
+	}
+	
+	// Lanczos approximation with g = 7, good to about 15 significant digits. Sourced from https://en.wikipedia.org/wiki/Lanczos_approximation
+	private static final double[] lanczosCoefficients = {
+		0.99999999999980993, 676.5203681218851, -1259.1392167224028, 771.32342877765313, -176.61502916214059, 
+		12.507343278686905, -0.13857109526572012, 9.9843695780195716e-6, 1.5056327351493116e-7
+	};
+	public static double logGamma(double x) {
+		// Only valid for x >= 0.5, which is all that logChoose() ever needs
+		x -= 1.0;
+		double sum = lanczosCoefficients[0];
+		for (int i = 1; i < lanczosCoefficients.length; i++) {
+			sum += lanczosCoefficients[i] / (x + i);
+		}
+		double t = x + 7.5;
+		return 0.5 * Math.log(2.0 * Math.PI) + (x + 0.5) * Math.log(t) - t + Math.log(sum);
 	}
 	
 	// This will calculate the probability that there are AT LEAST desiredNumberSuccesses successes across the total numberOfTrials
@@ -256,14 +274,44 @@ public class MathUtils {
 			return -1.0;
 		}
 		
-		// This needs to total up the probability of all results where numberOfSucceses >= desiredNumberOfSuccesses
-		double totalProbability = 0.0;
-		
-		for (int i = desiredNumberSuccesses; i < numberOfTrials + 1; i++) {
-			totalProbability += binomialProbability(probabilityOfSuccess, numberOfTrials, i);
+		// Early exits for the cases where the recurrence below would divide by zero
+		if (desiredNumberSuccesses == 0 || probabilityOfSuccess == 1.0) {
+			return 1.0;
+		}
+		if (probabilityOfSuccess == 0.0) {
+			return 0.0;
 		}
 		
-		return totalProbability;
+		/*
+			Instead of calculating every term of the sum from scratch, each one is the one next to it times a simple ratio:
+				P(k+1) = P(k) * (N - k) / (k + 1) * p / (1 - p)
+			
+			The terms get smaller and smaller moving away from the most likely number of successes, so it always starts from the end closest to that and works 
+			outwards. If the desired number is past the most likely number, it adds up the tail directly; otherwise it adds up the other side and subtracts 
+			that from 1. Either way, if the very first term is too small for a double then every term after it is too, so huge N can't make it fall apart.
+		*/
+		double oddsOfSuccess = probabilityOfSuccess / (1.0 - probabilityOfSuccess);
+		int mostLikelyNumberOfSuccesses = (int) Math.floor((numberOfTrials + 1) * probabilityOfSuccess);
+		double currentTerm, totalProbability = 0.0;
+		int k;
+		if (desiredNumberSuccesses > mostLikelyNumberOfSuccesses) {
+			currentTerm = binomialProbability(probabilityOfSuccess, numberOfTrials, desiredNumberSuccesses);
+			for (k = desiredNumberSuccesses; k <= numberOfTrials; k++) {
+				totalProbability += currentTerm;
+				currentTerm *= (numberOfTrials - k) / (k + 1.0) * oddsOfSuccess;
+			}
+			
+			return totalProbability;
+		}
+		else {
+			currentTerm = binomialProbability(probabilityOfSuccess, numberOfTrials, desiredNumberSuccesses - 1);
+			for (k = desiredNumberSuccesses - 1; k >= 0; k--) {
+				totalProbability += currentTerm;
+				currentTerm *= k / (numberOfTrials - k + 1.0) / oddsOfSuccess;
+			}
+			
+			return 1.0 - totalProbability;
+		}
 	}
 	
 	// This method is adapted from http://onlinestatbook.com/2/probability/binomial.html
@@ -276,6 +324,18 @@ public class MathUtils {
 			return -1.0;
 		}
 		
+		if (numberOfTrials > 33) {
+			// choose() can't go this high, so this does the same formula in log space instead. 0% and 100% have to be handled first because ln(0) is -Infinity.
+			if (probabilityOfSuccess == 0.0) {
+				return (desiredNumberSuccesses == 0) ? 1.0 : 0.0;
+			}
+			if (probabilityOfSuccess == 1.0) {
+				return (desiredNumberSuccesses == numberOfTrials) ? 1.0 : 0.0;
+			}
+			
+			return Math.exp(logChoose(numberOfTrials, desiredNumberSuccesses) + desiredNumberSuccesses * Math.log(probabilityOfSuccess) + (numberOfTrials - desiredNumberSuccesses) * Math.log1p(-probabilityOfSuccess));
+		}
+		
 		// http://onlinestatbook.com/2/probability/graphics/binomial_formula.gif
 		double NchooseX = choose(numberOfTrials, desiredNumberSuccesses);
 		double probabilityOfSuccesses = Math.pow(probabilityOfSuccess, desiredNumberSuccesses);
@@ -0,0 +1,110 @@
+package drgtools.dpscalc.utilities;
+
+/*
+	Lookup tables with linear interpolation for the two Normal Distribution functions in MathUtils, for when they get called so many times that Math.exp()
+	and Math.pow() start to show up in the timings. Every value in these tables comes from the exact functions in MathUtils, so the only error introduced is
+	from interpolating in between them, and the constructor checks that error against the bound it was given before the table can be used.
+*/
+class NormalDistributionTable {
+	// probabilityInNormalDistribution() always maps its input onto [-2, 4], and erf() is exactly 1.0 past 2, so these are the only ranges that need a table.
+	private static final double bellCurveMin = -2.0, bellCurveMax = 4.0;
+	private static final double erfMax = 2.0;
+	
+	/*
+		Linear interpolation is off by at most (step^2 / 8) * max|f''(x)| in any interval. The bell curve's second derivative never gets bigger than
+		1/sqrt(2 Pi) ~ 0.399, and erf's never gets bigger than about 0.968, so these get rounded up to leave a little room.
+	*/
+	private static final double bellCurveMaxSecondDerivative = 0.4;
+	private static final double erfMaxSecondDerivative = 1.0;
+	
+	private double maxAbsoluteError;
+	private double measuredError;
+	
+	private int numBellCurveIntervals, numErfIntervals;
+	private double bellCurveIntervalsPerUnit, erfIntervalsPerUnit;
+	private double[] bellCurveValues, erfValues;
+	
+	NormalDistributionTable(double maxError) {
+		maxAbsoluteError = maxError;
+		
+		numBellCurveIntervals = numIntervalsNeeded(bellCurveMax - bellCurveMin, bellCurveMaxSecondDerivative);
+		numErfIntervals = numIntervalsNeeded(erfMax, erfMaxSecondDerivative);
+		buildTables();
+		
+		// The bound above should always be enough, but just in case it isn't, keep doubling the resolution until every interval checks out.
+		while (measuredError > maxAbsoluteError) {
+			numBellCurveIntervals *= 2;
+			numErfIntervals *= 2;
+			buildTables();
+		}
+	}
+	
+	private int numIntervalsNeeded(double width, double maxSecondDerivative) {
+		double largestStep = Math.sqrt(8.0 * maxAbsoluteError / maxSecondDerivative);
+		return Math.max((int) Math.ceil(width / largestStep), 1);
+	}
+	
+	private void buildTables() {
+		int i;
+		bellCurveIntervalsPerUnit = numBellCurveIntervals / (bellCurveMax - bellCurveMin);
+		bellCurveValues = new double[numBellCurveIntervals + 1];
+		for (i = 0; i <= numBellCurveIntervals; i++) {
+			bellCurveValues[i] = MathUtils.exactBellCurve(bellCurveMin + i / bellCurveIntervalsPerUnit);
+		}
+		
+		erfIntervalsPerUnit = numErfIntervals / erfMax;
+		erfValues = new double[numErfIntervals + 1];
+		for (i = 0; i <= numErfIntervals; i++) {
+			erfValues[i] = MathUtils.exactPositiveErf(i / erfIntervalsPerUnit);
+		}
+		
+		measuredError = measureError();
+	}
+	
+	/*
+		Compares the table against the exact functions at a few points inside of every interval, which is where the interpolation error is at its worst
+		(it's always 0 at the points that got stored).
+	*/
+	private double measureError() {
+		double[] fractionsToCheck = {0.25, 0.5, 0.75};
+		double worstError = 0.0;
+		double x;
+		int i;
+		for (i = 0; i < numBellCurveIntervals; i++) {
+			for (double fraction: fractionsToCheck) {
+				x = bellCurveMin + (i + fraction) / bellCurveIntervalsPerUnit;
+				worstError = Math.max(worstError, Math.abs(bellCurve(x) - MathUtils.exactBellCurve(x)));
+			}
+		}
+		for (i = 0; i < numErfIntervals; i++) {
+			for (double fraction: fractionsToCheck) {
+				x = (i + fraction) / erfIntervalsPerUnit;
+				worstError = Math.max(worstError, Math.abs(positiveErf(x) - MathUtils.exactPositiveErf(x)));
+			}
+		}
+		return worstError;
+	}
+	
+	double getMeasuredError() {
+		return measuredError;
+	}
+	
+	// x has to be in [-2, 4]
+	double bellCurve(double x) {
+		return interpolate(bellCurveValues, numBellCurveIntervals, (x - bellCurveMin) * bellCurveIntervalsPerUnit);
+	}
+	
+	// x has to be in [0, 2]
+	double positiveErf(double x) {
+		return interpolate(erfValues, numErfIntervals, x * erfIntervalsPerUnit);
+	}
+	
+	private double interpolate(double[] values, int numIntervals, double position) {
+		int i = (int) position;
+		if (i >= numIntervals) {
+			return values[numIntervals];
+		}
+		double fraction = position - i;
+		return values[i] + fraction * (values[i + 1] - values[i]);
+	}
+}
@@ -3,21 +3,28 @@ package drgtools.dpscalc.weapons;
 import java.awt.image.BufferedImage;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.List;
+import java.util.HashMap;
 import java.util.Observable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 import javax.swing.JPanel;
 
 import drgtools.dpscalc.enemies.Enemy;
 import drgtools.dpscalc.guiPieces.AoEVisualizer;
 import drgtools.dpscalc.guiPieces.GuiConstants;
+import drgtools.dpscalc.guiPieces.WeaponPictures;
 import drgtools.dpscalc.guiPieces.customButtons.ButtonIcons.modIcons;
 import drgtools.dpscalc.modelPieces.AccuracyEstimator;
+import drgtools.dpscalc.modelPieces.BuildID;
+import drgtools.dpscalc.modelPieces.DifficultyContext;
+import drgtools.dpscalc.modelPieces.DifficultyIndependentMetrics;
 import drgtools.dpscalc.modelPieces.EnemyInformation;
 import drgtools.dpscalc.modelPieces.Mod;
 import drgtools.dpscalc.modelPieces.Overclock;
 import drgtools.dpscalc.modelPieces.StatsRow;
 import drgtools.dpscalc.utilities.ConditionalArrayList;
+import drgtools.dpscalc.utilities.LRUCache;
 import drgtools.dpscalc.utilities.MathUtils;
 import drgtools.dpscalc.utilities.Point2D;
 
@@ -28,7 +35,8 @@ public abstract class Weapon extends Observable {
 	****************************************************************************************/
 	
 	protected String fullName = "";
-	protected BufferedImage weaponPic;
+	// Filepath from WeaponPictures, so that the picture only gets loaded if the GUI displays it
+	protected String weaponPic;
 	protected boolean customizableRoF = false;
 	// This value gets set back to 0 after every mod/OC selection so that changing the build resets CustomRoF to max RoF, and once the user has settled on a build they can tweak the RoF via the GUI.
 	// It may feel frustrating for the user, but it neatly sidesteps an issue where the CustomRoF could be greater than the new Max RoF and artificially inflates the DPS stats.
@@ -53,6 +61,10 @@ public abstract class Weapon extends Observable {
 	
 	protected Overclock[] overclocks;
 	protected int selectedOverclock;
+	// Which Mods and Overclocks have been right-clicked to leave them out of Best Combinations (Subset). The Mod and Overclock objects get shared by every instance
+	// of the same Weapon class (see loadModsAndOverclocks()), so this can't be stored inside of them. Left null until something gets ignored, and clones don't copy it.
+	private boolean[][] ignoredMods = null;
+	private boolean[] ignoredOverclocks = null;
 	
 	// AoE Radius, AoE Efficiency Coefficient, Total num Grunts hit in AoE radius
 	protected double[] aoeEfficiency;
@@ -87,17 +99,32 @@ public abstract class Weapon extends Observable {
 	protected boolean enableGeneralAccuracyDPS = false;
 	protected boolean enableArmorWastingDPS = false;
 	
-	// The only legitimate values for these two variables are -1 and [0, 100], so setting them to -100 lets me know later if these values have been set or not.
-	private double metric_generalAccuracy = -100;
-	private double metric_weakpointAccuracy = -100;
+	// Every metric shown in the GUI gets stored here the first time it's calculated for a build, so that flipping back and forth between mods doesn't recalculate everything.
+	private LRUCache<MetricCacheKey, CachedMetrics> metricCache = new LRUCache<MetricCacheKey, CachedMetrics>(256);
+	// This is the cache entry for the current build and settings. Any setter that changes part of the cache key has to set this back to null.
+	private CachedMetrics currentMetrics = null;
+	// See getIntermediate()
+	private HashMap<String, IntermediateValue> intermediates = new HashMap<String, IntermediateValue>();
 	
 	protected double[] baselineBurstDPS;
 	protected double[] baselineSustainedDPS;
 	protected double[] baselineCalculatedStats;
+	// The AoEVisualizer is a JPanel, so only the numbers it needs get saved here and the panel itself only gets built when the GUI asks for it.
+	private double illustrationRadius;
+	private ArrayList<Point2D> illustrationGlyphidCenters = null;
 	private AoEVisualizer illustration = null;
 	
 	protected AccuracyEstimator accEstimator = new AccuracyEstimator();
 	
+	// If this is left null, the Weapon uses whatever Hazard Level and Player Count are currently selected in the GUI.
+	private DifficultyContext difficulty = null;
+	// Batch exports across every difficulty hand this to their clones so that the metrics which don't change with difficulty only get calculated once per build
+	private DifficultyIndependentMetrics difficultyIndependentMetrics = null;
+	// For each of the 15 metric indexes, which tiers can change its value: "1" through "5" for the mod tiers and "O" for the overclock. Null means all of them.
+	protected String[] metricDependencies = null;
+	// Same idea, but for what setAoEEfficiency() reads. Only used by the Weapons that deal splash damage.
+	protected String aoeEfficiencyDependencies = null;
+	
 	/****************************************************************************************
 	* Build from combination
 	****************************************************************************************/
@@ -116,9 +143,15 @@ public abstract class Weapon extends Observable {
 			return false;
 		}
 		
-		boolean combinationIsValid = true;
 		invalidCombinationMessage = "<br/>";
 		
+		// Almost every combination that gets checked is valid, so check that first without building any of the error text below.
+		if (isBuildIDValid(BuildID.fromCombination(combination))) {
+			return true;
+		}
+		
+		boolean combinationIsValid = true;
+		
 		/**********************************************************************
 		* First check: does the new combination contain exactly 6 characters?
 		***********************************************************************/
@@ -133,16 +166,14 @@ public abstract class Weapon extends Observable {
 		* and the 6th character a number 1-7 or a hyphen?
 		***********************************************************************/
 		char[] symbols = combination.toCharArray();
-		List<Character> validModSymbols = Arrays.asList(new Character[] {'A', 'B', 'C', '-'});
 		for (int i = 0; i < 5; i ++) {
-			if (!validModSymbols.contains(symbols[i])) {
+			if ((symbols[i] < 'A' || symbols[i] > 'C') && symbols[i] != '-') {
 				invalidCombinationMessage += "Character #" + (i+1) + ", '" + symbols[i] + "', is not a capital letter between A-C or a hyphen.<br/>";
 				combinationIsValid = false;
 			}
 		}
 		
-		List<Character> validOverclockSymbols = Arrays.asList(new Character[] {'1', '2', '3', '4', '5', '6', '7', '-'});
-		if (!validOverclockSymbols.contains(symbols[5])) {
+		if ((symbols[5] < '1' || symbols[5] > '7') && symbols[5] != '-') {
 			invalidCombinationMessage += "Character #6, '" + symbols[5] + "', is not a number between 1-7 or a hyphen.<br/>";
 			combinationIsValid = false;
 		}
@@ -209,143 +240,72 @@ public abstract class Weapon extends Observable {
 		return buildFromCombination(combination, true);
 	}
 	public boolean buildFromCombination(String combination, boolean updateGUI) {
-		boolean combinationIsValid = isCombinationValid(combination);
-		
-		if (!combinationIsValid) {
+		if (!isCombinationValid(combination)) {
 			// Return False to indicate that the build requested by the input combination is not possible.
 			return false;
 		}
-		else {
-			// This section of the code relies entirely on isCombinationValid() doing proper input santization and validation.
-			char[] symbols = combination.toCharArray();
-			
-			// Start by setting all mods/OC to -1 so that no matter what the old build was, the new build will go through with no problem.
-			setSelectedModAtTier(1, -1, false);
-			setSelectedModAtTier(2, -1, false);
-			setSelectedModAtTier(3, -1, false);
-			setSelectedModAtTier(4, -1, false);
-			setSelectedModAtTier(5, -1, false);
-			setSelectedOverclock(-1, false);
-			
-			// Because they're already set to -1 above, these switch statements don't need to account for the hyphen case.
-			switch (symbols[0]) {
-				case 'A': {
-					setSelectedModAtTier(1, 0, false);
-					break;
-				}
-				case 'B': {
-					setSelectedModAtTier(1, 1, false);
-					break;
-				}
-				case 'C': {
-					setSelectedModAtTier(1, 2, false);
-					break;
-				}
-			}
-			
-			switch (symbols[1]) {
-				case 'A': {
-					setSelectedModAtTier(2, 0, false);
-					break;
-				}
-				case 'B': {
-					setSelectedModAtTier(2, 1, false);
-					break;
-				}
-				case 'C': {
-					setSelectedModAtTier(2, 2, false);
-					break;
-				}
-			}
-			
-			switch (symbols[2]) {
-				case 'A': {
-					setSelectedModAtTier(3, 0, false);
-					break;
-				}
-				case 'B': {
-					setSelectedModAtTier(3, 1, false);
-					break;
-				}
-				case 'C': {
-					setSelectedModAtTier(3, 2, false);
-					break;
-				}
-			}
-			
-			switch (symbols[3]) {
-				case 'A': {
-					setSelectedModAtTier(4, 0, false);
-					break;
-				}
-				case 'B': {
-					setSelectedModAtTier(4, 1, false);
-					break;
-				}
-				case 'C': {
-					setSelectedModAtTier(4, 2, false);
-					break;
-				}
-			}
-			
-			switch (symbols[4]) {
-				case 'A': {
-					setSelectedModAtTier(5, 0, false);
-					break;
-				}
-				case 'B': {
-					setSelectedModAtTier(5, 1, false);
-					break;
-				}
-				case 'C': {
-					setSelectedModAtTier(5, 2, false);
-					break;
-				}
-			}
-			
-			switch (symbols[5]) {
-				case '1': {
-					setSelectedOverclock(0, false);
-					break;
-				}
-				case '2': {
-					setSelectedOverclock(1, false);
-					break;
-				}
-				case '3': {
-					setSelectedOverclock(2, false);
-					break;
-				}
-				case '4': {
-					setSelectedOverclock(3, false);
-					break;
-				}
-				case '5': {
-					setSelectedOverclock(4, false);
-					break;
-				}
-				case '6': {
-					setSelectedOverclock(5, false);
-					break;
-				}
-				case '7': {
-					setSelectedOverclock(6, false);
-					break;
+		
+		return buildFromID(BuildID.fromCombination(combination), updateGUI);
+	}
+	
+	public int getBuildID() {
+		return BuildID.pack(selectedTier1, selectedTier2, selectedTier3, selectedTier4, selectedTier5, selectedOverclock);
+	}
+	// Same as the third check in isCombinationValid(), just without explaining what's wrong
+	public boolean isBuildIDValid(int buildID) {
+		return buildID >= 0 && buildID < BuildID.numBuildIDs && modsAndOCsInitialized
+			&& BuildID.getModAtTier(buildID, 1) < tier1.length && BuildID.getModAtTier(buildID, 2) < tier2.length && BuildID.getModAtTier(buildID, 3) < tier3.length
+			&& BuildID.getModAtTier(buildID, 4) < tier4.length && BuildID.getModAtTier(buildID, 5) < tier5.length && BuildID.getOverclock(buildID) < overclocks.length;
+	}
+	/*
+		Jumps straight to the whole build at once. Going through setSelectedModAtTier() and setSelectedOverclock() for each tier would re-calculate the AoE Efficiency
+		and Armor Wasting for every one of them, and has to un-set every tier first so that the toggling doesn't un-equip anything.
+	*/
+	public boolean buildFromID(int buildID, boolean updateGUI) {
+		if (!isBuildIDValid(buildID)) {
+			return false;
+		}
+		
+		selectBuild(buildID);
+		
+		// Un-set these values for the new build
+		currentMetrics = null;
+		customRoF = 0;
+		
+		if (currentlyDealsSplashDamage()) {
+			setAoEEfficiency();
+		}
+		
+		damageWastedByArmor();
+		
+		if (updateGUI && countObservers() > 0) {
+			setChanged();
+			notifyObservers();
+		}
+		
+		// Return True to let other objects know that they have successfully edited this Weapon's build
+		return true;
+	}
+	// Only sets the selections; whoever calls this is in charge of re-calculating everything that depends on them.
+	private void selectBuild(int buildID) {
+		selectedTier1 = BuildID.getModAtTier(buildID, 1);
+		selectedTier2 = BuildID.getModAtTier(buildID, 2);
+		selectedTier3 = BuildID.getModAtTier(buildID, 3);
+		selectedTier4 = BuildID.getModAtTier(buildID, 4);
+		selectedTier5 = BuildID.getModAtTier(buildID, 5);
+		selectedOverclock = BuildID.getOverclock(buildID);
+		
+		// Same as the setters, equipping something makes it eligible for Best Combinations (Subset) again
+		if (ignoredMods != null) {
+			int[] selections = {selectedTier1, selectedTier2, selectedTier3, selectedTier4, selectedTier5};
+			for (int i = 0; i < 5; i++) {
+				if (selections[i] > -1) {
+					ignoredMods[i][selections[i]] = false;
 				}
 			}
-			
-			// Re-set AoE Efficiency
-			if (currentlyDealsSplashDamage()) {
-				setAoEEfficiency();
-			}
-			
-			if (updateGUI && countObservers() > 0) {
-				setChanged();
-				notifyObservers();
-			}
-			
-			// Return True to let other objects know that they have successfully edited this Weapon's build
-			return true;
+		}
+		if (selectedOverclock > -1 && ignoredOverclocks != null) {
+			ignoredOverclocks[selectedOverclock] = false;
 		}
 	}
 	
@@ -386,10 +346,6 @@ public abstract class Weapon extends Observable {
 			switch (tierNumber) {
 				case 1: {
 					if (newSelection > -2 && newSelection < tier1.length) {
-						if (selectedTier1 > -1) {
-							tier1[selectedTier1].toggleSelected();
-						}
-						
 						if (newSelection == selectedTier1) {
 							// If the same mod is selected, that indicates that it's being unequipped. Set tier = -1 to affect the math properly.
 							selectedTier1 = -1;
@@ -397,8 +353,9 @@ public abstract class Weapon extends Observable {
 						else {
 							selectedTier1 = newSelection;
 							
-							if (selectedTier1 > -1) {
-								tier1[selectedTier1].toggleSelected();
+							// Equipping a Mod makes it eligible for Best Combinations (Subset) again
+							if (selectedTier1 > -1 && ignoredMods != null) {
+								ignoredMods[0][selectedTier1] = false;
 							}
 						}
 					}
@@ -409,10 +366,6 @@ public abstract class Weapon extends Observable {
 				}
 				case 2: {
 					if (newSelection > -2 && newSelection < tier2.length) {
-						if (selectedTier2 > -1) {
-							tier2[selectedTier2].toggleSelected();
-						}
-						
 						if (newSelection == selectedTier2) {
 							// If the same mod is selected, that indicates that it's being unequipped. Set tier = -1 to affect the math properly.
 							selectedTier2 = -1;
@@ -420,8 +373,9 @@ public abstract class Weapon extends Observable {
 						else {
 							selectedTier2 = newSelection;
 							
-							if (selectedTier2 > -1) {
-								tier2[selectedTier2].toggleSelected();
+							// Equipping a Mod makes it eligible for Best Combinations (Subset) again
+							if (selectedTier2 > -1 && ignoredMods != null) {
+								ignoredMods[1][selectedTier2] = false;
 							}
 						}
 					}
@@ -432,10 +386,6 @@ public abstract class Weapon extends Observable {
 				}
 				case 3: {
 					if (newSelection > -2 && newSelection < tier3.length) {
-						if (selectedTier3 > -1) {
-							tier3[selectedTier3].toggleSelected();
-						}
-						
 						if (newSelection == selectedTier3) {
 							// If the same mod is selected, that indicates that it's being unequipped. Set tier = -1 to affect the math properly.
 							selectedTier3 = -1;
@@ -443,8 +393,9 @@ public abstract class Weapon extends Observable {
 						else {
 							selectedTier3 = newSelection;
 							
-							if (selectedTier3 > -1) {
-								tier3[selectedTier3].toggleSelected();
+							// Equipping a Mod makes it eligible for Best Combinations (Subset) again
+							if (selectedTier3 > -1 && ignoredMods != null) {
+								ignoredMods[2][selectedTier3] = false;
 							}
 						}
 					}
@@ -455,10 +406,6 @@ public abstract class Weapon extends Observable {
 				}
 				case 4: {
 					if (newSelection > -2 && newSelection < tier4.length) {
-						if (selectedTier4 > -1) {
-							tier4[selectedTier4].toggleSelected();
-						}
-						
 						if (newSelection == selectedTier4) {
 							// If the same mod is selected, that indicates that it's being unequipped. Set tier = -1 to affect the math properly.
 							selectedTier4 = -1;
@@ -466,8 +413,9 @@ public abstract class Weapon extends Observable {
 						else {
 							selectedTier4 = newSelection;
 							
-							if (selectedTier4 > -1) {
-								tier4[selectedTier4].toggleSelected();
+							// Equipping a Mod makes it eligible for Best Combinations (Subset) again
+							if (selectedTier4 > -1 && ignoredMods != null) {
+								ignoredMods[3][selectedTier4] = false;
 							}
 						}
 					}
@@ -478,10 +426,6 @@ public abstract class Weapon extends Observable {
 				}
 				case 5: {
 					if (newSelection > -2 && newSelection < tier5.length) {
-						if (selectedTier5 > -1) {
-							tier5[selectedTier5].toggleSelected();
-						}
-						
 						if (newSelection == selectedTier5) {
 							// If the same mod is selected, that indicates that it's being unequipped. Set tier = -1 to affect the math properly.
 							selectedTier5 = -1;
@@ -489,8 +433,9 @@ public abstract class Weapon extends Observable {
 						else {
 							selectedTier5 = newSelection;
 							
-							if (selectedTier5 > -1) {
-								tier5[selectedTier5].toggleSelected();
+							// Equipping a Mod makes it eligible for Best Combinations (Subset) again
+							if (selectedTier5 > -1 && ignoredMods != null) {
+								ignoredMods[4][selectedTier5] = false;
 							}
 						}
 					}
@@ -502,8 +447,7 @@ public abstract class Weapon extends Observable {
 			}
 			
 			// Un-set these values for the new build
-			metric_generalAccuracy = -100;
-			metric_weakpointAccuracy = -100;
+			currentMetrics = null;
 			customRoF = 0;
 			
 			if (currentlyDealsSplashDamage()) {
@@ -532,7 +476,7 @@ public abstract class Weapon extends Observable {
 							selectedTier1 = -1;
 						}
 						
-						tier1[indexToIgnore].toggleIgnored();
+						toggleIgnoredMod(1, indexToIgnore);
 					}
 					break;
 				}
@@ -543,7 +487,7 @@ public abstract class Weapon extends Observable {
 							selectedTier2 = -1;
 						}
 						
-						tier2[indexToIgnore].toggleIgnored();
+						toggleIgnoredMod(2, indexToIgnore);
 					}
 					break;
 				}
@@ -554,7 +498,7 @@ public abstract class Weapon extends Observable {
 							selectedTier3 = -1;
 						}
 						
-						tier3[indexToIgnore].toggleIgnored();
+						toggleIgnoredMod(3, indexToIgnore);
 					}
 					break;
 				}
@@ -565,7 +509,7 @@ public abstract class Weapon extends Observable {
 							selectedTier4 = -1;
 						}
 						
-						tier4[indexToIgnore].toggleIgnored();
+						toggleIgnoredMod(4, indexToIgnore);
 					}
 					break;
 				}
@@ -576,15 +520,14 @@ public abstract class Weapon extends Observable {
 							selectedTier5 = -1;
 						}
 						
-						tier5[indexToIgnore].toggleIgnored();
+						toggleIgnoredMod(5, indexToIgnore);
 					}
 					break;
 				}
 			}
 			
 			// Un-set these values for the new build
-			metric_generalAccuracy = -100;
-			metric_weakpointAccuracy = -100;
+			currentMetrics = null;
 			customRoF = 0;
 			
 			if (currentlyDealsSplashDamage()) {
@@ -603,15 +546,25 @@ public abstract class Weapon extends Observable {
 		}
 	}
 	
+	private void toggleIgnoredMod(int tierNumber, int indexToIgnore) {
+		if (ignoredMods == null) {
+			ignoredMods = new boolean[][] {new boolean[tier1.length], new boolean[tier2.length], new boolean[tier3.length], new boolean[tier4.length], new boolean[tier5.length]};
+		}
+		ignoredMods[tierNumber - 1][indexToIgnore] = !ignoredMods[tierNumber - 1][indexToIgnore];
+	}
+	// ModButton uses these to decide how to draw itself
+	public boolean isModSelected(int tierNumber, int modIndex) {
+		return modIndex > -1 && getSelectedModAtTier(tierNumber) == modIndex;
+	}
+	public boolean isModIgnored(int tierNumber, int modIndex) {
+		return ignoredMods != null && ignoredMods[tierNumber - 1][modIndex];
+	}
+	
 	public int getSelectedOverclock() {
 		return selectedOverclock;
 	}
 	public void setSelectedOverclock(int newSelection, boolean updateGUI) {
 		if (newSelection > -2 && newSelection < overclocks.length) {
-			if (selectedOverclock > -1) {
-				overclocks[selectedOverclock].toggleSelected();
-			}
-			
 			if (newSelection == selectedOverclock) {
 				// If the same overclock is selected, that indicates that it's being unequipped. Set overclock = -1 to affect the math properly.
 				selectedOverclock = -1;
@@ -619,14 +572,14 @@ public abstract class Weapon extends Observable {
 			else {
 				selectedOverclock = newSelection;
 				
-				if (selectedOverclock > -1) {
-					overclocks[selectedOverclock].toggleSelected();
+				// Equipping an Overclock makes it eligible for Best Combinations (Subset) again
+				if (selectedOverclock > -1 && ignoredOverclocks != null) {
+					ignoredOverclocks[selectedOverclock] = false;
 				}
 			}
 			
 			// Un-set these values for the new build
-			metric_generalAccuracy = -100;
-			metric_weakpointAccuracy = -100;
+			currentMetrics = null;
 			customRoF = 0;
 			
 			if (currentlyDealsSplashDamage()) {
@@ -652,11 +605,13 @@ public abstract class Weapon extends Observable {
 				selectedOverclock = -1;
 			}
 			
-			overclocks[indexToIgnore].toggleIgnored();
+			if (ignoredOverclocks == null) {
+				ignoredOverclocks = new boolean[overclocks.length];
+			}
+			ignoredOverclocks[indexToIgnore] = !ignoredOverclocks[indexToIgnore];
 			
 			// Un-set these values for the new build
-			metric_generalAccuracy = -100;
-			metric_weakpointAccuracy = -100;
+			currentMetrics = null;
 			customRoF = 0;
 			
 			if (currentlyDealsSplashDamage()) {
@@ -672,6 +627,14 @@ public abstract class Weapon extends Observable {
 		}
 	}
 	
+	// OverclockButton uses these to decide how to draw itself
+	public boolean isOverclockSelected(int overclockIndex) {
+		return overclockIndex > -1 && selectedOverclock == overclockIndex;
+	}
+	public boolean isOverclockIgnored(int overclockIndex) {
+		return ignoredOverclocks != null && ignoredOverclocks[overclockIndex];
+	}
+	
 	public boolean[] getCurrentStatusEffects() {
 		return statusEffects;
 	}
@@ -687,6 +650,7 @@ public abstract class Weapon extends Observable {
 			}
 			
 			statusEffects[effectIndex] = newValue;
+			currentMetrics = null;
 			
 			if (countObservers() > 0) {
 				setChanged();
@@ -774,7 +738,7 @@ public abstract class Weapon extends Observable {
 			// Make sure to add "no Mod selected" as an option for this tier, in case all mods get ignored.
 			macguffin.add(-1);
 			for (int i = 0; i < thisTier.length; i++) {
-				macguffin.conditionalAdd(i, !thisTier[i].isIgnored());
+				macguffin.conditionalAdd(i, !isModIgnored(tierNumber, i));
 			}
 			
 			// This line of magic sourced from https://stackoverflow.com/a/23945015
@@ -802,7 +766,7 @@ public abstract class Weapon extends Observable {
 			// Make sure to add "no OC selected" as an option for this tier, in case all OCs get ignored.
 			macguffin.add(-1);
 			for (int i = 0; i < overclocks.length; i++) {
-				macguffin.conditionalAdd(i, !overclocks[i].isIgnored());
+				macguffin.conditionalAdd(i, !isOverclockIgnored(i));
 			}
 			
 			// This line of magic sourced from https://stackoverflow.com/a/23945015
@@ -830,8 +794,7 @@ public abstract class Weapon extends Observable {
 			
 			// This method is only called from the GUI, so I have to refresh said GUI for users to see the change.
 			// Un-set these values for the new build
-			metric_generalAccuracy = -100;
-			metric_weakpointAccuracy = -100;
+			currentMetrics = null;
 						
 			if (countObservers() > 0) {
 				setChanged();
@@ -858,9 +821,101 @@ public abstract class Weapon extends Observable {
 	
 	protected abstract void initializeModsAndOverclocks();
 	
+	/*
+		Every instance of a Weapon class has the exact same Mods, Overclocks, and baseline numbers, but clone() makes a brand new instance for every build that
+		the exports and Best Combinations look at. So the constructors call loadModsAndOverclocks() and setBaselineStats(), which only do the real work the first
+		time for each class (and for the baseline, the first time at each Hazard Level and Player Count), and after that every new instance just shares the results.
+		That leaves a clone costing about as much as copying its fields.
+		
+		Because the Mod and Overclock objects are shared, nothing about them can change after initializeModsAndOverclocks() builds them. Which ones are selected
+		or ignored is kept in each Weapon instead.
+	*/
+	private static class SharedModsAndOverclocks {
+		private Mod[][] tiers;
+		private Overclock[] overclocks;
+	}
+	private static class SharedBaseline {
+		private double[] burstDPS;
+		private double[] sustainedDPS;
+		private double[] calculatedStats;
+		
+		// Calculating the baseline leaves these behind on the Weapon, so an instance that skips the calculation still needs to start out with them
+		private double[] aoeEfficiency;
+		private int[] breakpoints;
+		private double[] utilityScores;
+		private double[][] damageWastedByArmorPerCreature;
+		private double[][] overkillPercentages;
+		private double illustrationRadius;
+		private ArrayList<Point2D> illustrationGlyphidCenters;
+	}
+	// The batch jobs construct Weapons on several threads at once, so these have to be safe to share between them
+	private static final ConcurrentHashMap<Class<?>, SharedModsAndOverclocks> sharedModsAndOverclocks = new ConcurrentHashMap<Class<?>, SharedModsAndOverclocks>();
+	private static final ConcurrentHashMap<Class<?>, ConcurrentHashMap<DifficultyContext, SharedBaseline>> sharedBaselines = new ConcurrentHashMap<Class<?>, ConcurrentHashMap<DifficultyContext, SharedBaseline>>();
+	
+	protected void loadModsAndOverclocks() {
+		SharedModsAndOverclocks shared = sharedModsAndOverclocks.get(getClass());
+		if (shared == null) {
+			initializeModsAndOverclocks();
+			shared = new SharedModsAndOverclocks();
+			shared.tiers = new Mod[][] {tier1, tier2, tier3, tier4, tier5};
+			shared.overclocks = overclocks;
+			
+			// If another thread built this class's Mods first, use those instead so that every instance really does share the same ones
+			SharedModsAndOverclocks builtFirst = sharedModsAndOverclocks.putIfAbsent(getClass(), shared);
+			if (builtFirst != null) {
+				shared = builtFirst;
+			}
+		}
+		
+		tier1 = shared.tiers[0];
+		tier2 = shared.tiers[1];
+		tier3 = shared.tiers[2];
+		tier4 = shared.tiers[3];
+		tier5 = shared.tiers[4];
+		overclocks = shared.overclocks;
+		modsAndOCsInitialized = true;
+	}
+	
 	protected void setBaselineStats() {
+		ConcurrentHashMap<DifficultyContext, SharedBaseline> baselinesForThisClass = sharedBaselines.computeIfAbsent(getClass(), c -> new ConcurrentHashMap<DifficultyContext, SharedBaseline>());
+		DifficultyContext dc = getDifficulty();
+		SharedBaseline shared = baselinesForThisClass.get(dc);
+		
+		if (shared == null) {
+			calculateBaselineStats();
+			
+			shared = new SharedBaseline();
+			shared.burstDPS = baselineBurstDPS;
+			shared.sustainedDPS = baselineSustainedDPS;
+			shared.calculatedStats = baselineCalculatedStats;
+			shared.aoeEfficiency = (aoeEfficiency == null) ? null : aoeEfficiency.clone();
+			shared.breakpoints = breakpoints.clone();
+			shared.utilityScores = utilityScores.clone();
+			shared.damageWastedByArmorPerCreature = new double[][] {damageWastedByArmorPerCreature[0].clone(), damageWastedByArmorPerCreature[1].clone()};
+			shared.overkillPercentages = new double[][] {overkillPercentages[0].clone(), overkillPercentages[1].clone()};
+			shared.illustrationRadius = illustrationRadius;
+			shared.illustrationGlyphidCenters = illustrationGlyphidCenters;
+			baselinesForThisClass.putIfAbsent(dc, shared);
+		}
+		else {
+			// The baseline arrays only ever get read, so they can be shared as-is. The rest get written to as this Weapon calculates other builds, so they need copies.
+			baselineBurstDPS = shared.burstDPS;
+			baselineSustainedDPS = shared.sustainedDPS;
+			baselineCalculatedStats = shared.calculatedStats;
+			aoeEfficiency = (shared.aoeEfficiency == null) ? null : shared.aoeEfficiency.clone();
+			breakpoints = shared.breakpoints.clone();
+			utilityScores = shared.utilityScores.clone();
+			damageWastedByArmorPerCreature = new double[][] {shared.damageWastedByArmorPerCreature[0].clone(), shared.damageWastedByArmorPerCreature[1].clone()};
+			overkillPercentages = new double[][] {shared.overkillPercentages[0].clone(), shared.overkillPercentages[1].clone()};
+			illustrationRadius = shared.illustrationRadius;
+			illustrationGlyphidCenters = shared.illustrationGlyphidCenters;
+		}
+	}
+	
+	private void calculateBaselineStats() {
 		int oldT1 = selectedTier1, oldT2 = selectedTier2, oldT3 = selectedTier3, oldT4 = selectedTier4, oldT5 = selectedTier5, oldOC = selectedOverclock;
 		selectedTier1 = selectedTier2 = selectedTier3 = selectedTier4 = selectedTier5 = selectedOverclock = -1;
+		currentMetrics = null;
 		
 		if (currentlyDealsSplashDamage()) {
 			setAoEEfficiency();
@@ -890,17 +945,18 @@ public abstract class Weapon extends Observable {
 			calculateSingleTargetDPS(false, true, true, true)  // WP + Acc + AW
 		};
 		
-		baselineCalculatedStats = new double[] {
-			calculateAdditionalTargetDPS(), calculateMaxNumTargets(), calculateMaxMultiTargetDamage(), ammoEfficiency(), damageWastedByArmor(), 
-			getGeneralAccuracy(), getWeakpointAccuracy(), calculateFiringDuration(), averageTimeToKill(), averageOverkill(), breakpoints(), 
-			utilityScore(), averageTimeToCauterize()
-		};
+		// Metrics 2-14, in the same order as the GUI
+		baselineCalculatedStats = new double[numMetrics - 2];
+		for (int i = 2; i < numMetrics; i++) {
+			baselineCalculatedStats[i - 2] = getMetric(i);
+		}
 		selectedTier1 = oldT1;
 		selectedTier2 = oldT2;
 		selectedTier3 = oldT3;
 		selectedTier4 = oldT4;
 		selectedTier5 = oldT5;
 		selectedOverclock = oldOC;
+		currentMetrics = null;
 	}
 	// These get used in WeaponTab for making the associated numbers change red/green/yellow
 	public double getBaselineBurstDPS() {
@@ -986,6 +1042,7 @@ public abstract class Weapon extends Observable {
 	}
 	public void setWeakpointDPS(boolean newValue, boolean updateGUI) {
 		enableWeakpointsDPS = newValue;
+		currentMetrics = null;
 		if (updateGUI && countObservers() > 0) {
 			setChanged();
 			notifyObservers();
@@ -996,6 +1053,7 @@ public abstract class Weapon extends Observable {
 	}
 	public void setAccuracyDPS(boolean newValue, boolean updateGUI) {
 		enableGeneralAccuracyDPS = newValue;
+		currentMetrics = null;
 		if (updateGUI && countObservers() > 0) {
 			setChanged();
 			notifyObservers();
@@ -1006,6 +1064,7 @@ public abstract class Weapon extends Observable {
 	}
 	public void setArmorWastingDPS(boolean newValue, boolean updateGUI) {
 		enableArmorWastingDPS = newValue;
+		currentMetrics = null;
 		if (updateGUI && countObservers() > 0) {
 			setChanged();
 			notifyObservers();
@@ -1033,8 +1092,7 @@ public abstract class Weapon extends Observable {
 		// Input sanitization
 		if (newDistance > 0 && newDistance < 20) {
 			// Un-set these values for the new estimates
-			metric_generalAccuracy = -100;
-			metric_weakpointAccuracy = -100;
+			currentMetrics = null;
 			
 			accEstimator.setDistance(newDistance);
 			if (updateGUI && countObservers() > 0) {
@@ -1047,13 +1105,56 @@ public abstract class Weapon extends Observable {
 		return accEstimator.getDistance();
 	}
 	
+	/*
+		General or Weakpoint Accuracy at every one of these distances, for drawing it as a curve. AccuracyEstimator remembers the last magazine it simulated,
+		so for weapons that use Circular Accuracy only the first distance pays for the simulation and every other distance just re-projects it. The distance
+		that was set before this gets put back afterwards, and the metric cache doesn't get touched.
+	*/
+	public double[] getAccuracyAtDistances(boolean weakpointAccuracy, double[] distances) {
+		double originalDistance = accEstimator.getDistance();
+		double[] toReturn = new double[distances.length];
+		for (int i = 0; i < distances.length; i++) {
+			accEstimator.setDistance(distances[i]);
+			toReturn[i] = estimatedAccuracy(weakpointAccuracy);
+		}
+		accEstimator.setDistance(originalDistance);
+		return toReturn;
+	}
+	
+	public DifficultyContext getDifficulty() {
+		if (difficulty != null) {
+			return difficulty;
+		}
+		else {
+			return EnemyInformation.getCurrentDifficulty();
+		}
+	}
+	// Pass in null to go back to following the GUI's difficulty. Because this is only used by batch jobs, it doesn't need the updateGUI flag.
+	public void setDifficulty(DifficultyContext newDifficulty) {
+		difficulty = newDifficulty;
+		currentMetrics = null;
+		accEstimator.setDifficulty(newDifficulty);
+		
+		// AoE Efficiency and Armor Wasting both get stored when the build changes, so they have to be re-calculated for the new difficulty.
+		if (currentlyDealsSplashDamage()) {
+			setAoEEfficiency();
+		}
+		damageWastedByArmor();
+	}
+	
+	public void setDifficultyIndependentMetrics(DifficultyIndependentMetrics precalculatedMetrics) {
+		difficultyIndependentMetrics = precalculatedMetrics;
+		currentMetrics = null;
+		metricCache.clear();
+	}
+	
 	public boolean isRecoilModeledInAccuracy() {
 		return accEstimator.isModelingRecoil();
 	}
 	public void setModelRecoilInAccuracy(boolean newValue) {
-		// Un-set these values for the new estimates
-		metric_generalAccuracy = -100;
-		metric_weakpointAccuracy = -100;
+		// Recoil modeling isn't part of the cache key, so every cached metric is out-of-date now
+		currentMetrics = null;
+		metricCache.clear();
 					
 		accEstimator.setModelRecoil(newValue);
 		// Because this method will only be called from the GUI, it doesn't need the updateGUI flag
@@ -1067,9 +1168,9 @@ public abstract class Weapon extends Observable {
 		return accEstimator.getDwarfIsMoving();
 	}
 	public void setDwarfMoving(boolean newValue) {
-		// Un-set these values for the new estimates
-		metric_generalAccuracy = -100;
-		metric_weakpointAccuracy = -100;
+		// Dwarf movement isn't part of the cache key, so every cached metric is out-of-date now
+		currentMetrics = null;
+		metricCache.clear();
 					
 		accEstimator.setDwarfIsMoving(newValue);
 		// Because this method will only be called from the GUI, it doesn't need the updateGUI flag
@@ -1094,27 +1195,395 @@ public abstract class Weapon extends Observable {
 		}
 	}
 	public JPanel getVisualizerPanel() {
+		// The Accuracy values may have come out of the metric cache, in which case the AccuracyEstimator could still be holding a different build's numbers. Re-run it before drawing.
+		estimatedAccuracy(!accEstimator.visualizerShowsGeneralAccuracy());
 		return accEstimator.getVisualizer();
 	}
 	
-	// Rather than build out an entire cache for two variables per Weapon, I'll just fake it with these two methods.
 	public double getGeneralAccuracy() {
-		if (metric_generalAccuracy == -100) {
-			metric_generalAccuracy = estimatedAccuracy(false);
-			return metric_generalAccuracy;
+		return getMetric(7);
+	}
+	public double getWeakpointAccuracy() {
+		return getMetric(8);
+	}
+	
+	/****************************************************************************************
+	* Metric cache
+	****************************************************************************************/
+	
+	/*
+		The metric indexes are the same 15 that the GUI displays and that MetricsCalculator.getBestMetricCombination() uses:
+			0. Burst DPS
+			1. Sustained DPS
+			2. Additional Target DPS
+			3. Max Num Targets
+			4. Max Multi-Target Damage
+			5. Ammo Efficiency
+			6. Damage Wasted by Armor
+			7. General Accuracy
+			8. Weakpoint Accuracy
+			9. Firing Duration
+			10. Avg Time To Kill
+			11. Avg Overkill
+			12. Breakpoints
+			13. Utility
+			14. Avg Time to Ignite/Freeze
+		
+		Burst and Sustained DPS use whichever of the Weakpoint/Accuracy/Armor Wasting flags are currently enabled.
+	*/
+	public static final int numMetrics = 15;
+	
+	private class CachedMetrics {
+		private double[] values;
+		// These metrics also leave behind arrays that the Explanation pop-ups read, so they have to get saved and restored alongside the values.
+		private int[] breakpointsArray;
+		private double[] utilityScoresArray;
+		private double[][] damageWastedByArmorArray;
+		private double[][] overkillPercentagesArray;
+		
+		// Used to tell if the Hazard Level or Player Count have been changed since this entry was looked up
+		private DifficultyContext difficulty;
+		// The build and settings that these values were calculated for
+		private MetricCacheKey key;
+		
+		private CachedMetrics(MetricCacheKey k) {
+			values = new double[numMetrics];
+			Arrays.fill(values, Double.NaN);
+			difficulty = k.difficulty;
+			key = k;
+		}
+	}
+	
+	// Everything that can change the metrics' values. It used to be one long String, but building and hashing that for every build of a sweep added up.
+	private static class MetricCacheKey {
+		private int buildID;
+		private DifficultyContext difficulty;
+		private double accuracyDistance;
+		private int dpsFlags;
+		private int statusEffectFlags;
+		private double customRoF;
+		// Global, but they still change what Rectangular Accuracy calculates
+		private int rectangularAccuracyPrecision;
+		private double rectangularAccuracyTolerance;
+		
+		private MetricCacheKey(Weapon w) {
+			buildID = w.getBuildID();
+			difficulty = w.getDifficulty();
+			accuracyDistance = w.accEstimator.getDistance();
+			dpsFlags = (w.enableWeakpointsDPS ? 1 : 0) | (w.enableGeneralAccuracyDPS ? 2 : 0) | (w.enableArmorWastingDPS ? 4 : 0);
+			statusEffectFlags = 0;
+			for (int i = 0; i < w.statusEffects.length; i++) {
+				if (w.statusEffects[i]) {
+					statusEffectFlags |= 1 << i;
+				}
+			}
+			customRoF = w.customRoF;
+			rectangularAccuracyPrecision = AccuracyEstimator.getRectangularAccuracyPrecision();
+			rectangularAccuracyTolerance = AccuracyEstimator.getRectangularAccuracyTolerance();
 		}
-		else {
-			return metric_generalAccuracy;
+		
+		@Override
+		public boolean equals(Object other) {
+			if (!(other instanceof MetricCacheKey)) {
+				return false;
+			}
+			MetricCacheKey k = (MetricCacheKey) other;
+			return buildID == k.buildID && hasSameSettings(k);
+		}
+		
+		// Everything except for the build
+		private boolean hasSameSettings(MetricCacheKey k) {
+			// Comparing the bits of the doubles matches the old String keys exactly, where 0.0 and -0.0 were different keys
+			return difficulty == k.difficulty && dpsFlags == k.dpsFlags && statusEffectFlags == k.statusEffectFlags
+				&& Double.doubleToLongBits(accuracyDistance) == Double.doubleToLongBits(k.accuracyDistance) && Double.doubleToLongBits(customRoF) == Double.doubleToLongBits(k.customRoF)
+				&& rectangularAccuracyPrecision == k.rectangularAccuracyPrecision && rectangularAccuracyTolerance == k.rectangularAccuracyTolerance;
+		}
+		
+		private boolean hasCurrentRectangularAccuracySettings() {
+			return rectangularAccuracyPrecision == AccuracyEstimator.getRectangularAccuracyPrecision() && rectangularAccuracyTolerance == AccuracyEstimator.getRectangularAccuracyTolerance();
+		}
+		
+		@Override
+		public int hashCode() {
+			int toReturn = buildID;
+			toReturn = 31 * toReturn + System.identityHashCode(difficulty);
+			toReturn = 31 * toReturn + Double.hashCode(accuracyDistance);
+			toReturn = 31 * toReturn + dpsFlags;
+			toReturn = 31 * toReturn + statusEffectFlags;
+			toReturn = 31 * toReturn + Double.hashCode(customRoF);
+			return toReturn;
 		}
 	}
-	public double getWeakpointAccuracy() {
-		if (metric_weakpointAccuracy == -100) {
-			metric_weakpointAccuracy = estimatedAccuracy(true);
-			return metric_weakpointAccuracy;
+	
+	private CachedMetrics getCurrentMetrics() {
+		// The GUI's difficulty lives in EnemyInformation instead of in this object, and so do Rectangular Accuracy's settings, so they have to be checked every time.
+		if (currentMetrics == null || currentMetrics.difficulty != getDifficulty() || !currentMetrics.key.hasCurrentRectangularAccuracySettings()) {
+			MetricCacheKey key = new MetricCacheKey(this);
+			currentMetrics = metricCache.lookup(key);
+			
+			if (currentMetrics == null) {
+				currentMetrics = new CachedMetrics(key);
+				if (difficultyIndependentMetrics != null) {
+					difficultyIndependentMetrics.fillMetrics(getBuildID(), currentMetrics.values);
+				}
+				metricCache.put(key, currentMetrics);
+			}
+		}
+		
+		return currentMetrics;
+	}
+	
+	public double getMetric(int metricIndex) {
+		if (metricIndex < 0 || metricIndex >= numMetrics) {
+			System.out.println("Metric #" + metricIndex + " is not a valid metric index");
+			return 0;
+		}
+		
+		CachedMetrics entry = getCurrentMetrics();
+		
+		if (Double.isNaN(entry.values[metricIndex])) {
+			double value = calculateMetric(metricIndex);
+			
+			entry.values[metricIndex] = value;
+			if (difficultyIndependentMetrics != null) {
+				difficultyIndependentMetrics.recordMetric(getBuildID(), metricIndex, value);
+			}
+			switch (metricIndex) {
+				case 6: {
+					entry.damageWastedByArmorArray = new double[][] {damageWastedByArmorPerCreature[0].clone(), damageWastedByArmorPerCreature[1].clone()};
+					break;
+				}
+				case 11: {
+					entry.overkillPercentagesArray = new double[][] {overkillPercentages[0].clone(), overkillPercentages[1].clone()};
+					break;
+				}
+				case 12: {
+					entry.breakpointsArray = breakpoints.clone();
+					break;
+				}
+				case 13: {
+					entry.utilityScoresArray = utilityScores.clone();
+					break;
+				}
+			}
 		}
 		else {
-			return metric_weakpointAccuracy;
+			// Put back the arrays that the calculation would have left behind so the Explanation pop-ups match the cached numbers
+			switch (metricIndex) {
+				case 6: {
+					damageWastedByArmorPerCreature = new double[][] {entry.damageWastedByArmorArray[0].clone(), entry.damageWastedByArmorArray[1].clone()};
+					break;
+				}
+				case 11: {
+					overkillPercentages = new double[][] {entry.overkillPercentagesArray[0].clone(), entry.overkillPercentagesArray[1].clone()};
+					break;
+				}
+				case 12: {
+					breakpoints = entry.breakpointsArray.clone();
+					break;
+				}
+				case 13: {
+					utilityScores = entry.utilityScoresArray.clone();
+					break;
+				}
+			}
 		}
+		
+		return entry.values[metricIndex];
+	}
+	
+	private double calculateMetric(int metricIndex) {
+		switch (metricIndex) {
+			case 0: {
+				return calculateSingleTargetDPS(true);
+			}
+			case 1: {
+				return calculateSingleTargetDPS(false);
+			}
+			case 2: {
+				return calculateAdditionalTargetDPS();
+			}
+			case 3: {
+				return calculateMaxNumTargets();
+			}
+			case 4: {
+				return calculateMaxMultiTargetDamage();
+			}
+			case 5: {
+				return ammoEfficiency();
+			}
+			case 6: {
+				return damageWastedByArmor();
+			}
+			case 7: {
+				return estimatedAccuracy(false);
+			}
+			case 8: {
+				return estimatedAccuracy(true);
+			}
+			case 9: {
+				return calculateFiringDuration();
+			}
+			case 10: {
+				return averageTimeToKill();
+			}
+			case 11: {
+				return averageOverkill();
+			}
+			case 12: {
+				return breakpoints();
+			}
+			case 13: {
+				return utilityScore();
+			}
+			case 14: {
+				return averageTimeToCauterize();
+			}
+			default: {
+				return 0;
+			}
+		}
+	}
+	
+	/*
+		These get used by MetricsCalculator.getBestMetricCombination() to skip over every tier that can't possibly change the metric it's looking for. For example,
+		Minigun's Max Num Targets only ever reads the Tier 3 mod and the overclock, so there's no point in trying all 4 * 3 * 4 * 4 = 192 combinations of the
+		other four tiers (counting "no mod" as an option) for each of those.
+		
+		Each Weapon fills in its own metricDependencies in its constructor, and they were worked out by following which selectedTier and selectedOverclock 
+		values every metric's calculation reads (including through the shared methods in this class). If a model changes to read another tier in a metric, 
+		its String has to get that tier added too, or else the Best Metric search will silently stop trying that tier's mods!
+	*/
+	public boolean metricDependsOnModTier(int metricIndex, int tierNumber) {
+		if (metricDependencies == null || metricIndex < 0 || metricIndex >= numMetrics) {
+			return true;
+		}
+		return metricDependencies[metricIndex].indexOf((char) ('0' + tierNumber)) > -1;
+	}
+	public boolean metricDependsOnOverclock(int metricIndex) {
+		if (metricDependencies == null || metricIndex < 0 || metricIndex >= numMetrics) {
+			return true;
+		}
+		return metricDependencies[metricIndex].indexOf('O') > -1;
+	}
+	
+	/*
+		A sweep that walks the builds in Gray code order (see GrayCodeBuildIterator) only ever changes one tier or the overclock in between builds, so anything
+		that doesn't depend on that tier is guaranteed to come out exactly the same as it did for the build before. These change the build the same way that
+		setSelectedModAtTier() and setSelectedOverclock() would (except that they never un-equip, and never update the GUI), but then they only re-calculate
+		the AoE Efficiency and Armor Wasting if the changed tier can affect them, and copy every metric it can't affect straight from the previous build's
+		cache entry into the new one. For example, Minigun's Accuracy only reads Tiers 1, 2, 4, 5 and the OC, so a sweep that's stepping through Tier 3 never
+		has to re-run the AccuracyEstimator at all.
+		
+		This trusts metricDependencies and aoeEfficiencyDependencies just like getBestMetricCombination() does, so the same warning about keeping them
+		up-to-date applies here too. It also leaves the AoE illustration alone, since sweeps don't draw it.
+	*/
+	public void stepModAtTier(int tierNumber, int newSelection) {
+		stepToBuild(BuildID.withModAtTier(getBuildID(), tierNumber, newSelection), (char) ('0' + tierNumber));
+	}
+	public void stepOverclock(int newSelection) {
+		stepToBuild(BuildID.withOverclock(getBuildID(), newSelection), 'O');
+	}
+	private void stepToBuild(int buildID, char changedTier) {
+		CachedMetrics previous = currentMetrics;
+		selectBuild(buildID);
+		
+		// Un-set these values for the new build
+		currentMetrics = null;
+		customRoF = 0;
+		
+		// Whichever tier decides if the Weapon deals splash damage at all is always one of its AoE dependencies, so if this build deals splash damage and the
+		// changed tier isn't one of them, then the previous build's AoE Efficiency is still the right one.
+		if (currentlyDealsSplashDamage() && (aoeEfficiencyDependencies == null || aoeEfficiencyDependencies.indexOf(changedTier) > -1)) {
+			setAoEEfficiency();
+		}
+		
+		if (metricDependencies == null || metricDependencies[6].indexOf(changedTier) > -1) {
+			damageWastedByArmor();
+		}
+		
+		carryOverMetrics(previous, changedTier);
+	}
+	private void carryOverMetrics(CachedMetrics previous, char changedTier) {
+		// Without the dependencies, there's no way to know which metrics are still good
+		if (previous == null || metricDependencies == null) {
+			return;
+		}
+		
+		CachedMetrics entry = getCurrentMetrics();
+		// Changing the build resets customRoF, so the previous build's numbers might have been calculated with different settings
+		if (!entry.key.hasSameSettings(previous.key)) {
+			return;
+		}
+		
+		for (int i = 0; i < numMetrics; i++) {
+			if (Double.isNaN(previous.values[i]) || !Double.isNaN(entry.values[i]) || metricDependencies[i].indexOf(changedTier) > -1) {
+				continue;
+			}
+			
+			entry.values[i] = previous.values[i];
+			if (difficultyIndependentMetrics != null) {
+				difficultyIndependentMetrics.recordMetric(getBuildID(), i, previous.values[i]);
+			}
+			// getMetric() only ever hands out copies of these arrays, so the two entries can share them.
+			switch (i) {
+				case 6: {
+					entry.damageWastedByArmorArray = previous.damageWastedByArmorArray;
+					break;
+				}
+				case 11: {
+					entry.overkillPercentagesArray = previous.overkillPercentagesArray;
+					break;
+				}
+				case 12: {
+					entry.breakpointsArray = previous.breakpointsArray;
+					break;
+				}
+				case 13: {
+					entry.utilityScoresArray = previous.utilityScoresArray;
+					break;
+				}
+			}
+		}
+	}
+	
+	private static class IntermediateValue {
+		private int maskedBuildID;
+		private MetricCacheKey settings;
+		private double[] value;
+		
+		private IntermediateValue(int maskedID, MetricCacheKey k, double[] v) {
+			maskedBuildID = maskedID;
+			settings = k;
+			value = v;
+		}
+	}
+	
+	/*
+		Some of the numbers that the metrics get built out of are expensive to calculate, and only a few tiers (if any) can change them. For example, Minigun's
+		Aggressive Venting always has the same 10m AoE no matter what else is equipped, but Max Multi-Target Damage, Ammo Efficiency, and Utility each used to
+		re-calculate it for every single build. A Weapon can wrap calculations like that in this method along with which tiers they read (the same way as 
+		metricDependencies), and the value gets stored with every other tier masked out of the build. It only gets calculated again when one of the tiers it
+		depends on changes, or when the settings do. The returned array is shared, so don't modify it!
+	*/
+	protected double[] getIntermediate(String name, String dependencies, Supplier<double[]> calculation) {
+		MetricCacheKey settings = getCurrentMetrics().key;
+		int maskedBuildID = getBuildID() & BuildID.getDependencyMask(dependencies);
+		
+		IntermediateValue stored = intermediates.get(name);
+		if (stored == null || stored.maskedBuildID != maskedBuildID || !stored.settings.hasSameSettings(settings)) {
+			stored = new IntermediateValue(maskedBuildID, settings, calculation.get());
+			intermediates.put(name, stored);
+		}
+		
+		return stored.value;
+	}
+	
+	public long getMetricCacheHits() {
+		return metricCache.getHits();
+	}
+	public long getMetricCacheMisses() {
+		return metricCache.getMisses();
 	}
 	
 	/****************************************************************************************
@@ -1134,47 +1603,10 @@ public abstract class Weapon extends Observable {
 		return fullName;
 	}
 	public BufferedImage getPicture() {
-		return weaponPic;
+		return WeaponPictures.getPicture(weaponPic);
 	}
 	public String getCombination() {
-		String toReturn = "";
-		if (selectedTier1 < 0) {
-			toReturn += "-";
-		}
-		else {
-			toReturn += tier1[selectedTier1].getLetterRepresentation();
-		}
-		if (selectedTier2 < 0) {
-			toReturn += "-";
-		}
-		else {
-			toReturn += tier2[selectedTier2].getLetterRepresentation();
-		}
-		if (selectedTier3 < 0) {
-			toReturn += "-";
-		}
-		else {
-			toReturn += tier3[selectedTier3].getLetterRepresentation();
-		}
-		if (selectedTier4 < 0) {
-			toReturn += "-";
-		}
-		else {
-			toReturn += tier4[selectedTier4].getLetterRepresentation();
-		}
-		if (selectedTier5 < 0) {
-			toReturn += "-";
-		}
-		else {
-			toReturn += tier5[selectedTier5].getLetterRepresentation();
-		}
-		if (selectedOverclock < 0) {
-			toReturn += "-";
-		}
-		else {
-			toReturn += overclocks[selectedOverclock].getShortcutRepresentation();
-		}
-		return toReturn;
+		return BuildID.toCombination(getBuildID());
 	}
 	protected String convertDoubleToPercentage(double input) {
 		double percent = MathUtils.round(input * 100.0, GuiConstants.numDecimalPlaces);
@@ -1206,6 +1638,91 @@ public abstract class Weapon extends Observable {
 	*/
 	public abstract StatsRow[] getStats();
 	public abstract Weapon clone();
+
+	// clone() only carries over the selected mods and overclock, so this copies the rest of the user-set state that the metrics read from. Used by the multi-threaded sweeps.
+	public Weapon cloneWithSettings() {
+		Weapon toReturn = clone();
+
+		toReturn.statusEffects = statusEffects.clone();
+		toReturn.difficultyIndependentMetrics = difficultyIndependentMetrics;
+		toReturn.enableWeakpointsDPS = enableWeakpointsDPS;
+		toReturn.enableGeneralAccuracyDPS = enableGeneralAccuracyDPS;
+		toReturn.enableArmorWastingDPS = enableArmorWastingDPS;
+		toReturn.accEstimator.setDistance(accEstimator.getDistance());
+		toReturn.accEstimator.setModelRecoil(accEstimator.isModelingRecoil());
+		toReturn.accEstimator.setDwarfIsMoving(accEstimator.getDwarfIsMoving());
+
+		// The constructor already cached the baseline build using the default settings, so throw that out
+		toReturn.currentMetrics = null;
+		toReturn.metricCache.clear();
+
+		// Setting the difficulty last also re-calculates the AoE Efficiency and Armor Wasting that the constructor stored, now that every setting matches.
+		toReturn.setDifficulty(difficulty);
+
+		return toReturn;
+	}
+	
+	/*
+		Every user-set option that the metrics read from: the same ones as cloneWithSettings(), plus the custom RoF. WeaponTab takes one of these on the Event
+		Dispatch Thread (which is cheap, it's just copying values) and then applies it to its own private copy of the Weapon on a background thread, so the
+		expensive part of changing builds never happens while the user is clicking. The copy always gets the difficulty that was selected when these were
+		taken, so it never has to read EnemyInformation's current difficulty from the background.
+	*/
+	public static class Settings {
+		private int buildID;
+		private double customRoF;
+		private boolean[] statusEffects;
+		private boolean enableWeakpointsDPS, enableGeneralAccuracyDPS, enableArmorWastingDPS;
+		private double accuracyDistance;
+		private boolean modelRecoil, dwarfIsMoving;
+		private DifficultyContext difficulty;
+		private DifficultyIndependentMetrics difficultyIndependentMetrics;
+	}
+	
+	public Settings getSettings() {
+		Settings toReturn = new Settings();
+		toReturn.buildID = getBuildID();
+		toReturn.customRoF = customRoF;
+		toReturn.statusEffects = statusEffects.clone();
+		toReturn.enableWeakpointsDPS = enableWeakpointsDPS;
+		toReturn.enableGeneralAccuracyDPS = enableGeneralAccuracyDPS;
+		toReturn.enableArmorWastingDPS = enableArmorWastingDPS;
+		toReturn.accuracyDistance = accEstimator.getDistance();
+		toReturn.modelRecoil = accEstimator.isModelingRecoil();
+		toReturn.dwarfIsMoving = accEstimator.getDwarfIsMoving();
+		// The GUI's Weapons follow whatever difficulty is selected, so this pins down which one it was right now instead of copying null.
+		toReturn.difficulty = getDifficulty();
+		toReturn.difficultyIndependentMetrics = difficultyIndependentMetrics;
+		return toReturn;
+	}
+	
+	// Unlike cloneWithSettings(), this keeps the metric cache whenever it's still valid, so going back to a build that was already calculated is still instant. Nothing gets notified.
+	public void applySettings(Settings newSettings) {
+		if (getBuildID() != newSettings.buildID) {
+			buildFromID(newSettings.buildID, false);
+		}
+		
+		// Changing the build resets customRoF, so this has to come after it
+		customRoF = newSettings.customRoF;
+		statusEffects = newSettings.statusEffects.clone();
+		enableWeakpointsDPS = newSettings.enableWeakpointsDPS;
+		enableGeneralAccuracyDPS = newSettings.enableGeneralAccuracyDPS;
+		enableArmorWastingDPS = newSettings.enableArmorWastingDPS;
+		accEstimator.setDistance(newSettings.accuracyDistance);
+		
+		// Same as setModelRecoilInAccuracy() and setDwarfMoving(), these aren't part of the cache key so it has to be thrown out when they change
+		if (accEstimator.isModelingRecoil() != newSettings.modelRecoil || accEstimator.getDwarfIsMoving() != newSettings.dwarfIsMoving || difficultyIndependentMetrics != newSettings.difficultyIndependentMetrics) {
+			accEstimator.setModelRecoil(newSettings.modelRecoil);
+			accEstimator.setDwarfIsMoving(newSettings.dwarfIsMoving);
+			difficultyIndependentMetrics = newSettings.difficultyIndependentMetrics;
+			metricCache.clear();
+		}
+		
+		currentMetrics = null;
+		if (difficulty != newSettings.difficulty) {
+			setDifficulty(newSettings.difficulty);
+		}
+	}
 	
 	/*
 		This method is written out of frustration with having to do such an expanded numerical approximation of the Inverse Lambert function. Engineer's Shotgun Recoil
@@ -1375,7 +1892,7 @@ public abstract class Weapon extends Observable {
 		if (onKillEffect) {
 			// This section is for effects that happen any time this weapon scores a killing blow, like Scout/AssaultRifle/Mod/5/B/"Battle Cool"
 			// Intentionally using incorrect "guessed" spawn rates to get better numbers.
-			double burstTTK = EnemyInformation.averageHealthPool(false) / calculateSingleTargetDPS(true, false, false, false);
+			double burstTTK = EnemyInformation.averageHealthPool(getDifficulty(), false) / calculateSingleTargetDPS(true, false, false, false);
 			double numShotsFiredPerKill = Math.ceil(RoF * burstTTK);
 			if (burstTTK < conditionDuration) {
 				// Early exit condition: if this weapon can score kills to trigger the On-Kill effect again before the effect duration ends, 
@@ -1526,7 +2043,9 @@ public abstract class Weapon extends Observable {
 		}
 		
 		if (updateIllustration) {
-			illustration = new AoEVisualizer(glyphidBodyRadius, glyphidBodyAndLegsRadius, radius, glyphidCenters);
+			illustrationRadius = radius;
+			illustrationGlyphidCenters = glyphidCenters;
+			illustration = null;
 		}
 		
 		return numGlyphidsHitBySplash;
@@ -1534,7 +2053,10 @@ public abstract class Weapon extends Observable {
 	
 	public abstract boolean currentlyDealsSplashDamage();
 	public JPanel visualizeAoERadius() {
-		if (currentlyDealsSplashDamage() && illustration != null) {
+		if (currentlyDealsSplashDamage() && illustrationGlyphidCenters != null) {
+			if (illustration == null) {
+				illustration = new AoEVisualizer(EnemyInformation.GlyphidGruntBodyRadius, EnemyInformation.GlyphidGruntBodyAndLegsRadius, illustrationRadius, illustrationGlyphidCenters);
+			}
 			return illustration;
 		}
 		else {
@@ -1617,7 +2139,7 @@ public abstract class Weapon extends Observable {
 		return averageTimeToKill(true);
 	}
 	public double averageTimeToKill(boolean useExactSpawnRates) {
-		return EnemyInformation.averageHealthPool(useExactSpawnRates) / calculateSingleTargetDPS(false, true, false, false);
+		return EnemyInformation.averageHealthPool(getDifficulty(), useExactSpawnRates) / calculateSingleTargetDPS(false, true, false, false);
 	}
 	protected abstract double averageDamageToKillEnemy();
 	public abstract double averageOverkill();
@@ -1,5 +1,8 @@
 package drgtools.dpscalc.weapons.driller;
 
+import java.util.HashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
 import drgtools.dpscalc.dataGenerator.DatabaseConstants;
 import drgtools.dpscalc.guiPieces.WeaponPictures;
 import drgtools.dpscalc.guiPieces.customButtons.ButtonIcons.modIcons;
@@ -66,7 +69,7 @@ public class CryoCannon extends Weapon {
 		icePathTicksPerSec = 1.0 / 0.5;
 		icePathDuration = 3;
 		
-		initializeModsAndOverclocks();
+		loadModsAndOverclocks();
 		// Grab initial values before customizing mods and overclocks
 		setBaselineStats();
 		
@@ -79,6 +82,9 @@ public class CryoCannon extends Weapon {
 		
 		// Overclock slot
 		selectedOverclock = overclock;
+		
+		// Which tiers can change each metric, in the same order as Weapon.getMetric(). See Weapon.metricDependsOnModTier()
+		metricDependencies = new String[] {"12345O", "12345O", "12345O", "2", "245O", "245O", "", "", "", "1234O", "12345O", "4O", "", "12345O", "12345O"};
 	}
 	
 	@Override
@@ -378,14 +384,15 @@ public class CryoCannon extends Weapon {
 				fragileDamage = 0;
 			}
 			else {
-				double averageHealth = EnemyInformation.averageHealthPool(true);  // This already returns health multiplied by resistances, so this is the "effective" hp, not "internal" hp 
-				double averageResistance = EnemyInformation.averageDifficultyScalingResistance();
+				double averageHealth = EnemyInformation.averageHealthPool(getDifficulty(), true);  // This already returns health multiplied by resistances, so this is the "effective" hp, not "internal" hp 
+				double averageResistance = EnemyInformation.averageDifficultyScalingResistance(getDifficulty());
 				double avgNumParticlesBeforeFragileCanProc = Math.ceil((averageHealth - 100.0 * averageResistance) / dmgPerParticle);  // This will get the Effective HP below 100 * Resistance, which is the same as getting Internal HP below 100
-				double expectedNumParticlesForFragileKill = Math.ceil(recursiveFragileAmmoSpent(100.0, dmgPerParticle, averageResistance));  // This number is how many particles it will take to kill the creature once below 100 Internal HP
+				double[] fragileDamageAndAmmoSpent = fragileDamageAndAmmoSpentBelow100HP(dmgPerParticle, averageResistance);
+				double expectedNumParticlesForFragileKill = Math.ceil(fragileDamageAndAmmoSpent[1]);  // This number is how many particles it will take to kill the creature once below 100 Internal HP
 				double totalAmmoForAverageFragileKill = avgNumParticlesBeforeFragileCanProc + expectedNumParticlesForFragileKill;
 				
 				double totalNumFragileKills = Math.floor(firingTime * flowRate / totalAmmoForAverageFragileKill);
-				fragileDamage = totalNumFragileKills * recursiveFragileDamage(100.0, dmgPerParticle, averageResistance) * averageResistance;
+				fragileDamage = totalNumFragileKills * fragileDamageAndAmmoSpent[0] * averageResistance;
 			}
 		}
 		
@@ -456,7 +463,57 @@ public class CryoCannon extends Weapon {
 		return totalDamage / totalParticles;
 	}
 	
-	private double recursiveFragileDamage(double currentTrueHP, double particleDamage, double resistance) {
+	/*
+		Every DPS variant, Max Multi-Target Damage, and every build in a sweep ends up asking the recursive methods below the exact same question: starting from
+		100 true hp, with this much damage per particle and this Difficulty Scaling Resistance, how much damage does Fragile do and how many particles does it
+		take? Since those two numbers are all that the answer depends on, each pair only gets run through the recursion once, and then it's shared by every
+		Cryo Cannon (including clones on other threads). Mods and Hazard/Player Count only produce a few dozen different pairs, so this stays small.
+		
+		Inside of one of those runs, the recursion itself keeps landing on hp values that it has already been to (a proc followed by a miss can end up in the 
+		same place as the other way around, and every branch walks down the same chain of misses), so each of the two methods also remembers what it returned 
+		for every hp it's seen, keyed by the hp's exact bits. At the higher Resistances that turns tens of millions of calls into a few hundred thousand, without 
+		changing a single result.
+		
+		Returns {expected Fragile damage, expected particles spent}
+	*/
+	private static class FragileKey {
+		private double particleDamage;
+		private double resistance;
+		
+		private FragileKey(double particleDamage, double resistance) {
+			this.particleDamage = particleDamage;
+			this.resistance = resistance;
+		}
+		
+		@Override
+		public boolean equals(Object o) {
+			if (!(o instanceof FragileKey)) {
+				return false;
+			}
+			FragileKey k = (FragileKey) o;
+			return Double.doubleToLongBits(particleDamage) == Double.doubleToLongBits(k.particleDamage) && Double.doubleToLongBits(resistance) == Double.doubleToLongBits(k.resistance);
+		}
+		
+		@Override
+		public int hashCode() {
+			return 31 * Double.hashCode(particleDamage) + Double.hashCode(resistance);
+		}
+	}
+	private static ConcurrentHashMap<FragileKey, double[]> fragileResultsByParticleDamageAndResistance = new ConcurrentHashMap<FragileKey, double[]>();
+	private double[] fragileDamageAndAmmoSpentBelow100HP(double particleDamage, double resistance) {
+		FragileKey key = new FragileKey(particleDamage, resistance);
+		double[] toReturn = fragileResultsByParticleDamageAndResistance.get(key);
+		if (toReturn == null) {
+			toReturn = new double[] {
+				recursiveFragileDamage(100.0, particleDamage, resistance, new HashMap<Long, Double>()), 
+				recursiveFragileAmmoSpent(100.0, particleDamage, resistance, new HashMap<Long, Double>())
+			};
+			fragileResultsByParticleDamageAndResistance.put(key, toReturn);
+		}
+		return toReturn;
+	}
+	
+	private double recursiveFragileDamage(double currentTrueHP, double particleDamage, double resistance, HashMap<Long, Double> damageByHP) {
 		/*
 			TriggerHappyBro had the idea to model this using a recursive function, and I'm choosing to implement it. I had originally thought to do it iteratively using a while-loop,
 			but it was returning a very weird dataset that wasn't accounting for overkill properly. As a result, I switched to this recursive method because it produces more reliable
@@ -478,6 +535,12 @@ public class CryoCannon extends Weapon {
 			Scaling Resistance, but I was unable to create the function needed to approximate these outputs. As a result I have to settle for this recursive function because it works.
 		*/
 		
+		long hpKey = Double.doubleToLongBits(currentTrueHP);
+		Double remembered = damageByHP.get(hpKey);
+		if (remembered != null) {
+			return remembered;
+		}
+		
 		currentTrueHP -= particleDamage / resistance;
 		
 		// Base case: damage from frost particle kills enemy outright
@@ -487,17 +550,25 @@ public class CryoCannon extends Weapon {
 		
 		double probability = 1.0 - currentTrueHP / 100.0;
 		double fragileDamage = Math.min(currentTrueHP, currentTrueHP / resistance);
-		double fragileProcs = recursiveFragileDamage(currentTrueHP - fragileDamage, particleDamage, resistance);
-		double noProc = recursiveFragileDamage(currentTrueHP, particleDamage, resistance);
+		double fragileProcs = recursiveFragileDamage(currentTrueHP - fragileDamage, particleDamage, resistance, damageByHP);
+		double noProc = recursiveFragileDamage(currentTrueHP, particleDamage, resistance, damageByHP);
 		
-		return probability * (fragileDamage + fragileProcs) + (1.0 - probability) * noProc;
+		double toReturn = probability * (fragileDamage + fragileProcs) + (1.0 - probability) * noProc;
+		damageByHP.put(hpKey, toReturn);
+		return toReturn;
 	}
 	
-	private double recursiveFragileAmmoSpent(double currentTrueHP, double particleDamage, double resistance) {
+	private double recursiveFragileAmmoSpent(double currentTrueHP, double particleDamage, double resistance, HashMap<Long, Double> ammoSpentByHP) {
 		/*
 			Same logic as the Damage method, but this one counts ammo spent.
 		*/
 		
+		long hpKey = Double.doubleToLongBits(currentTrueHP);
+		Double remembered = ammoSpentByHP.get(hpKey);
+		if (remembered != null) {
+			return remembered;
+		}
+		
 		currentTrueHP -= particleDamage / resistance;
 		
 		// Base case: damage from frost particle kills enemy outright
@@ -507,10 +578,12 @@ public class CryoCannon extends Weapon {
 		
 		double probability = 1.0 - currentTrueHP / 100.0;
 		double fragileDamage = Math.min(currentTrueHP, currentTrueHP / resistance);
-		double fragileProcs = recursiveFragileAmmoSpent(currentTrueHP - fragileDamage, particleDamage, resistance);
-		double noProc = recursiveFragileAmmoSpent(currentTrueHP, particleDamage, resistance);
+		double fragileProcs = recursiveFragileAmmoSpent(currentTrueHP - fragileDamage, particleDamage, resistance, ammoSpentByHP);
+		double noProc = recursiveFragileAmmoSpent(currentTrueHP, particleDamage, resistance, ammoSpentByHP);
 		
-		return 1.0 + probability * fragileProcs + (1.0 - probability) * noProc;
+		double toReturn = 1.0 + probability * fragileProcs + (1.0 - probability) * noProc;
+		ammoSpentByHP.put(hpKey, toReturn);
+		return toReturn;
 	}
 	
 	// Because the Cryo Cannon hits multiple targets with its stream, bypasses armor, and doesn't get weakpoint bonuses, this one method should be usable for all the DPS categories.
@@ -552,14 +625,15 @@ public class CryoCannon extends Weapon {
 		double fragileDamage = 0;
 		if (selectedTier5 == 0) {
 			// Adapted from totalDamagePerBurst() above
-			double averageHealth = EnemyInformation.averageHealthPool(true);  // This already returns health multiplied by resistances, so this is the "effective" hp, not "internal" hp 
-			double averageResistance = EnemyInformation.averageDifficultyScalingResistance();
+			double averageHealth = EnemyInformation.averageHealthPool(getDifficulty(), true);  // This already returns health multiplied by resistances, so this is the "effective" hp, not "internal" hp 
+			double averageResistance = EnemyInformation.averageDifficultyScalingResistance(getDifficulty());
 			double avgNumParticlesBeforeFragileCanProc = Math.ceil((averageHealth - 100.0 * averageResistance) / dmgPerParticle);  // This will get the Effective HP below 100 * Resistance, which is the same as getting Internal HP below 100
-			double expectedNumParticlesForFragileKill = Math.ceil(recursiveFragileAmmoSpent(100.0, dmgPerParticle, averageResistance));  // This number is how many particles it will take to kill the creature once below 100 Internal HP
+			double[] fragileDamageAndAmmoSpent = fragileDamageAndAmmoSpentBelow100HP(dmgPerParticle, averageResistance);
+			double expectedNumParticlesForFragileKill = Math.ceil(fragileDamageAndAmmoSpent[1]);  // This number is how many particles it will take to kill the creature once below 100 Internal HP
 			double totalAmmoForAverageFragileKill = avgNumParticlesBeforeFragileCanProc + expectedNumParticlesForFragileKill;
 			
 			double totalNumFragileKills = numTargets * Math.floor(tankSize / totalAmmoForAverageFragileKill);
-			fragileDamage = totalNumFragileKills * recursiveFragileDamage(100.0, dmgPerParticle, averageResistance) * averageResistance;
+			fragileDamage = totalNumFragileKills * fragileDamageAndAmmoSpent[0] * averageResistance;
 		}
 		
 		return baseDamage + fragileDamage;
@@ -586,12 +660,12 @@ public class CryoCannon extends Weapon {
 	@Override
 	protected double averageDamageToKillEnemy() {
 		double dmgPerShot = getParticleDamage();
-		return Math.ceil(EnemyInformation.averageHealthPool() / dmgPerShot) * dmgPerShot;
+		return Math.ceil(EnemyInformation.averageHealthPool(getDifficulty()) / dmgPerShot) * dmgPerShot;
 	}
 	
 	@Override
 	public double averageOverkill() {
-		overkillPercentages = EnemyInformation.overkillPerCreature(getParticleDamage());
+		overkillPercentages = EnemyInformation.overkillPerCreature(getDifficulty(), getParticleDamage());
 		return MathUtils.vectorDotProduct(overkillPercentages[0], overkillPercentages[1]);
 	}
 	
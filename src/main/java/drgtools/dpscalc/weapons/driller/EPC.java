@@ -80,7 +80,7 @@ public abstract class EPC extends Weapon {
 		heatPerChargedShot = 0.4;
 		heatPerSecondWhileCharged = 2.0;
 		
-		initializeModsAndOverclocks();
+		loadModsAndOverclocks();
 		// Grab initial values before customizing mods and overclocks
 		setBaselineStats();
 		
@@ -31,6 +31,9 @@ public class EPC_ChargeShot extends EPC {
 	public EPC_ChargeShot(int mod1, int mod2, int mod3, int mod4, int mod5, int overclock) {
 		super(mod1, mod2, mod3, mod4, mod5, overclock);
 		fullName = "EPC (Charged Shots)";
+		// Which tiers can change each metric, in the same order as Weapon.getMetric(). See Weapon.metricDependsOnModTier()
+		metricDependencies = new String[] {"1345O", "1345O", "1345O", "45O", "1345O", "1345O", "", "", "", "1345O", "1345O", "145O", "1345O", "145O", ""};
+		aoeEfficiencyDependencies = "45O";
 	}
 	
 	@Override
@@ -226,12 +229,12 @@ public class EPC_ChargeShot extends EPC {
 	@Override
 	protected double averageDamageToKillEnemy() {
 		double dmgPerShot = getChargedDirectDamage() + getChargedAreaDamage();
-		return Math.ceil(EnemyInformation.averageHealthPool() / dmgPerShot) * dmgPerShot;
+		return Math.ceil(EnemyInformation.averageHealthPool(getDifficulty()) / dmgPerShot) * dmgPerShot;
 	}
 	
 	@Override
 	public double averageOverkill() {
-		overkillPercentages = EnemyInformation.overkillPerCreature(getChargedDirectDamage() + getChargedAreaDamage());
+		overkillPercentages = EnemyInformation.overkillPerCreature(getDifficulty(), getChargedDirectDamage() + getChargedAreaDamage());
 		return MathUtils.vectorDotProduct(overkillPercentages[0], overkillPercentages[1]);
 	}
 	
@@ -287,7 +290,7 @@ public class EPC_ChargeShot extends EPC {
 			dot_probability[2] = 1.0;
 		}
 		
-		breakpoints = EnemyInformation.calculateBreakpoints(dDamage, aDamage, dot_dps, dot_duration, dot_probability, 
+		breakpoints = EnemyInformation.calculateBreakpoints(getDifficulty(), dDamage, aDamage, dot_dps, dot_duration, dot_probability, 
 															-1.0, 1.0, getRateOfFire(), 0.0, 0.0, 
 															statusEffects[1], statusEffects[3], selectedTier5 == 0, false);
 		return MathUtils.sum(breakpoints);
@@ -32,6 +32,8 @@ public class EPC_RegularShot extends EPC {
 		super(mod1, mod2, mod3, mod4, mod5, overclock);
 		fullName = "EPC (Regular Shots)";
 		customizableRoF = true;
+		// Which tiers can change each metric, in the same order as Weapon.getMetric(). See Weapon.metricDependsOnModTier()
+		metricDependencies = new String[] {"1345O", "1345O", "", "", "1345O", "1345O", "1O", "2", "2", "1345O", "1345O", "1O", "15O", "", "15O"};
 	}
 	
 	@Override
@@ -207,12 +209,12 @@ public class EPC_RegularShot extends EPC {
 	@Override
 	protected double averageDamageToKillEnemy() {
 		double dmgPerShot = increaseBulletDamageForWeakpoints(getDirectDamage());
-		return Math.ceil(EnemyInformation.averageHealthPool() / dmgPerShot) * dmgPerShot;
+		return Math.ceil(EnemyInformation.averageHealthPool(getDifficulty()) / dmgPerShot) * dmgPerShot;
 	}
 	
 	@Override
 	public double averageOverkill() {
-		overkillPercentages = EnemyInformation.overkillPerCreature(getDirectDamage());
+		overkillPercentages = EnemyInformation.overkillPerCreature(getDifficulty(), getDirectDamage());
 		return MathUtils.vectorDotProduct(overkillPercentages[0], overkillPercentages[1]);
 	}
 	
@@ -243,7 +245,7 @@ public class EPC_RegularShot extends EPC {
 		double[] dot_duration = new double[4];
 		double[] dot_probability = new double[4];
 		
-		breakpoints = EnemyInformation.calculateBreakpoints(directDamage, areaDamage, dot_dps, dot_duration, dot_probability, 
+		breakpoints = EnemyInformation.calculateBreakpoints(getDifficulty(), directDamage, areaDamage, dot_dps, dot_duration, dot_probability, 
 															0.0, 1.0, getRateOfFire(), heatPerShot, 0.0, 
 															statusEffects[1], statusEffects[3], false, false);
 		return MathUtils.sum(breakpoints);
@@ -286,7 +288,7 @@ public class EPC_RegularShot extends EPC {
 	@Override
 	public double damageWastedByArmor() {
 		double weakpointAccuracy = EnemyInformation.probabilityBulletWillHitWeakpoint() * 100.0;
-		damageWastedByArmorPerCreature = EnemyInformation.percentageDamageWastedByArmor(getDirectDamage(), 1, 0.0, 1.0, 0.0, 100.0, weakpointAccuracy);
+		damageWastedByArmorPerCreature = EnemyInformation.percentageDamageWastedByArmor(getDifficulty(), getDirectDamage(), 1, 0.0, 1.0, 0.0, 100.0, weakpointAccuracy);
 		return 100 * MathUtils.vectorDotProduct(damageWastedByArmorPerCreature[0], damageWastedByArmorPerCreature[1]) / MathUtils.sum(damageWastedByArmorPerCreature[0]);
 	}
 }
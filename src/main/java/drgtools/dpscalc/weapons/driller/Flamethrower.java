@@ -67,7 +67,7 @@ public class Flamethrower extends Weapon {
 		stickyFlamesDuration = 2.0;
 		stickyFlamesSlow = 0.1;
 		
-		initializeModsAndOverclocks();
+		loadModsAndOverclocks();
 		// Grab initial values before customizing mods and overclocks
 		setBaselineStats();
 		
@@ -80,6 +80,10 @@ public class Flamethrower extends Weapon {
 		
 		// Overclock slot
 		selectedOverclock = overclock;
+		
+		// Which tiers can change each metric, in the same order as Weapon.getMetric(). See Weapon.metricDependsOnModTier()
+		metricDependencies = new String[] {"1235O", "1235O", "1235O", "1O", "12345O", "12345O", "", "", "", "134O", "1235O", "2O", "", "1234O", "1235O"};
+		aoeEfficiencyDependencies = "5";
 	}
 	
 	@Override
@@ -481,12 +485,12 @@ public class Flamethrower extends Weapon {
 	@Override
 	protected double averageDamageToKillEnemy() {
 		double dmgPerShot = getParticleDamage();
-		return Math.ceil(EnemyInformation.averageHealthPool() / dmgPerShot) * dmgPerShot;
+		return Math.ceil(EnemyInformation.averageHealthPool(getDifficulty()) / dmgPerShot) * dmgPerShot;
 	}
 	
 	@Override
 	public double averageOverkill() {
-		overkillPercentages = EnemyInformation.overkillPerCreature(getParticleDamage());
+		overkillPercentages = EnemyInformation.overkillPerCreature(getDifficulty(), getParticleDamage());
 		return MathUtils.vectorDotProduct(overkillPercentages[0], overkillPercentages[1]);
 	}
 
@@ -516,7 +520,7 @@ public class Flamethrower extends Weapon {
 		// Fear
 		if (selectedTier4 == 0) {
 			double probabilityToFear = calculateFearProcProbability(getFearFactorPerParticle());
-			double fearDuration = EnemyInformation.averageFearDuration(getSFSlow(), getSFDuration());
+			double fearDuration = EnemyInformation.averageFearDuration(getDifficulty(), getSFSlow(), getSFDuration());
 			utilityScores[4] = probabilityToFear * numTargets * fearDuration * UtilityInformation.Fear_Utility;
 		}
 		else {
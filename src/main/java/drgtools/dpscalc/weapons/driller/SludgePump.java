@@ -97,7 +97,7 @@ public class SludgePump extends Weapon {
 		// Override default 10m distance
 		accEstimator.setDistance(8.0);
 		
-		initializeModsAndOverclocks();
+		loadModsAndOverclocks();
 		// Grab initial values before customizing mods and overclocks
 		setBaselineStats();
 		
@@ -110,6 +110,10 @@ public class SludgePump extends Weapon {
 		
 		// Overclock slot
 		selectedOverclock = overclock;
+		
+		// Which tiers can change each metric, in the same order as Weapon.getMetric(). See Weapon.metricDependsOnModTier()
+		metricDependencies = new String[] {"125O", "125O", "125O", "", "1235O", "1235O", "", "1O", "1O", "13O", "125O", "2O", "", "135O", ""};
+		aoeEfficiencyDependencies = "";
 	}
 	
 	@Override
@@ -539,12 +543,12 @@ public class SludgePump extends Weapon {
 	@Override
 	protected double averageDamageToKillEnemy() {
 		double dmgPerShot = getRegularShotAreaDamage();
-		return Math.ceil(EnemyInformation.averageHealthPool() / dmgPerShot) * dmgPerShot;
+		return Math.ceil(EnemyInformation.averageHealthPool(getDifficulty()) / dmgPerShot) * dmgPerShot;
 	}
 	
 	@Override
 	public double averageOverkill() {
-		overkillPercentages = EnemyInformation.overkillPerCreature(getRegularShotAreaDamage());
+		overkillPercentages = EnemyInformation.overkillPerCreature(getDifficulty(), getRegularShotAreaDamage());
 		return MathUtils.vectorDotProduct(overkillPercentages[0], overkillPercentages[1]);
 	}
 
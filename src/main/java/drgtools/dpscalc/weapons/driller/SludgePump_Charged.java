@@ -28,6 +28,9 @@ public class SludgePump_Charged extends SludgePump {
 	public SludgePump_Charged(int mod1, int mod2, int mod3, int mod4, int mod5, int overclock) {
 		super(mod1, mod2, mod3, mod4, mod5, overclock);
 		fullName = "Corrosive Sludge Pump (Charged Shots)";
+		// Different metrics than SludgePump, so different tiers affect them. See Weapon.metricDependsOnModTier()
+		metricDependencies = new String[] {"1245O", "1245O", "1245O", "12O", "12345O", "12345O", "", "1O", "1O", "134O", "1245O", "2O", "", "1235O", ""};
+		aoeEfficiencyDependencies = "O";
 	}
 	
 	@Override
@@ -268,12 +271,12 @@ public class SludgePump_Charged extends SludgePump {
 	@Override
 	protected double averageDamageToKillEnemy() {
 		double dmgPerShot = getChargedShotAreaDamage();
-		return Math.ceil(EnemyInformation.averageHealthPool() / dmgPerShot) * dmgPerShot;
+		return Math.ceil(EnemyInformation.averageHealthPool(getDifficulty()) / dmgPerShot) * dmgPerShot;
 	}
 	
 	@Override
 	public double averageOverkill() {
-		overkillPercentages = EnemyInformation.overkillPerCreature(getChargedShotAreaDamage());
+		overkillPercentages = EnemyInformation.overkillPerCreature(getDifficulty(), getChargedShotAreaDamage());
 		return MathUtils.vectorDotProduct(overkillPercentages[0], overkillPercentages[1]);
 	}
 	
@@ -56,7 +56,7 @@ public class Subata extends Weapon {
 		// Subata has a hidden 50% Armor Breaking penalty (credit to Elythnwaen for pointing this out to me)
 		armorBreaking = 0.5;
 		
-		initializeModsAndOverclocks();
+		loadModsAndOverclocks();
 		// Grab initial values before customizing mods and overclocks
 		setBaselineStats();
 		
@@ -69,6 +69,9 @@ public class Subata extends Weapon {
 		
 		// Overclock slot
 		selectedOverclock = overclock;
+		
+		// Which tiers can change each metric, in the same order as Weapon.getMetric(). See Weapon.metricDependsOnModTier()
+		metricDependencies = new String[] {"12345O", "12345O", "1234O", "O", "1234O", "1234O", "1234O", "13O", "13O", "123O", "12345O", "234O", "2345O", "234O", ""};
 	}
 	
 	@Override
@@ -479,12 +482,12 @@ public class Subata extends Weapon {
 	@Override
 	protected double averageDamageToKillEnemy() {
 		double dmgPerShot = increaseBulletDamageForWeakpoints(getDirectDamage(), getWeakpointBonus()) + getAreaDamage();
-		return Math.ceil(EnemyInformation.averageHealthPool() / dmgPerShot) * dmgPerShot;
+		return Math.ceil(EnemyInformation.averageHealthPool(getDifficulty()) / dmgPerShot) * dmgPerShot;
 	}
 	
 	@Override
 	public double averageOverkill() {
-		overkillPercentages = EnemyInformation.overkillPerCreature(getDirectDamage() + getAreaDamage());
+		overkillPercentages = EnemyInformation.overkillPerCreature(getDifficulty(), getDirectDamage() + getAreaDamage());
 		return MathUtils.vectorDotProduct(overkillPercentages[0], overkillPercentages[1]);
 	}
 
@@ -528,7 +531,7 @@ public class Subata extends Weapon {
 		double[] dot_duration = new double[4];
 		double[] dot_probability = new double[4];
 		
-		breakpoints = EnemyInformation.calculateBreakpoints(directDamage, areaDamage, dot_dps, dot_duration, dot_probability, 
+		breakpoints = EnemyInformation.calculateBreakpoints(getDifficulty(), directDamage, areaDamage, dot_dps, dot_duration, dot_probability, 
 															getWeakpointBonus(), armorBreaking, getRateOfFire(), 0.0, macteraBonus, 
 															statusEffects[1], statusEffects[3], false, selectedOverclock == 4);
 		return MathUtils.sum(breakpoints);
@@ -568,7 +571,7 @@ public class Subata extends Weapon {
 	
 	@Override
 	public double damageWastedByArmor() {
-		damageWastedByArmorPerCreature = EnemyInformation.percentageDamageWastedByArmor(getDirectDamage(), 1, getAreaDamage(), armorBreaking, getWeakpointBonus(), getGeneralAccuracy(), getWeakpointAccuracy(), selectedOverclock == 4);
+		damageWastedByArmorPerCreature = EnemyInformation.percentageDamageWastedByArmor(getDifficulty(), getDirectDamage(), 1, getAreaDamage(), armorBreaking, getWeakpointBonus(), getGeneralAccuracy(), getWeakpointAccuracy(), selectedOverclock == 4);
 		return 100 * MathUtils.vectorDotProduct(damageWastedByArmorPerCreature[0], damageWastedByArmorPerCreature[1]) / MathUtils.sum(damageWastedByArmorPerCreature[0]);
 	}
 }
@@ -66,7 +66,7 @@ public class BreachCutter extends Weapon {
 		rateOfFire = 1.5;
 		reloadTime = 3.4;
 		
-		initializeModsAndOverclocks();
+		loadModsAndOverclocks();
 		// Grab initial values before customizing mods and overclocks
 		setBaselineStats();
 		
@@ -79,6 +79,10 @@ public class BreachCutter extends Weapon {
 		
 		// Overclock slot
 		selectedOverclock = overclock;
+		
+		// Which tiers can change each metric, in the same order as Weapon.getMetric(). See Weapon.metricDependsOnModTier()
+		metricDependencies = new String[] {"1235O", "1235O", "1235O", "12O", "125O", "125O", "", "", "", "123O", "1235O", "125O", "", "1245O", "2O"};
+		aoeEfficiencyDependencies = "5";
 	}
 	
 	@Override
@@ -651,12 +655,12 @@ public class BreachCutter extends Weapon {
 	protected double averageDamageToKillEnemy() {
 		// Yes extend DoT durations, yes primary target, no weakpoint
 		double dmgPerShot = calculateAverageDamagePerGrunt(true, true, false, true);
-		return Math.ceil(EnemyInformation.averageHealthPool() / dmgPerShot) * dmgPerShot;
+		return Math.ceil(EnemyInformation.averageHealthPool(getDifficulty()) / dmgPerShot) * dmgPerShot;
 	}
 	
 	@Override
 	public double averageOverkill() {
-		overkillPercentages = EnemyInformation.overkillPerCreature(calculateAverageDamagePerGrunt(true, true, false, true));
+		overkillPercentages = EnemyInformation.overkillPerCreature(getDifficulty(), calculateAverageDamagePerGrunt(true, true, false, true));
 		return MathUtils.vectorDotProduct(overkillPercentages[0], overkillPercentages[1]);
 	}
 
@@ -27,6 +27,8 @@ public class BreachCutter_Projectile extends BreachCutter {
 	public BreachCutter_Projectile(int mod1, int mod2, int mod3, int mod4, int mod5, int overclock) {
 		super(mod1, mod2, mod3, mod4, mod5, overclock);
 		fullName = "Breach Cutter Projectile";
+		// Different metrics than BreachCutter, so different tiers affect them. See Weapon.metricDependsOnModTier()
+		metricDependencies = new String[] {"125O", "125O", "125O", "12O", "125O", "125O", "", "", "", "13O", "125O", "125O", "", "1245O", "2O"};
 	}
 	
 	@Override
@@ -56,7 +56,7 @@ public class GrenadeLauncher extends Weapon {
 		reloadTime = 2.0;
 		fearFactor = 1.0;
 		
-		initializeModsAndOverclocks();
+		loadModsAndOverclocks();
 		// Grab initial values before customizing mods and overclocks
 		setBaselineStats();
 		
@@ -69,6 +69,10 @@ public class GrenadeLauncher extends Weapon {
 		
 		// Overclock slot
 		selectedOverclock = overclock;
+		
+		// Which tiers can change each metric, in the same order as Weapon.getMetric(). See Weapon.metricDependsOnModTier()
+		metricDependencies = new String[] {"12345O", "12345O", "12345O", "145O", "12345O", "12345O", "12345O", "3O", "3O", "12O", "12345O", "12345O", "12345O", "12345O", "12345O"};
+		aoeEfficiencyDependencies = "145O";
 	}
 
 	@Override
@@ -466,12 +470,12 @@ public class GrenadeLauncher extends Weapon {
 	@Override
 	protected double averageDamageToKillEnemy() {
 		double dmgPerShot = increaseBulletDamageForWeakpoints(getDirectDamage()) + getAreaDamage();
-		return Math.ceil(EnemyInformation.averageHealthPool() / dmgPerShot) * dmgPerShot;
+		return Math.ceil(EnemyInformation.averageHealthPool(getDifficulty()) / dmgPerShot) * dmgPerShot;
 	}
 	
 	@Override
 	public double averageOverkill() {
-		overkillPercentages = EnemyInformation.overkillPerCreature(getDirectDamage() + getAreaDamage());
+		overkillPercentages = EnemyInformation.overkillPerCreature(getDifficulty(), getDirectDamage() + getAreaDamage());
 		return MathUtils.vectorDotProduct(overkillPercentages[0], overkillPercentages[1]);
 	}
 
@@ -516,7 +520,7 @@ public class GrenadeLauncher extends Weapon {
 			dot_probability[3] = 1.0;
 		}
 		
-		breakpoints = EnemyInformation.calculateBreakpoints(directDamage, areaDamage, dot_dps, dot_duration, dot_probability, 
+		breakpoints = EnemyInformation.calculateBreakpoints(getDifficulty(), directDamage, areaDamage, dot_dps, dot_duration, dot_probability, 
 															0.0, getArmorBreaking(), 1.0/((1.0/rateOfFire) + getReloadTime()), heatPerGrenade, 0.0, 
 															statusEffects[1], statusEffects[3], false, false);
 		return MathUtils.sum(breakpoints);
@@ -547,7 +551,7 @@ public class GrenadeLauncher extends Weapon {
 		}
 
 		// Fear (baseline function of the Grenade Launcher)
-		utilityScores[4] = calculateFearProcProbability(fearFactor) * aoeEfficiency[2] * EnemyInformation.averageFearDuration() * UtilityInformation.Fear_Utility;
+		utilityScores[4] = calculateFearProcProbability(fearFactor) * aoeEfficiency[2] * EnemyInformation.averageFearDuration(getDifficulty()) * UtilityInformation.Fear_Utility;
 		
 		// Stun (T4.C 100% stun chance, 3 sec duration)
 		if (selectedTier4 == 2) {
@@ -596,7 +600,7 @@ public class GrenadeLauncher extends Weapon {
 	@Override
 	public double damageWastedByArmor() {
 		double weakpointAccuracy = EnemyInformation.probabilityBulletWillHitWeakpoint() * 100.0;
-		damageWastedByArmorPerCreature = EnemyInformation.percentageDamageWastedByArmor(getDirectDamage(), 1, getAreaDamage(), getArmorBreaking(), 0.0, 100.0, weakpointAccuracy);
+		damageWastedByArmorPerCreature = EnemyInformation.percentageDamageWastedByArmor(getDifficulty(), getDirectDamage(), 1, getAreaDamage(), getArmorBreaking(), 0.0, 100.0, weakpointAccuracy);
 		return 100 * MathUtils.vectorDotProduct(damageWastedByArmorPerCreature[0], damageWastedByArmorPerCreature[1]) / MathUtils.sum(damageWastedByArmorPerCreature[0]);
 	}
 }
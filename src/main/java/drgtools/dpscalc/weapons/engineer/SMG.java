@@ -60,7 +60,7 @@ public class SMG extends Weapon {
 		// Override default 10m distance
 		accEstimator.setDistance(7.0);
 		
-		initializeModsAndOverclocks();
+		loadModsAndOverclocks();
 		// Grab initial values before customizing mods and overclocks
 		setBaselineStats();
 		
@@ -73,6 +73,9 @@ public class SMG extends Weapon {
 		
 		// Overclock slot
 		selectedOverclock = overclock;
+		
+		// Which tiers can change each metric, in the same order as Weapon.getMetric(). See Weapon.metricDependsOnModTier()
+		metricDependencies = new String[] {"12345O", "12345O", "125O", "5", "12345O", "12345O", "12345O", "25O", "25O", "1235O", "12345O", "12345O", "12345O", "12345O", ""};
 	}
 	
 	@Override
@@ -454,12 +457,12 @@ public class SMG extends Weapon {
 	@Override
 	protected double averageDamageToKillEnemy() {
 		double dmgPerShot = increaseBulletDamageForWeakpoints(getDirectDamage() + getElectricDamage());
-		return Math.ceil(EnemyInformation.averageHealthPool() / dmgPerShot) * dmgPerShot;
+		return Math.ceil(EnemyInformation.averageHealthPool(getDifficulty()) / dmgPerShot) * dmgPerShot;
 	}
 	
 	@Override
 	public double averageOverkill() {
-		overkillPercentages = EnemyInformation.overkillPerCreature(getDirectDamage() + getElectricDamage());
+		overkillPercentages = EnemyInformation.overkillPerCreature(getDifficulty(), getDirectDamage() + getElectricDamage());
 		return MathUtils.vectorDotProduct(overkillPercentages[0], overkillPercentages[1]);
 	}
 
@@ -500,7 +503,7 @@ public class SMG extends Weapon {
 		dot_duration[0] = DoTInformation.Electro_SecsDuration;
 		dot_probability[0] = getElectrocutionDoTChance();
 		
-		breakpoints = EnemyInformation.calculateBreakpoints(directDamage, areaDamage, dot_dps, dot_duration, dot_probability, 
+		breakpoints = EnemyInformation.calculateBreakpoints(getDifficulty(), directDamage, areaDamage, dot_dps, dot_duration, dot_probability, 
 															getWeakpointBonus(), 1.0, getRateOfFire(), 0.0, 0.0, 
 															statusEffects[1], statusEffects[3], false, false);
 		return MathUtils.sum(breakpoints);
@@ -527,7 +530,7 @@ public class SMG extends Weapon {
 		if (selectedOverclock == 5) {
 			// OC "Turret EM Discharge" inflicts 0.5 Fear in a 5m radius around the sentry. Also, since the enemies will be electrocuted the Fear duration gets increased.
 			// 5m radius returns 41 Grunts, which is more than I think would realistically be hit by these explosions. As such, I'm artificially halving the Fear radius to 2.5m
-			utilityScores[4] = calculateFearProcProbability(0.5) * calculateNumGlyphidsInRadius(5.0/2.0, false) * EnemyInformation.averageFearDuration(0.8, 3) * UtilityInformation.Fear_Utility;
+			utilityScores[4] = calculateFearProcProbability(0.5) * calculateNumGlyphidsInRadius(5.0/2.0, false) * EnemyInformation.averageFearDuration(getDifficulty(), 0.8, 3) * UtilityInformation.Fear_Utility;
 		}
 		else {
 			utilityScores[4] = 0;
@@ -554,7 +557,7 @@ public class SMG extends Weapon {
 	
 	@Override
 	public double damageWastedByArmor() {
-		damageWastedByArmorPerCreature = EnemyInformation.percentageDamageWastedByArmor(getDirectDamage() + getElectricDamage(), 1, 0.0, 1.0, getWeakpointBonus(), getGeneralAccuracy(), getWeakpointAccuracy());
+		damageWastedByArmorPerCreature = EnemyInformation.percentageDamageWastedByArmor(getDifficulty(), getDirectDamage() + getElectricDamage(), 1, 0.0, 1.0, getWeakpointBonus(), getGeneralAccuracy(), getWeakpointAccuracy());
 		return 100 * MathUtils.vectorDotProduct(damageWastedByArmorPerCreature[0], damageWastedByArmorPerCreature[1]) / MathUtils.sum(damageWastedByArmorPerCreature[0]);
 	}
 }
@@ -60,7 +60,7 @@ public class Shotgun extends Weapon {
 		// Override default 10m distance
 		accEstimator.setDistance(7.0);
 		
-		initializeModsAndOverclocks();
+		loadModsAndOverclocks();
 		// Grab initial values before customizing mods and overclocks
 		setBaselineStats();
 		
@@ -73,6 +73,9 @@ public class Shotgun extends Weapon {
 		
 		// Overclock slot
 		selectedOverclock = overclock;
+		
+		// Which tiers can change each metric, in the same order as Weapon.getMetric(). See Weapon.metricDependsOnModTier()
+		metricDependencies = new String[] {"12345O", "12345O", "", "", "1234O", "1234O", "12345O", "1235O", "1235O", "1235O", "12345O", "24O", "12345O", "12345O", ""};
 	}
 	
 	@Override
@@ -470,12 +473,12 @@ public class Shotgun extends Weapon {
 	@Override
 	protected double averageDamageToKillEnemy() {
 		double dmgPerShot = increaseBulletDamageForWeakpoints(getDamagePerPellet(), getWeakpointBonus()) * getNumberOfPellets();
-		return Math.ceil(EnemyInformation.averageHealthPool() / dmgPerShot) * dmgPerShot;
+		return Math.ceil(EnemyInformation.averageHealthPool(getDifficulty()) / dmgPerShot) * dmgPerShot;
 	}
 	
 	@Override
 	public double averageOverkill() {
-		overkillPercentages = EnemyInformation.overkillPerCreature(getDamagePerPellet() * getNumberOfPellets());
+		overkillPercentages = EnemyInformation.overkillPerCreature(getDifficulty(), getDamagePerPellet() * getNumberOfPellets());
 		return MathUtils.vectorDotProduct(overkillPercentages[0], overkillPercentages[1]);
 	}
 
@@ -511,7 +514,7 @@ public class Shotgun extends Weapon {
 		double[] dot_duration = new double[4];
 		double[] dot_probability = new double[4];
 		
-		breakpoints = EnemyInformation.calculateBreakpoints(directDamage, areaDamage, dot_dps, dot_duration, dot_probability, 
+		breakpoints = EnemyInformation.calculateBreakpoints(getDifficulty(), directDamage, areaDamage, dot_dps, dot_duration, dot_probability, 
 															getWeakpointBonus(), getArmorBreaking(), getRateOfFire(), 0.0, 0.0, 
 															statusEffects[1], statusEffects[3], false, false);
 		return MathUtils.sum(breakpoints);
@@ -527,7 +530,7 @@ public class Shotgun extends Weapon {
 		// Fear
 		if (selectedTier5 == 0) {
 			// Turret Whip projectile does 1.0 Fear Factor in its 2m radius
-			utilityScores[4] = calculateFearProcProbability(1.0) * calculateNumGlyphidsInRadius(2.0) * EnemyInformation.averageFearDuration() * UtilityInformation.Fear_Utility;
+			utilityScores[4] = calculateFearProcProbability(1.0) * calculateNumGlyphidsInRadius(2.0) * EnemyInformation.averageFearDuration(getDifficulty()) * UtilityInformation.Fear_Utility;
 		}
 		else {
 			utilityScores[4] = 0;
@@ -562,7 +565,7 @@ public class Shotgun extends Weapon {
 	
 	@Override
 	public double damageWastedByArmor() {
-		damageWastedByArmorPerCreature = EnemyInformation.percentageDamageWastedByArmor(getDamagePerPellet(), getNumberOfPellets(), 0.0, getArmorBreaking(), getWeakpointBonus(), getGeneralAccuracy(), getWeakpointAccuracy());
+		damageWastedByArmorPerCreature = EnemyInformation.percentageDamageWastedByArmor(getDifficulty(), getDamagePerPellet(), getNumberOfPellets(), 0.0, getArmorBreaking(), getWeakpointBonus(), getGeneralAccuracy(), getWeakpointAccuracy());
 		return 100 * MathUtils.vectorDotProduct(damageWastedByArmorPerCreature[0], damageWastedByArmorPerCreature[1]) / MathUtils.sum(damageWastedByArmorPerCreature[0]);
 	}
 }
@@ -28,6 +28,9 @@ public class SmartRifle_LockOn extends SmartRifle {
 		fullName = "LOK-1 Smart Rifle (Lock-On)";
 		// This value is false by default, but SmartRifle sets it to true. In order to model the burst-fire Lock-On mechanic, it has to be set back to false.
 		customizableRoF = false;
+		// Different metrics than SmartRifle, so different tiers affect them. See Weapon.metricDependsOnModTier()
+		metricDependencies = new String[] {"1345O", "1345O", "1345O", "3O", "1345O", "1345O", "1O", "", "", "14O", "1345O", "1O", "1345O", "145O", ""};
+		aoeEfficiencyDependencies = "O";
 	}
 	
 	@Override
@@ -278,7 +281,7 @@ public class SmartRifle_LockOn extends SmartRifle {
 	@Override
 	protected double averageDamageToKillEnemy() {
 		double dmgPerShot = increaseBulletDamageForWeakpoints(getDirectDamage(), getWeakpointBonus());
-		double enemyHP = EnemyInformation.averageHealthPool();
+		double enemyHP = EnemyInformation.averageHealthPool(getDifficulty());
 		if (selectedOverclock == 3) {
 			enemyHP -= getAreaDamage();
 		}
@@ -288,7 +291,7 @@ public class SmartRifle_LockOn extends SmartRifle {
 	@Override
 	public double averageOverkill() {
 		// This is also being modeled as if the player is min-maxing the explosion every 3 rounds.
-		overkillPercentages = EnemyInformation.overkillPerCreature(getDirectDamage() + getAreaDamage() / 3.0);
+		overkillPercentages = EnemyInformation.overkillPerCreature(getDifficulty(), getDirectDamage() + getAreaDamage() / 3.0);
 		return MathUtils.vectorDotProduct(overkillPercentages[0], overkillPercentages[1]);
 	}
 
@@ -341,7 +344,7 @@ public class SmartRifle_LockOn extends SmartRifle {
 			dot_probability[0] = 0.3333;
 		}
 		
-		breakpoints = EnemyInformation.calculateBreakpoints(directDamage, areaDamage, dot_dps, dot_duration, dot_probability, 
+		breakpoints = EnemyInformation.calculateBreakpoints(getDifficulty(), directDamage, areaDamage, dot_dps, dot_duration, dot_probability, 
 															getWeakpointBonus(), getArmorBreaking(), getRateOfFire(), 0.0, 0.0, 
 															statusEffects[1], statusEffects[3], false, false);
 		return MathUtils.sum(breakpoints);
@@ -379,10 +382,10 @@ public class SmartRifle_LockOn extends SmartRifle {
 			double numEnemiesHitByFear = calculateNumGlyphidsInRadius(fearRadius, false);
 			double fearDuration = 0;
 			if (selectedOverclock == 5) {
-				fearDuration = EnemyInformation.averageFearDuration(1.0 - Math.pow(0.9, avgNumLocksPerEnemy), getLockonDuration());
+				fearDuration = EnemyInformation.averageFearDuration(getDifficulty(), 1.0 - Math.pow(0.9, avgNumLocksPerEnemy), getLockonDuration());
 			}
 			else {
-				fearDuration = EnemyInformation.averageFearDuration();
+				fearDuration = EnemyInformation.averageFearDuration(getDifficulty());
 			}
 			utilityScores[4] += calculateFearProcProbability(fearFactor) * numEnemiesHitByFear * fearDuration * UtilityInformation.Fear_Utility;
 		}
@@ -391,7 +394,7 @@ public class SmartRifle_LockOn extends SmartRifle {
 		if (selectedOverclock == 3) {
 			// Just like SMG OC "Turret EM Discharge", I'm choosing to artificially halve the radius of the AoE Fear effect to get more realistic numbers.
 			double numEnemiesFearedPerExplosion = calculateNumGlyphidsInRadius(2.0, false);
-			utilityScores[4] += calculateFearProcProbability(0.5) * numEnemiesFearedPerExplosion * EnemyInformation.averageFearDuration() * UtilityInformation.Fear_Utility;
+			utilityScores[4] += calculateFearProcProbability(0.5) * numEnemiesFearedPerExplosion * EnemyInformation.averageFearDuration(getDifficulty()) * UtilityInformation.Fear_Utility;
 		}
 		
 		return MathUtils.sum(utilityScores);
@@ -434,7 +437,7 @@ public class SmartRifle_LockOn extends SmartRifle {
 		double genAcc = (1.0 - wpAcc) * 100;
 		wpAcc *= 100;
 		
-		damageWastedByArmorPerCreature = EnemyInformation.percentageDamageWastedByArmor(getDirectDamage(), 1, getAreaDamage() / 3.0, getArmorBreaking(), getWeakpointBonus(), genAcc, wpAcc);
+		damageWastedByArmorPerCreature = EnemyInformation.percentageDamageWastedByArmor(getDifficulty(), getDirectDamage(), 1, getAreaDamage() / 3.0, getArmorBreaking(), getWeakpointBonus(), genAcc, wpAcc);
 		if (selectedOverclock == 2) {
 			return 0.0;
 		}
@@ -66,7 +66,7 @@ public class Autocannon extends Weapon {
 		// Override default 10m distance
 		accEstimator.setDistance(6.0);
 		
-		initializeModsAndOverclocks();
+		loadModsAndOverclocks();
 		// Grab initial values before customizing mods and overclocks
 		setBaselineStats();
 		
@@ -79,6 +79,10 @@ public class Autocannon extends Weapon {
 		
 		// Overclock slot
 		selectedOverclock = overclock;
+		
+		// Which tiers can change each metric, in the same order as Weapon.getMetric(). See Weapon.metricDependsOnModTier()
+		metricDependencies = new String[] {"12345O", "12345O", "12345O", "4O", "12345O", "12345O", "12345O", "2O", "2O", "123O", "12345O", "1235O", "12345O", "12345O", ""};
+		aoeEfficiencyDependencies = "4O";
 	}
 
 	@Override
@@ -539,12 +543,12 @@ public class Autocannon extends Weapon {
 	@Override
 	protected double averageDamageToKillEnemy() {
 		double dmgPerShot = increaseBulletDamageForWeakpoints(getDirectDamage()) + getAreaDamage();
-		return Math.ceil(EnemyInformation.averageHealthPool() / dmgPerShot) * dmgPerShot;
+		return Math.ceil(EnemyInformation.averageHealthPool(getDifficulty()) / dmgPerShot) * dmgPerShot;
 	}
 	
 	@Override
 	public double averageOverkill() {
-		overkillPercentages = EnemyInformation.overkillPerCreature(getDirectDamage() + getAreaDamage());
+		overkillPercentages = EnemyInformation.overkillPerCreature(getDifficulty(), getDirectDamage() + getAreaDamage());
 		return MathUtils.vectorDotProduct(overkillPercentages[0], overkillPercentages[1]);
 	}
 
@@ -580,7 +584,7 @@ public class Autocannon extends Weapon {
 			dot_probability[1] = 0.5;
 		}
 		
-		breakpoints = EnemyInformation.calculateBreakpoints(directDamage, areaDamage, dot_dps, dot_duration, dot_probability, 
+		breakpoints = EnemyInformation.calculateBreakpoints(getDifficulty(), directDamage, areaDamage, dot_dps, dot_duration, dot_probability, 
 															0.0, getArmorBreaking(), getAverageRateOfFire(), 0.0, 0.0, 
 															statusEffects[1], statusEffects[3], false, false);
 		return MathUtils.sum(breakpoints);
@@ -641,10 +645,10 @@ public class Autocannon extends Weapon {
 			double probabilityToFear = calculateFearProcProbability(0.5);
 			double fearDuration = 0;
 			if (selectedOverclock == 5) {
-				fearDuration = EnemyInformation.averageFearDuration(UtilityInformation.Neuro_Slow_Utility, 10.0);
+				fearDuration = EnemyInformation.averageFearDuration(getDifficulty(), UtilityInformation.Neuro_Slow_Utility, 10.0);
 			}
 			else {
-				fearDuration = EnemyInformation.averageFearDuration();
+				fearDuration = EnemyInformation.averageFearDuration(getDifficulty());
 			}
 			utilityScores[4] = probabilityToFear * numGlyphidsFeared * fearDuration * UtilityInformation.Fear_Utility;
 		}
@@ -673,7 +677,7 @@ public class Autocannon extends Weapon {
 	
 	@Override
 	public double damageWastedByArmor() {
-		damageWastedByArmorPerCreature = EnemyInformation.percentageDamageWastedByArmor(getDirectDamage(), 1, getAreaDamage(), getArmorBreaking(), 0.0, getGeneralAccuracy(), getWeakpointAccuracy());
+		damageWastedByArmorPerCreature = EnemyInformation.percentageDamageWastedByArmor(getDifficulty(), getDirectDamage(), 1, getAreaDamage(), getArmorBreaking(), 0.0, getGeneralAccuracy(), getWeakpointAccuracy());
 		return 100 * MathUtils.vectorDotProduct(damageWastedByArmorPerCreature[0], damageWastedByArmorPerCreature[1]) / MathUtils.sum(damageWastedByArmorPerCreature[0]);
 	}
 }
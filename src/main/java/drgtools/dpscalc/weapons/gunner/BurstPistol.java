@@ -58,7 +58,7 @@ public class BurstPistol extends Weapon {
 		reloadTime = 2.2;
 		armorBreaking = 0.5;
 		
-		initializeModsAndOverclocks();
+		loadModsAndOverclocks();
 		// Grab initial values before customizing mods and overclocks
 		setBaselineStats();
 		
@@ -71,6 +71,9 @@ public class BurstPistol extends Weapon {
 		
 		// Overclock slot
 		selectedOverclock = overclock;
+		
+		// Which tiers can change each metric, in the same order as Weapon.getMetric(). See Weapon.metricDependsOnModTier()
+		metricDependencies = new String[] {"12345O", "12345O", "12345O", "1O", "12345O", "12345O", "12345O", "1235O", "1235O", "2345O", "12345O", "135O", "1234O", "12345O", ""};
 	}
 	
 	@Override
@@ -489,12 +492,12 @@ public class BurstPistol extends Weapon {
 	@Override
 	protected double averageDamageToKillEnemy() {
 		double dmgPerBurst = increaseBulletDamageForWeakpoints(getDirectDamage(), getWeakpointBonus()) * getBurstSize();
-		return Math.ceil(EnemyInformation.averageHealthPool() / dmgPerBurst) * dmgPerBurst;
+		return Math.ceil(EnemyInformation.averageHealthPool(getDifficulty()) / dmgPerBurst) * dmgPerBurst;
 	}
 	
 	@Override
 	public double averageOverkill() {
-		overkillPercentages = EnemyInformation.overkillPerCreature(getDirectDamage() * getBurstSize());
+		overkillPercentages = EnemyInformation.overkillPerCreature(getDifficulty(), getDirectDamage() * getBurstSize());
 		return MathUtils.vectorDotProduct(overkillPercentages[0], overkillPercentages[1]);
 	}
 
@@ -536,7 +539,7 @@ public class BurstPistol extends Weapon {
 			dot_probability[0] = 1.0;
 		}
 		
-		breakpoints = EnemyInformation.calculateBreakpoints(directDamage, areaDamage, dot_dps, dot_duration, dot_probability, 
+		breakpoints = EnemyInformation.calculateBreakpoints(getDifficulty(), directDamage, areaDamage, dot_dps, dot_duration, dot_probability, 
 															getWeakpointBonus(), getArmorBreaking(), getRateOfFire(), 0.0, 0.0, 
 															statusEffects[1], statusEffects[3], false, false);
 		return MathUtils.sum(breakpoints);
@@ -590,7 +593,7 @@ public class BurstPistol extends Weapon {
 	
 	@Override
 	public double damageWastedByArmor() {
-		damageWastedByArmorPerCreature = EnemyInformation.percentageDamageWastedByArmor(getDirectDamage(), 1, 0.0, getArmorBreaking(), getWeakpointBonus(), getGeneralAccuracy(), getWeakpointAccuracy());
+		damageWastedByArmorPerCreature = EnemyInformation.percentageDamageWastedByArmor(getDifficulty(), getDirectDamage(), 1, 0.0, getArmorBreaking(), getWeakpointBonus(), getGeneralAccuracy(), getWeakpointAccuracy());
 		return 100 * MathUtils.vectorDotProduct(damageWastedByArmorPerCreature[0], damageWastedByArmorPerCreature[1]) / MathUtils.sum(damageWastedByArmorPerCreature[0]);
 	}
 }
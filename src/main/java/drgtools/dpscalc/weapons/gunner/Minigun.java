@@ -77,7 +77,7 @@ public class Minigun extends Weapon {
 		accEstimator.setDistance(7.0);
 		accEstimator.setSpreadCurve(new MinigunCurve());
 		
-		initializeModsAndOverclocks();
+		loadModsAndOverclocks();
 		// Grab initial values before customizing mods and overclocks
 		setBaselineStats();
 		
@@ -90,6 +90,9 @@ public class Minigun extends Weapon {
 		
 		// Overclock slot
 		selectedOverclock = overclock;
+		
+		// Which tiers can change each metric, in the same order as Weapon.getMetric(). See Weapon.metricDependsOnModTier()
+		metricDependencies = new String[] {"12345O", "12345O", "12345O", "3O", "12345O", "12345O", "12345O", "1245O", "1245O", "1245O", "12345O", "1245O", "12345O", "12345O", "1245O"};
 	}
 
 	@Override
@@ -372,7 +375,7 @@ public class Minigun extends Weapon {
 			
 			// I'm choosing to model CatG with the incorrect "guessed" Spawn Rates vector because it produced very believable results.
 			// Using the "exact" Spawn Rates made this model CatG WAY too strongly.
-			double estimatedBurstTTK = EnemyInformation.averageHealthPool(false) / estimatedBurstDPS;
+			double estimatedBurstTTK = EnemyInformation.averageHealthPool(getDifficulty(), false) / estimatedBurstDPS;
 			double timeAddedByCATG = (firingPeriod / estimatedBurstTTK) * heatRemovedPerKill;
 			firingPeriod += timeAddedByCATG;
 			
@@ -401,6 +404,10 @@ public class Minigun extends Weapon {
 		// MikeGSG told me that my approximation was wrong. It's just a simple linear cooling rate. 6 Heat at 1.5 Cooling Rate would take 4 seconds to cool off, after the CoolingDelay.
 		return getCoolingDelay() + maxHeat / getCoolingRate();
 	}
+	// Aggressive Venting's AoE never changes, so it only gets calculated once instead of once per metric for every build that has it equipped.
+	private double[] getAggressiveVentingAoeEfficiency() {
+		return getIntermediate("Aggressive Venting AoE", "", () -> calculateAverageAreaDamage(10, 6, 0.25, false));
+	}
 	
 	@Override
 	public StatsRow[] getStats() {
@@ -693,7 +700,7 @@ public class Minigun extends Weapon {
 		if (selectedTier5 == 0) {
 			// I'm choosing to model Aggressive Venting as Fire DoT max damage without affecting DPS stats, since the 5 sec cooldown penalty would TANK all of those stats.
 			// Additionally, I'm choosing to not combine its burst of 60 Heat Damage with the Heat/sec dealt by Hot Bullets or Burning Hell. It gets its own section, all to itself.
-			double[] aggressiveVentingAoeEfficiency = calculateAverageAreaDamage(10, 6, 15.0/60.0);
+			double[] aggressiveVentingAoeEfficiency = getAggressiveVentingAoeEfficiency();
 			double percentageOfEnemiesIgnitedByAV = EnemyInformation.percentageEnemiesIgnitedBySingleBurstOfHeat(60 * aggressiveVentingAoeEfficiency[1]);
 			double numGlyphidsHitByHeatBurst = aggressiveVentingAoeEfficiency[2];
 			int numTimesAVcanTrigger = (int) Math.floor(numberOfBursts);
@@ -732,12 +739,12 @@ public class Minigun extends Weapon {
 	@Override
 	protected double averageDamageToKillEnemy() {
 		double dmgPerShot = increaseBulletDamageForWeakpoints(getDamagePerPellet(false));
-		return Math.ceil(EnemyInformation.averageHealthPool() / dmgPerShot) * dmgPerShot;
+		return Math.ceil(EnemyInformation.averageHealthPool(getDifficulty()) / dmgPerShot) * dmgPerShot;
 	}
 	
 	@Override
 	public double averageOverkill() {
-		overkillPercentages = EnemyInformation.overkillPerCreature(getDamagePerPellet(false));
+		overkillPercentages = EnemyInformation.overkillPerCreature(getDifficulty(), getDamagePerPellet(false));
 		return MathUtils.vectorDotProduct(overkillPercentages[0], overkillPercentages[1]);
 	}
 
@@ -790,7 +797,7 @@ public class Minigun extends Weapon {
 		double[] dot_probability = new double[4];
 		
 		// Setting embeddedDetonators to true when Burning Hell is equipped so that it doesn't affect Armor Breaking stats
-		breakpoints = EnemyInformation.calculateBreakpoints(directDamage, areaDamage, dot_dps, dot_duration, dot_probability, 
+		breakpoints = EnemyInformation.calculateBreakpoints(getDifficulty(), directDamage, areaDamage, dot_dps, dot_duration, dot_probability, 
 															0.0, getArmorBreaking(), effectiveRoF, heatPerShot, 0.0, 
 															statusEffects[1], statusEffects[3], false, selectedOverclock == 2);
 		return MathUtils.sum(breakpoints);
@@ -808,10 +815,10 @@ public class Minigun extends Weapon {
 		if (selectedTier5 == 0) {
 			// This returns 135 Grunts with radius 10, so I'm choosing to reduce the number by the AoE Efficiency (about 76%) which brings the number feared down to 103.
 			// That still might be too high?
-			double[] aggressiveVentingAoeEfficiency = calculateAverageAreaDamage(10, 6, 0.25);
+			double[] aggressiveVentingAoeEfficiency = getAggressiveVentingAoeEfficiency();
 			int numGlyphidsFeared = (int) Math.round(aggressiveVentingAoeEfficiency[1] * aggressiveVentingAoeEfficiency[2]);
 			double probabilityToFear = calculateFearProcProbability(10.0);
-			utilityScores[4] = probabilityToFear * numGlyphidsFeared * EnemyInformation.averageFearDuration() * UtilityInformation.Fear_Utility;
+			utilityScores[4] = probabilityToFear * numGlyphidsFeared * EnemyInformation.averageFearDuration(getDifficulty()) * UtilityInformation.Fear_Utility;
 		}
 		else {
 			utilityScores[4] = 0;
@@ -849,7 +856,7 @@ public class Minigun extends Weapon {
 	
 	@Override
 	public double damageWastedByArmor() {
-		damageWastedByArmorPerCreature = EnemyInformation.percentageDamageWastedByArmor(getDamagePerPellet(false), 1, 0.0, getArmorBreaking(), 0.0, getGeneralAccuracy(), getWeakpointAccuracy());
+		damageWastedByArmorPerCreature = EnemyInformation.percentageDamageWastedByArmor(getDifficulty(), getDamagePerPellet(false), 1, 0.0, getArmorBreaking(), 0.0, getGeneralAccuracy(), getWeakpointAccuracy());
 		return 100 * MathUtils.vectorDotProduct(damageWastedByArmorPerCreature[0], damageWastedByArmorPerCreature[1]) / MathUtils.sum(damageWastedByArmorPerCreature[0]);
 	}
 }
\ No newline at end of file
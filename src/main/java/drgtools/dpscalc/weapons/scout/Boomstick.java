@@ -73,7 +73,7 @@ public class Boomstick extends Weapon {
 		// Override default 10m distance
 		accEstimator.setDistance(4.0);
 		
-		initializeModsAndOverclocks();
+		loadModsAndOverclocks();
 		// Grab initial values before customizing mods and overclocks
 		setBaselineStats();
 		
@@ -86,6 +86,9 @@ public class Boomstick extends Weapon {
 		
 		// Overclock slot
 		selectedOverclock = overclock;
+		
+		// Which tiers can change each metric, in the same order as Weapon.getMetric(). See Weapon.metricDependsOnModTier()
+		metricDependencies = new String[] {"12345O", "12345O", "12345O", "4", "12345O", "12345O", "134O", "O", "O", "123O", "12345O", "134O", "12345O", "1345O", "12345O"};
 	}
 	
 	@Override
@@ -540,12 +543,12 @@ public class Boomstick extends Weapon {
 			// Because the player cannot shoot only one shot with Double Barrel, I'm choosing to double the damage per shot to penalize this method accordingly.
 			dmgPerShot *= 2.0;
 		}
-		return Math.ceil(EnemyInformation.averageHealthPool() / dmgPerShot) * dmgPerShot;
+		return Math.ceil(EnemyInformation.averageHealthPool(getDifficulty()) / dmgPerShot) * dmgPerShot;
 	}
 	
 	@Override
 	public double averageOverkill() {
-		overkillPercentages = EnemyInformation.overkillPerCreature(getDamagePerPellet() * getNumberOfPellets() + getBlastwaveDamage());
+		overkillPercentages = EnemyInformation.overkillPerCreature(getDifficulty(), getDamagePerPellet() * getNumberOfPellets() + getBlastwaveDamage());
 		return MathUtils.vectorDotProduct(overkillPercentages[0], overkillPercentages[1]);
 	}
 
@@ -603,7 +606,7 @@ public class Boomstick extends Weapon {
 		double[] dot_duration = new double[4];
 		double[] dot_probability = new double[4];
 		
-		breakpoints = EnemyInformation.calculateBreakpoints(directDamage, areaDamage, dot_dps, dot_duration, dot_probability, 
+		breakpoints = EnemyInformation.calculateBreakpoints(getDifficulty(), directDamage, areaDamage, dot_dps, dot_duration, dot_probability, 
 															0.0, getArmorBreaking(), getRateOfFire(), heatPerShot, 0.0, 
 															statusEffects[1], statusEffects[3], false, false);
 		return MathUtils.sum(breakpoints);
@@ -628,7 +631,7 @@ public class Boomstick extends Weapon {
 			// A 5m radius returns 41 grunts, which is just too many. I'm choosing to reduce the radius by half, which brings it down to 12.
 			int gruntsHitByBlastwave = calculateNumGlyphidsInRadius(5.0 / 2.0);
 			double probabilityToFear = calculateFearProcProbability(0.5);
-			utilityScores[4] = probabilityToFear * gruntsHitByBlastwave * EnemyInformation.averageFearDuration() * UtilityInformation.Fear_Utility;
+			utilityScores[4] = probabilityToFear * gruntsHitByBlastwave * EnemyInformation.averageFearDuration(getDifficulty()) * UtilityInformation.Fear_Utility;
 		}
 		else {
 			utilityScores[4] = 0;
@@ -669,7 +672,7 @@ public class Boomstick extends Weapon {
 	
 	@Override
 	public double damageWastedByArmor() {
-		damageWastedByArmorPerCreature = EnemyInformation.percentageDamageWastedByArmor(getDamagePerPellet(), getNumberOfPellets(), getBlastwaveDamage(), getArmorBreaking(), 0.0, getGeneralAccuracy(), getWeakpointAccuracy());
+		damageWastedByArmorPerCreature = EnemyInformation.percentageDamageWastedByArmor(getDifficulty(), getDamagePerPellet(), getNumberOfPellets(), getBlastwaveDamage(), getArmorBreaking(), 0.0, getGeneralAccuracy(), getWeakpointAccuracy());
 		return 100 * MathUtils.vectorDotProduct(damageWastedByArmorPerCreature[0], damageWastedByArmorPerCreature[1]) / MathUtils.sum(damageWastedByArmorPerCreature[0]);
 	}
 }
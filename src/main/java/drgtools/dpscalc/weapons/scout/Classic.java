@@ -50,7 +50,7 @@ public abstract class Classic extends Weapon {
 		
 		accEstimator.setSpreadCurve(new ClassicCurve());
 		
-		initializeModsAndOverclocks();
+		loadModsAndOverclocks();
 		// Grab initial values before customizing mods and overclocks
 		setBaselineStats();
 		
@@ -185,7 +185,7 @@ public abstract class Classic extends Weapon {
 			double killingMachineManualReloadWindow = 1.0;
 			double killingMachineReloadReduction = 0.75;
 			// Just like Gunner/Minigun/Mod/5/CatG, I'm using the incorrect "guess" spawn rates to create a more believable uptime coefficient
-			double burstTTK = EnemyInformation.averageHealthPool(false) / calculateSingleTargetDPS(true, false, false, false);
+			double burstTTK = EnemyInformation.averageHealthPool(getDifficulty(), false) / calculateSingleTargetDPS(true, false, false, false);
 			// Don't let a high Burst DPS increase this beyond a 100% uptime
 			double killingMachineUptimeCoefficient = Math.min(killingMachineManualReloadWindow / burstTTK, 1.0);
 			double effectiveReloadReduction = killingMachineUptimeCoefficient * killingMachineReloadReduction;
@@ -62,7 +62,7 @@ public class PlasmaCarbine extends Weapon {
 		cooldownDelay = 0.3;
 		overheatDuration = 2.5;
 		
-		initializeModsAndOverclocks();
+		loadModsAndOverclocks();
 		// Grab initial values before customizing mods and overclocks
 		setBaselineStats();
 		
@@ -75,6 +75,10 @@ public class PlasmaCarbine extends Weapon {
 		
 		// Overclock slot
 		selectedOverclock = overclock;
+		
+		// Which tiers can change each metric, in the same order as Weapon.getMetric(). See Weapon.metricDependsOnModTier()
+		metricDependencies = new String[] {"12345O", "12345O", "12345O", "4O", "12345O", "12345O", "124O", "1O", "1O", "1235O", "12345O", "24O", "1245O", "234O", "15O"};
+		aoeEfficiencyDependencies = "4";
 	}
 	
 	@Override
@@ -514,6 +518,12 @@ public class PlasmaCarbine extends Weapon {
 		return getCooldownDelay() + maxHeat / getCoolingRate();
 	}
 
+	// OC "Aggressive Venting" always has the same AoE, so it only gets calculated once instead of once per metric for every build that has it equipped.
+	// It also leaves the AoE illustration alone now, so that T4.B's radius is the one that gets drawn.
+	private double[] getAggressiveVentingAoeEfficiency() {
+		return getIntermediate("Aggressive Venting AoE", "", () -> calculateAverageAreaDamage(5.0, 1.5, 0.25, false));
+	}
+
 	@Override
 	public boolean currentlyDealsSplashDamage() {
 		return selectedTier4 == 1;
@@ -665,7 +675,7 @@ public class PlasmaCarbine extends Weapon {
 			// OC "Aggressive Venting"
 			// Adapted from Minigun's T5.A "Aggressive Venting"
 			// Modeled only for full Overheats, not for T5.A's manual overheats which do less Damage/Heat
-			double[] aggressiveVentingAoeEfficiency = calculateAverageAreaDamage(5.0, 1.5, 0.25);
+			double[] aggressiveVentingAoeEfficiency = getAggressiveVentingAoeEfficiency();
 			double percentageOfEnemiesIgnitedByAV = EnemyInformation.percentageEnemiesIgnitedBySingleBurstOfHeat(60 * aggressiveVentingAoeEfficiency[1]);
 			double numGlyphidsHitByHeatBurst = aggressiveVentingAoeEfficiency[2];
 			int numTimesAVcanTrigger = (int) Math.floor(getBatteryCapacity() / calculateNumShotsFiredBeforeOverheating());
@@ -733,12 +743,12 @@ public class PlasmaCarbine extends Weapon {
 	@Override
 	protected double averageDamageToKillEnemy() {
 		double dmgPerShot = increaseBulletDamageForWeakpoints(getDirectDamage()) + getAreaDamage();
-		return Math.ceil(EnemyInformation.averageHealthPool() / dmgPerShot) * dmgPerShot;
+		return Math.ceil(EnemyInformation.averageHealthPool(getDifficulty()) / dmgPerShot) * dmgPerShot;
 	}
 	
 	@Override
 	public double averageOverkill() {
-		overkillPercentages = EnemyInformation.overkillPerCreature(getDirectDamage() + getAreaDamage());
+		overkillPercentages = EnemyInformation.overkillPerCreature(getDifficulty(), getDirectDamage() + getAreaDamage());
 		return MathUtils.vectorDotProduct(overkillPercentages[0], overkillPercentages[1]);
 	}
 
@@ -799,7 +809,7 @@ public class PlasmaCarbine extends Weapon {
 			dot_probability[0] = 0.15;
 		}
 		
-		breakpoints = EnemyInformation.calculateBreakpoints(directDamage, areaDamage, dot_dps, dot_duration, dot_probability, 
+		breakpoints = EnemyInformation.calculateBreakpoints(getDifficulty(), directDamage, areaDamage, dot_dps, dot_duration, dot_probability, 
 															0.0, getArmorBreaking(), calculateAverageRoF(), heatPerShot, 0.0, 
 															statusEffects[1], statusEffects[3], false, false);
 		return MathUtils.sum(breakpoints);
@@ -830,10 +840,10 @@ public class PlasmaCarbine extends Weapon {
 		// Fear
 		if (selectedOverclock == 3) {
 			// OC "Aggressive Venting" does 60 Heat and 5 Fear in a 5m radius, 1.5m MaxDmgRadius and 25% falloff.
-			double[] aggressiveVentingAoeEfficiency = calculateAverageAreaDamage(5, 1.5, 0.25);
+			double[] aggressiveVentingAoeEfficiency = getAggressiveVentingAoeEfficiency();
 			int numGlyphidsFeared = (int) Math.round(aggressiveVentingAoeEfficiency[1] * aggressiveVentingAoeEfficiency[2]);
 			double probabilityToFear = calculateFearProcProbability(5.0);
-			utilityScores[4] = probabilityToFear * numGlyphidsFeared * EnemyInformation.averageFearDuration() * UtilityInformation.Fear_Utility;
+			utilityScores[4] = probabilityToFear * numGlyphidsFeared * EnemyInformation.averageFearDuration(getDifficulty()) * UtilityInformation.Fear_Utility;
 		}
 		else {
 			utilityScores[4] = 0;
@@ -876,7 +886,7 @@ public class PlasmaCarbine extends Weapon {
 		double burnDamage = 0;
 		if (selectedOverclock == 3) {
 			// OC "Aggressive Venting"
-			double[] aggressiveVentingAoeEfficiency = calculateAverageAreaDamage(5.0, 1.5, 0.25);
+			double[] aggressiveVentingAoeEfficiency = getAggressiveVentingAoeEfficiency();
 			double percentageOfEnemiesIgnitedByAV = EnemyInformation.percentageEnemiesIgnitedBySingleBurstOfHeat(60 * aggressiveVentingAoeEfficiency[1]);
 			double numGlyphidsHitByHeatBurst = aggressiveVentingAoeEfficiency[2];
 			double burnDoTDamagePerEnemy = calculateAverageDoTDamagePerEnemy(0, DoTInformation.Burn_SecsDuration, DoTInformation.Burn_DPS);
@@ -912,7 +922,7 @@ public class PlasmaCarbine extends Weapon {
 	
 	@Override
 	public double damageWastedByArmor() {
-		damageWastedByArmorPerCreature = EnemyInformation.percentageDamageWastedByArmor(getDirectDamage(), 1, getAreaDamage(), getArmorBreaking(), 0.0, getGeneralAccuracy(), getWeakpointAccuracy());
+		damageWastedByArmorPerCreature = EnemyInformation.percentageDamageWastedByArmor(getDifficulty(), getDirectDamage(), 1, getAreaDamage(), getArmorBreaking(), 0.0, getGeneralAccuracy(), getWeakpointAccuracy());
 		return 100 * MathUtils.vectorDotProduct(damageWastedByArmorPerCreature[0], damageWastedByArmorPerCreature[1]) / MathUtils.sum(damageWastedByArmorPerCreature[0]);
 	}
 }
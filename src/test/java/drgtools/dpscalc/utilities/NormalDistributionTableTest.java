@@ -0,0 +1,116 @@
+package drgtools.dpscalc.utilities;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/*
+	Sweeps everything that the Accuracy Estimator can hand to the Normal Distribution functions and checks that the lookup table never strays further from
+	the exact functions than the error bound it was built with. The sample points are spaced by an irrational-ish step so that they land all over the inside
+	of each interval, rather than on the stored points (where the error is always 0) or on the few fractions that the table checks itself at.
+*/
+public class NormalDistributionTableTest {
+	private static final double[] errorBounds = {1e-2, 1e-4, 1e-6, 1e-9};
+	private static final int numSamples = 200000;
+	
+	@AfterEach
+	public void goBackToExact() {
+		MathUtils.useExactNormalDistribution();
+	}
+	
+	private static double[] sweep(double min, double max) {
+		double[] toReturn = new double[numSamples + 2];
+		double step = (max - min) / numSamples * (1.0 + 1.0 / Math.sqrt(1013.0));
+		double x = min;
+		for (int i = 0; i < numSamples; i++) {
+			toReturn[i] = x;
+			x += step;
+			if (x > max) {
+				x -= (max - min);
+			}
+		}
+		// Always check both ends too
+		toReturn[numSamples] = min;
+		toReturn[numSamples + 1] = max;
+		return toReturn;
+	}
+	
+	@Test
+	public void exactIsTheDefault() {
+		assertFalse(MathUtils.isUsingNormalDistributionLookupTable());
+		assertEquals(-1, MathUtils.getNormalDistributionLookupTableError());
+	}
+	
+	@Test
+	public void erfStaysWithinBound() {
+		// erf() gets called with x / sqrt(2), so this covers every input past where it's clamped to +/- 1
+		double[] xValues = sweep(-4.0, 4.0);
+		double[] exact = new double[xValues.length];
+		for (int i = 0; i < xValues.length; i++) {
+			exact[i] = MathUtils.erf(xValues[i]);
+		}
+		
+		for (double bound: errorBounds) {
+			MathUtils.useNormalDistributionLookupTable(bound);
+			assertTrue(MathUtils.isUsingNormalDistributionLookupTable());
+			assertTrue(MathUtils.getNormalDistributionLookupTableError() <= bound);
+			
+			for (int i = 0; i < xValues.length; i++) {
+				double error = Math.abs(MathUtils.erf(xValues[i]) - exact[i]);
+				assertTrue(error <= bound, "erf(" + xValues[i] + ") is off by " + error + " with a bound of " + bound);
+			}
+		}
+	}
+	
+	@Test
+	public void probabilityInNormalDistributionStaysWithinBound() {
+		// AccuracyEstimator always calls this as (0, width or height of the crosshair, offset inside of it), and RectangularAccuracyVisualizer uses pixels and (-2, 4)
+		double[][] ranges = {{-2, 4}, {0, 1}, {0, 0.37}, {0, 13.5}, {0, 499}};
+		for (double[] range: ranges) {
+			double[] inputs = sweep(range[0], range[1]);
+			double[] exact = new double[inputs.length];
+			for (int i = 0; i < inputs.length; i++) {
+				exact[i] = MathUtils.probabilityInNormalDistribution(range[0], range[1], inputs[i]);
+			}
+			
+			for (double bound: errorBounds) {
+				MathUtils.useNormalDistributionLookupTable(bound);
+				for (int i = 0; i < inputs.length; i++) {
+					double error = Math.abs(MathUtils.probabilityInNormalDistribution(range[0], range[1], inputs[i]) - exact[i]);
+					assertTrue(error <= bound, "probabilityInNormalDistribution(" + range[0] + ", " + range[1] + ", " + inputs[i] + ") is off by " + error + " with a bound of " + bound);
+				}
+			}
+			MathUtils.useExactNormalDistribution();
+		}
+	}
+	
+	@Test
+	public void areaUnderNormalDistributionStaysWithinBound() {
+		// Both ends get passed through erf(), so each one is off by at most half the bound and the difference can't be off by more than the whole bound
+		double[] lows = sweep(-4.0, 4.0);
+		double[] widths = sweep(0.0, 4.0);
+		double[] exact = new double[lows.length];
+		for (int i = 0; i < lows.length; i++) {
+			exact[i] = MathUtils.areaUnderNormalDistribution(lows[i], lows[i] + widths[i]);
+		}
+		
+		for (double bound: errorBounds) {
+			MathUtils.useNormalDistributionLookupTable(bound);
+			for (int i = 0; i < lows.length; i++) {
+				double error = Math.abs(MathUtils.areaUnderNormalDistribution(lows[i], lows[i] + widths[i]) - exact[i]);
+				assertTrue(error <= bound, "areaUnderNormalDistribution(" + lows[i] + ", " + (lows[i] + widths[i]) + ") is off by " + error + " with a bound of " + bound);
+			}
+		}
+	}
+	
+	@Test
+	public void invalidBoundsAreIgnored() {
+		MathUtils.useNormalDistributionLookupTable(0.5);
+		assertFalse(MathUtils.isUsingNormalDistributionLookupTable());
+		MathUtils.useNormalDistributionLookupTable(1e-15);
+		assertFalse(MathUtils.isUsingNormalDistributionLookupTable());
+	}
+}